@@ -0,0 +1,78 @@
+package br.com.reservei.api.benchmark;
+
+import br.com.reservei.api.application.dto.AvaliacaoDTO;
+import br.com.reservei.api.application.dto.ResultadoLoteDTO;
+import br.com.reservei.api.application.dto.ResumoAvaliacaoDTO;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static br.com.reservei.api.infrastructure.utils.AvaliacaoHelper.gerarAvaliacaoDtoSemId;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AvaliacaoServiceBenchmark {
+
+    private static final int ITENS_DO_LOTE = 100;
+
+    @Benchmark
+    public AvaliacaoDTO buscarPorId(ContextoBenchmark contexto) {
+        return contexto.avaliacaoService.buscarPorId(contexto.avaliacao.id());
+    }
+
+    @Benchmark
+    public List<AvaliacaoDTO> buscarTodos(ContextoBenchmark contexto) {
+        return contexto.avaliacaoService.buscarTodos();
+    }
+
+    @Benchmark
+    public List<AvaliacaoDTO> buscarPagina(ContextoBenchmark contexto) {
+        return contexto.avaliacaoService.buscarPagina(null, null);
+    }
+
+    @Benchmark
+    public void percorrerTodos(ContextoBenchmark contexto, Blackhole blackhole) {
+        contexto.avaliacaoService.percorrerTodos(blackhole::consume);
+    }
+
+    @Benchmark
+    public ResumoAvaliacaoDTO buscarResumo(ContextoBenchmark contexto) {
+        return contexto.avaliacaoService.buscarResumo(contexto.restaurante.id());
+    }
+
+    @Benchmark
+    public AvaliacaoDTO atualizar(ContextoBenchmark contexto) {
+        return contexto.avaliacaoService.atualizar(contexto.avaliacao.id(), contexto.avaliacao);
+    }
+
+    @Benchmark
+    public AvaliacaoDTO salvarEDeletar(ContextoBenchmark contexto) {
+        AvaliacaoDTO avaliacao = contexto.avaliacaoService.salvar(gerarAvaliacaoDtoSemId(contexto.restaurante.id()));
+        contexto.avaliacaoService.deletarPorId(avaliacao.id());
+        return avaliacao;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITENS_DO_LOTE)
+    public void salvarUmPorUm(ContextoBenchmark contexto, Blackhole blackhole) {
+        for (AvaliacaoDTO avaliacao : lote(contexto)) {
+            blackhole.consume(contexto.avaliacaoService.salvar(avaliacao));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITENS_DO_LOTE)
+    public ResultadoLoteDTO salvarLote(ContextoBenchmark contexto) {
+        return contexto.avaliacaoService.salvarLote(lote(contexto));
+    }
+
+    private static List<AvaliacaoDTO> lote(ContextoBenchmark contexto) {
+        return Collections.nCopies(ITENS_DO_LOTE, gerarAvaliacaoDtoSemId(contexto.restaurante.id()));
+    }
+}
@@ -0,0 +1,107 @@
+package br.com.reservei.api.benchmark;
+
+import br.com.reservei.api.ReserveiApplication;
+import br.com.reservei.api.application.dto.*;
+import br.com.reservei.api.application.usecases.avaliacao.AvaliacaoService;
+import br.com.reservei.api.application.usecases.endereco.CidadeService;
+import br.com.reservei.api.application.usecases.endereco.EnderecoService;
+import br.com.reservei.api.application.usecases.endereco.EstadoService;
+import br.com.reservei.api.application.usecases.reserva.ReservaService;
+import br.com.reservei.api.application.usecases.restaurante.RestauranteService;
+import br.com.reservei.api.infrastructure.utils.Cozinha;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static br.com.reservei.api.infrastructure.utils.AvaliacaoHelper.gerarAvaliacaoDtoSemId;
+import static br.com.reservei.api.infrastructure.utils.CidadeHelper.gerarCidadeDtoSemId;
+import static br.com.reservei.api.infrastructure.utils.EnderecoHelper.gerarEnderecoDtoSemId;
+import static br.com.reservei.api.infrastructure.utils.EstadoHelper.gerarEstadoDto;
+import static br.com.reservei.api.infrastructure.utils.EstadoHelper.gerarEstadoSemId;
+
+/**
+ * Sobe a aplicação sem servidor web sobre um H2 em memória e popula uma massa fixa de dados, compartilhada
+ * pelos benchmarks de serviço de um mesmo fork.
+ */
+@State(Scope.Benchmark)
+public class ContextoBenchmark {
+
+    static final int TOTAL_DE_RESTAURANTES = 100;
+    static final int REGISTROS_POR_RESTAURANTE = 5;
+
+    private ConfigurableApplicationContext contexto;
+
+    EstadoService estadoService;
+    CidadeService cidadeService;
+    EnderecoService enderecoService;
+    RestauranteService restauranteService;
+    ReservaService reservaService;
+    AvaliacaoService avaliacaoService;
+
+    EstadoDTO estado;
+    CidadeDTO cidade;
+    EnderecoDTO endereco;
+    EnderecoDTO enderecoLivre;
+    RestauranteDTO restaurante;
+    ReservaDTO reserva;
+    AvaliacaoDTO avaliacao;
+    LocalDate diaDasReservas;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        contexto = new SpringApplicationBuilder(ReserveiApplication.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .properties("spring.datasource.url=jdbc:h2:mem:reservei_benchmark;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run();
+
+        estadoService = contexto.getBean(EstadoService.class);
+        cidadeService = contexto.getBean(CidadeService.class);
+        enderecoService = contexto.getBean(EnderecoService.class);
+        restauranteService = contexto.getBean(RestauranteService.class);
+        reservaService = contexto.getBean(ReservaService.class);
+        avaliacaoService = contexto.getBean(AvaliacaoService.class);
+
+        popular();
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    private void popular() {
+        Cozinha[] cozinhas = Cozinha.values();
+        diaDasReservas = LocalDate.now().plusDays(2);
+        estado = estadoService.salvar(gerarEstadoDto(gerarEstadoSemId()));
+        cidade = cidadeService.salvar(gerarCidadeDtoSemId(estado.id()));
+        enderecoLivre = enderecoService.salvar(gerarEnderecoDtoSemId(cidade.id()));
+
+        for (int i = 0; i < TOTAL_DE_RESTAURANTES; i++) {
+            endereco = enderecoService.salvar(gerarEnderecoDtoSemId(cidade.id()));
+            restaurante = restauranteService.salvar(new RestauranteDTO(null, "Restaurante " + i,
+                    cozinhas[i % cozinhas.length], endereco.id(), 10, LocalTime.NOON, LocalTime.MIDNIGHT));
+            for (int j = 0; j < REGISTROS_POR_RESTAURANTE; j++) {
+                reserva = reservaService.salvar(new ReservaDTO(null, restaurante.id(),
+                        diaDasReservas.atTime(13 + j, 0)));
+                avaliacao = avaliacaoService.salvar(gerarAvaliacaoDtoSemId(restaurante.id()));
+            }
+        }
+        // Agenda de hoje do último restaurante, servida pela AgendaDoDia
+        for (int j = 0; j < REGISTROS_POR_RESTAURANTE; j++) {
+            reservaService.salvar(new ReservaDTO(null, restaurante.id(), LocalDate.now().atTime(13 + j, 0)));
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package br.com.reservei.api.benchmark;
+
+import br.com.reservei.api.application.dto.CidadeDTO;
+import br.com.reservei.api.application.dto.EnderecoDTO;
+import br.com.reservei.api.application.dto.EstadoDTO;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static br.com.reservei.api.infrastructure.utils.CidadeHelper.gerarCidadeDtoSemId;
+import static br.com.reservei.api.infrastructure.utils.EnderecoHelper.gerarEnderecoDtoSemId;
+import static br.com.reservei.api.infrastructure.utils.EstadoHelper.gerarEstadoDto;
+import static br.com.reservei.api.infrastructure.utils.EstadoHelper.gerarEstadoSemId;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EnderecoServiceBenchmark {
+
+    @Benchmark
+    public EstadoDTO estadoBuscarPorId(ContextoBenchmark contexto) {
+        return contexto.estadoService.buscarPorId(contexto.estado.id());
+    }
+
+    @Benchmark
+    public List<EstadoDTO> estadoBuscarTodos(ContextoBenchmark contexto) {
+        return contexto.estadoService.buscarTodos();
+    }
+
+    @Benchmark
+    public List<EstadoDTO> estadoBuscarPagina(ContextoBenchmark contexto) {
+        return contexto.estadoService.buscarPagina(null, null);
+    }
+
+    @Benchmark
+    public void estadoPercorrerTodos(ContextoBenchmark contexto, Blackhole blackhole) {
+        contexto.estadoService.percorrerTodos(blackhole::consume);
+    }
+
+    @Benchmark
+    public EstadoDTO estadoAtualizar(ContextoBenchmark contexto) {
+        return contexto.estadoService.atualizar(contexto.estado.id(), contexto.estado);
+    }
+
+    @Benchmark
+    public EstadoDTO estadoSalvarEDeletar(ContextoBenchmark contexto) {
+        EstadoDTO estado = contexto.estadoService.salvar(gerarEstadoDto(gerarEstadoSemId()));
+        contexto.estadoService.deletarPorId(estado.id());
+        return estado;
+    }
+
+    @Benchmark
+    public CidadeDTO cidadeBuscarPorId(ContextoBenchmark contexto) {
+        return contexto.cidadeService.buscarPorId(contexto.cidade.id());
+    }
+
+    @Benchmark
+    public List<CidadeDTO> cidadeBuscarTodos(ContextoBenchmark contexto) {
+        return contexto.cidadeService.buscarTodos();
+    }
+
+    @Benchmark
+    public List<CidadeDTO> cidadeBuscarPagina(ContextoBenchmark contexto) {
+        return contexto.cidadeService.buscarPagina(null, null);
+    }
+
+    @Benchmark
+    public void cidadePercorrerTodos(ContextoBenchmark contexto, Blackhole blackhole) {
+        contexto.cidadeService.percorrerTodos(blackhole::consume);
+    }
+
+    @Benchmark
+    public CidadeDTO cidadeAtualizar(ContextoBenchmark contexto) {
+        return contexto.cidadeService.atualizar(contexto.cidade.id(), contexto.cidade);
+    }
+
+    @Benchmark
+    public CidadeDTO cidadeSalvarEDeletar(ContextoBenchmark contexto) {
+        CidadeDTO cidade = contexto.cidadeService.salvar(gerarCidadeDtoSemId(contexto.estado.id()));
+        contexto.cidadeService.deletarPorId(cidade.id());
+        return cidade;
+    }
+
+    @Benchmark
+    public EnderecoDTO enderecoBuscarPorId(ContextoBenchmark contexto) {
+        return contexto.enderecoService.buscarPorId(contexto.endereco.id());
+    }
+
+    @Benchmark
+    public List<EnderecoDTO> enderecoBuscarTodos(ContextoBenchmark contexto) {
+        return contexto.enderecoService.buscarTodos();
+    }
+
+    @Benchmark
+    public List<EnderecoDTO> enderecoBuscarPagina(ContextoBenchmark contexto) {
+        return contexto.enderecoService.buscarPagina(null, null);
+    }
+
+    @Benchmark
+    public void enderecoPercorrerTodos(ContextoBenchmark contexto, Blackhole blackhole) {
+        contexto.enderecoService.percorrerTodos(blackhole::consume);
+    }
+
+    @Benchmark
+    public EnderecoDTO enderecoAtualizar(ContextoBenchmark contexto) {
+        return contexto.enderecoService.atualizar(contexto.endereco.id(), contexto.endereco);
+    }
+
+    @Benchmark
+    public EnderecoDTO enderecoSalvarEDeletar(ContextoBenchmark contexto) {
+        EnderecoDTO endereco = contexto.enderecoService.salvar(gerarEnderecoDtoSemId(contexto.cidade.id()));
+        contexto.enderecoService.deletarPorId(endereco.id());
+        return endereco;
+    }
+}
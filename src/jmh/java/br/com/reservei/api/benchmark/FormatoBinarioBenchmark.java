@@ -0,0 +1,93 @@
+package br.com.reservei.api.benchmark;
+
+import br.com.reservei.api.application.dto.AvaliacaoDTO;
+import br.com.reservei.api.application.dto.ReservaDTO;
+import br.com.reservei.api.application.dto.RestauranteDTO;
+import br.com.reservei.api.infrastructure.utils.Cozinha;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON contra CBOR na sincronização completa de restaurantes, reservas e avaliações. O tamanho de cada payload é
+ * impresso no início da execução; o tempo de codificação e decodificação fica nos resultados.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FormatoBinarioBenchmark {
+
+    @Param({"restaurantes", "reservas", "avaliacoes"})
+    private String colecao;
+
+    @Param({"1000"})
+    private int tamanho;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    // Mesmo arranjo do CborConfig: a configuração do ObjectMapper do JSON sobre o CBORFactory
+    private final ObjectMapper cborMapper = objectMapper.copyWith(new CBORFactory());
+
+    private List<?> lista;
+    private JavaType tipo;
+    private byte[] json;
+    private byte[] cbor;
+
+    @Setup
+    public void setUp() throws IOException {
+        LocalDateTime inicio = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        List<Object> itens = new ArrayList<>(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            itens.add(switch (colecao) {
+                case "restaurantes" -> new RestauranteDTO((long) i, "Restaurante " + i,
+                        Cozinha.values()[i % Cozinha.values().length], (long) i, 10 + i % 40,
+                        LocalTime.of(11, 0), LocalTime.of(23, 0));
+                case "reservas" -> new ReservaDTO((long) i, (long) i % 50, inicio.plusMinutes(37L * i));
+                default -> new AvaliacaoDTO((long) i, i % 5 + 1, "Comentário da avaliação " + i,
+                        inicio.minusSeconds(97L * i), (long) i % 50);
+            });
+        }
+        Class<?> classe = itens.get(0).getClass();
+        lista = itens;
+        tipo = objectMapper.getTypeFactory().constructCollectionType(List.class, classe);
+        json = jsonCodificar();
+        cbor = cborCodificar();
+        System.out.printf("%n%s: JSON %d bytes, CBOR %d bytes%n", colecao, json.length, cbor.length);
+    }
+
+    @Benchmark
+    public byte[] jsonCodificar() throws IOException {
+        return objectMapper.writeValueAsBytes(lista);
+    }
+
+    @Benchmark
+    public byte[] cborCodificar() throws IOException {
+        return cborMapper.writeValueAsBytes(lista);
+    }
+
+    @Benchmark
+    public Object jsonDecodificar() throws IOException {
+        return objectMapper.readValue(json, tipo);
+    }
+
+    @Benchmark
+    public Object cborDecodificar() throws IOException {
+        return cborMapper.readValue(cbor, tipo);
+    }
+}
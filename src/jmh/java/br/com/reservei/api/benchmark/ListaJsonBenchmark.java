@@ -0,0 +1,117 @@
+package br.com.reservei.api.benchmark;
+
+import br.com.reservei.api.application.dto.AvaliacaoDTO;
+import br.com.reservei.api.application.dto.ReservaDTO;
+import br.com.reservei.api.infrastructure.utils.SerializadorDeDataHora;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Listas como as de GET /reserva e GET /avaliacao. Com -prof gc (padrão no profile benchmark) o gc.alloc.rate.norm
+ * dá os bytes alocados por operação; os métodos gzip mostram o custo da compressão feita pelo Tomcat e os métodos
+ * ComBlackbird, o ObjectMapper com o BlackbirdModule que a aplicação registra em JacksonConfig.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ListaJsonBenchmark {
+
+    @Param({"1000"})
+    private int tamanho;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private final ObjectMapper objectMapperComBlackbird = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .modulesToInstall(new BlackbirdModule())
+            .build();
+
+    // Ignora o SerializadorDeDataHora e volta ao LocalDateTimeSerializer com o padrão do @JsonFormat
+    private final ObjectMapper objectMapperComFormatter = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .annotationIntrospector(new JacksonAnnotationIntrospector() {
+                @Override
+                public Object findSerializer(Annotated anotado) {
+                    Object serializador = super.findSerializer(anotado);
+                    return serializador == SerializadorDeDataHora.class ? null : serializador;
+                }
+            })
+            .build();
+
+    private List<ReservaDTO> reservas;
+    private List<AvaliacaoDTO> avaliacoes;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime inicio = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        reservas = new ArrayList<>(tamanho);
+        avaliacoes = new ArrayList<>(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            reservas.add(new ReservaDTO((long) i, (long) i % 50, inicio.plusMinutes(37L * i)));
+            avaliacoes.add(new AvaliacaoDTO((long) i, i % 5 + 1, "Comentário da avaliação " + i,
+                    inicio.minusSeconds(97L * i), (long) i % 50));
+        }
+    }
+
+    @Benchmark
+    public byte[] reservas() throws IOException {
+        return objectMapper.writeValueAsBytes(reservas);
+    }
+
+    @Benchmark
+    public byte[] reservasComDateTimeFormatter() throws IOException {
+        return objectMapperComFormatter.writeValueAsBytes(reservas);
+    }
+
+    @Benchmark
+    public byte[] reservasComBlackbird() throws IOException {
+        return objectMapperComBlackbird.writeValueAsBytes(reservas);
+    }
+
+    @Benchmark
+    public byte[] reservasGzip() throws IOException {
+        return gzip(objectMapper.writeValueAsBytes(reservas));
+    }
+
+    @Benchmark
+    public byte[] avaliacoes() throws IOException {
+        return objectMapper.writeValueAsBytes(avaliacoes);
+    }
+
+    @Benchmark
+    public byte[] avaliacoesComBlackbird() throws IOException {
+        return objectMapperComBlackbird.writeValueAsBytes(avaliacoes);
+    }
+
+    @Benchmark
+    public byte[] avaliacoesGzip() throws IOException {
+        return gzip(objectMapper.writeValueAsBytes(avaliacoes));
+    }
+
+    private static byte[] gzip(byte[] json) throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream compressor = new GZIPOutputStream(saida)) {
+            compressor.write(json);
+        }
+        return saida.toByteArray();
+    }
+}
@@ -0,0 +1,163 @@
+package br.com.reservei.api.benchmark;
+
+import br.com.reservei.api.application.dto.*;
+import br.com.reservei.api.domain.model.*;
+import br.com.reservei.api.interfaces.mapper.*;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static br.com.reservei.api.infrastructure.utils.AvaliacaoHelper.gerarAvaliacao;
+import static br.com.reservei.api.infrastructure.utils.AvaliacaoHelper.gerarAvaliacaoDto;
+import static br.com.reservei.api.infrastructure.utils.CidadeHelper.gerarCidade;
+import static br.com.reservei.api.infrastructure.utils.CidadeHelper.gerarCidadeDto;
+import static br.com.reservei.api.infrastructure.utils.EnderecoHelper.gerarEndereco;
+import static br.com.reservei.api.infrastructure.utils.EnderecoHelper.gerarEnderecoDto;
+import static br.com.reservei.api.infrastructure.utils.EstadoHelper.gerarEstado;
+import static br.com.reservei.api.infrastructure.utils.EstadoHelper.gerarEstadoDto;
+import static br.com.reservei.api.infrastructure.utils.ReservaHelper.gerarReserva;
+import static br.com.reservei.api.infrastructure.utils.ReservaHelper.gerarReservaDto;
+import static br.com.reservei.api.infrastructure.utils.RestauranteHelper.gerarRestaurante;
+import static br.com.reservei.api.infrastructure.utils.RestauranteHelper.gerarRestauranteDto;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MapperBenchmark {
+
+    private final EstadoMapper estadoMapper = Mappers.getMapper(EstadoMapper.class);
+    private final CidadeMapper cidadeMapper = Mappers.getMapper(CidadeMapper.class);
+    private final EnderecoMapper enderecoMapper = Mappers.getMapper(EnderecoMapper.class);
+    private final RestauranteMapper restauranteMapper = Mappers.getMapper(RestauranteMapper.class);
+    private final ReservaMapper reservaMapper = Mappers.getMapper(ReservaMapper.class);
+    private final AvaliacaoMapper avaliacaoMapper = Mappers.getMapper(AvaliacaoMapper.class);
+
+    private Estado estado;
+    private EstadoDTO estadoDTO;
+    private Cidade cidade;
+    private CidadeDTO cidadeDTO;
+    private Endereco endereco;
+    private EnderecoDTO enderecoDTO;
+    private Restaurante restaurante;
+    private RestauranteDTO restauranteDTO;
+    private Reserva reserva;
+    private ReservaDTO reservaDTO;
+    private Avaliacao avaliacao;
+    private AvaliacaoDTO avaliacaoDTO;
+
+    @Setup
+    public void setUp() {
+        estado = gerarEstado();
+        estadoDTO = gerarEstadoDto(estado);
+        cidade = gerarCidade();
+        cidadeDTO = gerarCidadeDto(cidade);
+        endereco = gerarEndereco();
+        enderecoDTO = gerarEnderecoDto(endereco);
+        restaurante = gerarRestaurante();
+        restauranteDTO = gerarRestauranteDto(restaurante);
+        reserva = gerarReserva();
+        reservaDTO = gerarReservaDto(reserva);
+        avaliacao = gerarAvaliacao();
+        avaliacaoDTO = gerarAvaliacaoDto(avaliacao);
+    }
+
+    @Benchmark
+    public EstadoDTO estadoToDto() {
+        return estadoMapper.toDto(estado);
+    }
+
+    @Benchmark
+    public Estado estadoToEntity() {
+        return estadoMapper.toEntity(estadoDTO);
+    }
+
+    @Benchmark
+    public Estado estadoUpdateFromDto() {
+        estadoMapper.updateFromDto(estadoDTO, estado);
+        return estado;
+    }
+
+    @Benchmark
+    public CidadeDTO cidadeToDto() {
+        return cidadeMapper.toDto(cidade);
+    }
+
+    @Benchmark
+    public Cidade cidadeToEntity() {
+        return cidadeMapper.toEntity(cidadeDTO);
+    }
+
+    @Benchmark
+    public Cidade cidadeUpdateFromDto() {
+        cidadeMapper.updateFromDto(cidadeDTO, cidade);
+        return cidade;
+    }
+
+    @Benchmark
+    public EnderecoDTO enderecoToDto() {
+        return enderecoMapper.toDto(endereco);
+    }
+
+    @Benchmark
+    public Endereco enderecoToEntity() {
+        return enderecoMapper.toEntity(enderecoDTO);
+    }
+
+    @Benchmark
+    public Endereco enderecoUpdateFromDto() {
+        enderecoMapper.updateFromDto(enderecoDTO, endereco);
+        return endereco;
+    }
+
+    @Benchmark
+    public RestauranteDTO restauranteToDto() {
+        return restauranteMapper.toDto(restaurante);
+    }
+
+    @Benchmark
+    public Restaurante restauranteToEntity() {
+        return restauranteMapper.toEntity(restauranteDTO);
+    }
+
+    @Benchmark
+    public Restaurante restauranteUpdateFromDto() {
+        restauranteMapper.updateFromDto(restauranteDTO, restaurante);
+        return restaurante;
+    }
+
+    @Benchmark
+    public ReservaDTO reservaToDto() {
+        return reservaMapper.toDto(reserva);
+    }
+
+    @Benchmark
+    public Reserva reservaToEntity() {
+        return reservaMapper.toEntity(reservaDTO);
+    }
+
+    @Benchmark
+    public Reserva reservaUpdateFromDto() {
+        reservaMapper.updateFromDto(reservaDTO, reserva);
+        return reserva;
+    }
+
+    @Benchmark
+    public AvaliacaoDTO avaliacaoToDto() {
+        return avaliacaoMapper.toDto(avaliacao);
+    }
+
+    @Benchmark
+    public Avaliacao avaliacaoToEntity() {
+        return avaliacaoMapper.toEntity(avaliacaoDTO);
+    }
+
+    @Benchmark
+    public Avaliacao avaliacaoUpdateFromDto() {
+        avaliacaoMapper.updateFromDto(avaliacaoDTO, avaliacao);
+        return avaliacao;
+    }
+}
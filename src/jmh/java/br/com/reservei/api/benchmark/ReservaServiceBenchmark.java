@@ -0,0 +1,114 @@
+package br.com.reservei.api.benchmark;
+
+import br.com.reservei.api.application.dto.DisponibilidadeDTO;
+import br.com.reservei.api.application.dto.ReservaDTO;
+import br.com.reservei.api.application.dto.ResultadoLoteDTO;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReservaServiceBenchmark {
+
+    private static final int ITENS_DO_LOTE = ContextoBenchmark.TOTAL_DE_RESTAURANTES;
+
+    @Benchmark
+    public ReservaDTO buscarPorId(ContextoBenchmark contexto) {
+        return contexto.reservaService.buscarPorId(contexto.reserva.id());
+    }
+
+    @Benchmark
+    public List<ReservaDTO> buscarTodos(ContextoBenchmark contexto) {
+        return contexto.reservaService.buscarTodos();
+    }
+
+    @Benchmark
+    public List<ReservaDTO> buscarPagina(ContextoBenchmark contexto) {
+        return contexto.reservaService.buscarPagina(null, null);
+    }
+
+    @Benchmark
+    public void percorrerTodos(ContextoBenchmark contexto, Blackhole blackhole) {
+        contexto.reservaService.percorrerTodos(blackhole::consume);
+    }
+
+    @Benchmark
+    public List<ReservaDTO> buscarPorPeriodo(ContextoBenchmark contexto) {
+        return contexto.reservaService.buscarPorPeriodo(contexto.restaurante.id(),
+                contexto.diaDasReservas.atStartOfDay(), contexto.diaDasReservas.plusDays(1).atStartOfDay());
+    }
+
+    @Benchmark
+    public List<ReservaDTO> buscarPorPeriodoDeHoje(ContextoBenchmark contexto) {
+        LocalDate hoje = LocalDate.now();
+        return contexto.reservaService.buscarPorPeriodo(contexto.restaurante.id(),
+                hoje.atStartOfDay(), hoje.plusDays(1).atStartOfDay());
+    }
+
+    @Benchmark
+    public DisponibilidadeDTO buscarDisponibilidade(ContextoBenchmark contexto) {
+        return contexto.reservaService.buscarDisponibilidade(contexto.restaurante.id(), contexto.diaDasReservas);
+    }
+
+    @Benchmark
+    public ReservaDTO atualizar(ContextoBenchmark contexto) {
+        return contexto.reservaService.atualizar(contexto.reserva.id(), contexto.reserva);
+    }
+
+    @Benchmark
+    public ReservaDTO salvarEDeletar(ContextoBenchmark contexto) {
+        ReservaDTO reserva = contexto.reservaService.salvar(new ReservaDTO(null, contexto.restaurante.id(),
+                contexto.diaDasReservas.atTime(20, 0)));
+        contexto.reservaService.deletarPorId(reserva.id());
+        return reserva;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITENS_DO_LOTE)
+    public void salvarUmPorUm(ContextoBenchmark contexto, LoteDeReservas lote, Blackhole blackhole) {
+        for (ReservaDTO reserva : lote.reservas) {
+            blackhole.consume(contexto.reservaService.salvar(reserva));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITENS_DO_LOTE)
+    public ResultadoLoteDTO salvarLote(ContextoBenchmark contexto, LoteDeReservas lote) {
+        return contexto.reservaService.salvarLote(lote.reservas);
+    }
+
+    /**
+     * Uma reserva por restaurante em um dia ainda sem reservas. O que foi gravado é apagado depois de cada
+     * invocação, fora da medição, para que a capacidade dos horários não se esgote ao longo das iterações.
+     */
+    @State(Scope.Thread)
+    public static class LoteDeReservas {
+
+        private LocalDate dia;
+        List<ReservaDTO> reservas;
+
+        @Setup(Level.Trial)
+        public void preparar(ContextoBenchmark contexto) {
+            dia = contexto.diaDasReservas.plusDays(1);
+            reservas = contexto.restauranteService.buscarPagina(null, ITENS_DO_LOTE).stream()
+                    .map(restaurante -> new ReservaDTO(null, restaurante.id(), dia.atTime(20, 0)))
+                    .toList();
+        }
+
+        @TearDown(Level.Invocation)
+        public void limpar(ContextoBenchmark contexto) {
+            for (ReservaDTO reserva : reservas) {
+                contexto.reservaService.buscarPorPeriodo(reserva.restauranteId(),
+                                dia.atStartOfDay(), dia.plusDays(1).atStartOfDay())
+                        .forEach(salva -> contexto.reservaService.deletarPorId(salva.id()));
+            }
+        }
+    }
+}
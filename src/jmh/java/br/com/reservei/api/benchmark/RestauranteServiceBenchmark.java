@@ -0,0 +1,61 @@
+package br.com.reservei.api.benchmark;
+
+import br.com.reservei.api.application.dto.RestauranteDTO;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static br.com.reservei.api.infrastructure.utils.RestauranteHelper.gerarRestauranteDtoSemId;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RestauranteServiceBenchmark {
+
+    @Benchmark
+    public RestauranteDTO buscarPorId(ContextoBenchmark contexto) {
+        return contexto.restauranteService.buscarPorId(contexto.restaurante.id());
+    }
+
+    @Benchmark
+    public RestauranteDTO buscarPorNome(ContextoBenchmark contexto) {
+        return contexto.restauranteService.buscarPorNome(contexto.restaurante.nome());
+    }
+
+    @Benchmark
+    public List<RestauranteDTO> buscarPorCozinha(ContextoBenchmark contexto) {
+        return contexto.restauranteService.buscarPorCozinha(contexto.restaurante.cozinha());
+    }
+
+    @Benchmark
+    public List<RestauranteDTO> buscarTodos(ContextoBenchmark contexto) {
+        return contexto.restauranteService.buscarTodos();
+    }
+
+    @Benchmark
+    public List<RestauranteDTO> buscarPagina(ContextoBenchmark contexto) {
+        return contexto.restauranteService.buscarPagina(null, null);
+    }
+
+    @Benchmark
+    public void percorrerTodos(ContextoBenchmark contexto, Blackhole blackhole) {
+        contexto.restauranteService.percorrerTodos(blackhole::consume);
+    }
+
+    @Benchmark
+    public RestauranteDTO atualizar(ContextoBenchmark contexto) {
+        return contexto.restauranteService.atualizar(contexto.restaurante.id(), contexto.restaurante);
+    }
+
+    @Benchmark
+    public RestauranteDTO salvarEDeletar(ContextoBenchmark contexto) {
+        RestauranteDTO restaurante = contexto.restauranteService.salvar(
+                gerarRestauranteDtoSemId(contexto.enderecoLivre.id()));
+        contexto.restauranteService.deletarPorId(restaurante.id());
+        return restaurante;
+    }
+}
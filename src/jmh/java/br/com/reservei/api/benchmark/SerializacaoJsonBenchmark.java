@@ -0,0 +1,109 @@
+package br.com.reservei.api.benchmark;
+
+import br.com.reservei.api.application.dto.*;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static br.com.reservei.api.infrastructure.utils.AvaliacaoHelper.gerarAvaliacao;
+import static br.com.reservei.api.infrastructure.utils.AvaliacaoHelper.gerarAvaliacaoDto;
+import static br.com.reservei.api.infrastructure.utils.CidadeHelper.gerarCidade;
+import static br.com.reservei.api.infrastructure.utils.CidadeHelper.gerarCidadeDto;
+import static br.com.reservei.api.infrastructure.utils.EnderecoHelper.gerarEndereco;
+import static br.com.reservei.api.infrastructure.utils.EnderecoHelper.gerarEnderecoDto;
+import static br.com.reservei.api.infrastructure.utils.EstadoHelper.gerarEstado;
+import static br.com.reservei.api.infrastructure.utils.EstadoHelper.gerarEstadoDto;
+import static br.com.reservei.api.infrastructure.utils.ReservaHelper.gerarReserva;
+import static br.com.reservei.api.infrastructure.utils.ReservaHelper.gerarReservaDto;
+import static br.com.reservei.api.infrastructure.utils.RestauranteHelper.gerarRestaurante;
+import static br.com.reservei.api.infrastructure.utils.RestauranteHelper.gerarRestauranteDto;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SerializacaoJsonBenchmark {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private EstadoDTO estadoDTO;
+    private CidadeDTO cidadeDTO;
+    private EnderecoDTO enderecoDTO;
+    private RestauranteDTO restauranteDTO;
+    private ReservaDTO reservaDTO;
+    private AvaliacaoDTO avaliacaoDTO;
+    private DisponibilidadeDTO disponibilidadeDTO;
+    private ResumoAvaliacaoDTO resumoAvaliacaoDTO;
+
+    @Setup
+    public void setUp() {
+        estadoDTO = gerarEstadoDto(gerarEstado());
+        cidadeDTO = gerarCidadeDto(gerarCidade());
+        enderecoDTO = gerarEnderecoDto(gerarEndereco());
+        restauranteDTO = gerarRestauranteDto(gerarRestaurante());
+        reservaDTO = gerarReservaDto(gerarReserva());
+        avaliacaoDTO = gerarAvaliacaoDto(gerarAvaliacao());
+
+        List<HorarioDisponivelDTO> horarios = new ArrayList<>();
+        for (int hora = 12; hora < 24; hora++) {
+            horarios.add(new HorarioDisponivelDTO(LocalTime.of(hora, 0), hora % 10));
+        }
+        disponibilidadeDTO = new DisponibilidadeDTO(restauranteDTO.id(), LocalDate.now(), 10, horarios);
+        resumoAvaliacaoDTO = new ResumoAvaliacaoDTO(restauranteDTO.id(), 42, 4.21,
+                Map.of(1, 1L, 2, 2L, 3, 4L, 4, 10L, 5, 25L), LocalDateTime.now());
+    }
+
+    @Benchmark
+    public byte[] estado() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(estadoDTO);
+    }
+
+    @Benchmark
+    public byte[] cidade() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(cidadeDTO);
+    }
+
+    @Benchmark
+    public byte[] endereco() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(enderecoDTO);
+    }
+
+    @Benchmark
+    public byte[] restaurante() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(restauranteDTO);
+    }
+
+    @Benchmark
+    public byte[] reserva() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(reservaDTO);
+    }
+
+    @Benchmark
+    public byte[] avaliacao() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(avaliacaoDTO);
+    }
+
+    @Benchmark
+    public byte[] disponibilidade() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(disponibilidadeDTO);
+    }
+
+    @Benchmark
+    public byte[] resumoAvaliacao() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(resumoAvaliacaoDTO);
+    }
+}
@@ -0,0 +1,16 @@
+package br.com.reservei.api.application.dto;
+
+import br.com.reservei.api.infrastructure.utils.Cozinha;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.Map;
+
+public record BuscaRestauranteDTO(
+
+        List<RestauranteDTO> restaurantes,
+        @Schema(description = "Total de restaurantes por cozinha que atendem aos demais filtros",
+                example = "{\"JAPONESA\": 2, \"ITALIANA\": 1, \"CHINESA\": 0}")
+        Map<Cozinha, Long> cozinhas
+) {
+}
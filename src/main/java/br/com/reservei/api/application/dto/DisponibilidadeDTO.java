@@ -0,0 +1,20 @@
+package br.com.reservei.api.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record DisponibilidadeDTO(
+
+        @Schema(example = "1")
+        Long restauranteId,
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+        @Schema(example = "2021-10-10")
+        LocalDate data,
+        @Schema(example = "10")
+        int reservasPorHora,
+        List<HorarioDisponivelDTO> horarios
+) {
+}
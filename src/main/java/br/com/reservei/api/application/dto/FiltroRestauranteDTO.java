@@ -0,0 +1,17 @@
+package br.com.reservei.api.application.dto;
+
+import br.com.reservei.api.infrastructure.utils.Cozinha;
+
+import java.time.LocalTime;
+
+public record FiltroRestauranteDTO(
+        Cozinha cozinha,
+        Long cidadeId,
+        Long estadoId,
+        String nome,
+        Double notaMinima,
+        LocalTime abertoAs,
+        Long after,
+        Integer limit
+) {
+}
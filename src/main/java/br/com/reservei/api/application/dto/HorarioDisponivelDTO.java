@@ -0,0 +1,16 @@
+package br.com.reservei.api.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalTime;
+
+public record HorarioDisponivelDTO(
+
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "HH:mm:ss")
+        @Schema(example = "20:00:00")
+        LocalTime hora,
+        @Schema(example = "7")
+        int vagas
+) {
+}
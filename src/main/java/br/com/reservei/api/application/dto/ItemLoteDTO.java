@@ -0,0 +1,27 @@
+package br.com.reservei.api.application.dto;
+
+import br.com.reservei.api.infrastructure.utils.StatusItemLote;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ItemLoteDTO(
+
+        @Schema(example = "0")
+        int indice,
+        @Schema(example = "CRIADO")
+        StatusItemLote status,
+        @Schema(example = "1")
+        Long id,
+        @Schema(example = "Restaurante não encontrado com id: 1")
+        String mensagem
+) {
+
+    public static ItemLoteDTO criado(int indice, Long id) {
+        return new ItemLoteDTO(indice, StatusItemLote.CRIADO, id, null);
+    }
+
+    public static ItemLoteDTO rejeitado(int indice, String mensagem) {
+        return new ItemLoteDTO(indice, StatusItemLote.REJEITADO, null, mensagem);
+    }
+}
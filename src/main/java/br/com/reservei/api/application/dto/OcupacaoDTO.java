@@ -0,0 +1,26 @@
+package br.com.reservei.api.application.dto;
+
+import br.com.reservei.api.infrastructure.utils.Granularidade;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record OcupacaoDTO(
+
+        @Schema(example = "1")
+        Long restauranteId,
+        @Schema(example = "HORA")
+        Granularidade granularidade,
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+        @Schema(example = "2021-10-10")
+        LocalDate de,
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+        @Schema(example = "2021-10-17")
+        LocalDate ate,
+        @Schema(example = "10")
+        int reservasPorHora,
+        List<TotalDoPeriodoDTO> periodos
+) {
+}
@@ -1,7 +1,9 @@
 package br.com.reservei.api.application.dto;
 
+import br.com.reservei.api.infrastructure.utils.SerializadorDeDataHora;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -17,6 +19,7 @@ public record ReservaDTO(
         Long restauranteId,
         @NotNull(message = "O horário de reserva não pode ser nulo")
         @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss")
+        @JsonSerialize(using = SerializadorDeDataHora.class)
         @Schema(example = "2021-10-10 20:00:00")
         LocalDateTime horaDaReserva
 ) {
@@ -0,0 +1,23 @@
+package br.com.reservei.api.application.dto;
+
+import br.com.reservei.api.infrastructure.utils.StatusItemLote;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+public record ResultadoLoteDTO(
+
+        @Schema(example = "2")
+        int total,
+        @Schema(example = "1")
+        int criados,
+        @Schema(example = "1")
+        int rejeitados,
+        List<ItemLoteDTO> itens
+) {
+
+    public static ResultadoLoteDTO de(List<ItemLoteDTO> itens) {
+        int criados = (int) itens.stream().filter(item -> item.status() == StatusItemLote.CRIADO).count();
+        return new ResultadoLoteDTO(itens.size(), criados, itens.size() - criados, itens);
+    }
+}
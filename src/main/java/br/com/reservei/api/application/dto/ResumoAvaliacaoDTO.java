@@ -0,0 +1,26 @@
+package br.com.reservei.api.application.dto;
+
+import br.com.reservei.api.infrastructure.utils.SerializadorDeDataHora;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public record ResumoAvaliacaoDTO(
+
+        @Schema(example = "1")
+        Long restauranteId,
+        @Schema(example = "3")
+        long totalAvaliacoes,
+        @Schema(example = "4.33")
+        double media,
+        @Schema(example = "{\"1\": 0, \"2\": 0, \"3\": 0, \"4\": 2, \"5\": 1}")
+        Map<Integer, Long> notas,
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss")
+        @JsonSerialize(using = SerializadorDeDataHora.class)
+        @Schema(example = "2021-10-10 20:00:00")
+        LocalDateTime ultimaAvaliacao
+) {
+}
@@ -0,0 +1,19 @@
+package br.com.reservei.api.application.dto;
+
+import br.com.reservei.api.infrastructure.utils.SerializadorDeDataHora;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+public record TotalDoPeriodoDTO(
+
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss")
+        @JsonSerialize(using = SerializadorDeDataHora.class)
+        @Schema(example = "2021-10-10 20:00:00")
+        LocalDateTime inicio,
+        @Schema(example = "7")
+        long total
+) {
+}
@@ -0,0 +1,4 @@
+package br.com.reservei.api.application.dto;
+
+public record VersionadoDTO<T>(T conteudo, Long versao) {
+}
@@ -1,14 +1,21 @@
 package br.com.reservei.api.application.usecases.avaliacao;
 
 import br.com.reservei.api.application.dto.AvaliacaoDTO;
+import br.com.reservei.api.application.dto.ResultadoLoteDTO;
+import br.com.reservei.api.application.dto.ResumoAvaliacaoDTO;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface AvaliacaoService {
 
     AvaliacaoDTO buscarPorId(Long id);
     List<AvaliacaoDTO> buscarTodos();
+    List<AvaliacaoDTO> buscarPagina(Long after, Integer limit);
+    void percorrerTodos(Consumer<AvaliacaoDTO> consumidor);
     AvaliacaoDTO salvar(AvaliacaoDTO avaliacaoDto);
+    ResultadoLoteDTO salvarLote(List<AvaliacaoDTO> avaliacoesDto);
     AvaliacaoDTO atualizar(Long id, AvaliacaoDTO avaliacaoDto);
     void deletarPorId(Long id);
+    ResumoAvaliacaoDTO buscarResumo(Long restauranteId);
 }
@@ -1,15 +1,33 @@
 package br.com.reservei.api.application.usecases.avaliacao;
 
 import br.com.reservei.api.application.dto.AvaliacaoDTO;
+import br.com.reservei.api.application.dto.ItemLoteDTO;
+import br.com.reservei.api.application.dto.RestauranteDTO;
+import br.com.reservei.api.application.dto.ResultadoLoteDTO;
+import br.com.reservei.api.application.dto.ResumoAvaliacaoDTO;
 import br.com.reservei.api.domain.exceptions.RecursoNaoEncontradoException;
+import br.com.reservei.api.domain.model.Restaurante;
+import br.com.reservei.api.domain.repository.projection.NotaDaAvaliacao;
+import br.com.reservei.api.infrastructure.config.RoteadorDeDataSource;
+import br.com.reservei.api.infrastructure.utils.Lote;
+import br.com.reservei.api.infrastructure.utils.Paginacao;
 import br.com.reservei.api.interfaces.mapper.AvaliacaoMapper;
 import br.com.reservei.api.domain.model.Avaliacao;
 import br.com.reservei.api.domain.repository.AvaliacaoRepository;
+import br.com.reservei.api.domain.repository.projection.DadosDaAvaliacao;
 import br.com.reservei.api.application.usecases.restaurante.RestauranteService;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @Service
@@ -17,44 +35,140 @@ public class AvaliacaoServiceImpl implements AvaliacaoService {
 
     private final AvaliacaoRepository avaliacaoRepository;
     private final AvaliacaoMapper avaliacaoMapper;
+    private final EntityManager entityManager;
     private final RestauranteService restauranteService;
+    private final ResumoAvaliacaoService resumoAvaliacaoService;
 
     @Override
+    @Transactional(readOnly = true)
     public AvaliacaoDTO buscarPorId(Long id){
-        Avaliacao avaliacao = avaliacaoRepository.findById(id).orElseThrow(()->
-                new RecursoNaoEncontradoException("Avaliação não encontrada com id: " + id)
-        );
-        return avaliacaoMapper.toDto(avaliacao);
+        return avaliacaoRepository.buscarDadosPorId(id)
+                .map(AvaliacaoServiceImpl::paraDto)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Avaliação não encontrada com id: " + id));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<AvaliacaoDTO> buscarTodos() {
-        return avaliacaoRepository.findAll()
+        return avaliacaoRepository.listarDados()
+                .stream()
+                .map(AvaliacaoServiceImpl::paraDto)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AvaliacaoDTO> buscarPagina(Long after, Integer limit) {
+        return avaliacaoRepository.listarDadosAposId(Paginacao.cursor(after), Paginacao.limite(limit))
                 .stream()
-                .map(avaliacaoMapper::toDto)
+                .map(AvaliacaoServiceImpl::paraDto)
                 .toList();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public void percorrerTodos(Consumer<AvaliacaoDTO> consumidor) {
+        Paginacao.percorrer(avaliacaoRepository.streamDados(), AvaliacaoServiceImpl::paraDto, consumidor);
+    }
+
     @Override
     public AvaliacaoDTO salvar(AvaliacaoDTO avaliacaoDto) {
-        restauranteService.buscarPorId(avaliacaoDto.restauranteId());
+        restauranteService.verificarExistencia(avaliacaoDto.restauranteId());
         Avaliacao avaliacao = avaliacaoMapper.toEntity(avaliacaoDto);
+        avaliacao.setRestaurante(entityManager.getReference(Restaurante.class, avaliacaoDto.restauranteId()));
         avaliacao = avaliacaoRepository.save(avaliacao);
+        resumoAvaliacaoService.registrar(avaliacao.getRestaurante().getId(), avaliacao.getNota(), avaliacao.getDataCriacao());
         return avaliacaoMapper.toDto(avaliacao);
     }
 
     @Override
+    public ResultadoLoteDTO salvarLote(List<AvaliacaoDTO> avaliacoesDto) {
+        Lote.validarTamanho(avaliacoesDto);
+        Set<Long> restaurantes = buscarRestaurantesDoLote(avaliacoesDto);
+        ItemLoteDTO[] itens = new ItemLoteDTO[avaliacoesDto.size()];
+        List<Integer> indicesAceitos = new ArrayList<>();
+        List<Avaliacao> avaliacoes = new ArrayList<>();
+        for (int indice = 0; indice < avaliacoesDto.size(); indice++) {
+            AvaliacaoDTO avaliacaoDto = avaliacoesDto.get(indice);
+            if (avaliacaoDto == null || !restaurantes.contains(avaliacaoDto.restauranteId())) {
+                itens[indice] = ItemLoteDTO.rejeitado(indice, "Restaurante não encontrado com id: " +
+                        (avaliacaoDto == null ? null : avaliacaoDto.restauranteId()));
+                continue;
+            }
+            indicesAceitos.add(indice);
+            Avaliacao avaliacao = avaliacaoMapper.toEntity(avaliacaoDto);
+            avaliacao.setRestaurante(entityManager.getReference(Restaurante.class, avaliacaoDto.restauranteId()));
+            avaliacoes.add(avaliacao);
+        }
+
+        if (!avaliacoes.isEmpty()) {
+            List<Avaliacao> avaliacoesSalvas = avaliacaoRepository.saveAll(avaliacoes);
+            for (int i = 0; i < avaliacoesSalvas.size(); i++) {
+                Avaliacao avaliacao = avaliacoesSalvas.get(i);
+                resumoAvaliacaoService.registrar(avaliacao.getRestaurante().getId(), avaliacao.getNota(),
+                        avaliacao.getDataCriacao());
+                itens[indicesAceitos.get(i)] = ItemLoteDTO.criado(indicesAceitos.get(i), avaliacao.getId());
+            }
+        }
+        return ResultadoLoteDTO.de(Arrays.asList(itens));
+    }
+
+    @Override
+    @Transactional
     public AvaliacaoDTO atualizar(Long id, AvaliacaoDTO avaliacaoDto) {
-        Avaliacao avaliacao = avaliacaoMapper.toEntity(this.buscarPorId(id));
-        restauranteService.buscarPorId(avaliacaoDto.restauranteId());
+        Avaliacao avaliacao = carregar(id);
+        AvaliacaoDTO avaliacaoAtual = avaliacaoMapper.toDto(avaliacao);
+        boolean mudouDeRestaurante = !Objects.equals(avaliacaoAtual.restauranteId(), avaliacaoDto.restauranteId());
+        if (mudouDeRestaurante) {
+            restauranteService.verificarExistencia(avaliacaoDto.restauranteId());
+        }
         avaliacaoMapper.updateFromDto(avaliacaoDto, avaliacao);
-        avaliacao = avaliacaoRepository.save(avaliacao);
+        if (mudouDeRestaurante) {
+            avaliacao.setRestaurante(entityManager.getReference(Restaurante.class, avaliacaoDto.restauranteId()));
+        }
+        avaliacaoRepository.flush();
+        resumoAvaliacaoService.remover(avaliacaoAtual.restauranteId(), avaliacaoAtual.nota(), avaliacaoAtual.dataCriacao());
+        resumoAvaliacaoService.registrar(avaliacao.getRestaurante().getId(), avaliacao.getNota(), avaliacaoAtual.dataCriacao());
         return avaliacaoMapper.toDto(avaliacao);
     }
 
     @Override
+    @Transactional
     public void deletarPorId(Long id) {
-        this.buscarPorId(id);
-        avaliacaoRepository.deleteById(id);
+        NotaDaAvaliacao avaliacao = avaliacaoRepository.buscarNotaPorId(id).orElse(null);
+        if (avaliacao == null || avaliacaoRepository.deletarPorId(id) == 0) {
+            throw new RecursoNaoEncontradoException("Avaliação não encontrada com id: " + id);
+        }
+        resumoAvaliacaoService.remover(avaliacao.getRestauranteId(), avaliacao.getNota(), avaliacao.getDataCriacao());
+    }
+
+    @Override
+    public ResumoAvaliacaoDTO buscarResumo(Long restauranteId) {
+        restauranteService.verificarExistencia(restauranteId);
+        return resumoAvaliacaoService.buscarResumo(restauranteId);
+    }
+
+    private Set<Long> buscarRestaurantesDoLote(List<AvaliacaoDTO> avaliacoesDto) {
+        List<Long> ids = avaliacoesDto.stream()
+                .filter(Objects::nonNull)
+                .map(AvaliacaoDTO::restauranteId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        return RoteadorDeDataSource.noPrimario(() -> restauranteService.buscarPorIds(ids))
+                .stream()
+                .map(RestauranteDTO::id)
+                .collect(Collectors.toSet());
+    }
+
+    private Avaliacao carregar(Long id) {
+        return avaliacaoRepository.findById(id).orElseThrow(()->
+                new RecursoNaoEncontradoException("Avaliação não encontrada com id: " + id)
+        );
+    }
+
+    private static AvaliacaoDTO paraDto(DadosDaAvaliacao avaliacao) {
+        return new AvaliacaoDTO(avaliacao.getId(), avaliacao.getNota(), avaliacao.getComentario(),
+                avaliacao.getDataCriacao(), avaliacao.getRestauranteId());
     }
 }
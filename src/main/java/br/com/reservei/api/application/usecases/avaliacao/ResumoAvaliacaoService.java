@@ -0,0 +1,16 @@
+package br.com.reservei.api.application.usecases.avaliacao;
+
+import br.com.reservei.api.application.dto.ResumoAvaliacaoDTO;
+
+import java.time.LocalDateTime;
+
+public interface ResumoAvaliacaoService {
+
+    void reconstruir();
+    void registrar(Long restauranteId, int nota, LocalDateTime dataCriacao);
+    void remover(Long restauranteId, int nota, LocalDateTime dataCriacao);
+    void descartar(Long restauranteId);
+    ResumoAvaliacaoDTO buscarResumo(Long restauranteId);
+    void persistir();
+    void encerrar();
+}
@@ -0,0 +1,249 @@
+package br.com.reservei.api.application.usecases.avaliacao;
+
+import br.com.reservei.api.application.dto.ResumoAvaliacaoDTO;
+import br.com.reservei.api.domain.model.ResumoAvaliacao;
+import br.com.reservei.api.domain.repository.AvaliacaoRepository;
+import br.com.reservei.api.domain.repository.ResumoAvaliacaoRepository;
+import br.com.reservei.api.infrastructure.config.RoteadorDeDataSource;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Mantém em memória o resumo das avaliações de cada restaurante: total, soma das notas, histograma de 1 a 5
+ * e data da última avaliação.
+ * <p>
+ * O resumo é carregado na inicialização da tabela {@code resumo_avaliacao} e atualizado de forma incremental
+ * a cada avaliação salva, alterada ou deletada, de modo que a leitura não percorre as avaliações. Dentro de uma
+ * transação a alteração só chega ao resumo depois do commit, para que uma avaliação desfeita não fique contada.
+ * Só a remoção da avaliação mais recente consulta o banco, para achar a nova data da última avaliação. Os
+ * restaurantes alterados são regravados na tabela periodicamente e no encerramento, e os deletados saem dela.
+ */
+@RequiredArgsConstructor
+@Service
+public class ResumoAvaliacaoServiceImpl implements ResumoAvaliacaoService {
+
+    private static final int MENOR_NOTA = 1;
+    private static final int MAIOR_NOTA = 5;
+
+    private final AvaliacaoRepository avaliacaoRepository;
+    private final ResumoAvaliacaoRepository resumoAvaliacaoRepository;
+
+    private final ConcurrentMap<Long, Acumulador> resumos = new ConcurrentHashMap<>();
+    private final Set<Long> alterados = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Carrega os resumos gravados quando a tabela foi gravada por inteiro no último encerramento; depois de uma
+     * parada sem gravação final refaz os resumos pela consulta agrupada e regrava a tabela do zero, o que também
+     * descarta as linhas de restaurantes deletados. Até o próximo encerramento a tabela fica marcada como incompleta.
+     */
+    @PostConstruct
+    @Override
+    public void reconstruir() {
+        resumos.clear();
+        alterados.clear();
+        RoteadorDeDataSource.noPrimario(() -> {
+            if (resumoAvaliacaoRepository.estaCompleto()) {
+                resumoAvaliacaoRepository.findAll()
+                        .forEach(resumo -> resumos.put(resumo.getRestauranteId(), Acumulador.de(resumo)));
+            } else {
+                avaliacaoRepository.contarPorRestauranteENota()
+                        .forEach(total -> acumuladorDo(total.getRestauranteId())
+                                .adicionar(total.getNota(), total.getTotal(), total.getUltimaAvaliacao()));
+                resumoAvaliacaoRepository.deleteAllInBatch();
+                alterados.addAll(resumos.keySet());
+            }
+            return resumoAvaliacaoRepository.marcarCompleto(false);
+        });
+    }
+
+    @Override
+    public void registrar(Long restauranteId, int nota, LocalDateTime dataCriacao) {
+        depoisDoCommit(() -> {
+            acumuladorDo(restauranteId).adicionar(nota, 1, dataCriacao);
+            alterados.add(restauranteId);
+        });
+    }
+
+    @Override
+    public void remover(Long restauranteId, int nota, LocalDateTime dataCriacao) {
+        depoisDoCommit(() -> {
+            Acumulador acumulador = resumos.get(restauranteId);
+            if (acumulador != null) {
+                if (acumulador.remover(nota, dataCriacao)) {
+                    acumulador.atualizarUltimaAvaliacao(RoteadorDeDataSource.noPrimario(
+                            () -> avaliacaoRepository.buscarUltimaAvaliacao(restauranteId)));
+                }
+                alterados.add(restauranteId);
+            }
+        });
+    }
+
+    @Override
+    public void descartar(Long restauranteId) {
+        depoisDoCommit(() -> {
+            resumos.remove(restauranteId);
+            alterados.add(restauranteId);
+        });
+    }
+
+    @Override
+    public ResumoAvaliacaoDTO buscarResumo(Long restauranteId) {
+        Acumulador acumulador = resumos.get(restauranteId);
+        return acumulador == null ? new Acumulador().toDto(restauranteId) : acumulador.toDto(restauranteId);
+    }
+
+    @Scheduled(fixedDelayString = "${reservei.avaliacao.resumo.intervalo-persistencia:60000}")
+    @Override
+    public void persistir() {
+        List<Long> lote = new ArrayList<>();
+        List<ResumoAvaliacao> pendentes = new ArrayList<>();
+        List<Long> descartados = new ArrayList<>();
+        for (Long restauranteId : alterados) {
+            alterados.remove(restauranteId);
+            lote.add(restauranteId);
+            Acumulador acumulador = resumos.get(restauranteId);
+            if (acumulador != null) {
+                pendentes.add(acumulador.toEntity(restauranteId));
+            } else {
+                descartados.add(restauranteId);
+            }
+        }
+        try {
+            if (!pendentes.isEmpty()) {
+                resumoAvaliacaoRepository.saveAll(pendentes);
+            }
+            if (!descartados.isEmpty()) {
+                resumoAvaliacaoRepository.deleteAllByIdInBatch(descartados);
+            }
+        } catch (RuntimeException e) {
+            alterados.addAll(lote);
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    @Override
+    public void encerrar() {
+        persistir();
+        resumoAvaliacaoRepository.marcarCompleto(true);
+    }
+
+    private void depoisDoCommit(Runnable alteracao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            alteracao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                alteracao.run();
+            }
+        });
+    }
+
+    private Acumulador acumuladorDo(Long restauranteId) {
+        return resumos.computeIfAbsent(restauranteId, id -> new Acumulador());
+    }
+
+    private static final class Acumulador {
+
+        private long total;
+        private long soma;
+        private final long[] histograma = new long[MAIOR_NOTA + 1];
+        private LocalDateTime ultimaAvaliacao;
+
+        static Acumulador de(ResumoAvaliacao resumo) {
+            Acumulador acumulador = new Acumulador();
+            acumulador.total = resumo.getTotalAvaliacoes();
+            acumulador.soma = resumo.getSomaDasNotas();
+            acumulador.histograma[1] = resumo.getTotalNota1();
+            acumulador.histograma[2] = resumo.getTotalNota2();
+            acumulador.histograma[3] = resumo.getTotalNota3();
+            acumulador.histograma[4] = resumo.getTotalNota4();
+            acumulador.histograma[5] = resumo.getTotalNota5();
+            acumulador.ultimaAvaliacao = resumo.getUltimaAvaliacao();
+            return acumulador;
+        }
+
+        synchronized void adicionar(int nota, long quantidade, LocalDateTime dataCriacao) {
+            total += quantidade;
+            soma += nota * quantidade;
+            if (nota >= MENOR_NOTA && nota <= MAIOR_NOTA) {
+                histograma[nota] += quantidade;
+            }
+            manterMaisRecente(dataCriacao);
+        }
+
+        synchronized void atualizarUltimaAvaliacao(LocalDateTime dataCriacao) {
+            manterMaisRecente(dataCriacao);
+        }
+
+        /**
+         * Desconta a nota e retorna true quando a avaliação removida podia ser a mais recente: nesse caso a data da
+         * última avaliação fica vazia até ser lida de novo do banco.
+         */
+        synchronized boolean remover(int nota, LocalDateTime dataCriacao) {
+            if (total == 0) {
+                return false;
+            }
+            total--;
+            soma -= nota;
+            if (nota >= MENOR_NOTA && nota <= MAIOR_NOTA && histograma[nota] > 0) {
+                histograma[nota]--;
+            }
+            if (total == 0) {
+                soma = 0;
+                ultimaAvaliacao = null;
+                return false;
+            }
+            if (ultimaAvaliacao != null && (dataCriacao == null || !dataCriacao.isBefore(ultimaAvaliacao))) {
+                ultimaAvaliacao = null;
+                return true;
+            }
+            return false;
+        }
+
+        private void manterMaisRecente(LocalDateTime dataCriacao) {
+            if (dataCriacao != null && (ultimaAvaliacao == null || dataCriacao.isAfter(ultimaAvaliacao))) {
+                ultimaAvaliacao = dataCriacao;
+            }
+        }
+
+        synchronized ResumoAvaliacaoDTO toDto(Long restauranteId) {
+            Map<Integer, Long> notas = new LinkedHashMap<>();
+            for (int nota = MENOR_NOTA; nota <= MAIOR_NOTA; nota++) {
+                notas.put(nota, histograma[nota]);
+            }
+            double media = total == 0 ? 0 : Math.round(soma * 100.0 / total) / 100.0;
+            return new ResumoAvaliacaoDTO(restauranteId, total, media, notas, ultimaAvaliacao);
+        }
+
+        synchronized ResumoAvaliacao toEntity(Long restauranteId) {
+            return ResumoAvaliacao.builder()
+                    .restauranteId(restauranteId)
+                    .totalAvaliacoes(total)
+                    .somaDasNotas(soma)
+                    .totalNota1(histograma[1])
+                    .totalNota2(histograma[2])
+                    .totalNota3(histograma[3])
+                    .totalNota4(histograma[4])
+                    .totalNota5(histograma[5])
+                    .ultimaAvaliacao(ultimaAvaliacao)
+                    .build();
+        }
+    }
+}
@@ -3,11 +3,14 @@ package br.com.reservei.api.application.usecases.endereco;
 import br.com.reservei.api.application.dto.CidadeDTO;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface CidadeService {
 
     CidadeDTO buscarPorId(Long id);
     List<CidadeDTO> buscarTodos();
+    List<CidadeDTO> buscarPagina(Long after, Integer limit);
+    void percorrerTodos(Consumer<CidadeDTO> consumidor);
     CidadeDTO salvar(CidadeDTO cidadeDto);
     CidadeDTO atualizar(Long id, CidadeDTO cidadeDto);
     void deletarPorId(Long id);
@@ -4,13 +4,27 @@ import br.com.reservei.api.application.dto.CidadeDTO;
 import br.com.reservei.api.application.dto.EstadoDTO;
 import br.com.reservei.api.domain.exceptions.RecursoJaSalvoException;
 import br.com.reservei.api.domain.exceptions.RecursoNaoEncontradoException;
+import br.com.reservei.api.domain.model.Estado;
+import br.com.reservei.api.infrastructure.config.CacheConfig;
+import br.com.reservei.api.infrastructure.config.RoteadorDeDataSource;
+import br.com.reservei.api.infrastructure.utils.Paginacao;
+import br.com.reservei.api.infrastructure.utils.VersaoDasColecoes;
+import br.com.reservei.api.infrastructure.utils.VersaoDasColecoes.Colecao;
 import br.com.reservei.api.interfaces.mapper.CidadeMapper;
 import br.com.reservei.api.domain.model.Cidade;
 import br.com.reservei.api.domain.repository.CidadeRepository;
+import br.com.reservei.api.domain.repository.projection.DadosDaCidade;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
 
 @RequiredArgsConstructor
 @Service
@@ -18,26 +32,46 @@ public class CidadeServiceImpl implements CidadeService {
 
     private final CidadeRepository cidadeRepository;
     private final CidadeMapper cidadeMapper;
+    private final EntityManager entityManager;
     private final EstadoService estadoService;
+    private final VersaoDasColecoes versaoDasColecoes;
 
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.CIDADES, key = "#id")
+    @Transactional(readOnly = true)
     public CidadeDTO buscarPorId(Long id){
-        Cidade cidade = cidadeRepository.findById(id).orElseThrow(()->
-                new RecursoNaoEncontradoException("Cidade não encontrada com id: " + id)
-        );
-        return cidadeMapper.toDto(cidade);
+        return RoteadorDeDataSource.noPrimario(() -> cidadeRepository.buscarDadosPorId(id))
+                .map(CidadeServiceImpl::paraDto)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Cidade não encontrada com id: " + id));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<CidadeDTO> buscarTodos() {
-        return cidadeRepository.findAll()
+        return cidadeRepository.listarDados()
                 .stream()
-                .map(cidadeMapper::toDto)
+                .map(CidadeServiceImpl::paraDto)
                 .toList();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<CidadeDTO> buscarPagina(Long after, Integer limit) {
+        return cidadeRepository.listarDadosAposId(Paginacao.cursor(after), Paginacao.limite(limit))
+                .stream()
+                .map(CidadeServiceImpl::paraDto)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void percorrerTodos(Consumer<CidadeDTO> consumidor) {
+        Paginacao.percorrer(cidadeRepository.streamDados(), CidadeServiceImpl::paraDto, consumidor);
+    }
+
+    @Override
+    @CachePut(cacheNames = CacheConfig.CIDADES, key = "#result.id()")
     public CidadeDTO salvar(CidadeDTO cidadeDto) {
         EstadoDTO estadoDTO = estadoService.buscarPorId(cidadeDto.estadoId());
         cidadeRepository.findByNomeAndEstado_Id(cidadeDto.nome(), cidadeDto.estadoId())
@@ -47,26 +81,50 @@ public class CidadeServiceImpl implements CidadeService {
                 });
         Cidade cidade = cidadeMapper.toEntity(cidadeDto);
         cidade = cidadeRepository.save(cidade);
+        versaoDasColecoes.registrarAlteracao(Colecao.CIDADES);
         return cidadeMapper.toDto(cidade);
     }
 
     @Override
+    @Transactional
+    @CachePut(cacheNames = CacheConfig.CIDADES, key = "#id")
     public CidadeDTO atualizar(Long id, CidadeDTO cidadeDto) {
-        Cidade cidade = cidadeMapper.toEntity(this.buscarPorId(id));
+        Cidade cidade = carregar(id);
         EstadoDTO estadoDTO = estadoService.buscarPorId(cidadeDto.estadoId());
-        cidadeRepository.findByNomeAndEstado_IdAndIdNot(cidadeDto.nome(), cidadeDto.estadoId(), id)
-                .ifPresent(cidadePresente -> {
-                    throw new RecursoJaSalvoException("Uma cidade com nome '" + cidadePresente.getNome() +
-                            "' do estado '" + estadoDTO.nome() + "' já existe no banco de dados.");
-                });
+        boolean mudouDeEstado = !Objects.equals(cidade.getEstado().getId(), cidadeDto.estadoId());
+        if (mudouDeEstado || !Objects.equals(cidade.getNome(), cidadeDto.nome())) {
+            cidadeRepository.findByNomeAndEstado_IdAndIdNot(cidadeDto.nome(), cidadeDto.estadoId(), id)
+                    .ifPresent(cidadePresente -> {
+                        throw new RecursoJaSalvoException("Uma cidade com nome '" + cidadePresente.getNome() +
+                                "' do estado '" + estadoDTO.nome() + "' já existe no banco de dados.");
+                    });
+        }
         cidadeMapper.updateFromDto(cidadeDto, cidade);
-        cidade = cidadeRepository.save(cidade);
+        if (mudouDeEstado) {
+            cidade.setEstado(entityManager.getReference(Estado.class, cidadeDto.estadoId()));
+        }
+        cidadeRepository.flush();
+        versaoDasColecoes.registrarAlteracao(Colecao.CIDADES);
         return cidadeMapper.toDto(cidade);
     }
 
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CIDADES, key = "#id")
     public void deletarPorId(Long id) {
-        this.buscarPorId(id);
-        cidadeRepository.deleteById(id);
+        if (cidadeRepository.deletarPorId(id) == 0) {
+            throw new RecursoNaoEncontradoException("Cidade não encontrada com id: " + id);
+        }
+        versaoDasColecoes.registrarAlteracao(Colecao.CIDADES);
+    }
+
+    private Cidade carregar(Long id) {
+        return cidadeRepository.findById(id).orElseThrow(()->
+                new RecursoNaoEncontradoException("Cidade não encontrada com id: " + id)
+        );
+    }
+
+    private static CidadeDTO paraDto(DadosDaCidade cidade) {
+        return new CidadeDTO(cidade.getId(), cidade.getNome(), cidade.getEstadoId());
     }
 }
@@ -3,11 +3,14 @@ package br.com.reservei.api.application.usecases.endereco;
 import br.com.reservei.api.application.dto.EnderecoDTO;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface EnderecoService {
 
     EnderecoDTO buscarPorId(Long id);
     List<EnderecoDTO> buscarTodos();
+    List<EnderecoDTO> buscarPagina(Long after, Integer limit);
+    void percorrerTodos(Consumer<EnderecoDTO> consumidor);
     EnderecoDTO salvar(EnderecoDTO enderecoDto);
     EnderecoDTO atualizar(Long id, EnderecoDTO enderecoDto);
     void deletarPorId(Long id);
@@ -1,14 +1,27 @@
 package br.com.reservei.api.application.usecases.endereco;
 
 import br.com.reservei.api.application.dto.EnderecoDTO;
+import br.com.reservei.api.application.usecases.restaurante.IndiceRestauranteService;
 import br.com.reservei.api.domain.exceptions.RecursoNaoEncontradoException;
+import br.com.reservei.api.domain.model.Cidade;
+import br.com.reservei.api.infrastructure.config.CacheConfig;
+import br.com.reservei.api.infrastructure.config.RoteadorDeDataSource;
+import br.com.reservei.api.infrastructure.utils.Paginacao;
 import br.com.reservei.api.interfaces.mapper.EnderecoMapper;
 import br.com.reservei.api.domain.model.Endereco;
 import br.com.reservei.api.domain.repository.EnderecoRepository;
+import br.com.reservei.api.domain.repository.projection.DadosDoEndereco;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
 
 @RequiredArgsConstructor
 @Service
@@ -16,26 +29,46 @@ public class EnderecoServiceImpl implements EnderecoService {
 
     private final EnderecoRepository enderecoRepository;
     private final EnderecoMapper enderecoMapper;
+    private final EntityManager entityManager;
     private final CidadeService cidadeService;
+    private final IndiceRestauranteService indiceRestauranteService;
 
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.ENDERECOS, key = "#id")
+    @Transactional(readOnly = true)
     public EnderecoDTO buscarPorId(Long id){
-        Endereco endereco = enderecoRepository.findById(id).orElseThrow(()->
-                new RecursoNaoEncontradoException("Endereço não encontrado com id: " + id)
-        );
-        return enderecoMapper.toDto(endereco);
+        return RoteadorDeDataSource.noPrimario(() -> enderecoRepository.buscarDadosPorId(id))
+                .map(EnderecoServiceImpl::paraDto)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Endereço não encontrado com id: " + id));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<EnderecoDTO> buscarTodos() {
-        return enderecoRepository.findAll()
+        return enderecoRepository.listarDados()
+                .stream()
+                .map(EnderecoServiceImpl::paraDto)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EnderecoDTO> buscarPagina(Long after, Integer limit) {
+        return enderecoRepository.listarDadosAposId(Paginacao.cursor(after), Paginacao.limite(limit))
                 .stream()
-                .map(enderecoMapper::toDto)
+                .map(EnderecoServiceImpl::paraDto)
                 .toList();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public void percorrerTodos(Consumer<EnderecoDTO> consumidor) {
+        Paginacao.percorrer(enderecoRepository.streamDados(), EnderecoServiceImpl::paraDto, consumidor);
+    }
+
+    @Override
+    @CachePut(cacheNames = CacheConfig.ENDERECOS, key = "#result.id()")
     public EnderecoDTO salvar(EnderecoDTO enderecoDto) {
         cidadeService.buscarPorId(enderecoDto.cidadeId());
         Endereco endereco = enderecoMapper.toEntity(enderecoDto);
@@ -44,17 +77,38 @@ public class EnderecoServiceImpl implements EnderecoService {
     }
 
     @Override
+    @Transactional
+    @CachePut(cacheNames = CacheConfig.ENDERECOS, key = "#id")
     public EnderecoDTO atualizar(Long id, EnderecoDTO enderecoDto) {
-        Endereco endereco = enderecoMapper.toEntity(this.buscarPorId(id));
+        Endereco endereco = carregar(id);
         cidadeService.buscarPorId(enderecoDto.cidadeId());
         enderecoMapper.updateFromDto(enderecoDto, endereco);
-        endereco = enderecoRepository.save(endereco);
-        return enderecoMapper.toDto(endereco);
+        if (!Objects.equals(endereco.getCidade().getId(), enderecoDto.cidadeId())) {
+            endereco.setCidade(entityManager.getReference(Cidade.class, enderecoDto.cidadeId()));
+        }
+        enderecoRepository.flush();
+        EnderecoDTO atualizado = enderecoMapper.toDto(endereco);
+        indiceRestauranteService.moverEndereco(id, atualizado.cidadeId());
+        return atualizado;
     }
 
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ENDERECOS, key = "#id")
     public void deletarPorId(Long id) {
-        this.buscarPorId(id);
-        enderecoRepository.deleteById(id);
+        if (enderecoRepository.deletarPorId(id) == 0) {
+            throw new RecursoNaoEncontradoException("Endereço não encontrado com id: " + id);
+        }
+    }
+
+    private Endereco carregar(Long id) {
+        return enderecoRepository.findById(id).orElseThrow(()->
+                new RecursoNaoEncontradoException("Endereço não encontrado com id: " + id)
+        );
+    }
+
+    private static EnderecoDTO paraDto(DadosDoEndereco endereco) {
+        return new EnderecoDTO(endereco.getId(), endereco.getCidadeId(), endereco.getBairro(), endereco.getRua(),
+                endereco.getNumero(), endereco.getCep());
     }
 }
@@ -3,11 +3,14 @@ package br.com.reservei.api.application.usecases.endereco;
 import br.com.reservei.api.application.dto.EstadoDTO;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface EstadoService {
 
     EstadoDTO buscarPorId(Long id);
     List<EstadoDTO> buscarTodos();
+    List<EstadoDTO> buscarPagina(Long after, Integer limit);
+    void percorrerTodos(Consumer<EstadoDTO> consumidor);
     EstadoDTO salvar(EstadoDTO estadoDto);
     EstadoDTO atualizar(Long id, EstadoDTO estadoDto);
     void deletarPorId(Long id);
@@ -3,14 +3,26 @@ package br.com.reservei.api.application.usecases.endereco;
 import br.com.reservei.api.application.dto.EstadoDTO;
 import br.com.reservei.api.domain.exceptions.RecursoJaSalvoException;
 import br.com.reservei.api.domain.exceptions.RecursoNaoEncontradoException;
+import br.com.reservei.api.infrastructure.config.CacheConfig;
+import br.com.reservei.api.infrastructure.config.RoteadorDeDataSource;
+import br.com.reservei.api.infrastructure.utils.Paginacao;
+import br.com.reservei.api.infrastructure.utils.VersaoDasColecoes;
+import br.com.reservei.api.infrastructure.utils.VersaoDasColecoes.Colecao;
 import br.com.reservei.api.interfaces.mapper.EstadoMapper;
 import br.com.reservei.api.domain.model.Estado;
 import br.com.reservei.api.domain.repository.EstadoRepository;
+import br.com.reservei.api.domain.repository.projection.DadosDoEstado;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @RequiredArgsConstructor
 @Service
@@ -18,24 +30,43 @@ public class EstadoServiceImpl implements EstadoService {
 
     private final EstadoRepository estadoRepository;
     private final EstadoMapper estadoMapper;
+    private final VersaoDasColecoes versaoDasColecoes;
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.ESTADOS, key = "#id")
+    @Transactional(readOnly = true)
     public EstadoDTO buscarPorId(Long id){
-        Estado estado = estadoRepository.findById(id).orElseThrow(()->
-                new RecursoNaoEncontradoException("Estado não encontrado com id: " + id)
-        );
-        return estadoMapper.toDto(estado);
+        return RoteadorDeDataSource.noPrimario(() -> estadoRepository.buscarDadosPorId(id))
+                .map(EstadoServiceImpl::paraDto)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Estado não encontrado com id: " + id));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<EstadoDTO> buscarTodos() {
-        return estadoRepository.findAll()
+        return estadoRepository.listarDados()
                 .stream()
-                .map(estadoMapper::toDto)
+                .map(EstadoServiceImpl::paraDto)
                 .toList();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<EstadoDTO> buscarPagina(Long after, Integer limit) {
+        return estadoRepository.listarDadosAposId(Paginacao.cursor(after), Paginacao.limite(limit))
+                .stream()
+                .map(EstadoServiceImpl::paraDto)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void percorrerTodos(Consumer<EstadoDTO> consumidor) {
+        Paginacao.percorrer(estadoRepository.streamDados(), EstadoServiceImpl::paraDto, consumidor);
+    }
+
+    @Override
+    @CachePut(cacheNames = CacheConfig.ESTADOS, key = "#result.id()")
     public EstadoDTO salvar(EstadoDTO estadoDto) {
         estadoRepository.findByNomeOrSigla(estadoDto.nome(), estadoDto.sigla())
                 .ifPresent(estadoPresente -> {
@@ -44,25 +75,43 @@ public class EstadoServiceImpl implements EstadoService {
                 });
         Estado estado = estadoMapper.toEntity(estadoDto);
         estado = estadoRepository.save(estado);
+        versaoDasColecoes.registrarAlteracao(Colecao.ESTADOS);
         return estadoMapper.toDto(estado);
     }
 
     @Override
+    @Transactional
+    @CachePut(cacheNames = CacheConfig.ESTADOS, key = "#id")
     public EstadoDTO atualizar(Long id, EstadoDTO estadoDto) {
-        Estado estado = estadoMapper.toEntity(this.buscarPorId(id));
-        estadoRepository.findByNomeOrSiglaAndIdNot(estadoDto.nome(), estadoDto.sigla(), estado.getId())
-                .ifPresent(estadoPresente -> {
-                    throw new RecursoJaSalvoException("Um estado com sigla '" + estadoPresente.getSigla() +
-                            "' ou nome '" + estadoPresente.getNome() + "' já existe no banco de dados.");
-                });
+        Estado estado = carregar(id);
+        if (!Objects.equals(estado.getNome(), estadoDto.nome()) || !Objects.equals(estado.getSigla(), estadoDto.sigla())) {
+            estadoRepository.findByNomeOrSiglaAndIdNot(estadoDto.nome(), estadoDto.sigla(), estado.getId())
+                    .ifPresent(estadoPresente -> {
+                        throw new RecursoJaSalvoException("Um estado com sigla '" + estadoPresente.getSigla() +
+                                "' ou nome '" + estadoPresente.getNome() + "' já existe no banco de dados.");
+                    });
+        }
         estadoMapper.updateFromDto(estadoDto, estado);
-        estado = estadoRepository.save(estado);
+        estadoRepository.flush();
+        versaoDasColecoes.registrarAlteracao(Colecao.ESTADOS);
         return estadoMapper.toDto(estado);
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.ESTADOS, key = "#id")
     public void deletarPorId(Long id) {
         this.buscarPorId(id);
         estadoRepository.deleteById(id);
+        versaoDasColecoes.registrarAlteracao(Colecao.ESTADOS);
+    }
+
+    private Estado carregar(Long id) {
+        return estadoRepository.findById(id).orElseThrow(()->
+                new RecursoNaoEncontradoException("Estado não encontrado com id: " + id)
+        );
+    }
+
+    private static EstadoDTO paraDto(DadosDoEstado estado) {
+        return new EstadoDTO(estado.getId(), estado.getNome(), estado.getSigla());
     }
 }
@@ -0,0 +1,104 @@
+package br.com.reservei.api.application.usecases.reserva;
+
+import br.com.reservei.api.application.dto.ReservaDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Reservas do dia corrente de cada restaurante consultado, ordenadas por horário, para que o recepcionista consulte
+ * a agenda do dia sem ir ao banco a cada atualização da tela.
+ * <p>
+ * A agenda de um restaurante é carregada na primeira consulta e nunca é alterada depois: cada escrita confirmada
+ * em uma reserva do restaurante incrementa a sua versão e a próxima consulta recarrega o dia. A versão é lida antes
+ * da carga, então uma escrita que termina durante a carga invalida a agenda recém-montada. Escritas feitas em outras
+ * instâncias só aparecem depois da validade configurada, assim como nos caches.
+ */
+@Component
+public class AgendaDoDia {
+
+    private final long validadeEmNanos;
+    private final Map<Long, Agenda> agendas = new ConcurrentHashMap<>();
+    private final Map<Long, Long> versoes = new ConcurrentHashMap<>();
+
+    public AgendaDoDia(@Value("${reservei.reserva.agenda.validade}") Duration validade) {
+        this.validadeEmNanos = validade.toNanos();
+    }
+
+    /**
+     * Indica se o período [de, ate) está inteiro dentro do dia informado.
+     */
+    public static boolean cobre(LocalDate dia, LocalDateTime de, LocalDateTime ate) {
+        LocalDateTime inicio = dia.atStartOfDay();
+        return !de.isBefore(inicio) && !ate.isAfter(inicio.plusDays(1));
+    }
+
+    public List<ReservaDTO> buscar(Long restauranteId, LocalDate dia, LocalDateTime de, LocalDateTime ate,
+                                   Function<LocalDate, List<ReservaDTO>> carregarDia) {
+        Agenda agenda = agendas.get(restauranteId);
+        long versao = versoes.getOrDefault(restauranteId, 0L);
+        long agora = System.nanoTime();
+        if (agenda == null || !agenda.valida(dia, versao, agora, validadeEmNanos)) {
+            agenda = new Agenda(dia, versao, agora, porHorario(carregarDia.apply(dia)));
+            agendas.put(restauranteId, agenda);
+        }
+        return agenda.buscar(de, ate);
+    }
+
+    /**
+     * Registra uma escrita em uma reserva do restaurante. Dentro de uma transação a agenda só é invalidada depois do
+     * commit, para que uma consulta concorrente não guarde o estado antigo com a nova versão.
+     */
+    public void registrarAlteracao(Long restauranteId) {
+        if (restauranteId == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            versoes.merge(restauranteId, 1L, Long::sum);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                versoes.merge(restauranteId, 1L, Long::sum);
+            }
+        });
+    }
+
+    private static NavigableMap<LocalDateTime, List<ReservaDTO>> porHorario(List<ReservaDTO> reservas) {
+        TreeMap<LocalDateTime, List<ReservaDTO>> porHorario = new TreeMap<>();
+        for (ReservaDTO reserva : reservas) {
+            porHorario.computeIfAbsent(reserva.horaDaReserva(), horario -> new ArrayList<>(1)).add(reserva);
+        }
+        return Collections.unmodifiableNavigableMap(porHorario);
+    }
+
+    private record Agenda(LocalDate dia, long versao, long carregadaEm,
+                          NavigableMap<LocalDateTime, List<ReservaDTO>> porHorario) {
+
+        boolean valida(LocalDate hoje, long versaoAtual, long agora, long validadeEmNanos) {
+            return dia.equals(hoje) && versao == versaoAtual && agora - carregadaEm < validadeEmNanos;
+        }
+
+        List<ReservaDTO> buscar(LocalDateTime de, LocalDateTime ate) {
+            Collection<List<ReservaDTO>> horarios = porHorario.subMap(de, true, ate, false).values();
+            List<ReservaDTO> reservas = new ArrayList<>();
+            horarios.forEach(reservas::addAll);
+            return reservas;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package br.com.reservei.api.application.usecases.reserva;
+
+import br.com.reservei.api.application.dto.DisponibilidadeDTO;
+import br.com.reservei.api.application.dto.RestauranteDTO;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public interface CapacidadeReservaService {
+
+    void reconstruir();
+    void reservar(RestauranteDTO restauranteDto, LocalDateTime horaDaReserva);
+    void liberar(Long restauranteId, LocalDateTime horaDaReserva);
+    int buscarOcupacao(Long restauranteId, LocalDateTime horaDaReserva);
+    DisponibilidadeDTO buscarDisponibilidade(RestauranteDTO restauranteDto, LocalDate data);
+}
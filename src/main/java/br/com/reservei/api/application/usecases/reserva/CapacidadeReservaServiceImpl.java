@@ -0,0 +1,96 @@
+package br.com.reservei.api.application.usecases.reserva;
+
+import br.com.reservei.api.application.dto.DisponibilidadeDTO;
+import br.com.reservei.api.application.dto.HorarioDisponivelDTO;
+import br.com.reservei.api.application.dto.RestauranteDTO;
+import br.com.reservei.api.domain.exceptions.CapacidadeEsgotadaException;
+import br.com.reservei.api.domain.exceptions.HorarioIndisponivelException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Aplica as regras de expediente e capacidade sobre os contadores em memória de {@link ContadorDeReservas}.
+ * <p>
+ * Reservas concorrentes não disputam lock, a validação da capacidade não consulta o banco de dados e a
+ * disponibilidade de um dia é lida percorrendo apenas as horas do expediente.
+ */
+@RequiredArgsConstructor
+@Service
+public class CapacidadeReservaServiceImpl implements CapacidadeReservaService {
+
+    private static final int HORAS_DO_DIA = 24;
+
+    private final ContadorDeReservas contadorDeReservas;
+
+    @Override
+    public void reconstruir() {
+        contadorDeReservas.reconstruir();
+    }
+
+    @Override
+    public void reservar(RestauranteDTO restauranteDto, LocalDateTime horaDaReserva) {
+        if (horaDaReserva == null) {
+            throw new HorarioIndisponivelException("O horário de reserva não pode ser nulo");
+        }
+        if (!dentroDoExpediente(restauranteDto, horaDaReserva.toLocalTime())) {
+            throw new HorarioIndisponivelException("O restaurante com id: " + restauranteDto.id() +
+                    " não funciona às " + horaDaReserva.toLocalTime());
+        }
+        if (!contadorDeReservas.ocupar(restauranteDto.id(), horaDaReserva, restauranteDto.reservasPorHora())) {
+            throw new CapacidadeEsgotadaException("O restaurante com id: " + restauranteDto.id() +
+                    " não possui mais vagas para " + horaDaReserva.truncatedTo(ChronoUnit.HOURS));
+        }
+    }
+
+    @Override
+    public void liberar(Long restauranteId, LocalDateTime horaDaReserva) {
+        if (horaDaReserva == null) {
+            return;
+        }
+        contadorDeReservas.desocupar(restauranteId, horaDaReserva);
+    }
+
+    @Override
+    public int buscarOcupacao(Long restauranteId, LocalDateTime horaDaReserva) {
+        return contadorDeReservas.buscarOcupacao(restauranteId, horaDaReserva);
+    }
+
+    @Override
+    public DisponibilidadeDTO buscarDisponibilidade(RestauranteDTO restauranteDto, LocalDate data) {
+        int[] ocupacao = contadorDeReservas.buscarOcupacaoDoDia(restauranteDto.id(), data);
+        List<HorarioDisponivelDTO> horarios = new ArrayList<>(HORAS_DO_DIA);
+        for (int hora = 0; hora < HORAS_DO_DIA; hora++) {
+            if (!atendeNaHora(restauranteDto, hora)) {
+                continue;
+            }
+            horarios.add(new HorarioDisponivelDTO(LocalTime.of(hora, 0),
+                    Math.max(restauranteDto.reservasPorHora() - ocupacao[hora], 0)));
+        }
+        return new DisponibilidadeDTO(restauranteDto.id(), data, restauranteDto.reservasPorHora(), horarios);
+    }
+
+    private static boolean atendeNaHora(RestauranteDTO restauranteDto, int hora) {
+        return dentroDoExpediente(restauranteDto, LocalTime.of(hora, 0))
+                || (restauranteDto.inicioExpediente() != null && restauranteDto.inicioExpediente().getHour() == hora);
+    }
+
+    static boolean dentroDoExpediente(RestauranteDTO restauranteDto, LocalTime hora) {
+        LocalTime inicio = restauranteDto.inicioExpediente();
+        LocalTime fim = restauranteDto.finalExpediente();
+        if (inicio == null || fim == null) {
+            return true;
+        }
+        if (inicio.isBefore(fim)) {
+            return !hora.isBefore(inicio) && hora.isBefore(fim);
+        }
+        // expediente que atravessa a meia-noite, ex.: 12:00 às 00:00
+        return !hora.isBefore(inicio) || hora.isBefore(fim);
+    }
+}
@@ -0,0 +1,14 @@
+package br.com.reservei.api.application.usecases.reserva;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public interface ContadorDeReservas {
+
+    void reconstruir();
+    boolean ocupar(Long restauranteId, LocalDateTime horaDaReserva, int limite);
+    void desocupar(Long restauranteId, LocalDateTime horaDaReserva);
+    int buscarOcupacao(Long restauranteId, LocalDateTime horaDaReserva);
+    int[] buscarOcupacaoDoDia(Long restauranteId, LocalDate data);
+    void descartarDiasPassados();
+}
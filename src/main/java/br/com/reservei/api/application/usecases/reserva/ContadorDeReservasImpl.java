@@ -0,0 +1,237 @@
+package br.com.reservei.api.application.usecases.reserva;
+
+import br.com.reservei.api.domain.repository.ReservaRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Contadores de reservas por restaurante e hora, divididos em faixas pelo id do restaurante.
+ * <p>
+ * Cada faixa guarda seu próprio mapa de (restaurante, dia) para um {@link AtomicIntegerArray} de 24 posições, de modo
+ * que restaurantes diferentes não disputam o mesmo mapa e ocupar uma vaga é um único CAS. Os dias que já passaram
+ * saem do mapa a cada hora.
+ * <p>
+ * Com o {@link LogDeReservas} habilitado o log é a fonte da contagem: a inicialização reproduz o arquivo e só agrupa
+ * a tabela de reservas quando ele ainda não existe. Por isso só variações confirmadas vão para o log: dentro de uma
+ * transação a vaga ocupada é gravada depois do commit, ou devolvida ao contador se a transação for desfeita, e a vaga
+ * liberada só volta ao contador depois do commit.
+ */
+@Slf4j
+public class ContadorDeReservasImpl implements ContadorDeReservas {
+
+    private static final int HORAS_DO_DIA = 24;
+
+    private final ReservaRepository reservaRepository;
+    private final LogDeReservas logDeReservas;
+    private final List<ConcurrentMap<Dia, AtomicIntegerArray>> faixas;
+
+    public ContadorDeReservasImpl(ReservaRepository reservaRepository, int totalDeFaixas,
+                                  LogDeReservas logDeReservas) {
+        this.reservaRepository = reservaRepository;
+        this.logDeReservas = logDeReservas;
+        this.faixas = new ArrayList<>(totalDeFaixas);
+        for (int i = 0; i < totalDeFaixas; i++) {
+            faixas.add(new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Reproduz o log, ou agrupa a tabela de reservas quando ele não existe, e reescreve o arquivo com um registro
+     * por hora ocupada a partir de hoje.
+     */
+    @PostConstruct
+    @Override
+    public void reconstruir() {
+        faixas.forEach(ConcurrentMap::clear);
+        LocalDate hoje = LocalDate.now();
+        try {
+            if (logDeReservas != null && logDeReservas.existe()) {
+                reproduzirLog(hoje);
+            } else {
+                carregarDoBanco(hoje);
+            }
+            if (logDeReservas != null) {
+                logDeReservas.reiniciar(registrosAtuais());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        if (logDeReservas != null) {
+            logDeReservas.close();
+        }
+    }
+
+    @Override
+    public boolean ocupar(Long restauranteId, LocalDateTime horaDaReserva, int limite) {
+        AtomicIntegerArray horas = ocupacaoDoDia(restauranteId, horaDaReserva.toLocalDate());
+        int hora = horaDaReserva.getHour();
+        int atual;
+        do {
+            atual = horas.get(hora);
+            if (atual >= limite) {
+                return false;
+            }
+        } while (!horas.compareAndSet(hora, atual, atual + 1));
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            try {
+                registrarNoLog(restauranteId, horaDaReserva, 1);
+            } catch (RuntimeException e) {
+                decrementar(horas, hora);
+                throw e;
+            }
+            return true;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    decrementar(horas, hora);
+                    return;
+                }
+                try {
+                    registrarNoLog(restauranteId, horaDaReserva, 1);
+                } catch (RuntimeException e) {
+                    log.error("Não foi possível gravar no log a reserva confirmada do restaurante {} às {}",
+                            restauranteId, horaDaReserva, e);
+                }
+            }
+        });
+        return true;
+    }
+
+    @Override
+    public void desocupar(Long restauranteId, LocalDateTime horaDaReserva) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            liberar(restauranteId, horaDaReserva);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                liberar(restauranteId, horaDaReserva);
+            }
+        });
+    }
+
+    @Scheduled(cron = "${reservei.reserva.contador.limpeza}")
+    @Override
+    public void descartarDiasPassados() {
+        descartarDiasAnterioresA(LocalDate.now());
+    }
+
+    @Override
+    public int buscarOcupacao(Long restauranteId, LocalDateTime horaDaReserva) {
+        AtomicIntegerArray horas = faixa(restauranteId).get(new Dia(restauranteId, horaDaReserva.toLocalDate()));
+        return horas == null ? 0 : horas.get(horaDaReserva.getHour());
+    }
+
+    @Override
+    public int[] buscarOcupacaoDoDia(Long restauranteId, LocalDate data) {
+        AtomicIntegerArray horas = faixa(restauranteId).get(new Dia(restauranteId, data));
+        int[] ocupacao = new int[HORAS_DO_DIA];
+        if (horas != null) {
+            for (int hora = 0; hora < HORAS_DO_DIA; hora++) {
+                ocupacao[hora] = horas.get(hora);
+            }
+        }
+        return ocupacao;
+    }
+
+    void descartarDiasAnterioresA(LocalDate hoje) {
+        faixas.forEach(faixa -> faixa.keySet().removeIf(dia -> dia.data().isBefore(hoje)));
+    }
+
+    private void liberar(Long restauranteId, LocalDateTime horaDaReserva) {
+        AtomicIntegerArray horas = faixa(restauranteId).get(new Dia(restauranteId, horaDaReserva.toLocalDate()));
+        if (horas != null && decrementar(horas, horaDaReserva.getHour())) {
+            registrarNoLog(restauranteId, horaDaReserva, -1);
+        }
+    }
+
+    private static boolean decrementar(AtomicIntegerArray horas, int hora) {
+        int atual;
+        do {
+            atual = horas.get(hora);
+            if (atual == 0) {
+                return false;
+            }
+        } while (!horas.compareAndSet(hora, atual, atual - 1));
+        return true;
+    }
+
+    private void registrarNoLog(Long restauranteId, LocalDateTime horaDaReserva, int variacao) {
+        if (logDeReservas != null) {
+            logDeReservas.registrar(restauranteId, horaDaReserva, variacao);
+        }
+    }
+
+    private void carregarDoBanco(LocalDate hoje) {
+        reservaRepository.contarPorRestauranteEHorarioAPartirDe(hoje.atStartOfDay())
+                .forEach(total -> ocupacaoDoDia(total.getRestauranteId(), total.getHoraDaReserva().toLocalDate())
+                        .addAndGet(total.getHoraDaReserva().getHour(), total.getTotal().intValue()));
+    }
+
+    private void reproduzirLog(LocalDate hoje) throws IOException {
+        logDeReservas.reproduzir(registro -> {
+            if (!registro.hora().toLocalDate().isBefore(hoje)) {
+                ocupacaoDoDia(registro.restauranteId(), registro.hora().toLocalDate())
+                        .addAndGet(registro.hora().getHour(), registro.variacao());
+            }
+        });
+        // uma liberação gravada depois de falhar a gravação da reserva deixaria a hora negativa
+        faixas.forEach(faixa -> faixa.values().forEach(horas -> {
+            for (int hora = 0; hora < HORAS_DO_DIA; hora++) {
+                if (horas.get(hora) < 0) {
+                    horas.set(hora, 0);
+                }
+            }
+        }));
+    }
+
+    private List<LogDeReservas.Registro> registrosAtuais() {
+        List<LogDeReservas.Registro> registros = new ArrayList<>();
+        for (ConcurrentMap<Dia, AtomicIntegerArray> faixa : faixas) {
+            faixa.forEach((dia, horas) -> {
+                for (int hora = 0; hora < HORAS_DO_DIA; hora++) {
+                    int ocupadas = horas.get(hora);
+                    if (ocupadas > 0) {
+                        registros.add(new LogDeReservas.Registro(dia.restauranteId(),
+                                dia.data().atTime(hora, 0), ocupadas));
+                    }
+                }
+            });
+        }
+        return registros;
+    }
+
+    private AtomicIntegerArray ocupacaoDoDia(Long restauranteId, LocalDate data) {
+        return faixa(restauranteId).computeIfAbsent(new Dia(restauranteId, data),
+                dia -> new AtomicIntegerArray(HORAS_DO_DIA));
+    }
+
+    private ConcurrentMap<Dia, AtomicIntegerArray> faixa(Long restauranteId) {
+        return faixas.get(Math.floorMod(Long.hashCode(restauranteId), faixas.size()));
+    }
+
+    private record Dia(Long restauranteId, LocalDate data) {
+    }
+}
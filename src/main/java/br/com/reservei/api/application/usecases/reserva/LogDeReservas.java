@@ -0,0 +1,270 @@
+package br.com.reservei.api.application.usecases.reserva;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Log de escrita antecipada das vagas ocupadas e liberadas em cada restaurante e hora.
+ * <p>
+ * Cada registro tem 24 bytes (restaurante, hora, variação e CRC32C) e é acrescentado em sequência a um trecho do
+ * arquivo mapeado em memória. Uma única thread gravadora força o trecho para o disco e confirma de uma vez todas as
+ * escritas que chegaram desde o fsync anterior, de modo que escritas concorrentes dividem o mesmo fsync. A leitura
+ * para no primeiro registro com CRC inválido, o que descarta uma escrita interrompida no fim do arquivo.
+ */
+public class LogDeReservas implements Closeable {
+
+    static final int TAMANHO_DO_REGISTRO = 24;
+    private static final int TAMANHO_DO_CONTEUDO = 20;
+    private static final int REGISTROS_POR_LEITURA = 4096;
+    private static final String NOME_DO_ARQUIVO = "reservas.log";
+
+    private final Path arquivo;
+    private final long tamanhoDoTrecho;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition pendente = lock.newCondition();
+    private final Condition duravel = lock.newCondition();
+
+    private FileChannel canal;
+    private MappedByteBuffer trecho;
+    private long inicioDoTrecho;
+    private long escritos;
+    private long duraveis;
+    private boolean fechado = true;
+    private RuntimeException falha;
+    private Thread gravador;
+
+    public LogDeReservas(Path diretorio, long tamanhoDoTrecho) {
+        this.arquivo = diretorio.resolve(NOME_DO_ARQUIVO);
+        this.tamanhoDoTrecho = Math.max(tamanhoDoTrecho - tamanhoDoTrecho % TAMANHO_DO_REGISTRO, TAMANHO_DO_REGISTRO);
+    }
+
+    public boolean existe() {
+        return Files.exists(arquivo);
+    }
+
+    public void reproduzir(Consumer<Registro> consumidor) throws IOException {
+        if (!existe()) {
+            return;
+        }
+        try (FileChannel leitura = FileChannel.open(arquivo, READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(TAMANHO_DO_REGISTRO * REGISTROS_POR_LEITURA);
+            while (leitura.read(buffer) != -1) {
+                buffer.flip();
+                while (buffer.remaining() >= TAMANHO_DO_REGISTRO) {
+                    Registro registro = ler(buffer);
+                    if (registro == null) {
+                        return;
+                    }
+                    consumidor.accept(registro);
+                }
+                buffer.compact();
+            }
+        }
+    }
+
+    /**
+     * Substitui o arquivo pelos registros informados, que resumem o estado atual, e abre o log para novas escritas.
+     */
+    public void reiniciar(Collection<Registro> registros) throws IOException {
+        encerrar();
+        Files.createDirectories(arquivo.toAbsolutePath().getParent());
+        Path temporario = arquivo.resolveSibling(NOME_DO_ARQUIVO + ".tmp");
+        try (FileChannel escrita = FileChannel.open(temporario, CREATE, WRITE, TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(TAMANHO_DO_REGISTRO * REGISTROS_POR_LEITURA);
+            for (Registro registro : registros) {
+                if (buffer.remaining() < TAMANHO_DO_REGISTRO) {
+                    gravarTudo(escrita, buffer);
+                }
+                buffer.put(serializar(registro));
+            }
+            gravarTudo(escrita, buffer);
+            escrita.force(true);
+        }
+        Files.move(temporario, arquivo, ATOMIC_MOVE, REPLACE_EXISTING);
+
+        lock.lock();
+        try {
+            canal = FileChannel.open(arquivo, READ, WRITE);
+            inicioDoTrecho = canal.size();
+            trecho = canal.map(FileChannel.MapMode.READ_WRITE, inicioDoTrecho, tamanhoDoTrecho);
+            escritos = 0;
+            duraveis = 0;
+            falha = null;
+            fechado = false;
+        } finally {
+            lock.unlock();
+        }
+        gravador = Thread.ofPlatform().daemon().name("log-de-reservas").start(this::gravarContinuamente);
+    }
+
+    /**
+     * Acrescenta a variação ao log e só retorna depois que ela estiver no disco.
+     */
+    public void registrar(Long restauranteId, LocalDateTime horaDaReserva, int variacao) {
+        byte[] registro = serializar(new Registro(restauranteId, horaDaReserva, variacao));
+        lock.lock();
+        try {
+            if (fechado) {
+                throw new IllegalStateException("O log de reservas não está aberto");
+            }
+            verificarFalha();
+            if (trecho.remaining() < TAMANHO_DO_REGISTRO) {
+                proximoTrecho();
+            }
+            trecho.put(registro);
+            long sequencia = ++escritos;
+            pendente.signal();
+            while (duraveis < sequencia) {
+                verificarFalha();
+                duravel.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        encerrar();
+    }
+
+    private void encerrar() {
+        lock.lock();
+        try {
+            fechado = true;
+            pendente.signal();
+        } finally {
+            lock.unlock();
+        }
+        if (gravador != null) {
+            try {
+                gravador.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            gravador = null;
+        }
+        if (canal != null) {
+            try {
+                canal.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            canal = null;
+        }
+    }
+
+    private void gravarContinuamente() {
+        while (true) {
+            long alvo;
+            MappedByteBuffer buffer;
+            lock.lock();
+            try {
+                while (escritos == duraveis && !fechado) {
+                    pendente.awaitUninterruptibly();
+                }
+                if (escritos == duraveis) {
+                    return;
+                }
+                alvo = escritos;
+                buffer = trecho;
+            } finally {
+                lock.unlock();
+            }
+
+            RuntimeException erro = null;
+            try {
+                buffer.force();
+            } catch (RuntimeException e) {
+                erro = e;
+            }
+
+            lock.lock();
+            try {
+                if (erro == null) {
+                    duraveis = alvo;
+                } else {
+                    falha = erro;
+                }
+                duravel.signalAll();
+                if (erro != null) {
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void proximoTrecho() {
+        try {
+            trecho.force();
+            inicioDoTrecho += trecho.capacity();
+            trecho = canal.map(FileChannel.MapMode.READ_WRITE, inicioDoTrecho, tamanhoDoTrecho);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void verificarFalha() {
+        if (falha != null) {
+            throw new IllegalStateException("Falha ao gravar o log de reservas", falha);
+        }
+    }
+
+    private static void gravarTudo(FileChannel escrita, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            escrita.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static byte[] serializar(Registro registro) {
+        ByteBuffer buffer = ByteBuffer.allocate(TAMANHO_DO_REGISTRO)
+                .putLong(registro.restauranteId())
+                .putLong(registro.hora().truncatedTo(ChronoUnit.HOURS).toEpochSecond(ZoneOffset.UTC))
+                .putInt(registro.variacao());
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), 0, TAMANHO_DO_CONTEUDO);
+        return buffer.putInt((int) crc.getValue()).array();
+    }
+
+    private static Registro ler(ByteBuffer buffer) {
+        int inicio = buffer.position();
+        long restauranteId = buffer.getLong();
+        long hora = buffer.getLong();
+        int variacao = buffer.getInt();
+        int verificacao = buffer.getInt();
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), buffer.arrayOffset() + inicio, TAMANHO_DO_CONTEUDO);
+        if ((int) crc.getValue() != verificacao || variacao == 0) {
+            return null;
+        }
+        return new Registro(restauranteId, LocalDateTime.ofEpochSecond(hora, 0, ZoneOffset.UTC), variacao);
+    }
+
+    public record Registro(long restauranteId, LocalDateTime hora, int variacao) {
+    }
+}
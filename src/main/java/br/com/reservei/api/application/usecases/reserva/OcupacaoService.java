@@ -0,0 +1,15 @@
+package br.com.reservei.api.application.usecases.reserva;
+
+import br.com.reservei.api.application.dto.OcupacaoDTO;
+import br.com.reservei.api.infrastructure.utils.Granularidade;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public interface OcupacaoService {
+
+    void registrar(Long restauranteId, LocalDateTime horaDaReserva);
+    void remover(Long restauranteId, LocalDateTime horaDaReserva);
+    void persistir();
+    OcupacaoDTO buscar(Long restauranteId, Granularidade granularidade, LocalDate de, LocalDate ate);
+}
@@ -0,0 +1,140 @@
+package br.com.reservei.api.application.usecases.reserva;
+
+import br.com.reservei.api.application.dto.OcupacaoDTO;
+import br.com.reservei.api.application.dto.RestauranteDTO;
+import br.com.reservei.api.application.dto.TotalDoPeriodoDTO;
+import br.com.reservei.api.application.usecases.restaurante.RestauranteService;
+import br.com.reservei.api.domain.exceptions.PeriodoInvalidoException;
+import br.com.reservei.api.domain.repository.ReservaPorHoraRepository;
+import br.com.reservei.api.domain.repository.projection.HoraPendente;
+import br.com.reservei.api.domain.repository.projection.TotalDoPeriodo;
+import br.com.reservei.api.infrastructure.utils.Granularidade;
+import jakarta.annotation.PreDestroy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Mantém as tabelas de ocupação por hora, dia e semana de cada restaurante sem percorrer a tabela de reservas.
+ * <p>
+ * Cada reserva criada, movida ou deletada marca a sua hora em ocupacao_pendente na mesma transação, o que é só uma
+ * inserção e não trava linha de outra reserva. Periodicamente as horas marcadas são recontadas a partir das reservas
+ * pelo índice (restaurante_id, hora_da_reserva), os dias e semanas afetados são recalculados e as marcas apagadas, em
+ * uma única transação. Uma queda antes da gravação não perde alterações, já que as marcas continuam no banco, e como
+ * a recontagem é idempotente várias instâncias podem gravar ao mesmo tempo; os relatórios ficam no máximo um
+ * intervalo de gravação atrasados.
+ */
+@Service
+public class OcupacaoServiceImpl implements OcupacaoService {
+
+    private static final int HORAS_POR_GRAVACAO = 1000;
+
+    private final ReservaPorHoraRepository reservaPorHoraRepository;
+    private final RestauranteService restauranteService;
+    private final TransactionTemplate transactionTemplate;
+
+    public OcupacaoServiceImpl(ReservaPorHoraRepository reservaPorHoraRepository,
+                               RestauranteService restauranteService,
+                               PlatformTransactionManager transactionManager) {
+        this.reservaPorHoraRepository = reservaPorHoraRepository;
+        this.restauranteService = restauranteService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void registrar(Long restauranteId, LocalDateTime horaDaReserva) {
+        marcarPendente(restauranteId, horaDaReserva);
+    }
+
+    @Override
+    public void remover(Long restauranteId, LocalDateTime horaDaReserva) {
+        marcarPendente(restauranteId, horaDaReserva);
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${reservei.reserva.ocupacao.intervalo-persistencia:10000}")
+    @Override
+    public void persistir() {
+        Boolean completo;
+        do {
+            completo = transactionTemplate.execute(status -> gravarPendentes());
+        } while (Boolean.FALSE.equals(completo));
+    }
+
+    @Override
+    public OcupacaoDTO buscar(Long restauranteId, Granularidade granularidade, LocalDate de, LocalDate ate) {
+        if (granularidade == null || de == null || ate == null || !de.isBefore(ate)) {
+            throw new PeriodoInvalidoException("O início do período deve ser anterior ao fim: " + de + " a " + ate);
+        }
+        RestauranteDTO restauranteDTO = restauranteService.buscarPorId(restauranteId);
+        List<TotalDoPeriodo> totais = switch (granularidade) {
+            case HORA -> reservaPorHoraRepository.buscarPorHora(restauranteId, de.atStartOfDay(), ate.atStartOfDay());
+            case DIA -> reservaPorHoraRepository.buscarPorDia(restauranteId, de, ate);
+            case SEMANA -> reservaPorHoraRepository.buscarPorSemana(restauranteId, inicioDaSemana(de), ate);
+        };
+        List<TotalDoPeriodoDTO> periodos = totais.stream()
+                .map(total -> new TotalDoPeriodoDTO(total.getInicio(), total.getTotal()))
+                .toList();
+        return new OcupacaoDTO(restauranteId, granularidade, de, ate, restauranteDTO.reservasPorHora(), periodos);
+    }
+
+    private void marcarPendente(Long restauranteId, LocalDateTime horaDaReserva) {
+        if (restauranteId == null || horaDaReserva == null) {
+            return;
+        }
+        reservaPorHoraRepository.marcarPendente(restauranteId, horaDaReserva.truncatedTo(ChronoUnit.HOURS));
+    }
+
+    /**
+     * Grava um lote de horas marcadas e retorna false quando ainda podem restar marcas para o próximo lote.
+     */
+    private boolean gravarPendentes() {
+        List<HoraPendente> pendentes = reservaPorHoraRepository.buscarPendentes(HORAS_POR_GRAVACAO);
+        if (pendentes.isEmpty()) {
+            return true;
+        }
+        // Em ordem de restaurante e hora, para que instâncias gravando ao mesmo tempo travem as linhas na mesma ordem
+        Set<Periodo> horas = new TreeSet<>();
+        pendentes.forEach(pendente -> horas.add(new Periodo(pendente.getRestauranteId(), pendente.getHora())));
+        Set<Periodo> dias = new TreeSet<>();
+        for (Periodo hora : horas) {
+            reservaPorHoraRepository.recontarHora(hora.restauranteId(), hora.inicio(), hora.inicio().plusHours(1));
+            dias.add(new Periodo(hora.restauranteId(), hora.inicio().toLocalDate().atStartOfDay()));
+        }
+        Set<Periodo> semanas = new TreeSet<>();
+        for (Periodo dia : dias) {
+            LocalDate data = dia.inicio().toLocalDate();
+            reservaPorHoraRepository.compactarDia(dia.restauranteId(), data, dia.inicio(), dia.inicio().plusDays(1));
+            semanas.add(new Periodo(dia.restauranteId(), inicioDaSemana(data).atStartOfDay()));
+        }
+        for (Periodo semana : semanas) {
+            LocalDate data = semana.inicio().toLocalDate();
+            reservaPorHoraRepository.compactarSemana(semana.restauranteId(), data, data.plusWeeks(1));
+        }
+        reservaPorHoraRepository.apagarPendentes(pendentes.stream().map(HoraPendente::getId).toList());
+        return pendentes.size() < HORAS_POR_GRAVACAO;
+    }
+
+    private static LocalDate inicioDaSemana(LocalDate data) {
+        return data.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    private record Periodo(Long restauranteId, LocalDateTime inicio) implements Comparable<Periodo> {
+
+        @Override
+        public int compareTo(Periodo outra) {
+            int comparacao = restauranteId.compareTo(outra.restauranteId);
+            return comparacao != 0 ? comparacao : inicio.compareTo(outra.inicio);
+        }
+    }
+}
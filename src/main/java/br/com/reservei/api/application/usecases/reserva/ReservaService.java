@@ -1,14 +1,29 @@
 package br.com.reservei.api.application.usecases.reserva;
 
+import br.com.reservei.api.application.dto.DisponibilidadeDTO;
 import br.com.reservei.api.application.dto.ReservaDTO;
+import br.com.reservei.api.application.dto.ResultadoLoteDTO;
+import br.com.reservei.api.application.dto.VersionadoDTO;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ReservaService {
 
     ReservaDTO buscarPorId(Long id);
+    VersionadoDTO<ReservaDTO> buscarVersionadoPorId(Long id);
     List<ReservaDTO> buscarTodos();
+    List<ReservaDTO> buscarPagina(Long after, Integer limit);
+    void percorrerTodos(Consumer<ReservaDTO> consumidor);
+    List<ReservaDTO> buscarPorPeriodo(Long restauranteId, LocalDateTime de, LocalDateTime ate);
+    void validarPeriodo(Long restauranteId, LocalDateTime de, LocalDateTime ate);
+    void percorrerPorPeriodo(Long restauranteId, LocalDateTime de, LocalDateTime ate, Consumer<ReservaDTO> consumidor);
     ReservaDTO salvar(ReservaDTO reservaDto);
+    ResultadoLoteDTO salvarLote(List<ReservaDTO> reservasDto);
     ReservaDTO atualizar(Long id, ReservaDTO reservaDto);
+    VersionadoDTO<ReservaDTO> atualizar(Long id, ReservaDTO reservaDto, Long versaoEsperada);
     void deletarPorId(Long id);
+    DisponibilidadeDTO buscarDisponibilidade(Long restauranteId, LocalDate data);
 }
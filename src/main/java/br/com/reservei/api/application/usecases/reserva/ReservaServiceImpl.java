@@ -1,15 +1,46 @@
 package br.com.reservei.api.application.usecases.reserva;
 
+import br.com.reservei.api.application.dto.DisponibilidadeDTO;
+import br.com.reservei.api.application.dto.ItemLoteDTO;
 import br.com.reservei.api.application.dto.ReservaDTO;
+import br.com.reservei.api.application.dto.RestauranteDTO;
+import br.com.reservei.api.application.dto.ResultadoLoteDTO;
+import br.com.reservei.api.application.dto.VersionadoDTO;
+import br.com.reservei.api.domain.exceptions.CapacidadeEsgotadaException;
+import br.com.reservei.api.domain.exceptions.HorarioIndisponivelException;
+import br.com.reservei.api.domain.exceptions.PeriodoInvalidoException;
 import br.com.reservei.api.domain.exceptions.RecursoNaoEncontradoException;
+import br.com.reservei.api.domain.exceptions.VersaoDesatualizadaException;
+import br.com.reservei.api.domain.model.Restaurante;
+import br.com.reservei.api.domain.repository.projection.HorarioDaReserva;
+import br.com.reservei.api.domain.repository.projection.ReservaDoPeriodo;
+import br.com.reservei.api.infrastructure.config.RoteadorDeDataSource;
+import br.com.reservei.api.infrastructure.utils.Lote;
+import br.com.reservei.api.infrastructure.utils.Paginacao;
+import br.com.reservei.api.infrastructure.utils.Retentativa;
 import br.com.reservei.api.interfaces.mapper.ReservaMapper;
 import br.com.reservei.api.domain.model.Reserva;
 import br.com.reservei.api.domain.repository.ReservaRepository;
+import br.com.reservei.api.domain.repository.projection.DadosDaReserva;
 import br.com.reservei.api.application.usecases.restaurante.RestauranteService;
+import br.com.reservei.api.interfaces.mapper.RestauranteMapper;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @RequiredArgsConstructor
 @Service
@@ -17,44 +48,239 @@ public class ReservaServiceImpl implements ReservaService {
 
     private final ReservaRepository reservaRepository;
     private final ReservaMapper reservaMapper;
+    private final RestauranteMapper restauranteMapper;
+    private final EntityManager entityManager;
     private final RestauranteService restauranteService;
+    private final CapacidadeReservaService capacidadeReservaService;
+    private final Retentativa retentativa;
+    private final AgendaDoDia agendaDoDia;
+    private final OcupacaoService ocupacaoService;
 
     @Override
+    @Transactional(readOnly = true)
     public ReservaDTO buscarPorId(Long id){
-        Reserva reserva = reservaRepository.findById(id).orElseThrow(()->
-                new RecursoNaoEncontradoException("Reserva não encontrada com id: " + id)
-        );
-        return reservaMapper.toDto(reserva);
+        return reservaRepository.buscarDadosPorId(id)
+                .map(ReservaServiceImpl::paraDto)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Reserva não encontrada com id: " + id));
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public VersionadoDTO<ReservaDTO> buscarVersionadoPorId(Long id) {
+        DadosDaReserva reserva = reservaRepository.buscarDadosPorId(id).orElseThrow(() ->
+                new RecursoNaoEncontradoException("Reserva não encontrada com id: " + id));
+        return new VersionadoDTO<>(paraDto(reserva), reserva.getVersao());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<ReservaDTO> buscarTodos() {
-        return reservaRepository.findAll()
+        return reservaRepository.listarDados()
+                .stream()
+                .map(ReservaServiceImpl::paraDto)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReservaDTO> buscarPagina(Long after, Integer limit) {
+        return reservaRepository.listarDadosAposId(Paginacao.cursor(after), Paginacao.limite(limit))
                 .stream()
-                .map(reservaMapper::toDto)
+                .map(ReservaServiceImpl::paraDto)
                 .toList();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public void percorrerTodos(Consumer<ReservaDTO> consumidor) {
+        Paginacao.percorrer(reservaRepository.streamDados(), ReservaServiceImpl::paraDto, consumidor);
+    }
+
+    @Override
+    public List<ReservaDTO> buscarPorPeriodo(Long restauranteId, LocalDateTime de, LocalDateTime ate) {
+        validarIntervalo(de, ate);
+        LocalDate hoje = LocalDate.now();
+        if (AgendaDoDia.cobre(hoje, de, ate)) {
+            return agendaDoDia.buscar(restauranteId, hoje, de, ate, dia ->
+                    buscarNoBanco(restauranteId, dia.atStartOfDay(), dia.plusDays(1).atStartOfDay()));
+        }
+        return buscarNoBanco(restauranteId, de, ate);
+    }
+
+    @Override
+    public void validarPeriodo(Long restauranteId, LocalDateTime de, LocalDateTime ate) {
+        validarIntervalo(de, ate);
+        restauranteService.buscarPorId(restauranteId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void percorrerPorPeriodo(Long restauranteId, LocalDateTime de, LocalDateTime ate,
+                                    Consumer<ReservaDTO> consumidor) {
+        try (Stream<ReservaDoPeriodo> reservas = reservaRepository.streamPorRestauranteEPeriodo(restauranteId, de, ate)) {
+            reservas.forEach(reserva -> consumidor.accept(paraDto(reserva)));
+        }
+    }
+
+    @Override
+    @Transactional
     public ReservaDTO salvar(ReservaDTO reservaDto) {
-        restauranteService.buscarPorId(reservaDto.restauranteId());
-        Reserva reserva = reservaMapper.toEntity(reservaDto);
-        reserva = reservaRepository.save(reserva);
+        RestauranteDTO restauranteDTO = RoteadorDeDataSource.noPrimario(() ->
+                restauranteService.buscarPorId(reservaDto.restauranteId()));
+        capacidadeReservaService.reservar(restauranteDTO, reservaDto.horaDaReserva());
+        Reserva reserva = reservaRepository.save(comReferenciaAoRestaurante(reservaMapper.toEntity(reservaDto)));
+        agendaDoDia.registrarAlteracao(reservaDto.restauranteId());
+        ocupacaoService.registrar(reservaDto.restauranteId(), reserva.getHoraDaReserva());
         return reservaMapper.toDto(reserva);
     }
 
+    @Override
+    @Transactional
+    public ResultadoLoteDTO salvarLote(List<ReservaDTO> reservasDto) {
+        Lote.validarTamanho(reservasDto);
+        Map<Long, RestauranteDTO> restaurantes = buscarRestaurantesDoLote(reservasDto);
+        ItemLoteDTO[] itens = new ItemLoteDTO[reservasDto.size()];
+        List<Integer> indicesAceitos = new ArrayList<>();
+        List<Reserva> reservas = new ArrayList<>();
+        for (int indice = 0; indice < reservasDto.size(); indice++) {
+            ReservaDTO reservaDto = reservasDto.get(indice);
+            RestauranteDTO restauranteDTO = reservaDto == null ? null : restaurantes.get(reservaDto.restauranteId());
+            if (restauranteDTO == null) {
+                itens[indice] = ItemLoteDTO.rejeitado(indice, "Restaurante não encontrado com id: " +
+                        (reservaDto == null ? null : reservaDto.restauranteId()));
+                continue;
+            }
+            try {
+                capacidadeReservaService.reservar(restauranteDTO, reservaDto.horaDaReserva());
+            } catch (CapacidadeEsgotadaException | HorarioIndisponivelException e) {
+                itens[indice] = ItemLoteDTO.rejeitado(indice, e.getMessage());
+                continue;
+            }
+            indicesAceitos.add(indice);
+            reservas.add(comReferenciaAoRestaurante(reservaMapper.toEntity(reservaDto)));
+        }
+
+        if (!reservas.isEmpty()) {
+            List<Reserva> reservasSalvas = reservaRepository.saveAll(reservas);
+            for (int i = 0; i < reservasSalvas.size(); i++) {
+                itens[indicesAceitos.get(i)] = ItemLoteDTO.criado(indicesAceitos.get(i), reservasSalvas.get(i).getId());
+            }
+            reservasSalvas.forEach(reserva ->
+                    ocupacaoService.registrar(reserva.getRestaurante().getId(), reserva.getHoraDaReserva()));
+            reservas.stream()
+                    .map(reserva -> reserva.getRestaurante().getId())
+                    .distinct()
+                    .forEach(agendaDoDia::registrarAlteracao);
+        }
+        return ResultadoLoteDTO.de(Arrays.asList(itens));
+    }
+
     @Override
     public ReservaDTO atualizar(Long id, ReservaDTO reservaDto) {
-        Reserva reserva = reservaMapper.toEntity(this.buscarPorId(id));
-        restauranteService.buscarPorId(reservaDto.restauranteId());
+        return atualizar(id, reservaDto, null).conteudo();
+    }
+
+    @Override
+    public VersionadoDTO<ReservaDTO> atualizar(Long id, ReservaDTO reservaDto, Long versaoEsperada) {
+        return retentativa.executar(() -> aplicarAtualizacao(id, reservaDto, versaoEsperada));
+    }
+
+    private VersionadoDTO<ReservaDTO> aplicarAtualizacao(Long id, ReservaDTO reservaDto, Long versaoEsperada) {
+        Reserva reserva = carregar(id);
+        if (versaoEsperada != null && !versaoEsperada.equals(reserva.getVersao())) {
+            throw new VersaoDesatualizadaException("A reserva com id: " + id + " está na versão " +
+                    reserva.getVersao());
+        }
+        ReservaDTO reservaAtual = reservaMapper.toDto(reserva);
+        boolean mudouDeRestaurante = !Objects.equals(reservaAtual.restauranteId(), reservaDto.restauranteId());
+        boolean mudouDeHorario = !mesmoHorario(reservaAtual, reservaDto);
+        if (mudouDeHorario) {
+            RestauranteDTO restauranteDTO = mudouDeRestaurante
+                    ? restauranteService.buscarPorId(reservaDto.restauranteId())
+                    : restauranteMapper.toDto(reserva.getRestaurante());
+            capacidadeReservaService.reservar(restauranteDTO, reservaDto.horaDaReserva());
+        }
         reservaMapper.updateFromDto(reservaDto, reserva);
-        reserva = reservaRepository.save(reserva);
-        return reservaMapper.toDto(reserva);
+        if (mudouDeRestaurante) {
+            reserva.setRestaurante(entityManager.getReference(Restaurante.class, reservaDto.restauranteId()));
+        }
+        reservaRepository.flush();
+        if (mudouDeHorario) {
+            capacidadeReservaService.liberar(reservaAtual.restauranteId(), reservaAtual.horaDaReserva());
+            ocupacaoService.remover(reservaAtual.restauranteId(), reservaAtual.horaDaReserva());
+            ocupacaoService.registrar(reservaDto.restauranteId(), reservaDto.horaDaReserva());
+        }
+        agendaDoDia.registrarAlteracao(reservaAtual.restauranteId());
+        if (mudouDeRestaurante) {
+            agendaDoDia.registrarAlteracao(reservaDto.restauranteId());
+        }
+        return new VersionadoDTO<>(reservaMapper.toDto(reserva), reserva.getVersao());
     }
 
     @Override
+    @Transactional
     public void deletarPorId(Long id) {
-        this.buscarPorId(id);
-        reservaRepository.deleteById(id);
+        HorarioDaReserva horario = reservaRepository.buscarHorarioPorId(id).orElse(null);
+        if (horario == null || reservaRepository.deletarPorId(id) == 0) {
+            throw new RecursoNaoEncontradoException("Reserva não encontrada com id: " + id);
+        }
+        capacidadeReservaService.liberar(horario.getRestauranteId(), horario.getHoraDaReserva());
+        agendaDoDia.registrarAlteracao(horario.getRestauranteId());
+        ocupacaoService.remover(horario.getRestauranteId(), horario.getHoraDaReserva());
+    }
+
+    @Override
+    public DisponibilidadeDTO buscarDisponibilidade(Long restauranteId, LocalDate data) {
+        RestauranteDTO restauranteDTO = restauranteService.buscarPorId(restauranteId);
+        return capacidadeReservaService.buscarDisponibilidade(restauranteDTO, data);
+    }
+
+    private Map<Long, RestauranteDTO> buscarRestaurantesDoLote(List<ReservaDTO> reservasDto) {
+        List<Long> ids = reservasDto.stream()
+                .filter(Objects::nonNull)
+                .map(ReservaDTO::restauranteId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        return RoteadorDeDataSource.noPrimario(() -> restauranteService.buscarPorIds(ids))
+                .stream()
+                .collect(Collectors.toMap(RestauranteDTO::id, Function.identity()));
+    }
+
+    private List<ReservaDTO> buscarNoBanco(Long restauranteId, LocalDateTime de, LocalDateTime ate) {
+        restauranteService.buscarPorId(restauranteId);
+        return reservaRepository.buscarPorRestauranteEPeriodo(restauranteId, de, ate)
+                .stream()
+                .map(ReservaServiceImpl::paraDto)
+                .toList();
+    }
+
+    private static void validarIntervalo(LocalDateTime de, LocalDateTime ate) {
+        if (de == null || ate == null || !de.isBefore(ate)) {
+            throw new PeriodoInvalidoException("O início do período deve ser anterior ao fim: " + de + " a " + ate);
+        }
+    }
+
+    private static ReservaDTO paraDto(ReservaDoPeriodo reserva) {
+        return new ReservaDTO(reserva.getId(), reserva.getRestauranteId(), reserva.getHoraDaReserva());
+    }
+
+    private Reserva carregar(Long id) {
+        return reservaRepository.findComRestauranteById(id).orElseThrow(()->
+                new RecursoNaoEncontradoException("Reserva não encontrada com id: " + id)
+        );
+    }
+
+    private static boolean mesmoHorario(ReservaDTO reservaAtual, ReservaDTO reservaDto) {
+        return Objects.equals(reservaAtual.restauranteId(), reservaDto.restauranteId())
+                && reservaAtual.horaDaReserva() != null
+                && reservaDto.horaDaReserva() != null
+                && reservaAtual.horaDaReserva().truncatedTo(ChronoUnit.HOURS)
+                        .equals(reservaDto.horaDaReserva().truncatedTo(ChronoUnit.HOURS));
+    }
+
+    private Reserva comReferenciaAoRestaurante(Reserva reserva) {
+        reserva.setRestaurante(entityManager.getReference(Restaurante.class, reserva.getRestaurante().getId()));
+        return reserva;
     }
 }
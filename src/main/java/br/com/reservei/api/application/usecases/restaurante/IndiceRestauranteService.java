@@ -0,0 +1,16 @@
+package br.com.reservei.api.application.usecases.restaurante;
+
+import br.com.reservei.api.application.dto.RestauranteDTO;
+import br.com.reservei.api.infrastructure.utils.Cozinha;
+
+import java.util.List;
+
+public interface IndiceRestauranteService {
+
+    void reconstruir();
+    List<RestauranteDTO> buscarPorCozinha(Cozinha cozinha);
+    List<RestauranteDTO> buscarPorCidade(Long cidadeId);
+    void registrar(RestauranteDTO restaurante, Long cidadeId);
+    void remover(Long restauranteId);
+    void moverEndereco(Long enderecoId, Long cidadeId);
+}
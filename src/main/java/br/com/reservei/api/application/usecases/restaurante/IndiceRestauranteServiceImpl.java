@@ -0,0 +1,223 @@
+package br.com.reservei.api.application.usecases.restaurante;
+
+import br.com.reservei.api.application.dto.RestauranteDTO;
+import br.com.reservei.api.domain.repository.RestauranteRepository;
+import br.com.reservei.api.domain.repository.projection.RestauranteComCidade;
+import br.com.reservei.api.infrastructure.utils.Cozinha;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Mantém em memória, por cozinha e por cidade, listas imutáveis dos restaurantes já convertidos em DTO e
+ * ordenados por id, de modo que as buscas por cozinha e por cidade devolvem a própria lista do índice sem
+ * consultar o banco.
+ * <p>
+ * O índice é montado no primeiro acesso, com uma única consulta que já traz a cidade de cada restaurante, e
+ * atualizado a cada restaurante salvo, alterado ou deletado. Dentro de uma transação a alteração só é aplicada
+ * depois do commit, como em VersaoDasColecoes: uma escrita desfeita, ou uma tentativa descartada pela Retentativa,
+ * não chega ao índice. Cada alteração troca apenas as listas afetadas por novas cópias, sob um lock, e as leituras
+ * nunca bloqueiam.
+ */
+@RequiredArgsConstructor
+@Service
+public class IndiceRestauranteServiceImpl implements IndiceRestauranteService {
+
+    private static final Comparator<RestauranteDTO> POR_ID = Comparator.comparing(RestauranteDTO::id);
+
+    private final RestauranteRepository restauranteRepository;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Long, Entrada> entradas = new HashMap<>();
+    private volatile ConcurrentMap<Long, List<RestauranteDTO>> porCidade = new ConcurrentHashMap<>();
+    private volatile Map<Cozinha, List<RestauranteDTO>> porCozinha = new EnumMap<>(Cozinha.class);
+    private volatile boolean construido;
+
+    @Override
+    public void reconstruir() {
+        lock.lock();
+        try {
+            entradas.clear();
+            ConcurrentMap<Long, List<RestauranteDTO>> cidades = new ConcurrentHashMap<>();
+            Map<Cozinha, List<RestauranteDTO>> cozinhas = new EnumMap<>(Cozinha.class);
+            for (RestauranteComCidade restaurante : restauranteRepository.listarComCidade()) {
+                Entrada entrada = new Entrada(toDto(restaurante), restaurante.getCidadeId());
+                entradas.put(entrada.restaurante().id(), entrada);
+                if (entrada.cozinha() != null) {
+                    cozinhas.computeIfAbsent(entrada.cozinha(), c -> new ArrayList<>()).add(entrada.restaurante());
+                }
+                if (entrada.cidadeId() != null) {
+                    cidades.computeIfAbsent(entrada.cidadeId(), c -> new ArrayList<>()).add(entrada.restaurante());
+                }
+            }
+            cozinhas.replaceAll((cozinha, restaurantes) -> Collections.unmodifiableList(restaurantes));
+            cidades.replaceAll((cidadeId, restaurantes) -> Collections.unmodifiableList(restaurantes));
+            porCozinha = cozinhas;
+            porCidade = cidades;
+            construido = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<RestauranteDTO> buscarPorCozinha(Cozinha cozinha) {
+        garantirConstruido();
+        return porCozinha.getOrDefault(cozinha, List.of());
+    }
+
+    @Override
+    public List<RestauranteDTO> buscarPorCidade(Long cidadeId) {
+        garantirConstruido();
+        return porCidade.getOrDefault(cidadeId, List.of());
+    }
+
+    @Override
+    public void registrar(RestauranteDTO restaurante, Long cidadeId) {
+        depoisDoCommit(() -> aplicarRegistro(restaurante, cidadeId));
+    }
+
+    @Override
+    public void remover(Long restauranteId) {
+        depoisDoCommit(() -> aplicarRemocao(restauranteId));
+    }
+
+    @Override
+    public void moverEndereco(Long enderecoId, Long cidadeId) {
+        depoisDoCommit(() -> aplicarMudancaDeEndereco(enderecoId, cidadeId));
+    }
+
+    private void depoisDoCommit(Runnable alteracao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            alteracao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                alteracao.run();
+            }
+        });
+    }
+
+    private void aplicarRegistro(RestauranteDTO restaurante, Long cidadeId) {
+        lock.lock();
+        try {
+            // antes do primeiro acesso não há o que atualizar: a consulta que monta o índice já enxerga a alteração
+            if (construido) {
+                substituir(entradas.get(restaurante.id()), new Entrada(restaurante, cidadeId));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void aplicarRemocao(Long restauranteId) {
+        lock.lock();
+        try {
+            if (construido) {
+                substituir(entradas.get(restauranteId), null);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void aplicarMudancaDeEndereco(Long enderecoId, Long cidadeId) {
+        lock.lock();
+        try {
+            if (!construido) {
+                return;
+            }
+            List<Entrada> afetadas = entradas.values().stream()
+                    .filter(entrada -> Objects.equals(entrada.restaurante().enderecoId(), enderecoId))
+                    .filter(entrada -> !Objects.equals(entrada.cidadeId(), cidadeId))
+                    .toList();
+            for (Entrada entrada : afetadas) {
+                substituir(entrada, new Entrada(entrada.restaurante(), cidadeId));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void garantirConstruido() {
+        if (!construido) {
+            lock.lock();
+            try {
+                if (!construido) {
+                    reconstruir();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void substituir(Entrada anterior, Entrada nova) {
+        if (anterior == null && nova == null) {
+            return;
+        }
+        Long id = anterior != null ? anterior.restaurante().id() : nova.restaurante().id();
+        Map<Cozinha, List<RestauranteDTO>> cozinhas = new EnumMap<>(porCozinha);
+        if (anterior != null) {
+            entradas.remove(id);
+            if (anterior.cozinha() != null) {
+                cozinhas.put(anterior.cozinha(), semRestaurante(cozinhas.get(anterior.cozinha()), id));
+            }
+            if (anterior.cidadeId() != null) {
+                porCidade.put(anterior.cidadeId(), semRestaurante(porCidade.get(anterior.cidadeId()), id));
+            }
+        }
+        if (nova != null) {
+            entradas.put(id, nova);
+            if (nova.cozinha() != null) {
+                cozinhas.put(nova.cozinha(), comRestaurante(cozinhas.get(nova.cozinha()), nova.restaurante()));
+            }
+            if (nova.cidadeId() != null) {
+                porCidade.put(nova.cidadeId(), comRestaurante(porCidade.get(nova.cidadeId()), nova.restaurante()));
+            }
+        }
+        porCozinha = cozinhas;
+    }
+
+    private static List<RestauranteDTO> semRestaurante(List<RestauranteDTO> restaurantes, Long id) {
+        return restaurantes.stream()
+                .filter(restaurante -> !restaurante.id().equals(id))
+                .toList();
+    }
+
+    private static List<RestauranteDTO> comRestaurante(List<RestauranteDTO> restaurantes, RestauranteDTO novo) {
+        List<RestauranteDTO> copia = new ArrayList<>(restaurantes == null ? List.of() : restaurantes);
+        copia.removeIf(restaurante -> restaurante.id().equals(novo.id()));
+        copia.add(novo);
+        copia.sort(POR_ID);
+        return Collections.unmodifiableList(copia);
+    }
+
+    private static RestauranteDTO toDto(RestauranteComCidade restaurante) {
+        return new RestauranteDTO(restaurante.getId(), restaurante.getNome(), restaurante.getCozinha(),
+                restaurante.getEnderecoId(), restaurante.getReservasPorHora(), restaurante.getInicioExpediente(),
+                restaurante.getFinalExpediente());
+    }
+
+    private record Entrada(RestauranteDTO restaurante, Long cidadeId) {
+
+        Cozinha cozinha() {
+            return restaurante.cozinha();
+        }
+    }
+}
@@ -1,17 +1,30 @@
 package br.com.reservei.api.application.usecases.restaurante;
 
+import br.com.reservei.api.application.dto.BuscaRestauranteDTO;
+import br.com.reservei.api.application.dto.FiltroRestauranteDTO;
 import br.com.reservei.api.application.dto.RestauranteDTO;
+import br.com.reservei.api.application.dto.VersionadoDTO;
 import br.com.reservei.api.infrastructure.utils.Cozinha;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface RestauranteService {
 
     RestauranteDTO buscarPorId(Long id);
+    VersionadoDTO<RestauranteDTO> buscarVersionadoPorId(Long id);
+    void verificarExistencia(Long id);
+    List<RestauranteDTO> buscarPorIds(Collection<Long> ids);
     List<RestauranteDTO> buscarTodos();
+    List<RestauranteDTO> buscarPagina(Long after, Integer limit);
+    void percorrerTodos(Consumer<RestauranteDTO> consumidor);
     RestauranteDTO buscarPorNome(String nome);
     List<RestauranteDTO> buscarPorCozinha(Cozinha cozinha);
+    List<RestauranteDTO> buscarPorCidade(Long cidadeId);
+    BuscaRestauranteDTO buscar(FiltroRestauranteDTO filtro);
     RestauranteDTO salvar(RestauranteDTO restauranteDto);
     RestauranteDTO atualizar(Long id, RestauranteDTO restauranteDto);
+    VersionadoDTO<RestauranteDTO> atualizar(Long id, RestauranteDTO restauranteDto, Long versaoEsperada);
     void deletarPorId(Long id);
 }
@@ -1,16 +1,38 @@
 package br.com.reservei.api.application.usecases.restaurante;
 
+import br.com.reservei.api.application.dto.BuscaRestauranteDTO;
+import br.com.reservei.api.application.dto.EnderecoDTO;
+import br.com.reservei.api.application.dto.FiltroRestauranteDTO;
 import br.com.reservei.api.application.dto.RestauranteDTO;
+import br.com.reservei.api.application.dto.VersionadoDTO;
 import br.com.reservei.api.domain.exceptions.RecursoNaoEncontradoException;
+import br.com.reservei.api.domain.exceptions.VersaoDesatualizadaException;
+import br.com.reservei.api.domain.model.Endereco;
+import br.com.reservei.api.domain.repository.RestauranteSpecification;
 import br.com.reservei.api.infrastructure.utils.Cozinha;
+import br.com.reservei.api.infrastructure.utils.Paginacao;
+import br.com.reservei.api.infrastructure.utils.Retentativa;
+import br.com.reservei.api.infrastructure.utils.VersaoDasColecoes;
+import br.com.reservei.api.infrastructure.utils.VersaoDasColecoes.Colecao;
 import br.com.reservei.api.interfaces.mapper.RestauranteMapper;
 import br.com.reservei.api.domain.model.Restaurante;
 import br.com.reservei.api.domain.repository.RestauranteRepository;
+import br.com.reservei.api.domain.repository.projection.DadosDoRestaurante;
+import br.com.reservei.api.application.usecases.avaliacao.ResumoAvaliacaoService;
 import br.com.reservei.api.application.usecases.endereco.EnderecoService;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
 
 @RequiredArgsConstructor
 @Service
@@ -18,17 +40,38 @@ public class RestauranteServiceImpl implements RestauranteService {
 
     private final RestauranteRepository restauranteRepository;
     private final RestauranteMapper restauranteMapper;
+    private final EntityManager entityManager;
     private final EnderecoService enderecoService;
+    private final IndiceRestauranteService indiceRestauranteService;
+    private final ResumoAvaliacaoService resumoAvaliacaoService;
+    private final Retentativa retentativa;
+    private final VersaoDasColecoes versaoDasColecoes;
 
     @Override
+    @Transactional(readOnly = true)
     public RestauranteDTO buscarPorId(Long id){
-        Restaurante restaurante = restauranteRepository.findById(id).orElseThrow(()->
-                new RecursoNaoEncontradoException("Restaurante não encontrado com id: " + id)
-        );
-        return restauranteMapper.toDto(restaurante);
+        return restauranteRepository.buscarDadosPorId(id)
+                .map(RestauranteServiceImpl::paraDto)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Restaurante não encontrado com id: " + id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public VersionadoDTO<RestauranteDTO> buscarVersionadoPorId(Long id) {
+        DadosDoRestaurante restaurante = restauranteRepository.buscarDadosPorId(id).orElseThrow(() ->
+                new RecursoNaoEncontradoException("Restaurante não encontrado com id: " + id));
+        return new VersionadoDTO<>(paraDto(restaurante), restaurante.getVersao());
     }
 
     @Override
+    public void verificarExistencia(Long id) {
+        if (!restauranteRepository.existsById(id)) {
+            throw new RecursoNaoEncontradoException("Restaurante não encontrado com id: " + id);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public RestauranteDTO buscarPorNome(String nome) {
         Restaurante restaurante = restauranteRepository.findByNome(nome).orElseThrow(()->
                 new RecursoNaoEncontradoException("Restaurante não encontrado com nome: " + nome)
@@ -38,42 +81,134 @@ public class RestauranteServiceImpl implements RestauranteService {
 
     @Override
     public List<RestauranteDTO> buscarPorCozinha(Cozinha cozinha) {
-        return restauranteRepository.findByCozinha(cozinha)
+        return indiceRestauranteService.buscarPorCozinha(cozinha);
+    }
+
+    @Override
+    public List<RestauranteDTO> buscarPorCidade(Long cidadeId) {
+        return indiceRestauranteService.buscarPorCidade(cidadeId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BuscaRestauranteDTO buscar(FiltroRestauranteDTO filtro) {
+        Specification<Restaurante> filtros = RestauranteSpecification.busca(filtro.cidadeId(), filtro.estadoId(),
+                filtro.nome(), filtro.notaMinima(), filtro.abertoAs());
+        Specification<Restaurante> pagina = filtros
+                .and(RestauranteSpecification.aposId(Paginacao.cursor(filtro.after())));
+        if (filtro.cozinha() != null) {
+            pagina = pagina.and(RestauranteSpecification.daCozinha(filtro.cozinha()));
+        }
+        int limite = Paginacao.limite(filtro.limit()).max();
+        List<RestauranteDTO> restaurantes = restauranteRepository.findBy(pagina,
+                        consulta -> consulta.sortBy(Sort.by("id")).limit(limite).all())
                 .stream()
                 .map(restauranteMapper::toDto)
                 .toList();
+
+        // as facetas contam todos os restaurantes dos demais filtros, sem a cozinha e sem o cursor da página
+        Map<Cozinha, Long> cozinhas = new EnumMap<>(Cozinha.class);
+        for (Cozinha cozinha : Cozinha.values()) {
+            cozinhas.put(cozinha, 0L);
+        }
+        cozinhas.putAll(restauranteRepository.contarPorCozinha(filtros));
+        return new BuscaRestauranteDTO(restaurantes, cozinhas);
     }
 
     @Override
-    public List<RestauranteDTO> buscarTodos() {
-        return restauranteRepository.findAll()
+    @Transactional(readOnly = true)
+    public List<RestauranteDTO> buscarPorIds(Collection<Long> ids) {
+        return restauranteRepository.findAllById(ids)
                 .stream()
                 .map(restauranteMapper::toDto)
                 .toList();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<RestauranteDTO> buscarTodos() {
+        return restauranteRepository.listarDados()
+                .stream()
+                .map(RestauranteServiceImpl::paraDto)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RestauranteDTO> buscarPagina(Long after, Integer limit) {
+        return restauranteRepository.listarDadosAposId(Paginacao.cursor(after), Paginacao.limite(limit))
+                .stream()
+                .map(RestauranteServiceImpl::paraDto)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void percorrerTodos(Consumer<RestauranteDTO> consumidor) {
+        Paginacao.percorrer(restauranteRepository.streamDados(), RestauranteServiceImpl::paraDto, consumidor);
+    }
+
 
     @Override
     public RestauranteDTO salvar(RestauranteDTO restauranteDto) {
-        enderecoService.buscarPorId(restauranteDto.enderecoId());
+        EnderecoDTO endereco = enderecoService.buscarPorId(restauranteDto.enderecoId());
         Restaurante restaurante = restauranteMapper.toEntity(restauranteDto);
         restaurante = restauranteRepository.save(restaurante);
-        return restauranteMapper.toDto(restaurante);
+        RestauranteDTO salvo = restauranteMapper.toDto(restaurante);
+        indiceRestauranteService.registrar(salvo, endereco.cidadeId());
+        versaoDasColecoes.registrarAlteracao(Colecao.RESTAURANTES);
+        return salvo;
     }
 
     @Override
     public RestauranteDTO atualizar(Long id, RestauranteDTO restauranteDto) {
-        Restaurante restaurante = restauranteMapper.toEntity(this.buscarPorId(id));
-        enderecoService.buscarPorId(restauranteDto.enderecoId());
+        return atualizar(id, restauranteDto, null).conteudo();
+    }
+
+    @Override
+    public VersionadoDTO<RestauranteDTO> atualizar(Long id, RestauranteDTO restauranteDto, Long versaoEsperada) {
+        return retentativa.executar(() -> aplicarAtualizacao(id, restauranteDto, versaoEsperada));
+    }
+
+    private VersionadoDTO<RestauranteDTO> aplicarAtualizacao(Long id, RestauranteDTO restauranteDto,
+                                                            Long versaoEsperada) {
+        Restaurante restaurante = carregar(id);
+        if (versaoEsperada != null && !versaoEsperada.equals(restaurante.getVersao())) {
+            throw new VersaoDesatualizadaException("O restaurante com id: " + id + " está na versão " +
+                    restaurante.getVersao());
+        }
+        EnderecoDTO endereco = enderecoService.buscarPorId(restauranteDto.enderecoId());
         restauranteMapper.updateFromDto(restauranteDto, restaurante);
-        restaurante = restauranteRepository.save(restaurante);
-        return restauranteMapper.toDto(restaurante);
+        if (!Objects.equals(restaurante.getEndereco().getId(), restauranteDto.enderecoId())) {
+            restaurante.setEndereco(entityManager.getReference(Endereco.class, restauranteDto.enderecoId()));
+        }
+        restauranteRepository.flush();
+        RestauranteDTO atualizado = restauranteMapper.toDto(restaurante);
+        indiceRestauranteService.registrar(atualizado, endereco.cidadeId());
+        versaoDasColecoes.registrarAlteracao(Colecao.RESTAURANTES);
+        return new VersionadoDTO<>(atualizado, restaurante.getVersao());
     }
 
     @Override
+    @Transactional
     public void deletarPorId(Long id) {
-        this.buscarPorId(id);
-        restauranteRepository.deleteById(id);
+        if (restauranteRepository.deletarPorId(id) == 0) {
+            throw new RecursoNaoEncontradoException("Restaurante não encontrado com id: " + id);
+        }
+        indiceRestauranteService.remover(id);
+        resumoAvaliacaoService.descartar(id);
+        versaoDasColecoes.registrarAlteracao(Colecao.RESTAURANTES);
+    }
+
+    private Restaurante carregar(Long id) {
+        return restauranteRepository.findById(id).orElseThrow(()->
+                new RecursoNaoEncontradoException("Restaurante não encontrado com id: " + id)
+        );
+    }
 
+    private static RestauranteDTO paraDto(DadosDoRestaurante restaurante) {
+        return new RestauranteDTO(restaurante.getId(), restaurante.getNome(), restaurante.getCozinha(),
+                restaurante.getEnderecoId(), restaurante.getReservasPorHora(), restaurante.getInicioExpediente(),
+                restaurante.getFinalExpediente());
     }
 }
@@ -0,0 +1,7 @@
+package br.com.reservei.api.domain.exceptions;
+
+public class CapacidadeEsgotadaException extends RuntimeException {
+    public CapacidadeEsgotadaException(String message) {
+        super(message);
+    }
+}
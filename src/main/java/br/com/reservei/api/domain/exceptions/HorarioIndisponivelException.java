@@ -0,0 +1,7 @@
+package br.com.reservei.api.domain.exceptions;
+
+public class HorarioIndisponivelException extends RuntimeException {
+    public HorarioIndisponivelException(String message) {
+        super(message);
+    }
+}
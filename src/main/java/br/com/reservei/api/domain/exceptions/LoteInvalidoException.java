@@ -0,0 +1,7 @@
+package br.com.reservei.api.domain.exceptions;
+
+public class LoteInvalidoException extends RuntimeException {
+    public LoteInvalidoException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package br.com.reservei.api.domain.exceptions;
+
+public class OrcamentoDeInstrucoesExcedidoException extends RuntimeException {
+    public OrcamentoDeInstrucoesExcedidoException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package br.com.reservei.api.domain.exceptions;
+
+public class PeriodoInvalidoException extends RuntimeException {
+    public PeriodoInvalidoException(String message) {
+        super(message);
+    }
+}
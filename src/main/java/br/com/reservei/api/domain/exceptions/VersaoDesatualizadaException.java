@@ -0,0 +1,7 @@
+package br.com.reservei.api.domain.exceptions;
+
+public class VersaoDesatualizadaException extends RuntimeException {
+    public VersaoDesatualizadaException(String message) {
+        super(message);
+    }
+}
@@ -5,10 +5,12 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 
 @Entity
+@DynamicUpdate
 @Data
 @Builder(toBuilder = true)
 @NoArgsConstructor
@@ -16,7 +18,8 @@ import java.time.LocalDateTime;
 public class Avaliacao {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "avaliacao_seq")
+    @SequenceGenerator(name = "avaliacao_seq", sequenceName = "avaliacao_seq", allocationSize = 50)
     private Long id;
 
     private int nota;
@@ -25,7 +28,7 @@ public class Avaliacao {
     @Column(nullable = false, updatable = false)
     private LocalDateTime dataCriacao;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Restaurante restaurante;
 
     @PrePersist
@@ -0,0 +1,37 @@
+package br.com.reservei.api.domain.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Entity
+@IdClass(ReservaPorHora.Chave.class)
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservaPorHora {
+
+    @Id
+    private Long restauranteId;
+    @Id
+    private LocalDateTime hora;
+
+    private long total;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Chave implements Serializable {
+
+        private Long restauranteId;
+        private LocalDateTime hora;
+    }
+}
@@ -6,10 +6,12 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalTime;
 
 @Entity
+@DynamicUpdate
 @Data
 @Builder(toBuilder = true)
 @NoArgsConstructor
@@ -21,9 +23,11 @@ public class Restaurante {
     private Long id;
     private String nome;
     private Cozinha cozinha;
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     private Endereco endereco;
     private int reservasPorHora;
     private LocalTime inicioExpediente;
     private LocalTime finalExpediente;
+    @Version
+    private Long versao;
 }
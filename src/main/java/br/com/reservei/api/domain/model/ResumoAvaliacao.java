@@ -0,0 +1,30 @@
+package br.com.reservei.api.domain.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumoAvaliacao {
+
+    @Id
+    private Long restauranteId;
+
+    private long totalAvaliacoes;
+    private long somaDasNotas;
+    private long totalNota1;
+    private long totalNota2;
+    private long totalNota3;
+    private long totalNota4;
+    private long totalNota5;
+    private LocalDateTime ultimaAvaliacao;
+}
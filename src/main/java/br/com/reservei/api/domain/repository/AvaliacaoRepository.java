@@ -1,9 +1,56 @@
 package br.com.reservei.api.domain.repository;
 
 import br.com.reservei.api.domain.model.Avaliacao;
+import br.com.reservei.api.domain.repository.projection.DadosDaAvaliacao;
+import br.com.reservei.api.domain.repository.projection.NotaDaAvaliacao;
+import br.com.reservei.api.domain.repository.projection.TotalAvaliacoesPorNota;
+import br.com.reservei.api.infrastructure.utils.Paginacao;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
 public interface AvaliacaoRepository extends JpaRepository<Avaliacao, Long> {
+
+    String DADOS = "SELECT a.id AS id, a.nota AS nota, a.comentario AS comentario, " +
+            "a.dataCriacao AS dataCriacao, a.restaurante.id AS restauranteId FROM Avaliacao a ";
+
+
+    @Query("SELECT a.restaurante.id AS restauranteId, a.nota AS nota, COUNT(a) AS total, " +
+            "MAX(a.dataCriacao) AS ultimaAvaliacao FROM Avaliacao a GROUP BY a.restaurante.id, a.nota")
+    List<TotalAvaliacoesPorNota> contarPorRestauranteENota();
+
+    @Query("SELECT a.restaurante.id AS restauranteId, a.nota AS nota, a.dataCriacao AS dataCriacao " +
+            "FROM Avaliacao a WHERE a.id = :id")
+    Optional<NotaDaAvaliacao> buscarNotaPorId(Long id);
+
+    @Query("SELECT MAX(a.dataCriacao) FROM Avaliacao a WHERE a.restaurante.id = :restauranteId")
+    LocalDateTime buscarUltimaAvaliacao(Long restauranteId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Avaliacao a WHERE a.id = :id")
+    int deletarPorId(Long id);
+
+    @Query(DADOS + "WHERE a.id = :id")
+    Optional<DadosDaAvaliacao> buscarDadosPorId(Long id);
+
+    @Query(DADOS + "ORDER BY a.id")
+    List<DadosDaAvaliacao> listarDados();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = Paginacao.TAMANHO_DO_LOTE))
+    @Query(DADOS + "ORDER BY a.id")
+    Stream<DadosDaAvaliacao> streamDados();
+
+    @Query(DADOS + "WHERE a.id > :id ORDER BY a.id")
+    List<DadosDaAvaliacao> listarDadosAposId(Long id, Limit limit);
 }
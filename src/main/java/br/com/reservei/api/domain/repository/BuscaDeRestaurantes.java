@@ -0,0 +1,16 @@
+package br.com.reservei.api.domain.repository;
+
+import br.com.reservei.api.domain.model.Restaurante;
+import br.com.reservei.api.infrastructure.utils.Cozinha;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Map;
+
+public interface BuscaDeRestaurantes {
+
+    /**
+     * Conta em uma única consulta agrupada os restaurantes que atendem aos filtros, por cozinha. Cozinhas sem
+     * restaurantes não aparecem no mapa.
+     */
+    Map<Cozinha, Long> contarPorCozinha(Specification<Restaurante> filtros);
+}
@@ -0,0 +1,40 @@
+package br.com.reservei.api.domain.repository;
+
+import br.com.reservei.api.domain.model.Restaurante;
+import br.com.reservei.api.infrastructure.utils.Cozinha;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class BuscaDeRestaurantesImpl implements BuscaDeRestaurantes {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Map<Cozinha, Long> contarPorCozinha(Specification<Restaurante> filtros) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Restaurante> root = query.from(Restaurante.class);
+        Path<Cozinha> cozinha = root.get("cozinha");
+        query.multiselect(cozinha, cb.count(root))
+                .where(filtros.toPredicate(root, query, cb))
+                .groupBy(cozinha);
+
+        Map<Cozinha, Long> totais = new EnumMap<>(Cozinha.class);
+        for (Tuple total : entityManager.createQuery(query).getResultList()) {
+            if (total.get(0) != null) {
+                totais.put(total.get(0, Cozinha.class), total.get(1, Long.class));
+            }
+        }
+        return totais;
+    }
+}
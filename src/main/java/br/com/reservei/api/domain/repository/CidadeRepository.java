@@ -1,13 +1,44 @@
 package br.com.reservei.api.domain.repository;
 
 import br.com.reservei.api.domain.model.Cidade;
+import br.com.reservei.api.domain.repository.projection.DadosDaCidade;
+import br.com.reservei.api.infrastructure.utils.Paginacao;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface CidadeRepository extends JpaRepository<Cidade, Long> {
+
+    String DADOS = "SELECT c.id AS id, c.nome AS nome, c.estado.id AS estadoId FROM Cidade c ";
+
     Optional<Cidade> findByNomeAndEstado_Id(String nome, Long estadoId);
     Optional<Cidade> findByNomeAndEstado_IdAndIdNot(String nome, Long estadoId, Long id);
+
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Cidade c WHERE c.id = :id")
+    int deletarPorId(Long id);
+
+    @Query(DADOS + "WHERE c.id = :id")
+    Optional<DadosDaCidade> buscarDadosPorId(Long id);
+
+    @Query(DADOS + "ORDER BY c.id")
+    List<DadosDaCidade> listarDados();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = Paginacao.TAMANHO_DO_LOTE))
+    @Query(DADOS + "ORDER BY c.id")
+    Stream<DadosDaCidade> streamDados();
+
+    @Query(DADOS + "WHERE c.id > :id ORDER BY c.id")
+    List<DadosDaCidade> listarDadosAposId(Long id, Limit limit);
 }
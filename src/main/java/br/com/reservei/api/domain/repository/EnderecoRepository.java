@@ -1,9 +1,42 @@
 package br.com.reservei.api.domain.repository;
 
 import br.com.reservei.api.domain.model.Endereco;
+import br.com.reservei.api.domain.repository.projection.DadosDoEndereco;
+import br.com.reservei.api.infrastructure.utils.Paginacao;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
 public interface EnderecoRepository extends JpaRepository<Endereco, Long> {
+
+    String DADOS = "SELECT e.id AS id, e.cidade.id AS cidadeId, e.bairro AS bairro, e.rua AS rua, " +
+            "e.numero AS numero, e.cep AS cep FROM Endereco e ";
+
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Endereco e WHERE e.id = :id")
+    int deletarPorId(Long id);
+
+    @Query(DADOS + "WHERE e.id = :id")
+    Optional<DadosDoEndereco> buscarDadosPorId(Long id);
+
+    @Query(DADOS + "ORDER BY e.id")
+    List<DadosDoEndereco> listarDados();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = Paginacao.TAMANHO_DO_LOTE))
+    @Query(DADOS + "ORDER BY e.id")
+    Stream<DadosDoEndereco> streamDados();
+
+    @Query(DADOS + "WHERE e.id > :id ORDER BY e.id")
+    List<DadosDoEndereco> listarDadosAposId(Long id, Limit limit);
 }
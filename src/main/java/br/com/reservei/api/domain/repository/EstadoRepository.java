@@ -1,18 +1,41 @@
 package br.com.reservei.api.domain.repository;
 
 import br.com.reservei.api.domain.model.Estado;
+import br.com.reservei.api.domain.repository.projection.DadosDoEstado;
+import br.com.reservei.api.infrastructure.utils.Paginacao;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface EstadoRepository extends JpaRepository<Estado, Long> {
 
+    String DADOS = "SELECT e.id AS id, e.nome AS nome, e.sigla AS sigla FROM Estado e ";
+
     Optional<Estado> findByNomeOrSigla(String nome, String sigla);
 
     @Query("SELECT e FROM Estado e WHERE (e.nome = :nome OR e.sigla = :sigla) AND e.id <> :id")
     Optional<Estado> findByNomeOrSiglaAndIdNot(String nome, String sigla, Long id);
 
+
+    @Query(DADOS + "WHERE e.id = :id")
+    Optional<DadosDoEstado> buscarDadosPorId(Long id);
+
+    @Query(DADOS + "ORDER BY e.id")
+    List<DadosDoEstado> listarDados();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = Paginacao.TAMANHO_DO_LOTE))
+    @Query(DADOS + "ORDER BY e.id")
+    Stream<DadosDoEstado> streamDados();
+
+    @Query(DADOS + "WHERE e.id > :id ORDER BY e.id")
+    List<DadosDoEstado> listarDadosAposId(Long id, Limit limit);
 }
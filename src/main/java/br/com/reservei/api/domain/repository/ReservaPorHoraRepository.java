@@ -0,0 +1,80 @@
+package br.com.reservei.api.domain.repository;
+
+import br.com.reservei.api.domain.model.ReservaPorHora;
+import br.com.reservei.api.domain.repository.projection.HoraPendente;
+import br.com.reservei.api.domain.repository.projection.TotalDoPeriodo;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Tabelas de ocupação: cada reserva gravada marca a sua hora em ocupacao_pendente, reserva_por_hora é recontada a
+ * partir das reservas para as horas marcadas e reserva_por_dia e reserva_por_semana são recalculadas a partir dela
+ * para os dias e semanas alterados. Os relatórios leem só as tabelas de ocupação.
+ */
+@Repository
+public interface ReservaPorHoraRepository extends JpaRepository<ReservaPorHora, ReservaPorHora.Chave> {
+
+    @Modifying
+    @Transactional
+    @Query(nativeQuery = true, value = "INSERT INTO ocupacao_pendente (restaurante_id, hora) " +
+            "VALUES (:restauranteId, :hora)")
+    int marcarPendente(Long restauranteId, LocalDateTime hora);
+
+    @Query(nativeQuery = true, value = "SELECT id, restaurante_id AS restauranteId, hora FROM ocupacao_pendente " +
+            "ORDER BY id LIMIT :limite")
+    List<HoraPendente> buscarPendentes(int limite);
+
+    @Modifying
+    @Query(nativeQuery = true, value = "DELETE FROM ocupacao_pendente WHERE id IN (:ids)")
+    int apagarPendentes(Collection<Long> ids);
+
+    @Modifying
+    @Query(nativeQuery = true, value = "MERGE INTO reserva_por_hora t " +
+            "USING (SELECT CAST(:restauranteId AS BIGINT) AS restaurante_id, CAST(:hora AS TIMESTAMP(6)) AS hora, " +
+            "COUNT(*) AS total FROM reserva r " +
+            "WHERE r.restaurante_id = :restauranteId AND r.hora_da_reserva >= :hora AND r.hora_da_reserva < :fim) AS v " +
+            "ON t.restaurante_id = v.restaurante_id AND t.hora = v.hora " +
+            "WHEN MATCHED THEN UPDATE SET total = v.total " +
+            "WHEN NOT MATCHED THEN INSERT (restaurante_id, hora, total) VALUES (v.restaurante_id, v.hora, v.total)")
+    int recontarHora(Long restauranteId, LocalDateTime hora, LocalDateTime fim);
+
+    @Modifying
+    @Query(nativeQuery = true, value = "MERGE INTO reserva_por_dia t " +
+            "USING (SELECT CAST(:restauranteId AS BIGINT) AS restaurante_id, CAST(:dia AS DATE) AS dia, " +
+            "COALESCE(SUM(h.total), 0) AS total FROM reserva_por_hora h " +
+            "WHERE h.restaurante_id = :restauranteId AND h.hora >= :inicio AND h.hora < :fim) AS v " +
+            "ON t.restaurante_id = v.restaurante_id AND t.dia = v.dia " +
+            "WHEN MATCHED THEN UPDATE SET total = v.total " +
+            "WHEN NOT MATCHED THEN INSERT (restaurante_id, dia, total) VALUES (v.restaurante_id, v.dia, v.total)")
+    int compactarDia(Long restauranteId, LocalDate dia, LocalDateTime inicio, LocalDateTime fim);
+
+    @Modifying
+    @Query(nativeQuery = true, value = "MERGE INTO reserva_por_semana t " +
+            "USING (SELECT CAST(:restauranteId AS BIGINT) AS restaurante_id, CAST(:semana AS DATE) AS semana, " +
+            "COALESCE(SUM(d.total), 0) AS total FROM reserva_por_dia d " +
+            "WHERE d.restaurante_id = :restauranteId AND d.dia >= :semana AND d.dia < :fim) AS v " +
+            "ON t.restaurante_id = v.restaurante_id AND t.semana = v.semana " +
+            "WHEN MATCHED THEN UPDATE SET total = v.total " +
+            "WHEN NOT MATCHED THEN INSERT (restaurante_id, semana, total) VALUES (v.restaurante_id, v.semana, v.total)")
+    int compactarSemana(Long restauranteId, LocalDate semana, LocalDate fim);
+
+    @Query(nativeQuery = true, value = "SELECT hora AS inicio, total FROM reserva_por_hora " +
+            "WHERE restaurante_id = :restauranteId AND hora >= :de AND hora < :ate AND total > 0 ORDER BY hora")
+    List<TotalDoPeriodo> buscarPorHora(Long restauranteId, LocalDateTime de, LocalDateTime ate);
+
+    @Query(nativeQuery = true, value = "SELECT CAST(dia AS TIMESTAMP(6)) AS inicio, total FROM reserva_por_dia " +
+            "WHERE restaurante_id = :restauranteId AND dia >= :de AND dia < :ate AND total > 0 ORDER BY dia")
+    List<TotalDoPeriodo> buscarPorDia(Long restauranteId, LocalDate de, LocalDate ate);
+
+    @Query(nativeQuery = true, value = "SELECT CAST(semana AS TIMESTAMP(6)) AS inicio, total FROM reserva_por_semana " +
+            "WHERE restaurante_id = :restauranteId AND semana >= :de AND semana < :ate AND total > 0 ORDER BY semana")
+    List<TotalDoPeriodo> buscarPorSemana(Long restauranteId, LocalDate de, LocalDate ate);
+}
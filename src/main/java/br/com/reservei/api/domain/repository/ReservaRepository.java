@@ -1,9 +1,70 @@
 package br.com.reservei.api.domain.repository;
 
 import br.com.reservei.api.domain.model.Reserva;
+import br.com.reservei.api.domain.repository.projection.DadosDaReserva;
+import br.com.reservei.api.domain.repository.projection.HorarioDaReserva;
+import br.com.reservei.api.domain.repository.projection.ReservaDoPeriodo;
+import br.com.reservei.api.domain.repository.projection.TotalReservasPorHorario;
+import br.com.reservei.api.infrastructure.utils.Paginacao;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
 public interface ReservaRepository extends JpaRepository<Reserva, Long> {
+
+    String DADOS = "SELECT r.id AS id, r.restaurante.id AS restauranteId, r.horaDaReserva AS horaDaReserva, " +
+            "r.versao AS versao FROM Reserva r ";
+
+    // Projeção sem a entidade: percorre só o índice (restaurante_id, hora_da_reserva) e a linha, sem carregar o restaurante
+    String RESERVAS_DO_PERIODO = "SELECT r.id AS id, r.restaurante.id AS restauranteId, " +
+            "r.horaDaReserva AS horaDaReserva FROM Reserva r WHERE r.restaurante.id = :restauranteId " +
+            "AND r.horaDaReserva >= :de AND r.horaDaReserva < :ate ORDER BY r.horaDaReserva, r.id";
+
+    @Query("SELECT r.restaurante.id AS restauranteId, r.horaDaReserva AS horaDaReserva, COUNT(r) AS total " +
+            "FROM Reserva r WHERE r.horaDaReserva >= :inicio GROUP BY r.restaurante.id, r.horaDaReserva")
+    List<TotalReservasPorHorario> contarPorRestauranteEHorarioAPartirDe(LocalDateTime inicio);
+
+    // Na atualização o restaurante é lido para recalcular a capacidade; nas leituras basta restaurante.id
+    @EntityGraph(attributePaths = "restaurante")
+    Optional<Reserva> findComRestauranteById(Long id);
+
+
+    @Query(RESERVAS_DO_PERIODO)
+    List<ReservaDoPeriodo> buscarPorRestauranteEPeriodo(Long restauranteId, LocalDateTime de, LocalDateTime ate);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = Paginacao.TAMANHO_DO_LOTE))
+    @Query(RESERVAS_DO_PERIODO)
+    Stream<ReservaDoPeriodo> streamPorRestauranteEPeriodo(Long restauranteId, LocalDateTime de, LocalDateTime ate);
+
+    @Query("SELECT r.restaurante.id AS restauranteId, r.horaDaReserva AS horaDaReserva FROM Reserva r WHERE r.id = :id")
+    Optional<HorarioDaReserva> buscarHorarioPorId(Long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Reserva r WHERE r.id = :id")
+    int deletarPorId(Long id);
+
+    @Query(DADOS + "WHERE r.id = :id")
+    Optional<DadosDaReserva> buscarDadosPorId(Long id);
+
+    @Query(DADOS + "ORDER BY r.id")
+    List<DadosDaReserva> listarDados();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = Paginacao.TAMANHO_DO_LOTE))
+    @Query(DADOS + "ORDER BY r.id")
+    Stream<DadosDaReserva> streamDados();
+
+    @Query(DADOS + "WHERE r.id > :id ORDER BY r.id")
+    List<DadosDaReserva> listarDadosAposId(Long id, Limit limit);
 }
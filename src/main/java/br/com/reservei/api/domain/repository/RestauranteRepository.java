@@ -2,17 +2,57 @@ package br.com.reservei.api.domain.repository;
 
 import br.com.reservei.api.domain.model.Cidade;
 import br.com.reservei.api.domain.model.Restaurante;
+import br.com.reservei.api.domain.repository.projection.DadosDoRestaurante;
+import br.com.reservei.api.domain.repository.projection.RestauranteComCidade;
 import br.com.reservei.api.infrastructure.utils.Cozinha;
+import br.com.reservei.api.infrastructure.utils.Paginacao;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface RestauranteRepository extends JpaRepository<Restaurante, Long> {
+public interface RestauranteRepository extends JpaRepository<Restaurante, Long>, JpaSpecificationExecutor<Restaurante>,
+        BuscaDeRestaurantes {
+
+    String DADOS = "SELECT r.id AS id, r.nome AS nome, r.cozinha AS cozinha, r.endereco.id AS enderecoId, " +
+            "r.reservasPorHora AS reservasPorHora, r.inicioExpediente AS inicioExpediente, " +
+            "r.finalExpediente AS finalExpediente, r.versao AS versao FROM Restaurante r ";
 
     public Optional<Restaurante> findByNome(String nome);
     public List<Restaurante> findByEndereco_Cidade(Cidade cidade);
     public List<Restaurante> findByCozinha(Cozinha cozinha);
+
+
+    @Query("SELECT r.id AS id, r.nome AS nome, r.cozinha AS cozinha, e.id AS enderecoId, c.id AS cidadeId, " +
+            "r.reservasPorHora AS reservasPorHora, r.inicioExpediente AS inicioExpediente, " +
+            "r.finalExpediente AS finalExpediente " +
+            "FROM Restaurante r LEFT JOIN r.endereco e LEFT JOIN e.cidade c ORDER BY r.id")
+    List<RestauranteComCidade> listarComCidade();
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Restaurante r WHERE r.id = :id")
+    int deletarPorId(Long id);
+
+    @Query(DADOS + "WHERE r.id = :id")
+    Optional<DadosDoRestaurante> buscarDadosPorId(Long id);
+
+    @Query(DADOS + "ORDER BY r.id")
+    List<DadosDoRestaurante> listarDados();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = Paginacao.TAMANHO_DO_LOTE))
+    @Query(DADOS + "ORDER BY r.id")
+    Stream<DadosDoRestaurante> streamDados();
+
+    @Query(DADOS + "WHERE r.id > :id ORDER BY r.id")
+    List<DadosDoRestaurante> listarDadosAposId(Long id, Limit limit);
 }
@@ -0,0 +1,83 @@
+package br.com.reservei.api.domain.repository;
+
+import br.com.reservei.api.domain.model.Avaliacao;
+import br.com.reservei.api.domain.model.Restaurante;
+import br.com.reservei.api.infrastructure.utils.Cozinha;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Monta a consulta da busca de restaurantes com apenas os filtros informados. Endereço e cidade só entram na
+ * consulta quando a busca filtra por cidade ou estado, e a nota mínima é comparada com a média das avaliações
+ * do próprio restaurante em uma subconsulta.
+ */
+public final class RestauranteSpecification {
+
+    private RestauranteSpecification() {
+    }
+
+    public static Specification<Restaurante> busca(Long cidadeId, Long estadoId, String prefixoDoNome,
+                                                   Double notaMinima, LocalTime abertoAs) {
+        return (root, query, cb) -> {
+            List<Predicate> filtros = new ArrayList<>();
+            if (cidadeId != null) {
+                filtros.add(cb.equal(root.get("endereco").get("cidade").get("id"), cidadeId));
+            }
+            if (estadoId != null) {
+                filtros.add(cb.equal(root.get("endereco").get("cidade").get("estado").get("id"), estadoId));
+            }
+            if (prefixoDoNome != null && !prefixoDoNome.isBlank()) {
+                filtros.add(cb.like(cb.lower(root.get("nome")), prefixo(prefixoDoNome), '\\'));
+            }
+            // sem avaliações a média é 0, como no resumo: nota mínima até 0 não descarta ninguém
+            if (notaMinima != null && notaMinima > 0) {
+                Subquery<Double> media = query.subquery(Double.class);
+                Root<Avaliacao> avaliacao = media.from(Avaliacao.class);
+                media.select(cb.avg(avaliacao.get("nota")))
+                        .where(cb.equal(avaliacao.get("restaurante"), root));
+                filtros.add(cb.greaterThanOrEqualTo(media, notaMinima));
+            }
+            if (abertoAs != null) {
+                filtros.add(abertoAs(cb, root.get("inicioExpediente"), root.get("finalExpediente"), abertoAs));
+            }
+            return cb.and(filtros.toArray(Predicate[]::new));
+        };
+    }
+
+    public static Specification<Restaurante> daCozinha(Cozinha cozinha) {
+        return (root, query, cb) -> cb.equal(root.get("cozinha"), cozinha);
+    }
+
+    public static Specification<Restaurante> aposId(Long id) {
+        return (root, query, cb) -> cb.greaterThan(root.get("id"), id);
+    }
+
+    // mesma regra de CapacidadeReservaServiceImpl.dentroDoExpediente, inclusive para expedientes
+    // que atravessam a meia-noite
+    private static Predicate abertoAs(CriteriaBuilder cb, Path<LocalTime> inicio, Path<LocalTime> fim,
+                                      LocalTime hora) {
+        return cb.or(
+                cb.isNull(inicio),
+                cb.isNull(fim),
+                cb.and(cb.lessThan(inicio, fim),
+                        cb.lessThanOrEqualTo(inicio, hora),
+                        cb.greaterThan(fim, hora)),
+                cb.and(cb.greaterThanOrEqualTo(inicio, fim),
+                        cb.or(cb.lessThanOrEqualTo(inicio, hora), cb.greaterThan(fim, hora))));
+    }
+
+    private static String prefixo(String nome) {
+        return nome.trim().toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+    }
+}
@@ -0,0 +1,24 @@
+package br.com.reservei.api.domain.repository;
+
+import br.com.reservei.api.domain.model.ResumoAvaliacao;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Resumos de avaliação gravados periodicamente. controle_resumo_avaliacao diz se a tabela foi gravada por inteiro
+ * no último encerramento: enquanto a aplicação roda ela fica marcada como incompleta.
+ */
+@Repository
+public interface ResumoAvaliacaoRepository extends JpaRepository<ResumoAvaliacao, Long> {
+
+    @Query(nativeQuery = true, value = "SELECT completo FROM controle_resumo_avaliacao WHERE id = 1")
+    boolean estaCompleto();
+
+    @Modifying
+    @Transactional
+    @Query(nativeQuery = true, value = "UPDATE controle_resumo_avaliacao SET completo = :completo WHERE id = 1")
+    int marcarCompleto(boolean completo);
+}
@@ -0,0 +1,12 @@
+package br.com.reservei.api.domain.repository.projection;
+
+import java.time.LocalDateTime;
+
+public interface DadosDaAvaliacao {
+
+    Long getId();
+    int getNota();
+    String getComentario();
+    LocalDateTime getDataCriacao();
+    Long getRestauranteId();
+}
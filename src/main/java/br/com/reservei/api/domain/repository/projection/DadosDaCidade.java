@@ -0,0 +1,8 @@
+package br.com.reservei.api.domain.repository.projection;
+
+public interface DadosDaCidade {
+
+    Long getId();
+    String getNome();
+    Long getEstadoId();
+}
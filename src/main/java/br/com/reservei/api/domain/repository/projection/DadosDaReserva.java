@@ -0,0 +1,6 @@
+package br.com.reservei.api.domain.repository.projection;
+
+public interface DadosDaReserva extends ReservaDoPeriodo {
+
+    Long getVersao();
+}
@@ -0,0 +1,11 @@
+package br.com.reservei.api.domain.repository.projection;
+
+public interface DadosDoEndereco {
+
+    Long getId();
+    Long getCidadeId();
+    String getBairro();
+    String getRua();
+    String getNumero();
+    String getCep();
+}
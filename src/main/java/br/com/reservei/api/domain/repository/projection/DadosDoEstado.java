@@ -0,0 +1,8 @@
+package br.com.reservei.api.domain.repository.projection;
+
+public interface DadosDoEstado {
+
+    Long getId();
+    String getNome();
+    String getSigla();
+}
@@ -0,0 +1,10 @@
+package br.com.reservei.api.domain.repository.projection;
+
+import java.time.LocalDateTime;
+
+public interface NotaDaAvaliacao {
+
+    Long getRestauranteId();
+    int getNota();
+    LocalDateTime getDataCriacao();
+}
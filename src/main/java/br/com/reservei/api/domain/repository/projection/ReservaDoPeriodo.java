@@ -0,0 +1,6 @@
+package br.com.reservei.api.domain.repository.projection;
+
+public interface ReservaDoPeriodo extends HorarioDaReserva {
+
+    Long getId();
+}
@@ -0,0 +1,17 @@
+package br.com.reservei.api.domain.repository.projection;
+
+import br.com.reservei.api.infrastructure.utils.Cozinha;
+
+import java.time.LocalTime;
+
+public interface RestauranteComCidade {
+
+    Long getId();
+    String getNome();
+    Cozinha getCozinha();
+    Long getEnderecoId();
+    Long getCidadeId();
+    int getReservasPorHora();
+    LocalTime getInicioExpediente();
+    LocalTime getFinalExpediente();
+}
@@ -0,0 +1,11 @@
+package br.com.reservei.api.domain.repository.projection;
+
+import java.time.LocalDateTime;
+
+public interface TotalAvaliacoesPorNota {
+
+    Long getRestauranteId();
+    Integer getNota();
+    Long getTotal();
+    LocalDateTime getUltimaAvaliacao();
+}
@@ -0,0 +1,9 @@
+package br.com.reservei.api.domain.repository.projection;
+
+import java.time.LocalDateTime;
+
+public interface TotalDoPeriodo {
+
+    LocalDateTime getInicio();
+    Long getTotal();
+}
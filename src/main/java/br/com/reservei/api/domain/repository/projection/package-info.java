@@ -0,0 +1,6 @@
+/**
+ * Projeções de interface preenchidas direto pelas colunas selecionadas nas consultas dos repositórios, como as
+ * constantes DADOS. Nenhuma entidade é carregada nem fica no contexto de persistência, então as leituras, inclusive
+ * as feitas em stream, não acumulam objetos gerenciados nem disparam verificação de alterações no flush.
+ */
+package br.com.reservei.api.domain.repository.projection;
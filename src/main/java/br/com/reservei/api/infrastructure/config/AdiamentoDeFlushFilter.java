@@ -0,0 +1,102 @@
+package br.com.reservei.api.infrastructure.config;
+
+import br.com.reservei.api.infrastructure.utils.EscritorNdjson;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * O conversor JSON do Spring chama flush ao terminar de escrever o corpo, o que faz o Tomcat enviar a resposta sem
+ * Content-Length e compactá-la mesmo abaixo de server.compression.min-response-size. Este filtro ignora esses flushes,
+ * de modo que uma resposta que cabe no buffer do Tomcat sai com o tamanho conhecido e só é compactada acima do mínimo.
+ * Respostas em NDJSON continuam sendo enviadas a cada flush.
+ */
+@Component
+public class AdiamentoDeFlushFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        chain.doFilter(request, new RespostaComFlushAdiado(response));
+    }
+
+    private static class RespostaComFlushAdiado extends HttpServletResponseWrapper {
+
+        private ServletOutputStream saida;
+
+        RespostaComFlushAdiado(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (saida == null) {
+                saida = new SaidaComFlushAdiado(super.getOutputStream(), this);
+            }
+            return saida;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (emStream()) {
+                super.flushBuffer();
+            }
+        }
+
+        boolean emStream() {
+            String contentType = getContentType();
+            return contentType != null && contentType.startsWith(EscritorNdjson.APPLICATION_NDJSON_VALUE);
+        }
+    }
+
+    private static class SaidaComFlushAdiado extends ServletOutputStream {
+
+        private final ServletOutputStream saida;
+        private final RespostaComFlushAdiado resposta;
+
+        SaidaComFlushAdiado(ServletOutputStream saida, RespostaComFlushAdiado resposta) {
+            this.saida = saida;
+            this.resposta = resposta;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            saida.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            saida.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (resposta.emStream()) {
+                saida.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            saida.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return saida.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            saida.setWriteListener(writeListener);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package br.com.reservei.api.infrastructure.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * O cache fica por fora do @Transactional (ordem menor que a do TransactionInterceptor, que é LOWEST_PRECEDENCE):
+ * @CachePut e @CacheEvict só agem depois que a transação do método foi confirmada, e uma escrita desfeita no commit
+ * não deixa no cache um valor que o banco não tem.
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    public static final String ESTADOS = "estados";
+    public static final String CIDADES = "cidades";
+    public static final String ENDERECOS = "enderecos";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${reservei.cache.estados.especificacao}") String estados,
+                                     @Value("${reservei.cache.cidades.especificacao}") String cidades,
+                                     @Value("${reservei.cache.enderecos.especificacao}") String enderecos) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(ESTADOS, Caffeine.from(estados).build());
+        cacheManager.registerCustomCache(CIDADES, Caffeine.from(cidades).build());
+        cacheManager.registerCustomCache(ENDERECOS, Caffeine.from(enderecos).build());
+        return cacheManager;
+    }
+}
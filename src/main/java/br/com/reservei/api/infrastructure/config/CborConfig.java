@@ -0,0 +1,39 @@
+package br.com.reservei.api.infrastructure.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * O conversor CBOR entra logo depois do JSON, que continua sendo a resposta padrão para Accept ausente ou *&#47;*.
+ * <p>
+ * O Spring MVC já inclui um conversor CBOR quando o jackson-dataformat-cbor está no classpath, mas com um ObjectMapper
+ * próprio; ele é substituído por um que copia a configuração e os módulos do ObjectMapper da aplicação, para que os
+ * campos saiam com os mesmos nomes e formatos do JSON.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class CborConfig implements WebMvcConfigurer {
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(MappingJackson2CborHttpMessageConverter.class::isInstance);
+        int json = -1;
+        for (int i = 0; i < converters.size() && json < 0; i++) {
+            if (converters.get(i).getClass() == MappingJackson2HttpMessageConverter.class) {
+                json = i;
+            }
+        }
+        converters.add(json < 0 ? converters.size() : json + 1,
+                new MappingJackson2CborHttpMessageConverter(objectMapper.copyWith(new CBORFactory())));
+    }
+}
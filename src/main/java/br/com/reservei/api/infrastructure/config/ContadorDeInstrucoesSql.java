@@ -0,0 +1,116 @@
+package br.com.reservei.api.infrastructure.config;
+
+import br.com.reservei.api.domain.exceptions.OrcamentoDeInstrucoesExcedidoException;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Conta as instruções SQL preparadas pelo Hibernate na thread corrente entre iniciar e encerrar. Um lote de inserts
+ * conta uma vez por instrução preparada, não por linha.
+ * <p>
+ * Cada requisição tem um orçamento de reservei.sql.orcamento.limite instruções, e a mesma instrução (o mesmo texto
+ * SQL, com parâmetros diferentes) pode se repetir até reservei.sql.orcamento.repeticoes vezes; acima disso o padrão
+ * é de N+1. Com reservei.sql.orcamento.acao=FALHAR a instrução que estoura o orçamento não é executada e a requisição
+ * falha com OrcamentoDeInstrucoesExcedidoException; com REGISTRAR ela segue e o estouro só é registrado ao encerrar.
+ * Limites menores ou iguais a zero desligam a respectiva verificação.
+ */
+@Component
+public class ContadorDeInstrucoesSql implements StatementInspector {
+
+    public enum Acao { REGISTRAR, FALHAR }
+
+    private final int limite;
+    private final int repeticoes;
+    private final Acao acao;
+    private final ThreadLocal<Contagem> contagem = new ThreadLocal<>();
+
+    public ContadorDeInstrucoesSql(@Value("${reservei.sql.orcamento.limite}") int limite,
+                                   @Value("${reservei.sql.orcamento.repeticoes}") int repeticoes,
+                                   @Value("${reservei.sql.orcamento.acao}") Acao acao) {
+        this.limite = limite;
+        this.repeticoes = repeticoes;
+        this.acao = acao;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Contagem atual = contagem.get();
+        if (atual != null) {
+            atual.registrar(sql);
+            if (acao == Acao.FALHAR && !atual.falhou && (excedeLimite(atual) || excedeRepeticoes(atual))) {
+                atual.falhou = true;
+                throw new OrcamentoDeInstrucoesExcedidoException(descrever(atual));
+            }
+        }
+        return sql;
+    }
+
+    public void iniciar() {
+        contagem.set(new Contagem());
+    }
+
+    /**
+     * Retorna a contagem desde iniciar, ou null quando a contagem não foi iniciada nesta thread.
+     */
+    public Contagem encerrar() {
+        Contagem atual = contagem.get();
+        contagem.remove();
+        return atual;
+    }
+
+    public boolean excedeLimite(Contagem contagem) {
+        return limite > 0 && contagem.instrucoes > limite;
+    }
+
+    public boolean excedeRepeticoes(Contagem contagem) {
+        return repeticoes > 0 && contagem.maiorRepeticao > repeticoes;
+    }
+
+    public String descrever(Contagem contagem) {
+        if (excedeLimite(contagem)) {
+            return "A requisição passou do orçamento de " + limite + " instruções SQL";
+        }
+        return "A instrução SQL se repetiu " + contagem.maiorRepeticao + " vezes na mesma requisição, acima de " +
+                repeticoes + " (possível N+1): " + contagem.maisRepetida;
+    }
+
+    public static class Contagem {
+
+        private final Map<String, Integer> porInstrucao = new HashMap<>();
+        private int instrucoes;
+        private int maiorRepeticao;
+        private String maisRepetida;
+        private boolean falhou;
+
+        private void registrar(String sql) {
+            instrucoes++;
+            int vezes = porInstrucao.merge(sql, 1, Integer::sum);
+            if (vezes > maiorRepeticao) {
+                maiorRepeticao = vezes;
+                maisRepetida = sql;
+            }
+        }
+
+        public int instrucoes() {
+            return instrucoes;
+        }
+
+        public int maiorRepeticao() {
+            return maiorRepeticao;
+        }
+
+        public String maisRepetida() {
+            return maisRepetida;
+        }
+
+        public Set<String> distintas() {
+            return Collections.unmodifiableSet(porInstrucao.keySet());
+        }
+    }
+}
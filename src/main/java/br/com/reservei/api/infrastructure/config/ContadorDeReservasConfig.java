@@ -0,0 +1,25 @@
+package br.com.reservei.api.infrastructure.config;
+
+import br.com.reservei.api.application.usecases.reserva.ContadorDeReservas;
+import br.com.reservei.api.application.usecases.reserva.ContadorDeReservasImpl;
+import br.com.reservei.api.application.usecases.reserva.LogDeReservas;
+import br.com.reservei.api.domain.repository.ReservaRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+
+@Configuration
+public class ContadorDeReservasConfig {
+
+    @Bean
+    public ContadorDeReservas contadorDeReservas(ReservaRepository reservaRepository,
+                                                 @Value("${reservei.reserva.contador.faixas}") int faixas,
+                                                 @Value("${reservei.reserva.log.diretorio}") String diretorio,
+                                                 @Value("${reservei.reserva.log.tamanho-do-trecho}") DataSize tamanhoDoTrecho) {
+        LogDeReservas log = diretorio.isBlank() ? null : new LogDeReservas(Path.of(diretorio), tamanhoDoTrecho.toBytes());
+        return new ContadorDeReservasImpl(reservaRepository, faixas, log);
+    }
+}
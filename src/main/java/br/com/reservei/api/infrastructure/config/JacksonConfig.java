@@ -0,0 +1,20 @@
+package br.com.reservei.api.infrastructure.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * O Spring Boot registra no ObjectMapper da aplicação todo Module exposto como bean. O BlackbirdModule troca a
+ * reflexão usada para ler e escrever as propriedades dos DTOs por funções geradas com LambdaMetafactory; vale para o
+ * JSON, o NDJSON e o CBOR, que partem do mesmo ObjectMapper.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
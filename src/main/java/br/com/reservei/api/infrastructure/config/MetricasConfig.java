@@ -0,0 +1,107 @@
+package br.com.reservei.api.infrastructure.config;
+
+import io.micrometer.common.KeyValues;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Acrescenta às métricas de http.server.requests a tag metodo (Controller.metodo que atendeu a requisição) e registra
+ * em reservei.hibernate.instrucoes quantas instruções SQL cada requisição preparou, com a mesma tag. Requisições que
+ * passam do orçamento de ContadorDeInstrucoesSql são registradas no log e em reservei.hibernate.orcamento.excedido.
+ * Os corpos enviados em stream são escritos fora da thread da requisição e não entram na contagem.
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class MetricasConfig implements WebMvcConfigurer {
+
+    public static final String INSTRUCOES_POR_REQUISICAO = "reservei.hibernate.instrucoes";
+    public static final String ORCAMENTO_EXCEDIDO = "reservei.hibernate.orcamento.excedido";
+    private static final String METODO = "metodo";
+    private static final String SEM_METODO = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final ContadorDeInstrucoesSql contadorDeInstrucoesSql;
+
+    @Bean
+    public ServerRequestObservationConvention convencaoDeRequisicaoComMetodo() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                return super.getLowCardinalityKeyValues(context)
+                        .and(METODO, metodo(context.getCarrier().getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE)));
+            }
+        };
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer inspetorDeInstrucoes() {
+        return propriedades -> propriedades.put(AvailableSettings.STATEMENT_INSPECTOR, contadorDeInstrucoesSql);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new InstrucoesPorRequisicao());
+    }
+
+    private static String metodo(Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        }
+        return SEM_METODO;
+    }
+
+    private class InstrucoesPorRequisicao implements AsyncHandlerInterceptor {
+
+        @Override
+        public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+            if (request.getDispatcherType() != DispatcherType.ASYNC) {
+                contadorDeInstrucoesSql.iniciar();
+            }
+            return true;
+        }
+
+        @Override
+        public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                                   Object handler) {
+            contadorDeInstrucoesSql.encerrar();
+        }
+
+        @Override
+        public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                    Exception ex) {
+            ContadorDeInstrucoesSql.Contagem contagem = contadorDeInstrucoesSql.encerrar();
+            if (contagem == null) {
+                return;
+            }
+            String metodo = metodo(handler);
+            DistributionSummary.builder(INSTRUCOES_POR_REQUISICAO)
+                    .baseUnit("instrucoes")
+                    .tag(METODO, metodo)
+                    .register(meterRegistry)
+                    .record(contagem.instrucoes());
+            if (contadorDeInstrucoesSql.excedeLimite(contagem) || contadorDeInstrucoesSql.excedeRepeticoes(contagem)) {
+                meterRegistry.counter(ORCAMENTO_EXCEDIDO, METODO, metodo).increment();
+                log.warn("{} {} ({}): {} instruções SQL. {}", request.getMethod(), request.getRequestURI(), metodo,
+                        contagem.instrucoes(), contadorDeInstrucoesSql.descrever(contagem));
+            }
+        }
+    }
+}
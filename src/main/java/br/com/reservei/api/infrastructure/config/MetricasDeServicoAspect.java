@@ -0,0 +1,69 @@
+package br.com.reservei.api.infrastructure.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede o tempo de cada método público dos serviços em reservei.servico e conta as exceções que saem deles em
+ * reservei.servico.erros, ambos com as tags classe, metodo e excecao. Os timers das chamadas sem erro ficam guardados
+ * por método para não montar o id do meter a cada chamada.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class MetricasDeServicoAspect {
+
+    public static final String TEMPO = "reservei.servico";
+    public static final String ERROS = "reservei.servico.erros";
+    private static final String SEM_EXCECAO = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, Timer> timersSemErro = new ConcurrentHashMap<>();
+
+    @Around("within(br.com.reservei.api.application.usecases..*) "
+            + "&& @within(org.springframework.stereotype.Service) && execution(public * *(..))")
+    public Object medir(ProceedingJoinPoint joinPoint) throws Throwable {
+        long inicio = System.nanoTime();
+        try {
+            Object resultado = joinPoint.proceed();
+            Method metodo = ((MethodSignature) joinPoint.getSignature()).getMethod();
+            timersSemErro.computeIfAbsent(metodo, chave -> timer(joinPoint, SEM_EXCECAO))
+                    .record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            return resultado;
+        } catch (Throwable erro) {
+            String excecao = erro.getClass().getSimpleName();
+            timer(joinPoint, excecao).record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            Counter.builder(ERROS)
+                    .tag("classe", classe(joinPoint))
+                    .tag("metodo", joinPoint.getSignature().getName())
+                    .tag("excecao", excecao)
+                    .register(meterRegistry)
+                    .increment();
+            throw erro;
+        }
+    }
+
+    private Timer timer(ProceedingJoinPoint joinPoint, String excecao) {
+        return Timer.builder(TEMPO)
+                .tag("classe", classe(joinPoint))
+                .tag("metodo", joinPoint.getSignature().getName())
+                .tag("excecao", excecao)
+                .register(meterRegistry);
+    }
+
+    private static String classe(ProceedingJoinPoint joinPoint) {
+        return joinPoint.getTarget().getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,88 @@
+package br.com.reservei.api.infrastructure.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Acompanha o atraso da réplica de leitura por um pulso gravado no primário. A cada verificação o último instante
+ * que a replicação trouxe é lido em pulso_replicacao na réplica e o instante atual é gravado no primário; o atraso é
+ * a diferença entre o instante atual e o lido, então inclui até um intervalo de verificação.
+ * <p>
+ * A réplica fica disponível para as leituras enquanto responde e o atraso não passa de
+ * reservei.datasource.replica.atraso-maximo. Atraso máximo menor ou igual a zero desliga a verificação de atraso.
+ * Até a primeira verificação as leituras ficam no primário.
+ */
+@Slf4j
+public class MonitorDeReplica {
+
+    public static final String DISPONIVEL = "reservei.replica.disponivel";
+    public static final String ATRASO = "reservei.replica.atraso";
+
+    private static final String LER_PULSO = "SELECT instante FROM pulso_replicacao WHERE id = 1";
+    private static final String GRAVAR_PULSO = "UPDATE pulso_replicacao SET instante = ? WHERE id = 1";
+
+    private final JdbcTemplate primario;
+    private final JdbcTemplate replica;
+    private final long atrasoMaximo;
+    private volatile boolean disponivel;
+    private volatile long atraso = -1;
+
+    public MonitorDeReplica(DataSource primario, DataSource replica, Duration atrasoMaximo,
+                            MeterRegistry meterRegistry) {
+        this.primario = new JdbcTemplate(primario);
+        this.replica = new JdbcTemplate(replica);
+        this.atrasoMaximo = atrasoMaximo.toMillis();
+        Gauge.builder(DISPONIVEL, this, monitor -> monitor.disponivel ? 1 : 0)
+                .description("1 enquanto as leituras somente leitura vão para a réplica")
+                .register(meterRegistry);
+        Gauge.builder(ATRASO, this, monitor -> monitor.atraso / 1000.0)
+                .description("Atraso da réplica na última verificação, -1 quando ela não respondeu")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${reservei.datasource.replica.intervalo-verificacao:1000}")
+    public void verificar() {
+        long agora = System.currentTimeMillis();
+        boolean estavaDisponivel = disponivel;
+        try {
+            Long instante = replica.queryForObject(LER_PULSO, Long.class);
+            atraso = agora - instante;
+            disponivel = atrasoMaximo <= 0 || atraso <= atrasoMaximo;
+        } catch (DataAccessException e) {
+            atraso = -1;
+            disponivel = false;
+            log.warn("Réplica de leitura não respondeu: {}", e.getMessage());
+        }
+        try {
+            primario.update(GRAVAR_PULSO, agora);
+        } catch (DataAccessException e) {
+            log.warn("Não foi possível gravar o pulso de replicação no primário: {}", e.getMessage());
+        }
+
+        if (estavaDisponivel && !disponivel) {
+            log.warn("Leituras voltaram para o primário; atraso da réplica: {} ms", atraso);
+        } else if (!estavaDisponivel && disponivel) {
+            log.info("Leituras somente leitura seguem para a réplica; atraso: {} ms", atraso);
+        }
+    }
+
+    public boolean isDisponivel() {
+        return disponivel;
+    }
+
+    /**
+     * Atraso medido na última verificação, ou null quando a réplica não respondeu ou ainda não foi verificada.
+     */
+    public Duration getAtraso() {
+        long atual = atraso;
+        return atual < 0 ? null : Duration.ofMillis(atual);
+    }
+}
@@ -0,0 +1,55 @@
+package br.com.reservei.api.infrastructure.config;
+
+import br.com.reservei.api.infrastructure.utils.EscritorNdjson;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Permite responder com um único objeto a quem aceita só NDJSON, como os erros de validação dos endpoints em stream,
+ * que sem este conversor viravam 500 por não haver como escrever o corpo de erro. O objeto sai em uma linha JSON
+ * terminada em \n, que é NDJSON válido. O conversor só escreve: os lotes em NDJSON continuam lidos pelo LeitorNdjson.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class NdjsonConfig implements WebMvcConfigurer {
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new ConversorDeLinhaNdjson(objectMapper));
+    }
+
+    private static class ConversorDeLinhaNdjson extends MappingJackson2HttpMessageConverter {
+
+        ConversorDeLinhaNdjson(ObjectMapper objectMapper) {
+            super(objectMapper);
+            setSupportedMediaTypes(List.of(MediaType.parseMediaType(EscritorNdjson.APPLICATION_NDJSON_VALUE)));
+        }
+
+        @Override
+        public boolean canRead(Class<?> clazz, MediaType mediaType) {
+            return false;
+        }
+
+        @Override
+        public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+            return false;
+        }
+
+        @Override
+        protected void writeSuffix(JsonGenerator generator, Object object) throws IOException {
+            generator.writeRaw('\n');
+        }
+    }
+}
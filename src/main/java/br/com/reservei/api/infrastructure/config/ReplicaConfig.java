@@ -0,0 +1,92 @@
+package br.com.reservei.api.infrastructure.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Com reservei.datasource.replica.url definida, separa o pool do primário (spring.datasource.*) do pool da réplica de
+ * leitura e expõe como DataSource da aplicação o RoteadorDeDataSource atrás de um LazyConnectionDataSourceProxy. Sem
+ * a propriedade a aplicação segue com o DataSource único do Spring Boot.
+ * <p>
+ * Com reservei.datasource.replica.migrar=true o Flyway também migra a réplica, para rodar localmente com dois H2 no
+ * lugar do primário e da réplica; em produção o esquema chega à réplica pela própria replicação.
+ */
+@Configuration
+@ConditionalOnExpression("!'${reservei.datasource.replica.url:}'.isBlank()")
+public class ReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primario(DataSourceProperties propriedades) {
+        HikariDataSource primario = propriedades.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primario.setPoolName("primario");
+        return primario;
+    }
+
+    @Bean
+    @ConfigurationProperties("reservei.datasource.replica.hikari")
+    public HikariDataSource replica(DataSourceProperties propriedades,
+                                    @Value("${reservei.datasource.replica.url}") String url,
+                                    @Value("${reservei.datasource.replica.username}") String usuario,
+                                    @Value("${reservei.datasource.replica.password}") String senha) {
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(propriedades.determineDriverClassName())
+                .url(url)
+                .username(usuario)
+                .password(senha)
+                .build();
+        replica.setPoolName("replica");
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean
+    public MonitorDeReplica monitorDeReplica(@Qualifier("primario") DataSource primario,
+                                             @Qualifier("replica") DataSource replica,
+                                             @Value("${reservei.datasource.replica.atraso-maximo}") Duration atrasoMaximo,
+                                             MeterRegistry meterRegistry) {
+        return new MonitorDeReplica(primario, replica, atrasoMaximo, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primario") DataSource primario,
+                                 @Qualifier("replica") DataSource replica,
+                                 MonitorDeReplica monitorDeReplica) {
+        RoteadorDeDataSource roteador = new RoteadorDeDataSource(primario, replica, monitorDeReplica);
+        roteador.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(roteador);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "reservei.datasource.replica.migrar", havingValue = "true")
+    public FlywayMigrationStrategy migracaoDaReplica(@Qualifier("replica") DataSource replica) {
+        return flyway -> {
+            flyway.migrate();
+            Flyway.configure()
+                    .configuration(flyway.getConfiguration())
+                    .dataSource(replica)
+                    .load()
+                    .migrate();
+        };
+    }
+}
@@ -0,0 +1,65 @@
+package br.com.reservei.api.infrastructure.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Entrega as conexões de transações somente leitura (@Transactional(readOnly = true)) pela réplica enquanto o
+ * MonitorDeReplica a considerar disponível. Escritas, acessos fora de transação e leituras com a réplica atrasada ou
+ * fora do ar usam o primário.
+ * <p>
+ * Precisa ficar atrás de um LazyConnectionDataSourceProxy: a conexão só é escolhida na primeira instrução, quando a
+ * transação já está marcada como somente leitura.
+ * <p>
+ * Leituras que não podem ver um estado anterior ao último commit rodam em {@link #noPrimario(Supplier)}: as que
+ * alimentam o cache ou acompanham a versão de uma coleção e as consultas feitas no caminho de uma escrita. Uma
+ * leitura que participa de uma transação que já pegou conexão na réplica continua nessa conexão.
+ */
+public class RoteadorDeDataSource extends AbstractRoutingDataSource {
+
+    public enum Destino { PRIMARIO, REPLICA }
+
+    private static final ThreadLocal<Boolean> NO_PRIMARIO = ThreadLocal.withInitial(() -> false);
+
+    private final MonitorDeReplica monitorDeReplica;
+
+    public RoteadorDeDataSource(DataSource primario, DataSource replica, MonitorDeReplica monitorDeReplica) {
+        this.monitorDeReplica = monitorDeReplica;
+        setTargetDataSources(Map.of(Destino.PRIMARIO, primario, Destino.REPLICA, replica));
+        setDefaultTargetDataSource(primario);
+        setLenientFallback(false);
+    }
+
+    /**
+     * Executa a leitura com as conexões obtidas nela vindas do primário, mesmo em transação somente leitura. Sem
+     * réplica configurada a leitura roda sem mudança.
+     */
+    public static <T> T noPrimario(Supplier<T> leitura) {
+        if (NO_PRIMARIO.get()) {
+            return leitura.get();
+        }
+        NO_PRIMARIO.set(true);
+        try {
+            return leitura.get();
+        } finally {
+            NO_PRIMARIO.remove();
+        }
+    }
+
+    public Destino destino() {
+        if (!NO_PRIMARIO.get() && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && monitorDeReplica.isDisponivel()) {
+            return Destino.REPLICA;
+        }
+        return Destino.PRIMARIO;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return destino();
+    }
+}
@@ -0,0 +1,30 @@
+package br.com.reservei.api.infrastructure.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+@RequiredArgsConstructor
+@Component
+public class EscritorNdjson {
+
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    private final ObjectMapper objectMapper;
+
+    public <T> StreamingResponseBody escrever(Consumer<Consumer<T>> produtor) {
+        return saida -> produtor.accept(item -> {
+            try {
+                saida.write(objectMapper.writeValueAsBytes(item));
+                saida.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+}
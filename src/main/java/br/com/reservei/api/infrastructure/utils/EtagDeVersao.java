@@ -0,0 +1,31 @@
+package br.com.reservei.api.infrastructure.utils;
+
+import br.com.reservei.api.domain.exceptions.VersaoDesatualizadaException;
+
+/**
+ * Converte a versão otimista das entidades no ETag das respostas e o cabeçalho If-Match na versão esperada.
+ */
+public final class EtagDeVersao {
+
+    private EtagDeVersao() {
+    }
+
+    public static String etag(Long versao) {
+        return "\"" + versao + "\"";
+    }
+
+    public static Long versaoEsperada(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String valor = ifMatch.trim();
+        if (valor.length() > 2 && valor.startsWith("\"") && valor.endsWith("\"")) {
+            try {
+                return Long.parseLong(valor.substring(1, valor.length() - 1));
+            } catch (NumberFormatException e) {
+                // cai na exceção abaixo
+            }
+        }
+        throw new VersaoDesatualizadaException("O If-Match " + ifMatch + " não corresponde a nenhuma versão");
+    }
+}
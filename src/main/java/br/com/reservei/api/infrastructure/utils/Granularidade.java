@@ -0,0 +1,8 @@
+package br.com.reservei.api.infrastructure.utils;
+
+public enum Granularidade {
+    HORA,
+    DIA,
+    SEMANA;
+
+}
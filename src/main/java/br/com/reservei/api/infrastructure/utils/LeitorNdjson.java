@@ -0,0 +1,31 @@
+package br.com.reservei.api.infrastructure.utils;
+
+import br.com.reservei.api.domain.exceptions.LoteInvalidoException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+@Component
+public class LeitorNdjson {
+
+    private final ObjectMapper objectMapper;
+
+    public <T> List<T> ler(InputStream entrada, Class<T> tipo) {
+        try (MappingIterator<T> itens = objectMapper.readerFor(tipo).readValues(entrada)) {
+            List<T> lidos = new ArrayList<>();
+            while (itens.hasNextValue() && lidos.size() <= Lote.TAMANHO_MAXIMO) {
+                lidos.add(itens.nextValue());
+            }
+            return lidos;
+        } catch (IOException | RuntimeException e) {
+            throw new LoteInvalidoException("Não foi possível ler o lote em NDJSON: " + e.getMessage());
+        }
+    }
+}
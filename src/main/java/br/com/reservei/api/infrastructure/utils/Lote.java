@@ -0,0 +1,22 @@
+package br.com.reservei.api.infrastructure.utils;
+
+import br.com.reservei.api.domain.exceptions.LoteInvalidoException;
+
+import java.util.List;
+
+public final class Lote {
+
+    public static final int TAMANHO_MAXIMO = 1000;
+
+    private Lote() {
+    }
+
+    public static void validarTamanho(List<?> itens) {
+        if (itens == null || itens.isEmpty()) {
+            throw new LoteInvalidoException("O lote deve conter ao menos um item");
+        }
+        if (itens.size() > TAMANHO_MAXIMO) {
+            throw new LoteInvalidoException("O lote deve conter no máximo " + TAMANHO_MAXIMO + " itens");
+        }
+    }
+}
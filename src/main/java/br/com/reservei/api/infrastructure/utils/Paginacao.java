@@ -0,0 +1,72 @@
+package br.com.reservei.api.infrastructure.utils;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+public final class Paginacao {
+
+    public static final String TAMANHO_DO_LOTE = "500";
+    public static final int LIMITE_PADRAO = 100;
+    public static final int LIMITE_MAXIMO = 1000;
+
+    private Paginacao() {
+    }
+
+    public static Long cursor(Long after) {
+        return after == null ? 0L : after;
+    }
+
+    public static Limit limite(Integer limit) {
+        if (limit == null) {
+            return Limit.of(LIMITE_PADRAO);
+        }
+        return Limit.of(Math.clamp(limit, 1, LIMITE_MAXIMO));
+    }
+
+    /**
+     * Quando a página veio cheia, acrescenta à resposta o cabeçalho Link com rel="next" apontando para a requisição
+     * atual com after no id do último item. Respostas 304 e páginas incompletas seguem sem o cabeçalho.
+     */
+    public static <D> ResponseEntity<List<D>> comProximaPagina(ResponseEntity<List<D>> resposta, Integer limit,
+                                                               Function<D, Long> id) {
+        String proximaPagina = proximaPagina(resposta.getBody(), limit, id);
+        if (proximaPagina == null) {
+            return resposta;
+        }
+        return ResponseEntity.status(resposta.getStatusCode())
+                .headers(resposta.getHeaders())
+                .header(HttpHeaders.LINK, proximaPagina)
+                .body(resposta.getBody());
+    }
+
+    /**
+     * Valor do cabeçalho Link da página seguinte, ou null quando a página não veio cheia.
+     */
+    public static <D> String proximaPagina(List<D> pagina, Integer limit, Function<D, Long> id) {
+        if (pagina == null || pagina.isEmpty() || pagina.size() < limite(limit).max()) {
+            return null;
+        }
+        String proxima = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("after", id.apply(pagina.getLast()))
+                .replaceQueryParam("limit", pagina.size())
+                .toUriString();
+        return "<" + proxima + ">; rel=\"next\"";
+    }
+
+    /**
+     * Mapeia e entrega ao consumidor cada linha do stream, fechando-o ao final. As linhas são projeções lidas direto
+     * das colunas, então nada fica no contexto de persistência e a memória não cresce com o tamanho da tabela.
+     */
+    public static <P, D> void percorrer(Stream<P> linhas, Function<P, D> mapper, Consumer<D> consumidor) {
+        try (linhas) {
+            linhas.forEach(linha -> consumidor.accept(mapper.apply(linha)));
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package br.com.reservei.api.infrastructure.utils;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Executa uma atualização em uma transação própria e a repete quando outra transação alterou a mesma versão.
+ * <p>
+ * Cada nova tentativa relê a entidade, então a atualização é aplicada sobre o estado mais recente. Entre as
+ * tentativas há uma espera aleatória que cresce a cada conflito, para que as transações concorrentes não voltem
+ * a colidir no mesmo instante. Dentro de uma transação já aberta a operação roda uma única vez, porque a
+ * transação externa já estaria marcada para rollback.
+ */
+@Component
+public class Retentativa {
+
+    private static final long ESPERA_BASE_EM_MILISSEGUNDOS = 2;
+
+    private final TransactionTemplate transactionTemplate;
+    private final int tentativas;
+
+    public Retentativa(PlatformTransactionManager transactionManager,
+                       @Value("${reservei.concorrencia.tentativas}") int tentativas) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tentativas = tentativas;
+    }
+
+    public <T> T executar(Supplier<T> operacao) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return operacao.get();
+        }
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                return transactionTemplate.execute(status -> operacao.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (tentativa >= tentativas) {
+                    throw e;
+                }
+                aguardar(tentativa);
+            }
+        }
+    }
+
+    private static void aguardar(int tentativa) {
+        long limite = ESPERA_BASE_EM_MILISSEGUNDOS << Math.min(tentativa, 8);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(limite));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
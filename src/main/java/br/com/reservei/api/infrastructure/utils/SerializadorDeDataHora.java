@@ -0,0 +1,54 @@
+package br.com.reservei.api.infrastructure.utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Escreve um LocalDateTime no formato yyyy-MM-dd HH:mm:ss montando os caracteres diretamente, sem passar pelo
+ * DateTimeFormatter, que aparece no perfil das listas grandes de reservas. Anos fora de 0000 a 9999 usam o formatter.
+ */
+public class SerializadorDeDataHora extends StdSerializer<LocalDateTime> {
+
+    public static final String PADRAO = "yyyy-MM-dd HH:mm:ss";
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern(PADRAO);
+    private static final int TAMANHO = PADRAO.length();
+
+    public SerializadorDeDataHora() {
+        super(LocalDateTime.class);
+    }
+
+    @Override
+    public void serialize(LocalDateTime valor, JsonGenerator gerador, SerializerProvider provider) throws IOException {
+        int ano = valor.getYear();
+        if (ano < 0 || ano > 9999) {
+            gerador.writeString(FORMATTER.format(valor));
+            return;
+        }
+        char[] texto = new char[TAMANHO];
+        escrever(texto, 0, ano, 4);
+        texto[4] = '-';
+        escrever(texto, 5, valor.getMonthValue(), 2);
+        texto[7] = '-';
+        escrever(texto, 8, valor.getDayOfMonth(), 2);
+        texto[10] = ' ';
+        escrever(texto, 11, valor.getHour(), 2);
+        texto[13] = ':';
+        escrever(texto, 14, valor.getMinute(), 2);
+        texto[16] = ':';
+        escrever(texto, 17, valor.getSecond(), 2);
+        gerador.writeString(texto, 0, TAMANHO);
+    }
+
+    private static void escrever(char[] texto, int inicio, int numero, int digitos) {
+        for (int i = inicio + digitos - 1; i >= inicio; i--) {
+            texto[i] = (char) ('0' + numero % 10);
+            numero /= 10;
+        }
+    }
+}
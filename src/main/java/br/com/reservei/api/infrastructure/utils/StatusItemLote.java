@@ -0,0 +1,7 @@
+package br.com.reservei.api.infrastructure.utils;
+
+public enum StatusItemLote {
+    CRIADO,
+    REJEITADO;
+
+}
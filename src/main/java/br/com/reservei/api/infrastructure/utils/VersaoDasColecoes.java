@@ -0,0 +1,93 @@
+package br.com.reservei.api.infrastructure.utils;
+
+import br.com.reservei.api.infrastructure.config.RoteadorDeDataSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Versão de cada coleção listada pela API, incrementada pelos serviços a cada escrita confirmada.
+ * <p>
+ * As listagens respondem 304 a um If-None-Match ou If-Modified-Since que ainda corresponda à versão atual sem
+ * consultar o banco nem serializar a lista. O ETag leva o instante de inicialização da aplicação, então um ETag
+ * emitido antes de um reinício nunca coincide com um novo. A versão é local a cada instância, assim como os caches.
+ */
+@Component
+public class VersaoDasColecoes {
+
+    public enum Colecao {
+        ESTADOS, CIDADES, RESTAURANTES
+    }
+
+    private final String inicializacao = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final Map<Colecao, AtomicReference<Versao>> versoes = new EnumMap<>(Colecao.class);
+
+    public VersaoDasColecoes() {
+        Instant agora = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        for (Colecao colecao : Colecao.values()) {
+            versoes.put(colecao, new AtomicReference<>(new Versao(inicializacao, 0, agora)));
+        }
+    }
+
+    public Versao buscar(Colecao colecao) {
+        return versoes.get(colecao).get();
+    }
+
+    /**
+     * Registra uma escrita na coleção. Dentro de uma transação o incremento só acontece depois do commit, para que
+     * uma leitura concorrente não associe os dados antigos à nova versão.
+     */
+    public void registrarAlteracao(Colecao colecao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            incrementar(colecao);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                incrementar(colecao);
+            }
+        });
+    }
+
+    /**
+     * Responde 304 quando a requisição já tem a versão atual da coleção e, caso contrário, monta o corpo. A versão
+     * é lida antes do corpo, de modo que uma escrita concorrente nunca fica escondida atrás de um ETag antigo, e o
+     * corpo é lido do primário: a versão avança no commit, antes de a escrita chegar a uma réplica atrasada.
+     */
+    public <T> ResponseEntity<T> responder(Colecao colecao, WebRequest requisicao, Supplier<T> corpo) {
+        Versao versao = buscar(colecao);
+        if (requisicao.checkNotModified(versao.etag(), versao.ultimaAlteracao().toEpochMilli())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(versao.etag())
+                    .lastModified(versao.ultimaAlteracao())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(versao.etag())
+                .lastModified(versao.ultimaAlteracao())
+                .body(RoteadorDeDataSource.noPrimario(corpo));
+    }
+
+    private void incrementar(Colecao colecao) {
+        Instant agora = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        versoes.get(colecao).updateAndGet(versao -> new Versao(inicializacao, versao.numero() + 1, agora));
+    }
+
+    public record Versao(String inicializacao, long numero, Instant ultimaAlteracao) {
+
+        public String etag() {
+            return "\"" + inicializacao + "-" + numero + "\"";
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package br.com.reservei.api.interfaces.controller;
 
 import br.com.reservei.api.application.dto.AvaliacaoDTO;
+import br.com.reservei.api.application.dto.ResultadoLoteDTO;
 import br.com.reservei.api.application.usecases.avaliacao.AvaliacaoService;
+import br.com.reservei.api.infrastructure.utils.EscritorNdjson;
+import br.com.reservei.api.infrastructure.utils.LeitorNdjson;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -9,11 +12,16 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
 
+import static br.com.reservei.api.infrastructure.utils.Paginacao.comProximaPagina;
+
 @RestController
 @RequestMapping("/avaliacao")
 @RequiredArgsConstructor
@@ -21,6 +29,8 @@ import java.util.List;
 public class AvaliacaoController {
 
     private final AvaliacaoService avaliacaoService;
+    private final EscritorNdjson escritorNdjson;
+    private final LeitorNdjson leitorNdjson;
 
     @GetMapping("/{idAvaliacao}")
     @Operation(summary = "Buscar Avaliação por ID", description = "Busca uma Avaliação pelo seu ID")
@@ -34,13 +44,29 @@ public class AvaliacaoController {
     }
     
     @GetMapping
-    @Operation(summary = "Buscar todas as Avaliações", description = "Busca uma lista com todas as Avaliações")
+    @Operation(summary = "Buscar todas as Avaliações", description = "Busca uma página de Avaliações ordenada por id" +
+            " a partir do cursor after, com até limit itens (padrão 100); quando a página vem cheia, o cabeçalho" +
+            " Link aponta a próxima. A lista completa sai pelo stream NDJSON")
     @ApiResponse(responseCode = "200", description = "Avaliações encontradas com sucesso",
             content = @Content(mediaType = "application/json",
                     schema = @Schema(implementation = AvaliacaoDTO.class)))
     @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
-    public ResponseEntity<List<AvaliacaoDTO>> buscarTodos(){
-        return ResponseEntity.ok(avaliacaoService.buscarTodos());
+    public ResponseEntity<List<AvaliacaoDTO>> buscarTodos(@RequestParam(required = false) Long after,
+                                                          @RequestParam(required = false) Integer limit){
+        return comProximaPagina(ResponseEntity.ok(avaliacaoService.buscarPagina(after, limit)), limit, AvaliacaoDTO::id);
+    }
+
+    @GetMapping(produces = EscritorNdjson.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Buscar todas as Avaliações em stream", description = "Envia todas as Avaliações em NDJSON," +
+            " um por linha, à medida que são lidas do banco")
+    @ApiResponse(responseCode = "200", description = "Avaliações enviadas com sucesso",
+            content = @Content(mediaType = EscritorNdjson.APPLICATION_NDJSON_VALUE,
+                    schema = @Schema(implementation = AvaliacaoDTO.class)))
+    @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    public ResponseEntity<StreamingResponseBody> buscarTodosEmStream(){
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(EscritorNdjson.APPLICATION_NDJSON_VALUE))
+                .body(escritorNdjson.<AvaliacaoDTO>escrever(avaliacaoService::percorrerTodos));
     }
     
     @PostMapping
@@ -54,6 +80,30 @@ public class AvaliacaoController {
         avaliacaoDTO = avaliacaoService.salvar(avaliacaoDTO);
         return ResponseEntity.status(HttpStatus.CREATED).body(avaliacaoDTO);
     }
+
+    @PostMapping(value = "/lote", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Salva um lote de Avaliações", description = "Salva até 1000 Avaliações enviadas em um array JSON" +
+            " e retorna o resultado de cada item, na mesma ordem do lote")
+    @ApiResponse(responseCode = "200", description = "Lote processado",
+            content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = ResultadoLoteDTO.class)))
+    @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    @ApiResponse(responseCode = "400", description = "Lote vazio ou com mais de 1000 itens")
+    public ResponseEntity<ResultadoLoteDTO> salvarLote(@RequestBody List<AvaliacaoDTO> avaliacoesDTO){
+        return ResponseEntity.ok(avaliacaoService.salvarLote(avaliacoesDTO));
+    }
+
+    @PostMapping(value = "/lote", consumes = EscritorNdjson.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Salva um lote de Avaliações em NDJSON", description = "Salva até 1000 Avaliações enviadas" +
+            " em NDJSON, uma por linha, e retorna o resultado de cada item, na mesma ordem do lote")
+    @ApiResponse(responseCode = "200", description = "Lote processado",
+            content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = ResultadoLoteDTO.class)))
+    @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    @ApiResponse(responseCode = "400", description = "Lote vazio, ilegível ou com mais de 1000 itens")
+    public ResponseEntity<ResultadoLoteDTO> salvarLoteEmNdjson(InputStream corpo){
+        return ResponseEntity.ok(avaliacaoService.salvarLote(leitorNdjson.ler(corpo, AvaliacaoDTO.class)));
+    }
     
     @PutMapping("/{idAvaliacao}")
     @Operation(summary = "Atualiza uma Avaliação", description = "Atualiza uma Avaliação")
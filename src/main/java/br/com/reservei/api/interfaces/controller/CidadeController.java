@@ -2,6 +2,9 @@ package br.com.reservei.api.interfaces.controller;
 
 import br.com.reservei.api.application.dto.CidadeDTO;
 import br.com.reservei.api.application.usecases.endereco.CidadeService;
+import br.com.reservei.api.infrastructure.utils.EscritorNdjson;
+import br.com.reservei.api.infrastructure.utils.VersaoDasColecoes;
+import br.com.reservei.api.infrastructure.utils.VersaoDasColecoes.Colecao;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -9,11 +12,16 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
+import static br.com.reservei.api.infrastructure.utils.Paginacao.comProximaPagina;
+
 @RestController
 @RequestMapping("/cidade")
 @RequiredArgsConstructor
@@ -21,6 +29,8 @@ import java.util.List;
 public class CidadeController {
 
     private final CidadeService cidadeService;
+    private final EscritorNdjson escritorNdjson;
+    private final VersaoDasColecoes versaoDasColecoes;
 
     @GetMapping("/{idCidade}")
     @Operation(summary = "Buscar Cidade por ID", description = "Busca uma Cidade pelo seu ID")
@@ -34,13 +44,32 @@ public class CidadeController {
     }
     
     @GetMapping
-    @Operation(summary = "Buscar todas as Cidades", description = "Busca uma lista com todas as Cidades")
+    @Operation(summary = "Buscar todas as Cidades", description = "Busca uma página de Cidades ordenada por id" +
+            " a partir do cursor after, com até limit itens (padrão 100); quando a página vem cheia, o cabeçalho" +
+            " Link aponta a próxima. A lista completa sai pelo stream NDJSON")
     @ApiResponse(responseCode = "200", description = "Cidades encontradas com sucesso",
             content = @Content(mediaType = "application/json",
                     schema = @Schema(implementation = CidadeDTO.class)))
+    @ApiResponse(responseCode = "304", description = "Cidades não alteradas desde o ETag ou a data informados")
+    @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    public ResponseEntity<List<CidadeDTO>> buscarTodos(@RequestParam(required = false) Long after,
+                                                       @RequestParam(required = false) Integer limit,
+                                                       WebRequest requisicao){
+        return comProximaPagina(versaoDasColecoes.responder(Colecao.CIDADES, requisicao,
+                () -> cidadeService.buscarPagina(after, limit)), limit, CidadeDTO::id);
+    }
+
+    @GetMapping(produces = EscritorNdjson.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Buscar todas as Cidades em stream", description = "Envia todas as Cidades em NDJSON," +
+            " um por linha, à medida que são lidas do banco")
+    @ApiResponse(responseCode = "200", description = "Cidades enviadas com sucesso",
+            content = @Content(mediaType = EscritorNdjson.APPLICATION_NDJSON_VALUE,
+                    schema = @Schema(implementation = CidadeDTO.class)))
     @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
-    public ResponseEntity<List<CidadeDTO>> buscarTodos(){
-        return ResponseEntity.ok(cidadeService.buscarTodos());
+    public ResponseEntity<StreamingResponseBody> buscarTodosEmStream(){
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(EscritorNdjson.APPLICATION_NDJSON_VALUE))
+                .body(escritorNdjson.<CidadeDTO>escrever(cidadeService::percorrerTodos));
     }
     
     @PostMapping
@@ -2,6 +2,7 @@ package br.com.reservei.api.interfaces.controller;
 
 import br.com.reservei.api.application.dto.EnderecoDTO;
 import br.com.reservei.api.application.usecases.endereco.EnderecoService;
+import br.com.reservei.api.infrastructure.utils.EscritorNdjson;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -9,11 +10,15 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
+import static br.com.reservei.api.infrastructure.utils.Paginacao.comProximaPagina;
+
 @RestController
 @RequestMapping("/endereco")
 @RequiredArgsConstructor
@@ -21,6 +26,7 @@ import java.util.List;
 public class EnderecoController {
 
     private final EnderecoService enderecoService;
+    private final EscritorNdjson escritorNdjson;
 
     @GetMapping("/{idEndereco}")
     @Operation(summary = "Buscar Endereco por ID", description = "Busca um Endereco pelo seu ID")
@@ -34,13 +40,29 @@ public class EnderecoController {
     }
 
     @GetMapping
-    @Operation(summary = "Buscar todos os Enderecos", description = "Busca uma lista com todos os Enderecos")
+    @Operation(summary = "Buscar todos os Enderecos", description = "Busca uma página de Enderecos ordenada por id" +
+            " a partir do cursor after, com até limit itens (padrão 100); quando a página vem cheia, o cabeçalho" +
+            " Link aponta a próxima. A lista completa sai pelo stream NDJSON")
     @ApiResponse(responseCode = "200", description = "Enderecos encontrados com sucesso",
             content = @Content(mediaType = "application/json",
                     schema = @Schema(implementation = EnderecoDTO.class)))
     @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
-    public ResponseEntity<List<EnderecoDTO>> buscarTodos(){
-        return ResponseEntity.ok(enderecoService.buscarTodos());
+    public ResponseEntity<List<EnderecoDTO>> buscarTodos(@RequestParam(required = false) Long after,
+                                                         @RequestParam(required = false) Integer limit){
+        return comProximaPagina(ResponseEntity.ok(enderecoService.buscarPagina(after, limit)), limit, EnderecoDTO::id);
+    }
+
+    @GetMapping(produces = EscritorNdjson.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Buscar todos os Enderecos em stream", description = "Envia todos os Enderecos em NDJSON," +
+            " um por linha, à medida que são lidos do banco")
+    @ApiResponse(responseCode = "200", description = "Enderecos enviados com sucesso",
+            content = @Content(mediaType = EscritorNdjson.APPLICATION_NDJSON_VALUE,
+                    schema = @Schema(implementation = EnderecoDTO.class)))
+    @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    public ResponseEntity<StreamingResponseBody> buscarTodosEmStream(){
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(EscritorNdjson.APPLICATION_NDJSON_VALUE))
+                .body(escritorNdjson.<EnderecoDTO>escrever(enderecoService::percorrerTodos));
     }
 
     @PostMapping
@@ -2,6 +2,9 @@ package br.com.reservei.api.interfaces.controller;
 
 import br.com.reservei.api.application.dto.EstadoDTO;
 import br.com.reservei.api.application.usecases.endereco.EstadoService;
+import br.com.reservei.api.infrastructure.utils.EscritorNdjson;
+import br.com.reservei.api.infrastructure.utils.VersaoDasColecoes;
+import br.com.reservei.api.infrastructure.utils.VersaoDasColecoes.Colecao;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -10,11 +13,16 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
+import static br.com.reservei.api.infrastructure.utils.Paginacao.comProximaPagina;
+
 @RestController
 @RequestMapping("/estado")
 @RequiredArgsConstructor
@@ -22,6 +30,8 @@ import java.util.List;
 public class EstadoController {
 
     private final EstadoService estadoService;
+    private final EscritorNdjson escritorNdjson;
+    private final VersaoDasColecoes versaoDasColecoes;
 
     @GetMapping("/{idEstado}")
     @Operation(summary = "Buscar Estado por ID", description = "Busca um Estado pelo seu ID")
@@ -35,13 +45,32 @@ public class EstadoController {
     }
 
     @GetMapping
-    @Operation(summary = "Buscar todos os Estados", description = "Busca uma lista com todos os Estados")
+    @Operation(summary = "Buscar todos os Estados", description = "Busca uma página de Estados ordenada por id" +
+            " a partir do cursor after, com até limit itens (padrão 100); quando a página vem cheia, o cabeçalho" +
+            " Link aponta a próxima. A lista completa sai pelo stream NDJSON")
     @ApiResponse(responseCode = "200", description = "Estados encontrados com sucesso",
             content = @Content(mediaType = "application/json",
                     schema = @Schema(implementation = EstadoDTO.class)))
+    @ApiResponse(responseCode = "304", description = "Estados não alterados desde o ETag ou a data informados")
+    @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    public ResponseEntity<List<EstadoDTO>> buscarTodos(@RequestParam(required = false) Long after,
+                                                       @RequestParam(required = false) Integer limit,
+                                                       WebRequest requisicao){
+        return comProximaPagina(versaoDasColecoes.responder(Colecao.ESTADOS, requisicao,
+                () -> estadoService.buscarPagina(after, limit)), limit, EstadoDTO::id);
+    }
+
+    @GetMapping(produces = EscritorNdjson.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Buscar todos os Estados em stream", description = "Envia todos os Estados em NDJSON," +
+            " um por linha, à medida que são lidos do banco")
+    @ApiResponse(responseCode = "200", description = "Estados enviados com sucesso",
+            content = @Content(mediaType = EscritorNdjson.APPLICATION_NDJSON_VALUE,
+                    schema = @Schema(implementation = EstadoDTO.class)))
     @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
-    public ResponseEntity<List<EstadoDTO>> buscarTodos(){
-        return ResponseEntity.ok(estadoService.buscarTodos());
+    public ResponseEntity<StreamingResponseBody> buscarTodosEmStream(){
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(EscritorNdjson.APPLICATION_NDJSON_VALUE))
+                .body(escritorNdjson.<EstadoDTO>escrever(estadoService::percorrerTodos));
     }
 
     @PostMapping
@@ -1,19 +1,30 @@
 package br.com.reservei.api.interfaces.controller;
 
 import br.com.reservei.api.application.dto.ReservaDTO;
+import br.com.reservei.api.application.dto.ResultadoLoteDTO;
+import br.com.reservei.api.application.dto.VersionadoDTO;
 import br.com.reservei.api.application.usecases.reserva.ReservaService;
+import br.com.reservei.api.infrastructure.utils.EscritorNdjson;
+import br.com.reservei.api.infrastructure.utils.EtagDeVersao;
+import br.com.reservei.api.infrastructure.utils.LeitorNdjson;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
 
+import static br.com.reservei.api.infrastructure.utils.Paginacao.comProximaPagina;
+
 @RestController
 @RequestMapping("/reserva")
 @RequiredArgsConstructor
@@ -21,6 +32,8 @@ import java.util.List;
 public class ReservaController {
 
     private final ReservaService reservaService;
+    private final EscritorNdjson escritorNdjson;
+    private final LeitorNdjson leitorNdjson;
 
     @GetMapping("/{idReserva}")
     @Operation(summary = "Buscar Reserva por ID", description = "Busca uma Reserva pelo seu ID")
@@ -30,17 +43,34 @@ public class ReservaController {
             @ApiResponse(responseCode = "404", description = "Reserva nao encontrada")
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     public ResponseEntity<ReservaDTO> buscarPorId(@PathVariable Long idReserva){
-        return ResponseEntity.ok(reservaService.buscarPorId(idReserva));
+        VersionadoDTO<ReservaDTO> reserva = reservaService.buscarVersionadoPorId(idReserva);
+        return ResponseEntity.ok().eTag(EtagDeVersao.etag(reserva.versao())).body(reserva.conteudo());
     }
     
     @GetMapping
-    @Operation(summary = "Buscar todas as Reservas", description = "Busca uma lista com todas as Reservas")
+    @Operation(summary = "Buscar todas as Reservas", description = "Busca uma página de Reservas ordenada por id" +
+            " a partir do cursor after, com até limit itens (padrão 100); quando a página vem cheia, o cabeçalho" +
+            " Link aponta a próxima. A lista completa sai pelo stream NDJSON")
     @ApiResponse(responseCode = "200", description = "Reservas encontradas com sucesso",
             content = @Content(mediaType = "application/json",
                     schema = @Schema(implementation = ReservaDTO.class)))
     @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
-    public ResponseEntity<List<ReservaDTO>> buscarTodos(){
-        return ResponseEntity.ok(reservaService.buscarTodos());
+    public ResponseEntity<List<ReservaDTO>> buscarTodos(@RequestParam(required = false) Long after,
+                                                        @RequestParam(required = false) Integer limit){
+        return comProximaPagina(ResponseEntity.ok(reservaService.buscarPagina(after, limit)), limit, ReservaDTO::id);
+    }
+
+    @GetMapping(produces = EscritorNdjson.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Buscar todas as Reservas em stream", description = "Envia todas as Reservas em NDJSON," +
+            " um por linha, à medida que são lidas do banco")
+    @ApiResponse(responseCode = "200", description = "Reservas enviadas com sucesso",
+            content = @Content(mediaType = EscritorNdjson.APPLICATION_NDJSON_VALUE,
+                    schema = @Schema(implementation = ReservaDTO.class)))
+    @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    public ResponseEntity<StreamingResponseBody> buscarTodosEmStream(){
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(EscritorNdjson.APPLICATION_NDJSON_VALUE))
+                .body(escritorNdjson.<ReservaDTO>escrever(reservaService::percorrerTodos));
     }
     
     @PostMapping
@@ -54,6 +84,30 @@ public class ReservaController {
         reservaDTO = reservaService.salvar(reservaDTO);
         return ResponseEntity.status(HttpStatus.CREATED).body(reservaDTO);
     }
+
+    @PostMapping(value = "/lote", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Salva um lote de Reservas", description = "Salva até 1000 Reservas enviadas em um array JSON" +
+            " e retorna o resultado de cada item, na mesma ordem do lote")
+    @ApiResponse(responseCode = "200", description = "Lote processado",
+            content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = ResultadoLoteDTO.class)))
+    @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    @ApiResponse(responseCode = "400", description = "Lote vazio ou com mais de 1000 itens")
+    public ResponseEntity<ResultadoLoteDTO> salvarLote(@RequestBody List<ReservaDTO> reservasDTO){
+        return ResponseEntity.ok(reservaService.salvarLote(reservasDTO));
+    }
+
+    @PostMapping(value = "/lote", consumes = EscritorNdjson.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Salva um lote de Reservas em NDJSON", description = "Salva até 1000 Reservas enviadas" +
+            " em NDJSON, uma por linha, e retorna o resultado de cada item, na mesma ordem do lote")
+    @ApiResponse(responseCode = "200", description = "Lote processado",
+            content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = ResultadoLoteDTO.class)))
+    @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    @ApiResponse(responseCode = "400", description = "Lote vazio, ilegível ou com mais de 1000 itens")
+    public ResponseEntity<ResultadoLoteDTO> salvarLoteEmNdjson(InputStream corpo){
+        return ResponseEntity.ok(reservaService.salvarLote(leitorNdjson.ler(corpo, ReservaDTO.class)));
+    }
     
     @PutMapping("/{idReserva}")
     @Operation(summary = "Atualiza uma Reserva", description = "Atualiza uma Reserva")
@@ -62,9 +116,13 @@ public class ReservaController {
                     schema = @Schema(implementation = ReservaDTO.class)))
     @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     @ApiResponse(responseCode = "400", description = "Requisição invalida")
-    public ResponseEntity<ReservaDTO> atualizar(@PathVariable Long idReserva, @RequestBody ReservaDTO reservaDTO){
-        reservaDTO = reservaService.atualizar(idReserva, reservaDTO);
-        return ResponseEntity.ok(reservaDTO);
+    @ApiResponse(responseCode = "409", description = "Reserva alterada por outra requisição durante a atualização")
+    @ApiResponse(responseCode = "412", description = "O If-Match não corresponde à versão atual da Reserva")
+    public ResponseEntity<ReservaDTO> atualizar(@PathVariable Long idReserva, @RequestBody ReservaDTO reservaDTO,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        VersionadoDTO<ReservaDTO> reserva = reservaService.atualizar(idReserva, reservaDTO,
+                EtagDeVersao.versaoEsperada(ifMatch));
+        return ResponseEntity.ok().eTag(EtagDeVersao.etag(reserva.versao())).body(reserva.conteudo());
     }
     
     @DeleteMapping("/{idReserva}")
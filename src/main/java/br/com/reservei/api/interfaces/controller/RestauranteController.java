@@ -1,20 +1,46 @@
 package br.com.reservei.api.interfaces.controller;
 
+import br.com.reservei.api.application.dto.BuscaRestauranteDTO;
+import br.com.reservei.api.application.dto.DisponibilidadeDTO;
+import br.com.reservei.api.application.dto.FiltroRestauranteDTO;
+import br.com.reservei.api.application.dto.OcupacaoDTO;
+import br.com.reservei.api.application.dto.ReservaDTO;
 import br.com.reservei.api.application.dto.RestauranteDTO;
+import br.com.reservei.api.application.dto.ResumoAvaliacaoDTO;
+import br.com.reservei.api.application.dto.VersionadoDTO;
+import br.com.reservei.api.application.usecases.avaliacao.AvaliacaoService;
+import br.com.reservei.api.application.usecases.reserva.OcupacaoService;
+import br.com.reservei.api.application.usecases.reserva.ReservaService;
 import br.com.reservei.api.application.usecases.restaurante.RestauranteService;
 import br.com.reservei.api.infrastructure.utils.Cozinha;
+import br.com.reservei.api.infrastructure.utils.EscritorNdjson;
+import br.com.reservei.api.infrastructure.utils.EtagDeVersao;
+import br.com.reservei.api.infrastructure.utils.Granularidade;
+import br.com.reservei.api.infrastructure.utils.VersaoDasColecoes;
+import br.com.reservei.api.infrastructure.utils.VersaoDasColecoes.Colecao;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.List;
 
+import static br.com.reservei.api.infrastructure.utils.Paginacao.comProximaPagina;
+import static br.com.reservei.api.infrastructure.utils.Paginacao.proximaPagina;
+
 @RestController
 @RequestMapping("/restaurante")
 @RequiredArgsConstructor
@@ -22,6 +48,11 @@ import java.util.List;
 public class RestauranteController {
 
     private final RestauranteService restauranteService;
+    private final ReservaService reservaService;
+    private final AvaliacaoService avaliacaoService;
+    private final OcupacaoService ocupacaoService;
+    private final EscritorNdjson escritorNdjson;
+    private final VersaoDasColecoes versaoDasColecoes;
 
     @GetMapping("/{idRestaurante}")
     @Operation(summary = "Buscar Restaurante por ID", description = "Busca um Restaurante pelo seu ID")
@@ -31,7 +62,8 @@ public class RestauranteController {
             @ApiResponse(responseCode = "404", description = "Restaurante nao encontrado")
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     public ResponseEntity<RestauranteDTO> buscarPorId(@PathVariable Long idRestaurante){
-        return ResponseEntity.ok(restauranteService.buscarPorId(idRestaurante));
+        VersionadoDTO<RestauranteDTO> restaurante = restauranteService.buscarVersionadoPorId(idRestaurante);
+        return ResponseEntity.ok().eTag(EtagDeVersao.etag(restaurante.versao())).body(restaurante.conteudo());
     }
 
     @GetMapping("/nome/{nomeRestaurante}")
@@ -57,14 +89,156 @@ public class RestauranteController {
         return ResponseEntity.ok(restauranteService.buscarPorCozinha(cozinhaDoRestaurante));
     }
 
+    @GetMapping("/cidade/{idCidade}")
+    @Operation(summary = "Buscar todos os Restaurantes pela cidade", description = "Busca uma lista de restaurantes" +
+            " pela cidade do endereço")
+    @ApiResponse(responseCode = "200", description = "Restaurantes encontrados com sucesso",
+            content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = RestauranteDTO.class)))
+    @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    public ResponseEntity<List<RestauranteDTO>> buscarPorCidade(@PathVariable Long idCidade){
+        return ResponseEntity.ok(restauranteService.buscarPorCidade(idCidade));
+    }
+
+    @GetMapping("/busca")
+    @Operation(summary = "Buscar Restaurantes por filtros combinados", description = "Busca uma página, ordenada por" +
+            " id a partir do cursor after, dos Restaurantes que atendem a todos os filtros informados e retorna o" +
+            " total de restaurantes por cozinha considerando os demais filtros. Quando a página vem cheia, o" +
+            " cabeçalho Link aponta a próxima")
+    @ApiResponse(responseCode = "200", description = "Busca realizada com sucesso",
+            content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = BuscaRestauranteDTO.class)))
+    @ApiResponse(responseCode = "400", description = "Requisição invalida")
+    @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    public ResponseEntity<BuscaRestauranteDTO> buscar(@RequestParam(required = false) Cozinha cozinha,
+                                                      @RequestParam(required = false) Long cidadeId,
+                                                      @RequestParam(required = false) Long estadoId,
+                                                      @RequestParam(required = false) String nome,
+                                                      @RequestParam(required = false) Double notaMinima,
+                                                      @RequestParam(required = false)
+                                                      @DateTimeFormat(iso = DateTimeFormat.ISO.TIME)
+                                                      LocalTime abertoAs,
+                                                      @RequestParam(required = false) Long after,
+                                                      @RequestParam(required = false) Integer limit){
+        BuscaRestauranteDTO busca = restauranteService.buscar(
+                new FiltroRestauranteDTO(cozinha, cidadeId, estadoId, nome, notaMinima, abertoAs, after, limit));
+        String proximaPagina = proximaPagina(busca.restaurantes(), limit, RestauranteDTO::id);
+        if (proximaPagina == null) {
+            return ResponseEntity.ok(busca);
+        }
+        return ResponseEntity.ok().header(HttpHeaders.LINK, proximaPagina).body(busca);
+    }
+
+    @GetMapping("/{idRestaurante}/disponibilidade")
+    @Operation(summary = "Buscar disponibilidade do Restaurante", description = "Busca as vagas restantes em cada" +
+            " hora do expediente do Restaurante na data informada")
+    @ApiResponse(responseCode = "200", description = "Disponibilidade encontrada com sucesso",
+            content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = DisponibilidadeDTO.class)))
+    @ApiResponse(responseCode = "404", description = "Restaurante nao encontrado")
+    @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    public ResponseEntity<DisponibilidadeDTO> buscarDisponibilidade(@PathVariable Long idRestaurante,
+                                                                    @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+                                                                    LocalDate data){
+        return ResponseEntity.ok(reservaService.buscarDisponibilidade(idRestaurante, data));
+    }
+
+    @GetMapping("/{idRestaurante}/reservas")
+    @Operation(summary = "Buscar Reservas do Restaurante em um período", description = "Busca as Reservas do" +
+            " Restaurante com horário a partir de de e antes de ate, ordenadas por horário")
+    @ApiResponse(responseCode = "200", description = "Reservas encontradas com sucesso",
+            content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = ReservaDTO.class)))
+    @ApiResponse(responseCode = "400", description = "Período invalido")
+    @ApiResponse(responseCode = "404", description = "Restaurante nao encontrado")
+    @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    public ResponseEntity<List<ReservaDTO>> buscarReservas(@PathVariable Long idRestaurante,
+                                                           @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                           LocalDateTime de,
+                                                           @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                           LocalDateTime ate){
+        return ResponseEntity.ok(reservaService.buscarPorPeriodo(idRestaurante, de, ate));
+    }
+
+    @GetMapping(value = "/{idRestaurante}/reservas", produces = EscritorNdjson.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Buscar Reservas do Restaurante em um período em stream", description = "Envia as Reservas" +
+            " do Restaurante com horário a partir de de e antes de ate em NDJSON, uma por linha, à medida que são" +
+            " lidas do banco")
+    @ApiResponse(responseCode = "200", description = "Reservas enviadas com sucesso",
+            content = @Content(mediaType = EscritorNdjson.APPLICATION_NDJSON_VALUE,
+                    schema = @Schema(implementation = ReservaDTO.class)))
+    @ApiResponse(responseCode = "400", description = "Período invalido")
+    @ApiResponse(responseCode = "404", description = "Restaurante nao encontrado")
+    @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    public ResponseEntity<StreamingResponseBody> buscarReservasEmStream(@PathVariable Long idRestaurante,
+                                                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                                        LocalDateTime de,
+                                                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                                        LocalDateTime ate){
+        reservaService.validarPeriodo(idRestaurante, de, ate);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(EscritorNdjson.APPLICATION_NDJSON_VALUE))
+                .body(escritorNdjson.<ReservaDTO>escrever(consumidor ->
+                        reservaService.percorrerPorPeriodo(idRestaurante, de, ate, consumidor)));
+    }
+
+    @GetMapping("/{idRestaurante}/ocupacao")
+    @Operation(summary = "Buscar ocupação do Restaurante", description = "Busca o total de reservas do Restaurante" +
+            " por hora, dia ou semana entre as datas de e ate, lido das tabelas de ocupação, sem percorrer as reservas")
+    @ApiResponse(responseCode = "200", description = "Ocupação encontrada com sucesso",
+            content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = OcupacaoDTO.class)))
+    @ApiResponse(responseCode = "400", description = "Período invalido")
+    @ApiResponse(responseCode = "404", description = "Restaurante nao encontrado")
+    @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    public ResponseEntity<OcupacaoDTO> buscarOcupacao(@PathVariable Long idRestaurante,
+                                                      @RequestParam(defaultValue = "HORA") Granularidade granularidade,
+                                                      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+                                                      LocalDate de,
+                                                      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+                                                      LocalDate ate){
+        return ResponseEntity.ok(ocupacaoService.buscar(idRestaurante, granularidade, de, ate));
+    }
+
+    @GetMapping("/{idRestaurante}/avaliacao/resumo")
+    @Operation(summary = "Buscar resumo das avaliações do Restaurante", description = "Busca o total, a média," +
+            " a quantidade de avaliações por nota e a data da última avaliação do Restaurante")
+    @ApiResponse(responseCode = "200", description = "Resumo encontrado com sucesso",
+            content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = ResumoAvaliacaoDTO.class)))
+    @ApiResponse(responseCode = "404", description = "Restaurante nao encontrado")
+    @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    public ResponseEntity<ResumoAvaliacaoDTO> buscarResumoDeAvaliacoes(@PathVariable Long idRestaurante){
+        return ResponseEntity.ok(avaliacaoService.buscarResumo(idRestaurante));
+    }
+
     @GetMapping
-    @Operation(summary = "Buscar todos os Restaurantes", description = "Busca uma lista com todos os Restaurantes")
+    @Operation(summary = "Buscar todos os Restaurantes", description = "Busca uma página de Restaurantes ordenada por id" +
+            " a partir do cursor after, com até limit itens (padrão 100); quando a página vem cheia, o cabeçalho" +
+            " Link aponta a próxima. A lista completa sai pelo stream NDJSON")
     @ApiResponse(responseCode = "200", description = "Restaurantes encontrados com sucesso",
             content = @Content(mediaType = "application/json",
                     schema = @Schema(implementation = RestauranteDTO.class)))
+    @ApiResponse(responseCode = "304", description = "Restaurantes não alterados desde o ETag ou a data informados")
+    @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    public ResponseEntity<List<RestauranteDTO>> buscarTodos(@RequestParam(required = false) Long after,
+                                                            @RequestParam(required = false) Integer limit,
+                                                            WebRequest requisicao){
+        return comProximaPagina(versaoDasColecoes.responder(Colecao.RESTAURANTES, requisicao,
+                () -> restauranteService.buscarPagina(after, limit)), limit, RestauranteDTO::id);
+    }
+
+    @GetMapping(produces = EscritorNdjson.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Buscar todos os Restaurantes em stream", description = "Envia todos os Restaurantes em NDJSON," +
+            " um por linha, à medida que são lidos do banco")
+    @ApiResponse(responseCode = "200", description = "Restaurantes enviados com sucesso",
+            content = @Content(mediaType = EscritorNdjson.APPLICATION_NDJSON_VALUE,
+                    schema = @Schema(implementation = RestauranteDTO.class)))
     @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
-    public ResponseEntity<List<RestauranteDTO>> buscarTodos(){
-        return ResponseEntity.ok(restauranteService.buscarTodos());
+    public ResponseEntity<StreamingResponseBody> buscarTodosEmStream(){
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(EscritorNdjson.APPLICATION_NDJSON_VALUE))
+                .body(escritorNdjson.<RestauranteDTO>escrever(restauranteService::percorrerTodos));
     }
 
     @PostMapping
@@ -86,9 +260,13 @@ public class RestauranteController {
                     schema = @Schema(implementation = RestauranteDTO.class)))
     @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     @ApiResponse(responseCode = "400", description = "Requisição invalida")
-    public ResponseEntity<RestauranteDTO> atualizar(@PathVariable Long idRestaurante, @RequestBody RestauranteDTO restauranteDTO){
-        restauranteDTO = restauranteService.atualizar(idRestaurante, restauranteDTO);
-        return ResponseEntity.ok(restauranteDTO);
+    @ApiResponse(responseCode = "409", description = "Restaurante alterado por outra requisição durante a atualização")
+    @ApiResponse(responseCode = "412", description = "O If-Match não corresponde à versão atual do Restaurante")
+    public ResponseEntity<RestauranteDTO> atualizar(@PathVariable Long idRestaurante, @RequestBody RestauranteDTO restauranteDTO,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        VersionadoDTO<RestauranteDTO> restaurante = restauranteService.atualizar(idRestaurante, restauranteDTO,
+                EtagDeVersao.versaoEsperada(ifMatch));
+        return ResponseEntity.ok().eTag(EtagDeVersao.etag(restaurante.versao())).body(restaurante.conteudo());
     }
 
     @DeleteMapping("/{idRestaurante}")
@@ -15,7 +15,8 @@ public interface AvaliacaoMapper {
     @Mapping(target = "restauranteId", source = "restaurante.id")
     AvaliacaoDTO toDto (Avaliacao entity);
 
-    @Mapping(target = "restaurante.id", source = "restauranteId")
+    @Mapping(target = "restaurante", ignore = true)
+    @Mapping(target = "dataCriacao", ignore = true)
     @Mapping(target = "id", ignore = true)
     void updateFromDto(AvaliacaoDTO dto, @MappingTarget Avaliacao entity);
 }
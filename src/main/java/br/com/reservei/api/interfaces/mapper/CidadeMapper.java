@@ -15,7 +15,7 @@ public interface CidadeMapper {
     @Mapping(target = "estadoId", source = "estado.id")
     CidadeDTO toDto (Cidade entity);
 
-    @Mapping(target = "estado.id", source = "estadoId")
+    @Mapping(target = "estado", ignore = true)
     @Mapping(target = "id", ignore = true)
     void updateFromDto(CidadeDTO dto, @MappingTarget Cidade entity);
 }
@@ -15,7 +15,7 @@ public interface EnderecoMapper {
     @Mapping(target = "cidadeId", source = "cidade.id")
     EnderecoDTO toDto (Endereco entity);
 
-    @Mapping(target = "cidade.id", source = "cidadeId")
+    @Mapping(target = "cidade", ignore = true)
     @Mapping(target = "id", ignore = true)
     void updateFromDto(EnderecoDTO dto, @MappingTarget Endereco entity);
 }
@@ -11,6 +11,7 @@ public interface EstadoMapper {
 
     Estado toEntity (EstadoDTO dto);
     EstadoDTO toDto (Estado entity);
+    @Mapping(target = "cidades", ignore = true)
     @Mapping(target = "id", ignore = true)
     void updateFromDto(EstadoDTO dto, @MappingTarget Estado entity);
 }
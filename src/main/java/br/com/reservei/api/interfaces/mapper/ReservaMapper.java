@@ -10,12 +10,14 @@ import org.mapstruct.MappingTarget;
 public interface ReservaMapper {
 
     @Mapping(target = "restaurante.id", source = "restauranteId")
+    @Mapping(target = "versao", ignore = true)
     Reserva toEntity (ReservaDTO dto);
 
     @Mapping(target = "restauranteId", source = "restaurante.id")
     ReservaDTO toDto (Reserva entity);
 
-    @Mapping(target = "restaurante.id", source = "restauranteId")
+    @Mapping(target = "restaurante", ignore = true)
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "versao", ignore = true)
     void updateFromDto(ReservaDTO dto, @MappingTarget Reserva entity);
 }
@@ -10,12 +10,14 @@ import org.mapstruct.MappingTarget;
 public interface RestauranteMapper {
 
     @Mapping(target = "endereco.id", source = "enderecoId")
+    @Mapping(target = "versao", ignore = true)
     Restaurante toEntity (RestauranteDTO dto);
 
     @Mapping(target = "enderecoId", source = "endereco.id")
     RestauranteDTO toDto (Restaurante entity);
 
-    @Mapping(target = "endereco.id", source = "enderecoId")
+    @Mapping(target = "endereco", ignore = true)
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "versao", ignore = true)
     void updateFromDto(RestauranteDTO dto, @MappingTarget Restaurante entity);
 }
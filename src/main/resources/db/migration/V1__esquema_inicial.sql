@@ -0,0 +1,72 @@
+CREATE TABLE estado (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nome VARCHAR(255),
+    sigla VARCHAR(255)
+);
+
+CREATE TABLE cidade (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nome VARCHAR(255),
+    estado_id BIGINT,
+    CONSTRAINT fk_cidade_estado FOREIGN KEY (estado_id) REFERENCES estado (id)
+);
+
+CREATE TABLE estado_cidades (
+    estado_id BIGINT NOT NULL,
+    cidades_id BIGINT NOT NULL UNIQUE,
+    CONSTRAINT fk_estado_cidades_estado FOREIGN KEY (estado_id) REFERENCES estado (id),
+    CONSTRAINT fk_estado_cidades_cidade FOREIGN KEY (cidades_id) REFERENCES cidade (id)
+);
+
+CREATE TABLE endereco (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    rua VARCHAR(255),
+    numero VARCHAR(255),
+    bairro VARCHAR(255),
+    cep VARCHAR(255),
+    cidade_id BIGINT,
+    CONSTRAINT fk_endereco_cidade FOREIGN KEY (cidade_id) REFERENCES cidade (id)
+);
+
+CREATE TABLE restaurante (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nome VARCHAR(255),
+    cozinha TINYINT CHECK (cozinha BETWEEN 0 AND 8),
+    endereco_id BIGINT UNIQUE,
+    reservas_por_hora INTEGER NOT NULL,
+    inicio_expediente TIME(6),
+    final_expediente TIME(6),
+    CONSTRAINT fk_restaurante_endereco FOREIGN KEY (endereco_id) REFERENCES endereco (id)
+);
+
+CREATE SEQUENCE reserva_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE reserva (
+    id BIGINT NOT NULL PRIMARY KEY,
+    restaurante_id BIGINT,
+    hora_da_reserva TIMESTAMP(6),
+    CONSTRAINT fk_reserva_restaurante FOREIGN KEY (restaurante_id) REFERENCES restaurante (id)
+);
+
+CREATE SEQUENCE avaliacao_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE avaliacao (
+    id BIGINT NOT NULL PRIMARY KEY,
+    nota INTEGER NOT NULL,
+    comentario VARCHAR(255),
+    data_criacao TIMESTAMP(6) NOT NULL,
+    restaurante_id BIGINT,
+    CONSTRAINT fk_avaliacao_restaurante FOREIGN KEY (restaurante_id) REFERENCES restaurante (id)
+);
+
+CREATE TABLE resumo_avaliacao (
+    restaurante_id BIGINT NOT NULL PRIMARY KEY,
+    total_avaliacoes BIGINT NOT NULL,
+    soma_das_notas BIGINT NOT NULL,
+    total_nota1 BIGINT NOT NULL,
+    total_nota2 BIGINT NOT NULL,
+    total_nota3 BIGINT NOT NULL,
+    total_nota4 BIGINT NOT NULL,
+    total_nota5 BIGINT NOT NULL,
+    ultima_avaliacao TIMESTAMP(6)
+);
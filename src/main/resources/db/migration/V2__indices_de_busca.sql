@@ -0,0 +1,4 @@
+CREATE INDEX idx_restaurante_cozinha ON restaurante (cozinha);
+CREATE INDEX idx_restaurante_nome ON restaurante (nome);
+CREATE INDEX idx_reserva_restaurante_hora ON reserva (restaurante_id, hora_da_reserva);
+CREATE INDEX idx_avaliacao_restaurante_data ON avaliacao (restaurante_id, data_criacao);
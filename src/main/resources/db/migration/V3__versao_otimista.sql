@@ -0,0 +1,2 @@
+ALTER TABLE restaurante ADD COLUMN versao BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE reserva ADD COLUMN versao BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,36 @@
+CREATE TABLE reserva_por_hora (
+    restaurante_id BIGINT NOT NULL,
+    hora TIMESTAMP(6) NOT NULL,
+    total BIGINT NOT NULL,
+    PRIMARY KEY (restaurante_id, hora)
+);
+
+CREATE TABLE reserva_por_dia (
+    restaurante_id BIGINT NOT NULL,
+    dia DATE NOT NULL,
+    total BIGINT NOT NULL,
+    PRIMARY KEY (restaurante_id, dia)
+);
+
+CREATE TABLE reserva_por_semana (
+    restaurante_id BIGINT NOT NULL,
+    semana DATE NOT NULL,
+    total BIGINT NOT NULL,
+    PRIMARY KEY (restaurante_id, semana)
+);
+
+INSERT INTO reserva_por_hora (restaurante_id, hora, total)
+SELECT restaurante_id, DATE_TRUNC('HOUR', hora_da_reserva), COUNT(*)
+FROM reserva
+WHERE restaurante_id IS NOT NULL AND hora_da_reserva IS NOT NULL
+GROUP BY restaurante_id, DATE_TRUNC('HOUR', hora_da_reserva);
+
+INSERT INTO reserva_por_dia (restaurante_id, dia, total)
+SELECT restaurante_id, CAST(hora AS DATE), SUM(total)
+FROM reserva_por_hora
+GROUP BY restaurante_id, CAST(hora AS DATE);
+
+INSERT INTO reserva_por_semana (restaurante_id, semana, total)
+SELECT restaurante_id, CAST(DATE_TRUNC('ISO_WEEK', dia) AS DATE), SUM(total)
+FROM reserva_por_dia
+GROUP BY restaurante_id, CAST(DATE_TRUNC('ISO_WEEK', dia) AS DATE);
@@ -0,0 +1,6 @@
+CREATE TABLE pulso_replicacao (
+    id INT PRIMARY KEY,
+    instante BIGINT NOT NULL
+);
+
+INSERT INTO pulso_replicacao (id, instante) VALUES (1, 0);
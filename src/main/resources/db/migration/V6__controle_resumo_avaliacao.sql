@@ -0,0 +1,6 @@
+CREATE TABLE controle_resumo_avaliacao (
+    id INT PRIMARY KEY,
+    completo BOOLEAN NOT NULL
+);
+
+INSERT INTO controle_resumo_avaliacao (id, completo) VALUES (1, FALSE);
@@ -0,0 +1,5 @@
+CREATE TABLE ocupacao_pendente (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    restaurante_id BIGINT NOT NULL,
+    hora TIMESTAMP(6) NOT NULL
+);
@@ -0,0 +1,238 @@
+package br.com.reservei.api.application.usecases;
+
+import br.com.reservei.api.application.dto.AvaliacaoDTO;
+import br.com.reservei.api.application.dto.CidadeDTO;
+import br.com.reservei.api.application.dto.EnderecoDTO;
+import br.com.reservei.api.application.dto.EstadoDTO;
+import br.com.reservei.api.application.dto.ReservaDTO;
+import br.com.reservei.api.application.dto.RestauranteDTO;
+import br.com.reservei.api.application.usecases.avaliacao.AvaliacaoServiceImpl;
+import br.com.reservei.api.application.usecases.endereco.CidadeServiceImpl;
+import br.com.reservei.api.application.usecases.endereco.EnderecoServiceImpl;
+import br.com.reservei.api.application.usecases.endereco.EstadoServiceImpl;
+import br.com.reservei.api.application.usecases.reserva.ReservaServiceImpl;
+import br.com.reservei.api.application.usecases.restaurante.RestauranteServiceImpl;
+import br.com.reservei.api.domain.exceptions.RecursoNaoEncontradoException;
+import br.com.reservei.api.domain.repository.CidadeRepository;
+import br.com.reservei.api.domain.repository.EnderecoRepository;
+import br.com.reservei.api.infrastructure.utils.Cozinha;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.time.LocalTime;
+
+import static br.com.reservei.api.infrastructure.utils.AvaliacaoHelper.gerarAvaliacaoDtoSemId;
+import static br.com.reservei.api.infrastructure.utils.CidadeHelper.gerarCidadeDtoSemId;
+import static br.com.reservei.api.infrastructure.utils.EnderecoHelper.gerarEnderecoDtoSemId;
+import static br.com.reservei.api.infrastructure.utils.EstadoHelper.gerarEstadoDto;
+import static br.com.reservei.api.infrastructure.utils.EstadoHelper.gerarEstadoSemId;
+import static br.com.reservei.api.infrastructure.utils.ReservaHelper.gerarReservaDtoSemId;
+import static br.com.reservei.api.infrastructure.utils.RestauranteHelper.gerarRestauranteDtoSemId;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@Sql(scripts = {"/clean.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+class ComandosSqlIT {
+
+    @Autowired
+    private EstadoServiceImpl estadoService;
+    @Autowired
+    private CidadeServiceImpl cidadeService;
+    @Autowired
+    private EnderecoServiceImpl enderecoService;
+    @Autowired
+    private RestauranteServiceImpl restauranteService;
+    @Autowired
+    private ReservaServiceImpl reservaService;
+    @Autowired
+    private AvaliacaoServiceImpl avaliacaoService;
+    @Autowired
+    private CidadeRepository cidadeRepository;
+    @Autowired
+    private EnderecoRepository enderecoRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private EstadoDTO estadoDTO;
+    private CidadeDTO cidadeDTO;
+    private EnderecoDTO enderecoDTO;
+    private RestauranteDTO restauranteDTO;
+
+    @BeforeEach
+    void setUp() {
+        this.estadoDTO = estadoService.salvar(gerarEstadoDto(gerarEstadoSemId()));
+        this.cidadeDTO = cidadeService.salvar(gerarCidadeDtoSemId(estadoDTO.id()));
+        this.enderecoDTO = enderecoService.salvar(gerarEnderecoDtoSemId(cidadeDTO.id()));
+        this.restauranteDTO = restauranteService.salvar(gerarRestauranteDtoSemId(enderecoDTO.id()));
+    }
+
+    @DisplayName("Comandos SQL por atualização")
+    @Nested
+    class ComandosPorAtualizacao {
+
+        @DisplayName("Deve atualizar o Estado com uma leitura, a checagem de duplicidade e um UPDATE")
+        @Test
+        void deveAtualizarEstado() {
+            var estadoAlterado = new EstadoDTO(null, "Sergipe", "SE");
+
+            assertThat(contarComandos(() -> estadoService.atualizar(estadoDTO.id(), estadoAlterado))).isEqualTo(3);
+            assertThat(estadoService.buscarPorId(estadoDTO.id()))
+                    .isEqualTo(new EstadoDTO(estadoDTO.id(), "Sergipe", "SE"));
+        }
+
+        @DisplayName("Não deve checar duplicidade nem gravar quando o Estado não muda")
+        @Test
+        void naoDeveGravarEstado_QuandoNadaMudar() {
+            assertThat(contarComandos(() -> estadoService.atualizar(estadoDTO.id(), estadoDTO))).isEqualTo(1);
+        }
+
+        @DisplayName("Deve atualizar a Cidade com uma leitura, a checagem de duplicidade e um UPDATE")
+        @Test
+        void deveAtualizarCidade() {
+            var cidadeAlterada = new CidadeDTO(null, "Lauro de Freitas", estadoDTO.id());
+
+            assertThat(contarComandos(() -> cidadeService.atualizar(cidadeDTO.id(), cidadeAlterada))).isEqualTo(3);
+            assertThat(cidadeService.buscarPorId(cidadeDTO.id()).nome()).isEqualTo("Lauro de Freitas");
+        }
+
+        @DisplayName("Deve atualizar o Endereço com uma leitura e um UPDATE")
+        @Test
+        void deveAtualizarEndereco() {
+            var enderecoAlterado = new EnderecoDTO(null, cidadeDTO.id(), "Pituba", "Rua das Hortênsias", "10",
+                    "41810-000");
+
+            assertThat(contarComandos(() -> enderecoService.atualizar(enderecoDTO.id(), enderecoAlterado)))
+                    .isEqualTo(2);
+            assertThat(enderecoService.buscarPorId(enderecoDTO.id()).rua()).isEqualTo("Rua das Hortênsias");
+        }
+
+        @DisplayName("Deve atualizar o Restaurante com uma leitura e um UPDATE")
+        @Test
+        void deveAtualizarRestaurante() {
+            var restauranteAlterado = new RestauranteDTO(null, "Kinoshita", Cozinha.JAPONESA, enderecoDTO.id(), 8,
+                    LocalTime.of(18, 0), LocalTime.of(23, 0));
+
+            assertThat(contarComandos(() -> restauranteService.atualizar(restauranteDTO.id(), restauranteAlterado)))
+                    .isEqualTo(2);
+            assertThat(restauranteService.buscarPorId(restauranteDTO.id()))
+                    .isEqualTo(new RestauranteDTO(restauranteDTO.id(), "Kinoshita", Cozinha.JAPONESA,
+                            enderecoDTO.id(), 8, LocalTime.of(18, 0), LocalTime.of(23, 0)));
+        }
+
+        @DisplayName("Deve atualizar a Reserva com uma leitura, um UPDATE e a marcação das duas horas de ocupação")
+        @Test
+        void deveAtualizarReserva() {
+            var reserva = reservaService.salvar(gerarReservaDtoSemId(restauranteDTO.id()));
+            var reservaAlterada = new ReservaDTO(null, restauranteDTO.id(), reserva.horaDaReserva().plusHours(2));
+
+            assertThat(contarComandos(() -> reservaService.atualizar(reserva.id(), reservaAlterada))).isEqualTo(4);
+            assertThat(reservaService.buscarPorId(reserva.id()).horaDaReserva())
+                    .isEqualTo(reserva.horaDaReserva().plusHours(2));
+        }
+
+        @DisplayName("Deve ler o novo Restaurante apenas quando a Reserva muda de restaurante")
+        @Test
+        void deveLerNovoRestaurante_QuandoReservaMudarDeRestaurante() {
+            var reserva = reservaService.salvar(gerarReservaDtoSemId(restauranteDTO.id()));
+            var outroEndereco = enderecoService.salvar(gerarEnderecoDtoSemId(cidadeDTO.id()));
+            var outroRestaurante = restauranteService.salvar(gerarRestauranteDtoSemId(outroEndereco.id()));
+            var reservaAlterada = new ReservaDTO(null, outroRestaurante.id(), reserva.horaDaReserva());
+
+            assertThat(contarComandos(() -> reservaService.atualizar(reserva.id(), reservaAlterada))).isEqualTo(5);
+            assertThat(reservaService.buscarPorId(reserva.id()).restauranteId()).isEqualTo(outroRestaurante.id());
+        }
+
+        @DisplayName("Deve atualizar a Avaliação com uma leitura e um UPDATE mantendo a data de criação")
+        @Test
+        void deveAtualizarAvaliacao() {
+            var avaliacao = avaliacaoService.salvar(gerarAvaliacaoDtoSemId(restauranteDTO.id()));
+            var avaliacaoAlterada = new AvaliacaoDTO(null, 3, "Demorou", null, restauranteDTO.id());
+            AvaliacaoDTO[] atualizada = new AvaliacaoDTO[1];
+
+            assertThat(contarComandos(() -> atualizada[0] = avaliacaoService.atualizar(avaliacao.id(),
+                    avaliacaoAlterada))).isEqualTo(2);
+            assertThat(atualizada[0].dataCriacao()).isNotNull();
+            assertThat(avaliacaoService.buscarPorId(avaliacao.id())).isEqualTo(atualizada[0]);
+        }
+    }
+
+    @DisplayName("Comandos SQL por deleção")
+    @Nested
+    class ComandosPorDelecao {
+
+        @DisplayName("Deve deletar a Cidade com um único DELETE")
+        @Test
+        void deveDeletarCidade() {
+            var cidade = cidadeService.salvar(new CidadeDTO(null, "Camaçari", estadoDTO.id()));
+
+            assertThat(contarComandos(() -> cidadeService.deletarPorId(cidade.id()))).isEqualTo(1);
+            assertThat(cidadeRepository.existsById(cidade.id())).isFalse();
+        }
+
+        @DisplayName("Deve deletar o Endereço com um único DELETE")
+        @Test
+        void deveDeletarEndereco() {
+            var endereco = enderecoService.salvar(gerarEnderecoDtoSemId(cidadeDTO.id()));
+
+            assertThat(contarComandos(() -> enderecoService.deletarPorId(endereco.id()))).isEqualTo(1);
+            assertThat(enderecoRepository.existsById(endereco.id())).isFalse();
+        }
+
+        @DisplayName("Deve deletar o Restaurante com um único DELETE")
+        @Test
+        void deveDeletarRestaurante() {
+            assertThat(contarComandos(() -> restauranteService.deletarPorId(restauranteDTO.id()))).isEqualTo(1);
+            assertThat(restauranteService.buscarPorCozinha(restauranteDTO.cozinha())).isEmpty();
+        }
+
+        @DisplayName("Deve deletar a Reserva com a leitura do horário, um DELETE e a marcação da hora de ocupação")
+        @Test
+        void deveDeletarReserva() {
+            var reserva = reservaService.salvar(gerarReservaDtoSemId(restauranteDTO.id()));
+
+            assertThat(contarComandos(() -> reservaService.deletarPorId(reserva.id()))).isEqualTo(3);
+            assertThat(reservaService.buscarDisponibilidade(restauranteDTO.id(), reserva.horaDaReserva().toLocalDate())
+                    .horarios())
+                    .allSatisfy(horario -> assertThat(horario.vagas()).isEqualTo(restauranteDTO.reservasPorHora()));
+        }
+
+        @DisplayName("Deve deletar a Avaliação com a leitura da nota e um DELETE")
+        @Test
+        void deveDeletarAvaliacao() {
+            var avaliacao = avaliacaoService.salvar(gerarAvaliacaoDtoSemId(restauranteDTO.id()));
+
+            assertThat(contarComandos(() -> avaliacaoService.deletarPorId(avaliacao.id()))).isEqualTo(2);
+            assertThat(avaliacaoService.buscarResumo(restauranteDTO.id()).totalAvaliacoes()).isZero();
+        }
+
+        @DisplayName("Deve responder não encontrado a partir do DELETE sem carregar o registro")
+        @Test
+        void deveGerarExcecao_QuandoDeletarIdInexistente() {
+            assertThat(contarComandos(() -> assertThatThrownBy(() -> enderecoService.deletarPorId(-1L))
+                    .isInstanceOf(RecursoNaoEncontradoException.class)
+                    .hasMessage("Endereço não encontrado com id: -1"))).isEqualTo(1);
+        }
+    }
+
+    private long contarComandos(Runnable atualizacao) {
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+        atualizacao.run();
+        return estatisticas.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,167 @@
+package br.com.reservei.api.application.usecases;
+
+import br.com.reservei.api.application.dto.ReservaDTO;
+import br.com.reservei.api.application.dto.RestauranteDTO;
+import br.com.reservei.api.application.usecases.endereco.CidadeServiceImpl;
+import br.com.reservei.api.application.usecases.endereco.EnderecoServiceImpl;
+import br.com.reservei.api.application.usecases.endereco.EstadoServiceImpl;
+import br.com.reservei.api.application.usecases.reserva.CapacidadeReservaService;
+import br.com.reservei.api.application.usecases.reserva.ReservaServiceImpl;
+import br.com.reservei.api.application.usecases.restaurante.RestauranteServiceImpl;
+import br.com.reservei.api.domain.exceptions.VersaoDesatualizadaException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static br.com.reservei.api.infrastructure.utils.CidadeHelper.gerarCidadeDtoSemId;
+import static br.com.reservei.api.infrastructure.utils.EnderecoHelper.gerarEnderecoDtoSemId;
+import static br.com.reservei.api.infrastructure.utils.EstadoHelper.gerarEstadoDto;
+import static br.com.reservei.api.infrastructure.utils.EstadoHelper.gerarEstadoSemId;
+import static br.com.reservei.api.infrastructure.utils.RestauranteHelper.gerarRestauranteDtoSemId;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@Sql(scripts = {"/clean.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+class ConcorrenciaOtimistaIT {
+
+    private static final int THREADS = 16;
+    private static final int ALTERACOES_POR_THREAD = 10;
+
+    @Autowired
+    private EstadoServiceImpl estadoService;
+    @Autowired
+    private CidadeServiceImpl cidadeService;
+    @Autowired
+    private EnderecoServiceImpl enderecoService;
+    @Autowired
+    private RestauranteServiceImpl restauranteService;
+    @Autowired
+    private ReservaServiceImpl reservaService;
+    @Autowired
+    private CapacidadeReservaService capacidadeReservaService;
+
+    private RestauranteDTO restauranteDTO;
+
+    @BeforeEach
+    void setUp() {
+        var estadoDTO = estadoService.salvar(gerarEstadoDto(gerarEstadoSemId()));
+        var cidadeDTO = cidadeService.salvar(gerarCidadeDtoSemId(estadoDTO.id()));
+        var enderecoDTO = enderecoService.salvar(gerarEnderecoDtoSemId(cidadeDTO.id()));
+        this.restauranteDTO = restauranteService.salvar(gerarRestauranteDtoSemId(enderecoDTO.id()));
+    }
+
+    @DisplayName("Não deve perder incrementos de reservasPorHora feitos com If-Match por várias threads")
+    @Test
+    void naoDevePerderIncrementos_QuandoAlterarComIfMatch() throws Exception {
+        executarEmParalelo(thread -> {
+            for (int i = 0; i < ALTERACOES_POR_THREAD; i++) {
+                incrementarReservasPorHora();
+            }
+        });
+
+        var restaurante = restauranteService.buscarVersionadoPorId(restauranteDTO.id());
+        assertThat(restaurante.conteudo().reservasPorHora())
+                .isEqualTo(restauranteDTO.reservasPorHora() + THREADS * ALTERACOES_POR_THREAD);
+        assertThat(restaurante.versao()).isEqualTo((long) THREADS * ALTERACOES_POR_THREAD);
+    }
+
+    @DisplayName("Deve aplicar cada alteração sem If-Match sobre a versão mais recente")
+    @Test
+    void deveAplicarCadaAlteracao_QuandoAlterarSemIfMatch() throws Exception {
+        executarEmParalelo(thread -> restauranteService.atualizar(restauranteDTO.id(),
+                new RestauranteDTO(null, "Restaurante " + thread, restauranteDTO.cozinha(), restauranteDTO.enderecoId(),
+                        restauranteDTO.reservasPorHora(), restauranteDTO.inicioExpediente(),
+                        restauranteDTO.finalExpediente())));
+
+        assertThat(restauranteService.buscarVersionadoPorId(restauranteDTO.id()).versao()).isEqualTo(THREADS);
+    }
+
+    @DisplayName("Deve manter uma única vaga ocupada ao mover a mesma Reserva de várias threads")
+    @Test
+    void deveManterUmaVaga_QuandoMoverReservaEmParalelo() throws Exception {
+        LocalDateTime primeiraHora = LocalDate.now().plusDays(1).atTime(12, 0);
+        ReservaDTO reserva = reservaService.salvar(new ReservaDTO(null, restauranteDTO.id(), primeiraHora));
+
+        executarEmParalelo(thread -> {
+            while (true) {
+                var atual = reservaService.buscarVersionadoPorId(reserva.id());
+                try {
+                    reservaService.atualizar(reserva.id(), new ReservaDTO(null, restauranteDTO.id(),
+                            primeiraHora.plusHours(1 + thread % 10).plusMinutes(thread)), atual.versao());
+                    return;
+                } catch (VersaoDesatualizadaException e) {
+                    // outra thread moveu a reserva, relê e tenta de novo
+                }
+            }
+        });
+
+        int ocupadas = 0;
+        for (int hora = 0; hora < 12; hora++) {
+            ocupadas += capacidadeReservaService.buscarOcupacao(restauranteDTO.id(), primeiraHora.plusHours(hora));
+        }
+        assertThat(ocupadas).isEqualTo(1);
+        assertThat(reservaService.buscarVersionadoPorId(reserva.id()).versao()).isEqualTo(THREADS);
+    }
+
+    private void incrementarReservasPorHora() {
+        while (true) {
+            var atual = restauranteService.buscarVersionadoPorId(restauranteDTO.id());
+            RestauranteDTO restaurante = atual.conteudo();
+            try {
+                restauranteService.atualizar(restaurante.id(), new RestauranteDTO(null, restaurante.nome(),
+                        restaurante.cozinha(), restaurante.enderecoId(), restaurante.reservasPorHora() + 1,
+                        restaurante.inicioExpediente(), restaurante.finalExpediente()), atual.versao());
+                return;
+            } catch (VersaoDesatualizadaException e) {
+                // outra thread alterou o restaurante, relê e tenta de novo
+            }
+        }
+    }
+
+    private void executarEmParalelo(TarefaDaThread tarefa) throws Exception {
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Callable<Void>> tarefas = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            int indice = thread;
+            tarefas.add(() -> {
+                largada.await();
+                tarefa.executar(indice);
+                return null;
+            });
+        }
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            List<Future<Void>> resultados = new ArrayList<>();
+            for (Callable<Void> t : tarefas) {
+                resultados.add(executor.submit(t));
+            }
+            largada.countDown();
+            for (Future<Void> resultado : resultados) {
+                resultado.get();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface TarefaDaThread {
+        void executar(int thread);
+    }
+}
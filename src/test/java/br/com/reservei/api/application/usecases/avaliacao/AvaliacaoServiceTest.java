@@ -1,13 +1,19 @@
 package br.com.reservei.api.application.usecases.avaliacao;
 
 import br.com.reservei.api.application.dto.AvaliacaoDTO;
+import br.com.reservei.api.application.dto.ItemLoteDTO;
 import br.com.reservei.api.application.dto.RestauranteDTO;
+import br.com.reservei.api.application.dto.ResumoAvaliacaoDTO;
 import br.com.reservei.api.application.usecases.restaurante.RestauranteService;
+import br.com.reservei.api.domain.exceptions.LoteInvalidoException;
 import br.com.reservei.api.domain.exceptions.RecursoNaoEncontradoException;
+import br.com.reservei.api.domain.model.Restaurante;
+import br.com.reservei.api.domain.repository.projection.NotaDaAvaliacao;
 import br.com.reservei.api.interfaces.mapper.AvaliacaoMapper;
 import br.com.reservei.api.domain.model.Avaliacao;
 import br.com.reservei.api.domain.repository.AvaliacaoRepository;
 import br.com.reservei.api.infrastructure.utils.AvaliacaoHelper;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -16,12 +22,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static br.com.reservei.api.infrastructure.utils.AvaliacaoHelper.gerarAvaliacao;
 import static br.com.reservei.api.infrastructure.utils.AvaliacaoHelper.gerarAvaliacaoDto;
+import static br.com.reservei.api.infrastructure.utils.AvaliacaoHelper.gerarDadosDaAvaliacao;
 import static br.com.reservei.api.infrastructure.utils.RestauranteHelper.gerarRestaurante;
 import static br.com.reservei.api.infrastructure.utils.RestauranteHelper.gerarRestauranteDto;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -40,6 +52,12 @@ class AvaliacaoServiceTest {
     @Mock
     private RestauranteService restauranteService;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ResumoAvaliacaoService resumoAvaliacaoService;
+
     @InjectMocks
     private AvaliacaoServiceImpl avaliacaoService;
 
@@ -61,8 +79,7 @@ class AvaliacaoServiceTest {
         @Test
         void deveBuscarAvaliacaoPorId() {
             // Arrange
-            when(avaliacaoRepository.findById(avaliacao.getId())).thenReturn(Optional.of(avaliacao));
-            when(avaliacaoMapper.toDto(avaliacao)).thenReturn(gerarAvaliacaoDto(avaliacao));
+            when(avaliacaoRepository.buscarDadosPorId(avaliacao.getId())).thenReturn(Optional.of(gerarDadosDaAvaliacao(avaliacao)));
 
             // Act
             var avaliacaoRecebido = avaliacaoService.buscarPorId(avaliacao.getId());
@@ -75,20 +92,20 @@ class AvaliacaoServiceTest {
 
             assertThat(avaliacaoRecebido.restauranteId()).isEqualTo(avaliacao.getRestaurante().getId());
 
-            verify(avaliacaoRepository).findById(avaliacao.getId());
+            verify(avaliacaoRepository).buscarDadosPorId(avaliacao.getId());
         }
 
         @DisplayName("Deve lançar exceção ao buscar avaliação com ID inexistente")
         @Test
         void deveGerarExcecao_QuandoBuscarAvaliacao_PorIdInexistente() {
             // Arrange
-            when(avaliacaoRepository.findById(avaliacao.getId())).thenReturn(Optional.empty());
+            when(avaliacaoRepository.buscarDadosPorId(avaliacao.getId())).thenReturn(Optional.empty());
 
             // Act & Assert
             assertThatThrownBy(() -> avaliacaoService.buscarPorId(avaliacao.getId()))
                     .isInstanceOf(RecursoNaoEncontradoException.class)
                     .hasMessage("Avaliação não encontrada com id: " + avaliacao.getId());
-            verify(avaliacaoRepository).findById(avaliacao.getId());
+            verify(avaliacaoRepository).buscarDadosPorId(avaliacao.getId());
         }
 
         @DisplayName("Deve retornar uma lista de avaliações salvas")
@@ -100,12 +117,8 @@ class AvaliacaoServiceTest {
                     .map(AvaliacaoHelper::gerarAvaliacaoDto)
                     .toList();
 
-            when(avaliacaoRepository.findAll()).thenReturn(avaliacaos);
-            when(avaliacaoMapper.toDto(any(Avaliacao.class)))
-                    .thenAnswer(invocation -> {
-                        avaliacao = invocation.getArgument(0);
-                        return gerarAvaliacaoDto(avaliacao);
-                    });
+            when(avaliacaoRepository.listarDados())
+                    .thenReturn(avaliacaos.stream().map(AvaliacaoHelper::gerarDadosDaAvaliacao).toList());
 
             // Act
             List<AvaliacaoDTO> avaliacaosRecebidos = avaliacaoService.buscarTodos();
@@ -116,8 +129,45 @@ class AvaliacaoServiceTest {
                     .isNotEmpty()
                     .hasSize(3)
                     .containsExactlyElementsOf(avaliacaosDto);
-            verify(avaliacaoRepository).findAll();
-            verify(avaliacaoMapper, times(3)).toDto(any(Avaliacao.class));
+            verify(avaliacaoRepository).listarDados();
+            verifyNoInteractions(avaliacaoMapper);
+        }
+
+        @DisplayName("Deve retornar uma página de avaliações a partir do cursor informado")
+        @Test
+        void deveBuscarPaginaDeAvaliacoes() {
+            // Arrange
+            var avaliacaos = List.of(gerarAvaliacao(), gerarAvaliacao());
+            when(avaliacaoRepository.listarDadosAposId(10L, Limit.of(2)))
+                    .thenReturn(avaliacaos.stream().map(AvaliacaoHelper::gerarDadosDaAvaliacao).toList());
+
+            // Act
+            List<AvaliacaoDTO> pagina = avaliacaoService.buscarPagina(10L, 2);
+
+            // Assert
+            assertThat(pagina)
+                    .hasSize(2)
+                    .containsExactlyElementsOf(avaliacaos.stream().map(AvaliacaoHelper::gerarAvaliacaoDto).toList());
+            verify(avaliacaoRepository).listarDadosAposId(10L, Limit.of(2));
+            verify(avaliacaoRepository, never()).findAll();
+        }
+
+        @DisplayName("Deve percorrer todas as avaliações em stream")
+        @Test
+        void devePercorrerTodasAsAvaliacoes() {
+            // Arrange
+            var avaliacaos = List.of(gerarAvaliacao(), gerarAvaliacao(), gerarAvaliacao());
+            when(avaliacaoRepository.streamDados())
+                    .thenReturn(avaliacaos.stream().map(AvaliacaoHelper::gerarDadosDaAvaliacao));
+            List<AvaliacaoDTO> recebidas = new ArrayList<>();
+
+            // Act
+            avaliacaoService.percorrerTodos(recebidas::add);
+
+            // Assert
+            assertThat(recebidas)
+                    .containsExactlyElementsOf(avaliacaos.stream().map(AvaliacaoHelper::gerarAvaliacaoDto).toList());
+            verify(avaliacaoRepository, never()).findAll();
         }
     }
 
@@ -131,7 +181,8 @@ class AvaliacaoServiceTest {
             // Arrange
             when(avaliacaoMapper.toEntity(avaliacaoDTO)).thenReturn(avaliacao);
             when(avaliacaoMapper.toDto(avaliacao)).thenReturn(avaliacaoDTO);
-            when(restauranteService.buscarPorId(avaliacaoDTO.restauranteId())).thenReturn(restauranteDTO);
+            when(entityManager.getReference(Restaurante.class, avaliacaoDTO.restauranteId()))
+                    .thenReturn(avaliacao.getRestaurante());
             when(avaliacaoRepository.save(avaliacao)).thenReturn(avaliacao);
 
             // Act
@@ -142,24 +193,94 @@ class AvaliacaoServiceTest {
                     .isNotNull()
                     .isInstanceOf(AvaliacaoDTO.class)
                     .isEqualTo(avaliacaoDTO);
-            verify(restauranteService).buscarPorId(avaliacaoDTO.restauranteId());
+            verify(restauranteService).verificarExistencia(avaliacaoDTO.restauranteId());
             verify(avaliacaoRepository).save(avaliacao);
             verify(avaliacaoMapper).toDto(avaliacao);
             verify(avaliacaoMapper).toEntity(avaliacaoDTO);
+            verify(resumoAvaliacaoService).registrar(avaliacao.getRestaurante().getId(), avaliacao.getNota(),
+                    avaliacao.getDataCriacao());
         }
 
         @DisplayName("Deve lançar exceção ao tentar salvar Avaliação com restaurante inexistente")
         @Test
         void deveGerarExcecao_QuandoSalvarAvaliacao_ComRestauranteInexistente() {
             // Arrange
-            when(restauranteService.buscarPorId(avaliacaoDTO.restauranteId())).thenThrow(new
-                    RecursoNaoEncontradoException("Restaurante não encontrado com id: " + avaliacaoDTO.restauranteId()));
+            doThrow(new RecursoNaoEncontradoException("Restaurante não encontrado com id: " +
+                    avaliacaoDTO.restauranteId()))
+                    .when(restauranteService).verificarExistencia(avaliacaoDTO.restauranteId());
 
             // Act & Assert
             assertThatThrownBy(() -> avaliacaoService.salvar(avaliacaoDTO))
                     .isInstanceOf(RecursoNaoEncontradoException.class)
                     .hasMessage("Restaurante não encontrado com id: " + avaliacaoDTO.restauranteId());
-            verify(restauranteService).buscarPorId(avaliacaoDTO.restauranteId());
+            verify(restauranteService).verificarExistencia(avaliacaoDTO.restauranteId());
+            verifyNoInteractions(avaliacaoRepository);
+        }
+    }
+
+    @DisplayName("Salvar lote de Avaliações")
+    @Nested
+    class SalvarLoteAvaliacao {
+
+        @DisplayName("Deve salvar as avaliações válidas e atualizar o resumo de cada uma")
+        @Test
+        void deveSalvarLoteDeAvaliacoes() {
+            // Arrange
+            var restauranteDaAvaliacao = gerarRestauranteDto(avaliacao.getRestaurante());
+            var outraNota = new AvaliacaoDTO(null, 3, "Razoável", null, avaliacaoDTO.restauranteId());
+            var outraAvaliacao = Avaliacao.builder().id(avaliacao.getId() + 1).nota(3).comentario("Razoável")
+                    .restaurante(avaliacao.getRestaurante()).build();
+            var restauranteInexistente = new AvaliacaoDTO(null, 4, "Boa", null, 99L);
+            when(restauranteService.buscarPorIds(List.of(avaliacaoDTO.restauranteId(), 99L)))
+                    .thenReturn(List.of(restauranteDaAvaliacao));
+            when(avaliacaoMapper.toEntity(avaliacaoDTO)).thenReturn(avaliacao);
+            when(avaliacaoMapper.toEntity(outraNota)).thenReturn(outraAvaliacao);
+            when(entityManager.getReference(Restaurante.class, avaliacaoDTO.restauranteId()))
+                    .thenReturn(avaliacao.getRestaurante());
+            when(avaliacaoRepository.saveAll(List.of(avaliacao, outraAvaliacao)))
+                    .thenReturn(List.of(avaliacao, outraAvaliacao));
+
+            // Act
+            var resultado = avaliacaoService.salvarLote(List.of(avaliacaoDTO, restauranteInexistente, outraNota));
+
+            // Assert
+            assertThat(resultado.criados()).isEqualTo(2);
+            assertThat(resultado.rejeitados()).isEqualTo(1);
+            assertThat(resultado.itens()).containsExactly(
+                    ItemLoteDTO.criado(0, avaliacao.getId()),
+                    ItemLoteDTO.rejeitado(1, "Restaurante não encontrado com id: 99"),
+                    ItemLoteDTO.criado(2, outraAvaliacao.getId()));
+            verify(restauranteService, never()).buscarPorId(any());
+            verify(resumoAvaliacaoService).registrar(avaliacao.getRestaurante().getId(), 5, avaliacao.getDataCriacao());
+            verify(resumoAvaliacaoService).registrar(avaliacao.getRestaurante().getId(), 3, outraAvaliacao.getDataCriacao());
+        }
+
+        @DisplayName("Deve rejeitar itens nulos do lote")
+        @Test
+        void deveRejeitarItensNulos() {
+            // Arrange
+            when(restauranteService.buscarPorIds(List.of())).thenReturn(List.of());
+
+            // Act
+            var resultado = avaliacaoService.salvarLote(Collections.singletonList(null));
+
+            // Assert
+            assertThat(resultado.itens()).containsExactly(
+                    ItemLoteDTO.rejeitado(0, "Restaurante não encontrado com id: null"));
+            verifyNoInteractions(avaliacaoRepository, resumoAvaliacaoService);
+        }
+
+        @DisplayName("Deve lançar exceção ao salvar lote com mais itens que o permitido")
+        @Test
+        void deveGerarExcecao_QuandoSalvarLoteAcimaDoLimite() {
+            // Arrange
+            var lote = Collections.nCopies(1001, avaliacaoDTO);
+
+            // Act & Assert
+            assertThatThrownBy(() -> avaliacaoService.salvarLote(lote))
+                    .isInstanceOf(LoteInvalidoException.class)
+                    .hasMessage("O lote deve conter no máximo 1000 itens");
+            verifyNoInteractions(restauranteService, avaliacaoRepository);
         }
     }
 
@@ -171,11 +292,8 @@ class AvaliacaoServiceTest {
         @Test
         void deveAlterarAvaliacaoPorId() {
             // Arrange
-            when(avaliacaoMapper.toEntity(avaliacaoDTO)).thenReturn(avaliacao);
             when(avaliacaoMapper.toDto(avaliacao)).thenReturn(avaliacaoDTO);
             doNothing().when(avaliacaoMapper).updateFromDto(avaliacaoDTO, avaliacao);
-            when(restauranteService.buscarPorId(avaliacaoDTO.restauranteId())).thenReturn(restauranteDTO);
-            when(avaliacaoRepository.save(avaliacao)).thenReturn(avaliacao);
             when(avaliacaoRepository.findById(avaliacao.getId())).thenReturn(Optional.of(avaliacao));
 
             // Act
@@ -186,12 +304,16 @@ class AvaliacaoServiceTest {
                     .isNotNull()
                     .isInstanceOf(AvaliacaoDTO.class)
                     .isEqualTo(avaliacaoDTO);
-            verify(restauranteService).buscarPorId(avaliacaoDTO.restauranteId());
             verify(avaliacaoRepository).findById(avaliacaoDTO.id());
-            verify(avaliacaoRepository).save(avaliacao);
+            verify(avaliacaoRepository).flush();
+            verify(avaliacaoRepository, never()).save(any());
             verify(avaliacaoMapper).updateFromDto(avaliacaoDTO, avaliacao);
-            verify(avaliacaoMapper).toEntity(avaliacaoDTO);
             verify(avaliacaoMapper, times(2)).toDto(avaliacao);
+            verifyNoInteractions(restauranteService);
+            verify(resumoAvaliacaoService).remover(avaliacaoDTO.restauranteId(), avaliacaoDTO.nota(),
+                    avaliacaoDTO.dataCriacao());
+            verify(resumoAvaliacaoService).registrar(avaliacao.getRestaurante().getId(), avaliacao.getNota(),
+                    avaliacaoDTO.dataCriacao());
         }
 
         @DisplayName("Deve lançar exceção ao tentar alterar Avaliação com id inexistente")
@@ -211,20 +333,21 @@ class AvaliacaoServiceTest {
         @Test
         void deveGerarExcecao_QuandoAlterarAvaliacao_PorRestauranteInexistente() {
             // Arrange
-            when(avaliacaoMapper.toEntity(avaliacaoDTO)).thenReturn(avaliacao);
+            var outroRestaurante = new AvaliacaoDTO(null, avaliacaoDTO.nota(), avaliacaoDTO.comentario(), null, 99L);
             when(avaliacaoMapper.toDto(avaliacao)).thenReturn(avaliacaoDTO);
             when(avaliacaoRepository.findById(avaliacao.getId())).thenReturn(Optional.of(avaliacao));
-            when(restauranteService.buscarPorId(avaliacaoDTO.restauranteId())).thenThrow(new
-                    RecursoNaoEncontradoException("Restaurante não encontrado com id: " + avaliacaoDTO.restauranteId()));
+            doThrow(new RecursoNaoEncontradoException("Restaurante não encontrado com id: 99"))
+                    .when(restauranteService).verificarExistencia(99L);
 
             // Act & Assert
-            assertThatThrownBy(() -> avaliacaoService.atualizar(avaliacaoDTO.id(), avaliacaoDTO))
+            assertThatThrownBy(() -> avaliacaoService.atualizar(avaliacaoDTO.id(), outroRestaurante))
                     .isInstanceOf(RecursoNaoEncontradoException.class)
-                    .hasMessage("Restaurante não encontrado com id: " + avaliacaoDTO.restauranteId());
+                    .hasMessage("Restaurante não encontrado com id: 99");
 
-            verify(restauranteService).buscarPorId(avaliacaoDTO.restauranteId());
+            verify(restauranteService).verificarExistencia(99L);
             verify(avaliacaoRepository).findById(avaliacaoDTO.id());
             verifyNoMoreInteractions(avaliacaoRepository);
+            verifyNoInteractions(resumoAvaliacaoService);
         }
     }
 
@@ -236,30 +359,91 @@ class AvaliacaoServiceTest {
         @Test
         void deveDeletarAvaliacaoPorId(){
             // Arrange
-            when(avaliacaoRepository.findById(avaliacao.getId()))
-                    .thenReturn(Optional.of(avaliacao));
-            doNothing().when(avaliacaoRepository).deleteById(avaliacao.getId());
+            when(avaliacaoRepository.buscarNotaPorId(avaliacao.getId())).thenReturn(Optional.of(notaDa(avaliacao)));
+            when(avaliacaoRepository.deletarPorId(avaliacao.getId())).thenReturn(1);
 
             // Act
             avaliacaoService.deletarPorId(avaliacao.getId());
 
             // Assert
-            verify(avaliacaoRepository).findById(avaliacao.getId());
-            verify(avaliacaoRepository).deleteById(avaliacao.getId());
+            verify(avaliacaoRepository).buscarNotaPorId(avaliacao.getId());
+            verify(avaliacaoRepository).deletarPorId(avaliacao.getId());
+            verify(resumoAvaliacaoService).remover(avaliacaoDTO.restauranteId(), avaliacaoDTO.nota(),
+                    avaliacaoDTO.dataCriacao());
+            verifyNoMoreInteractions(avaliacaoRepository);
+            verifyNoInteractions(avaliacaoMapper);
         }
 
         @DisplayName("Deve lançar exceção ao tentar deletar Avaliação por id inexistente")
         @Test
         void deveGerarExcecao_QuandoDeletarAvaliacao_PorIdInexistente(){
             // Arrange
-            when(avaliacaoRepository.findById(avaliacao.getId())).thenReturn(Optional.empty());
+            when(avaliacaoRepository.buscarNotaPorId(avaliacao.getId())).thenReturn(Optional.empty());
 
             // Act & Assert
             assertThatThrownBy(() -> avaliacaoService.deletarPorId(avaliacao.getId()))
                     .isInstanceOf(RecursoNaoEncontradoException.class)
                     .hasMessage("Avaliação não encontrada com id: " + avaliacao.getId());
 
-            verify(avaliacaoRepository).findById(avaliacao.getId());
+            verify(avaliacaoRepository).buscarNotaPorId(avaliacao.getId());
+            verify(avaliacaoRepository, never()).deletarPorId(any());
+            verifyNoInteractions(resumoAvaliacaoService);
         }
     }
+
+    @DisplayName("Buscar resumo das Avaliações")
+    @Nested
+    class BuscarResumo {
+
+        @DisplayName("Deve buscar o resumo das avaliações do restaurante")
+        @Test
+        void deveBuscarResumo() {
+            // Arrange
+            var resumo = new ResumoAvaliacaoDTO(restauranteDTO.id(), 1, 5.0,
+                    Map.of(1, 0L, 2, 0L, 3, 0L, 4, 0L, 5, 1L), avaliacao.getDataCriacao());
+            when(resumoAvaliacaoService.buscarResumo(restauranteDTO.id())).thenReturn(resumo);
+
+            // Act
+            var resumoEncontrado = avaliacaoService.buscarResumo(restauranteDTO.id());
+
+            // Assert
+            assertThat(resumoEncontrado).isEqualTo(resumo);
+            verify(restauranteService).verificarExistencia(restauranteDTO.id());
+            verify(resumoAvaliacaoService).buscarResumo(restauranteDTO.id());
+            verifyNoInteractions(avaliacaoRepository);
+        }
+
+        @DisplayName("Deve lançar exceção ao buscar resumo de restaurante inexistente")
+        @Test
+        void deveGerarExcecao_QuandoBuscarResumo_PorRestauranteInexistente() {
+            // Arrange
+            doThrow(new RecursoNaoEncontradoException("Restaurante não encontrado com id: " + restauranteDTO.id()))
+                    .when(restauranteService).verificarExistencia(restauranteDTO.id());
+
+            // Act & Assert
+            assertThatThrownBy(() -> avaliacaoService.buscarResumo(restauranteDTO.id()))
+                    .isInstanceOf(RecursoNaoEncontradoException.class)
+                    .hasMessage("Restaurante não encontrado com id: " + restauranteDTO.id());
+            verifyNoInteractions(resumoAvaliacaoService);
+        }
+    }
+
+    private static NotaDaAvaliacao notaDa(Avaliacao avaliacao) {
+        return new NotaDaAvaliacao() {
+            @Override
+            public Long getRestauranteId() {
+                return avaliacao.getRestaurante().getId();
+            }
+
+            @Override
+            public int getNota() {
+                return avaliacao.getNota();
+            }
+
+            @Override
+            public LocalDateTime getDataCriacao() {
+                return avaliacao.getDataCriacao();
+            }
+        };
+    }
 }
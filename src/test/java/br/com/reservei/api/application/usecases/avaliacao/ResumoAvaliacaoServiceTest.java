@@ -0,0 +1,344 @@
+package br.com.reservei.api.application.usecases.avaliacao;
+
+import br.com.reservei.api.domain.model.ResumoAvaliacao;
+import br.com.reservei.api.domain.repository.AvaliacaoRepository;
+import br.com.reservei.api.domain.repository.ResumoAvaliacaoRepository;
+import br.com.reservei.api.domain.repository.projection.TotalAvaliacoesPorNota;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ResumoAvaliacaoServiceTest {
+
+    @Mock
+    private AvaliacaoRepository avaliacaoRepository;
+
+    @Mock
+    private ResumoAvaliacaoRepository resumoAvaliacaoRepository;
+
+    @InjectMocks
+    private ResumoAvaliacaoServiceImpl resumoAvaliacaoService;
+
+    private Long restauranteId;
+    private LocalDateTime agora;
+
+    @BeforeEach
+    void setUp() {
+        this.restauranteId = 1L;
+        this.agora = LocalDateTime.of(2024, 5, 10, 20, 0);
+    }
+
+    @DisplayName("Registrar Avaliação")
+    @Nested
+    class RegistrarAvaliacao {
+
+        @DisplayName("Deve acumular total, média, histograma e última avaliação")
+        @Test
+        void deveAcumularResumo() {
+            resumoAvaliacaoService.registrar(restauranteId, 5, agora.minusDays(1));
+            resumoAvaliacaoService.registrar(restauranteId, 4, agora);
+            resumoAvaliacaoService.registrar(restauranteId, 4, agora.minusDays(2));
+
+            var resumo = resumoAvaliacaoService.buscarResumo(restauranteId);
+
+            assertThat(resumo.restauranteId()).isEqualTo(restauranteId);
+            assertThat(resumo.totalAvaliacoes()).isEqualTo(3);
+            assertThat(resumo.media()).isEqualTo(4.33);
+            assertThat(resumo.notas()).isEqualTo(Map.of(1, 0L, 2, 0L, 3, 0L, 4, 2L, 5, 1L));
+            assertThat(resumo.ultimaAvaliacao()).isEqualTo(agora);
+        }
+
+        @DisplayName("Deve retornar resumo vazio para restaurante sem avaliações")
+        @Test
+        void deveRetornarResumoVazio() {
+            var resumo = resumoAvaliacaoService.buscarResumo(restauranteId);
+
+            assertThat(resumo.totalAvaliacoes()).isZero();
+            assertThat(resumo.media()).isZero();
+            assertThat(resumo.notas()).hasSize(5).containsValues(0L);
+            assertThat(resumo.ultimaAvaliacao()).isNull();
+        }
+
+        @DisplayName("Deve manter o resumo consistente com registros concorrentes")
+        @Test
+        void deveManterResumoConsistente_ComRegistrosConcorrentes() throws InterruptedException {
+            int tentativas = 1000;
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            CountDownLatch largada = new CountDownLatch(1);
+
+            for (int i = 0; i < tentativas; i++) {
+                int nota = i % 5 + 1;
+                executor.submit(() -> {
+                    largada.await();
+                    resumoAvaliacaoService.registrar(restauranteId, nota, agora);
+                    return null;
+                });
+            }
+            largada.countDown();
+            executor.shutdown();
+            assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+            var resumo = resumoAvaliacaoService.buscarResumo(restauranteId);
+            assertThat(resumo.totalAvaliacoes()).isEqualTo(tentativas);
+            assertThat(resumo.media()).isEqualTo(3.0);
+            assertThat(resumo.notas().values()).containsOnly(200L);
+        }
+        @DisplayName("Deve aplicar a avaliação registrada em transação só depois do commit")
+        @Test
+        void deveAplicarAvaliacao_SoDepoisDoCommit() {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                resumoAvaliacaoService.registrar(restauranteId, 5, agora);
+
+                assertThat(resumoAvaliacaoService.buscarResumo(restauranteId).totalAvaliacoes()).isZero();
+                TransactionSynchronizationManager.getSynchronizations()
+                        .forEach(TransactionSynchronization::afterCommit);
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+
+            assertThat(resumoAvaliacaoService.buscarResumo(restauranteId).totalAvaliacoes()).isEqualTo(1);
+        }
+
+        @DisplayName("Deve descartar as alterações de uma transação desfeita")
+        @Test
+        void deveDescartarAlteracoes_QuandoTransacaoForDesfeita() {
+            resumoAvaliacaoService.registrar(restauranteId, 5, agora);
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                resumoAvaliacaoService.remover(restauranteId, 5, agora);
+                resumoAvaliacaoService.registrar(restauranteId, 1, agora.plusDays(1));
+                TransactionSynchronizationManager.getSynchronizations()
+                        .forEach(sincronizacao -> sincronizacao.afterCompletion(
+                                TransactionSynchronization.STATUS_ROLLED_BACK));
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+
+            var resumo = resumoAvaliacaoService.buscarResumo(restauranteId);
+            assertThat(resumo.totalAvaliacoes()).isEqualTo(1);
+            assertThat(resumo.media()).isEqualTo(5.0);
+            assertThat(resumo.ultimaAvaliacao()).isEqualTo(agora);
+            verify(avaliacaoRepository, never()).buscarUltimaAvaliacao(any());
+        }
+    }
+
+    @DisplayName("Remover Avaliação")
+    @Nested
+    class RemoverAvaliacao {
+
+        @DisplayName("Deve descontar a nota removida do resumo")
+        @Test
+        void deveDescontarNota() {
+            resumoAvaliacaoService.registrar(restauranteId, 5, agora);
+            resumoAvaliacaoService.registrar(restauranteId, 1, agora.minusDays(1));
+
+            resumoAvaliacaoService.remover(restauranteId, 1, agora.minusDays(1));
+
+            var resumo = resumoAvaliacaoService.buscarResumo(restauranteId);
+            assertThat(resumo.totalAvaliacoes()).isEqualTo(1);
+            assertThat(resumo.media()).isEqualTo(5.0);
+            assertThat(resumo.notas()).containsEntry(1, 0L).containsEntry(5, 1L);
+            assertThat(resumo.ultimaAvaliacao()).isEqualTo(agora);
+            verify(avaliacaoRepository, never()).buscarUltimaAvaliacao(any());
+        }
+
+        @DisplayName("Deve buscar a nova última avaliação ao remover a mais recente")
+        @Test
+        void deveBuscarUltimaAvaliacao_QuandoRemoverAMaisRecente() {
+            resumoAvaliacaoService.registrar(restauranteId, 5, agora.minusDays(2));
+            resumoAvaliacaoService.registrar(restauranteId, 1, agora);
+            when(avaliacaoRepository.buscarUltimaAvaliacao(restauranteId)).thenReturn(agora.minusDays(2));
+
+            resumoAvaliacaoService.remover(restauranteId, 1, agora);
+
+            var resumo = resumoAvaliacaoService.buscarResumo(restauranteId);
+            assertThat(resumo.totalAvaliacoes()).isEqualTo(1);
+            assertThat(resumo.ultimaAvaliacao()).isEqualTo(agora.minusDays(2));
+            verify(avaliacaoRepository).buscarUltimaAvaliacao(restauranteId);
+        }
+
+        @DisplayName("Deve zerar o resumo ao remover a última avaliação")
+        @Test
+        void deveZerarResumo_QuandoRemoverUltimaAvaliacao() {
+            resumoAvaliacaoService.registrar(restauranteId, 3, agora);
+
+            resumoAvaliacaoService.remover(restauranteId, 3, agora);
+            resumoAvaliacaoService.remover(restauranteId, 3, agora);
+
+            var resumo = resumoAvaliacaoService.buscarResumo(restauranteId);
+            assertThat(resumo.totalAvaliacoes()).isZero();
+            assertThat(resumo.media()).isZero();
+            assertThat(resumo.ultimaAvaliacao()).isNull();
+        }
+    }
+
+    @DisplayName("Reconstruir e persistir resumo")
+    @Nested
+    class ReconstruirResumo {
+
+        @DisplayName("Deve reconstruir o resumo a partir das avaliações quando a tabela estiver incompleta")
+        @Test
+        void deveReconstruirResumo_QuandoTabelaEstiverIncompleta() {
+            when(resumoAvaliacaoRepository.estaCompleto()).thenReturn(false);
+            when(avaliacaoRepository.contarPorRestauranteENota()).thenReturn(List.of(
+                    total(restauranteId, 5, 3L, agora),
+                    total(restauranteId, 2, 1L, agora.minusDays(3))));
+
+            resumoAvaliacaoService.reconstruir();
+
+            var resumo = resumoAvaliacaoService.buscarResumo(restauranteId);
+            assertThat(resumo.totalAvaliacoes()).isEqualTo(4);
+            assertThat(resumo.media()).isEqualTo(4.25);
+            assertThat(resumo.notas()).containsEntry(2, 1L).containsEntry(5, 3L);
+            assertThat(resumo.ultimaAvaliacao()).isEqualTo(agora);
+            verify(resumoAvaliacaoRepository, never()).findAll();
+            verify(resumoAvaliacaoRepository).deleteAllInBatch();
+            verify(resumoAvaliacaoRepository).marcarCompleto(false);
+        }
+
+        @DisplayName("Deve carregar os resumos gravados quando a tabela estiver completa")
+        @Test
+        void deveCarregarResumosGravados_QuandoTabelaEstiverCompleta() {
+            when(resumoAvaliacaoRepository.estaCompleto()).thenReturn(true);
+            when(resumoAvaliacaoRepository.findAll()).thenReturn(List.of(ResumoAvaliacao.builder()
+                    .restauranteId(restauranteId)
+                    .totalAvaliacoes(4)
+                    .somaDasNotas(17)
+                    .totalNota2(1)
+                    .totalNota5(3)
+                    .ultimaAvaliacao(agora)
+                    .build()));
+
+            resumoAvaliacaoService.reconstruir();
+
+            var resumo = resumoAvaliacaoService.buscarResumo(restauranteId);
+            assertThat(resumo.totalAvaliacoes()).isEqualTo(4);
+            assertThat(resumo.media()).isEqualTo(4.25);
+            assertThat(resumo.notas()).containsEntry(2, 1L).containsEntry(5, 3L);
+            assertThat(resumo.ultimaAvaliacao()).isEqualTo(agora);
+            verify(avaliacaoRepository, never()).contarPorRestauranteENota();
+            verify(resumoAvaliacaoRepository).marcarCompleto(false);
+            resumoAvaliacaoService.persistir();
+            verify(resumoAvaliacaoRepository, never()).saveAll(anyList());
+        }
+
+        @DisplayName("Deve apagar o resumo de um restaurante deletado na próxima gravação")
+        @Test
+        void deveApagarResumo_QuandoRestauranteForDeletado() {
+            resumoAvaliacaoService.registrar(restauranteId, 4, agora);
+            resumoAvaliacaoService.persistir();
+
+            resumoAvaliacaoService.descartar(restauranteId);
+            resumoAvaliacaoService.persistir();
+
+            assertThat(resumoAvaliacaoService.buscarResumo(restauranteId).totalAvaliacoes()).isZero();
+            verify(resumoAvaliacaoRepository).deleteAllByIdInBatch(List.of(restauranteId));
+        }
+
+        @DisplayName("Deve gravar os pendentes e marcar a tabela como completa ao encerrar")
+        @Test
+        void deveMarcarTabelaCompleta_AoEncerrar() {
+            resumoAvaliacaoService.registrar(restauranteId, 4, agora);
+
+            resumoAvaliacaoService.encerrar();
+
+            var ordem = inOrder(resumoAvaliacaoRepository);
+            ordem.verify(resumoAvaliacaoRepository).saveAll(anyList());
+            ordem.verify(resumoAvaliacaoRepository).marcarCompleto(true);
+        }
+
+        @DisplayName("Deve persistir apenas os resumos alterados desde a última gravação")
+        @Test
+        @SuppressWarnings("unchecked")
+        void devePersistirResumosAlterados() {
+            resumoAvaliacaoService.registrar(restauranteId, 4, agora);
+            resumoAvaliacaoService.registrar(restauranteId, 2, agora);
+            ArgumentCaptor<List<ResumoAvaliacao>> captor = ArgumentCaptor.forClass(List.class);
+
+            resumoAvaliacaoService.persistir();
+            resumoAvaliacaoService.persistir();
+
+            verify(resumoAvaliacaoRepository, times(1)).saveAll(captor.capture());
+            assertThat(captor.getValue()).singleElement()
+                    .satisfies(resumo -> {
+                        assertThat(resumo.getRestauranteId()).isEqualTo(restauranteId);
+                        assertThat(resumo.getTotalAvaliacoes()).isEqualTo(2);
+                        assertThat(resumo.getSomaDasNotas()).isEqualTo(6);
+                        assertThat(resumo.getTotalNota2()).isEqualTo(1);
+                        assertThat(resumo.getTotalNota4()).isEqualTo(1);
+                        assertThat(resumo.getUltimaAvaliacao()).isEqualTo(agora);
+                    });
+        }
+
+        @DisplayName("Deve manter os resumos pendentes quando a gravação falhar")
+        @Test
+        void deveManterResumosPendentes_QuandoGravacaoFalhar() {
+            resumoAvaliacaoService.registrar(restauranteId, 4, agora);
+            when(resumoAvaliacaoRepository.saveAll(anyList()))
+                    .thenThrow(new IllegalStateException("banco indisponível"))
+                    .thenReturn(List.of());
+
+            assertThatThrownBy(() -> resumoAvaliacaoService.persistir())
+                    .isInstanceOf(IllegalStateException.class);
+            resumoAvaliacaoService.persistir();
+
+            verify(resumoAvaliacaoRepository, times(2)).saveAll(anyList());
+        }
+
+        @DisplayName("Não deve gravar nada quando nenhum resumo foi alterado")
+        @Test
+        void naoDevePersistir_QuandoNaoHouverAlteracoes() {
+            resumoAvaliacaoService.persistir();
+
+            verify(resumoAvaliacaoRepository, never()).saveAll(anyList());
+        }
+    }
+
+    private static TotalAvaliacoesPorNota total(Long restauranteId, int nota, Long total, LocalDateTime ultima) {
+        return new TotalAvaliacoesPorNota() {
+            @Override
+            public Long getRestauranteId() {
+                return restauranteId;
+            }
+
+            @Override
+            public Integer getNota() {
+                return nota;
+            }
+
+            @Override
+            public Long getTotal() {
+                return total;
+            }
+
+            @Override
+            public LocalDateTime getUltimaAvaliacao() {
+                return ultima;
+            }
+        };
+    }
+}
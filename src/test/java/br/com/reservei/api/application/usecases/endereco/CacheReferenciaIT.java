@@ -0,0 +1,156 @@
+package br.com.reservei.api.application.usecases.endereco;
+
+import br.com.reservei.api.application.dto.CidadeDTO;
+import br.com.reservei.api.application.dto.EnderecoDTO;
+import br.com.reservei.api.application.dto.EstadoDTO;
+import br.com.reservei.api.domain.exceptions.RecursoNaoEncontradoException;
+import br.com.reservei.api.domain.repository.EstadoRepository;
+import br.com.reservei.api.infrastructure.config.CacheConfig;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.interceptor.CacheInterceptor;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static br.com.reservei.api.infrastructure.utils.CidadeHelper.gerarCidadeDtoSemId;
+import static br.com.reservei.api.infrastructure.utils.EnderecoHelper.gerarEnderecoDtoSemId;
+import static br.com.reservei.api.infrastructure.utils.EstadoHelper.gerarEstadoDto;
+import static br.com.reservei.api.infrastructure.utils.EstadoHelper.gerarEstadoSemId;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@Sql(scripts = {"/clean.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+class CacheReferenciaIT {
+
+    @Autowired
+    private EstadoServiceImpl estadoService;
+
+    @Autowired
+    private CidadeServiceImpl cidadeService;
+
+    @Autowired
+    private EnderecoServiceImpl enderecoService;
+
+    @Autowired
+    private EstadoRepository estadoRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private EstadoDTO estadoDTO;
+
+    @BeforeEach
+    void setUp() {
+        this.estadoDTO = estadoService.salvar(gerarEstadoDto(gerarEstadoSemId()));
+    }
+
+    @DisplayName("Leitura pelo cache")
+    @Nested
+    class LeituraPeloCache {
+
+        @DisplayName("Deve responder buscarPorId pelo cache sem consultar o banco")
+        @Test
+        void deveBuscarPorIdPeloCache() {
+            estadoRepository.deleteById(estadoDTO.id());
+
+            var estadoEncontrado = estadoService.buscarPorId(estadoDTO.id());
+
+            assertThat(estadoEncontrado).isEqualTo(estadoDTO);
+            assertThat(estatisticas(CacheConfig.ESTADOS).hitCount()).isEqualTo(1);
+        }
+
+        @DisplayName("Deve validar os pais de Cidade e Endereço pelo cache ao salvar")
+        @Test
+        void deveValidarReferenciasPeloCache() {
+            CidadeDTO cidadeDTO = cidadeService.salvar(gerarCidadeDtoSemId(estadoDTO.id()));
+            EnderecoDTO enderecoDTO = enderecoService.salvar(gerarEnderecoDtoSemId(cidadeDTO.id()));
+
+            assertThat(enderecoDTO.id()).isNotNull();
+            assertThat(estatisticas(CacheConfig.ESTADOS).hitCount()).isEqualTo(1);
+            assertThat(estatisticas(CacheConfig.CIDADES).hitCount()).isEqualTo(1);
+            assertThat(cacheManager.getCache(CacheConfig.ENDERECOS).get(enderecoDTO.id(), EnderecoDTO.class))
+                    .isEqualTo(enderecoDTO);
+        }
+
+        @DisplayName("Deve registrar métricas de acerto e falha do cache")
+        @Test
+        void deveRegistrarMetricasDoCache() {
+            cacheManager.getCache(CacheConfig.ESTADOS).clear();
+
+            estadoService.buscarPorId(estadoDTO.id());
+            estadoService.buscarPorId(estadoDTO.id());
+
+            assertThat(meterRegistry.get("cache.gets").tag("cache", CacheConfig.ESTADOS).tag("result", "miss")
+                    .functionCounter().count()).isEqualTo(1);
+            assertThat(meterRegistry.get("cache.gets").tag("cache", CacheConfig.ESTADOS).tag("result", "hit")
+                    .functionCounter().count()).isEqualTo(1);
+            assertThat(meterRegistry.find("cache.evictions").tag("cache", CacheConfig.ESTADOS)
+                    .functionCounter()).isNotNull();
+        }
+    }
+
+    @DisplayName("Invalidação do cache")
+    @Nested
+    class InvalidacaoDoCache {
+
+        @DisplayName("Deve atualizar o valor em cache ao alterar")
+        @Test
+        void deveAtualizarCache_QuandoAlterar() {
+            var estadoAlterado = estadoService.atualizar(estadoDTO.id(), new EstadoDTO(null, "Sergipe", "SE"));
+
+            assertThat(estadoService.buscarPorId(estadoDTO.id()))
+                    .isEqualTo(estadoAlterado)
+                    .extracting(EstadoDTO::sigla)
+                    .isEqualTo("SE");
+        }
+
+        @DisplayName("Deve aplicar o cache por fora da transação")
+        @Test
+        void deveAplicarCacheForaDaTransacao() {
+            List<Class<?>> interceptadores = Arrays.stream(((Advised) estadoService).getAdvisors())
+                    .<Class<?>>map(advisor -> advisor.getAdvice().getClass())
+                    .toList();
+
+            assertThat(interceptadores.indexOf(CacheInterceptor.class))
+                    .isNotNegative()
+                    .isLessThan(interceptadores.indexOf(TransactionInterceptor.class));
+        }
+
+        @DisplayName("Deve remover o valor do cache ao deletar")
+        @Test
+        void deveRemoverDoCache_QuandoDeletar() {
+            estadoService.deletarPorId(estadoDTO.id());
+
+            assertThat(cacheManager.getCache(CacheConfig.ESTADOS).get(estadoDTO.id())).isNull();
+            assertThatThrownBy(() -> estadoService.buscarPorId(estadoDTO.id()))
+                    .isInstanceOf(RecursoNaoEncontradoException.class)
+                    .hasMessage("Estado não encontrado com id: " + estadoDTO.id());
+        }
+    }
+
+    private CacheStats estatisticas(String nome) {
+        return ((CaffeineCache) cacheManager.getCache(nome)).getNativeCache().stats();
+    }
+}
@@ -4,6 +4,7 @@ import br.com.reservei.api.application.dto.CidadeDTO;
 import br.com.reservei.api.application.dto.EstadoDTO;
 import br.com.reservei.api.domain.exceptions.RecursoJaSalvoException;
 import br.com.reservei.api.domain.exceptions.RecursoNaoEncontradoException;
+import br.com.reservei.api.infrastructure.utils.VersaoDasColecoes;
 import br.com.reservei.api.interfaces.mapper.CidadeMapper;
 import br.com.reservei.api.domain.model.Cidade;
 import br.com.reservei.api.domain.repository.CidadeRepository;
@@ -16,12 +17,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import static br.com.reservei.api.infrastructure.utils.CidadeHelper.gerarCidade;
 import static br.com.reservei.api.infrastructure.utils.CidadeHelper.gerarCidadeDto;
+import static br.com.reservei.api.infrastructure.utils.CidadeHelper.gerarDadosDaCidade;
 import static br.com.reservei.api.infrastructure.utils.EstadoHelper.gerarEstado;
 import static br.com.reservei.api.infrastructure.utils.EstadoHelper.gerarEstadoDto;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -42,6 +46,9 @@ class CidadeServiceTest {
     @Mock
     private EstadoService estadoService;
 
+    @Mock
+    private VersaoDasColecoes versaoDasColecoes;
+
     @InjectMocks
     private CidadeServiceImpl cidadeService;
 
@@ -64,8 +71,7 @@ class CidadeServiceTest {
         @Test
         void deveBuscarCidadePorId() {
             // Arrange
-            when(cidadeRepository.findById(cidade.getId())).thenReturn(Optional.of(cidade));
-            when(cidadeMapper.toDto(cidade)).thenReturn(gerarCidadeDto(cidade));
+            when(cidadeRepository.buscarDadosPorId(cidade.getId())).thenReturn(Optional.of(gerarDadosDaCidade(cidade)));
 
             // Act
             var cidadeRecebido = cidadeService.buscarPorId(cidade.getId());
@@ -78,21 +84,21 @@ class CidadeServiceTest {
 
             assertThat(cidadeRecebido.estadoId()).isEqualTo(cidade.getEstado().getId());
 
-            verify(cidadeRepository).findById(cidade.getId());
+            verify(cidadeRepository).buscarDadosPorId(cidade.getId());
         }
 
         @DisplayName("Deve lançar exceção ao buscar cidade com ID inexistente")
         @Test
         void deveGerarExcecao_QuandoBuscarCidade_PorIdInexistente() {
             // Arrange
-            when(cidadeRepository.findById(cidade.getId())).thenReturn(Optional.empty());
+            when(cidadeRepository.buscarDadosPorId(cidade.getId())).thenReturn(Optional.empty());
 
             // Act & Assert
             assertThatThrownBy(() -> cidadeService.buscarPorId(cidade.getId()))
                     .isInstanceOf(RecursoNaoEncontradoException.class)
                     .hasMessage("Cidade não encontrada com id: " + cidade.getId());
 
-            verify(cidadeRepository).findById(cidade.getId());
+            verify(cidadeRepository).buscarDadosPorId(cidade.getId());
         }
 
         @DisplayName("Deve retornar uma lista de cidades salvos")
@@ -104,12 +110,8 @@ class CidadeServiceTest {
                     .map(CidadeHelper::gerarCidadeDto)
                     .toList();
 
-            when(cidadeRepository.findAll()).thenReturn(cidades);
-            when(cidadeMapper.toDto(any(Cidade.class)))
-                    .thenAnswer(invocation -> {
-                        cidade = invocation.getArgument(0);
-                        return gerarCidadeDto(cidade);
-                    });
+            when(cidadeRepository.listarDados())
+                    .thenReturn(cidades.stream().map(CidadeHelper::gerarDadosDaCidade).toList());
 
             // Act
             List<CidadeDTO> cidadesRecebidos = cidadeService.buscarTodos();
@@ -120,8 +122,45 @@ class CidadeServiceTest {
                     .isNotEmpty()
                     .hasSize(3)
                     .containsExactlyElementsOf(cidadesDto);
-            verify(cidadeRepository).findAll();
-            verify(cidadeMapper, times(3)).toDto(any(Cidade.class));
+            verify(cidadeRepository).listarDados();
+            verifyNoInteractions(cidadeMapper);
+        }
+
+        @DisplayName("Deve retornar uma página de cidades a partir do cursor informado")
+        @Test
+        void deveBuscarPaginaDeCidades() {
+            // Arrange
+            var cidades = List.of(gerarCidade(), gerarCidade());
+            when(cidadeRepository.listarDadosAposId(10L, Limit.of(2)))
+                    .thenReturn(cidades.stream().map(CidadeHelper::gerarDadosDaCidade).toList());
+
+            // Act
+            List<CidadeDTO> pagina = cidadeService.buscarPagina(10L, 2);
+
+            // Assert
+            assertThat(pagina)
+                    .hasSize(2)
+                    .containsExactlyElementsOf(cidades.stream().map(CidadeHelper::gerarCidadeDto).toList());
+            verify(cidadeRepository).listarDadosAposId(10L, Limit.of(2));
+            verify(cidadeRepository, never()).findAll();
+        }
+
+        @DisplayName("Deve percorrer todas as cidades em stream")
+        @Test
+        void devePercorrerTodasAsCidades() {
+            // Arrange
+            var cidades = List.of(gerarCidade(), gerarCidade(), gerarCidade());
+            when(cidadeRepository.streamDados())
+                    .thenReturn(cidades.stream().map(CidadeHelper::gerarDadosDaCidade));
+            List<CidadeDTO> recebidas = new ArrayList<>();
+
+            // Act
+            cidadeService.percorrerTodos(recebidas::add);
+
+            // Assert
+            assertThat(recebidas)
+                    .containsExactlyElementsOf(cidades.stream().map(CidadeHelper::gerarCidadeDto).toList());
+            verify(cidadeRepository, never()).findAll();
         }
     }
 
@@ -198,30 +237,29 @@ class CidadeServiceTest {
         @Test
         void deveAlterarCidadePorId() {
             // Arrange
-            when(cidadeMapper.toEntity(cidadeDTO)).thenReturn(cidade);
-            when(cidadeMapper.toDto(cidade)).thenReturn(cidadeDTO);
-            doNothing().when(cidadeMapper).updateFromDto(cidadeDTO, cidade);
+            var cidadeAlterada = new CidadeDTO(cidade.getId(), "Lauro de Freitas", cidadeDTO.estadoId());
+            when(cidadeMapper.toDto(cidade)).thenReturn(cidadeAlterada);
+            doNothing().when(cidadeMapper).updateFromDto(cidadeAlterada, cidade);
             when(cidadeRepository.findByNomeAndEstado_IdAndIdNot(
-                    cidade.getNome(), cidade.getEstado().getId(), cidade.getId()))
+                    "Lauro de Freitas", cidade.getEstado().getId(), cidade.getId()))
                     .thenReturn(Optional.empty());
-            when(cidadeRepository.save(cidade)).thenReturn(cidade);
             when(cidadeRepository.findById(cidade.getId())).thenReturn(Optional.of(cidade));
 
             // Act
-            var cidadeSalvo = cidadeService.atualizar(cidadeDTO.id(), cidadeDTO);
+            var cidadeSalvo = cidadeService.atualizar(cidadeDTO.id(), cidadeAlterada);
 
             // Assert
             assertThat(cidadeSalvo)
                     .isNotNull()
                     .isInstanceOf(CidadeDTO.class)
-                    .isEqualTo(cidadeDTO);
-            verify(cidadeRepository).findByNomeAndEstado_IdAndIdNot(cidadeDTO.nome(),
+                    .isEqualTo(cidadeAlterada);
+            verify(cidadeRepository).findByNomeAndEstado_IdAndIdNot("Lauro de Freitas",
                     cidadeDTO.estadoId(), cidadeDTO.id());
             verify(cidadeRepository).findById(cidadeDTO.id());
-            verify(cidadeRepository).save(cidade);
-            verify(cidadeMapper, times(2)).toDto(cidade);
-            verify(cidadeMapper).updateFromDto(cidadeDTO, cidade);
-            verify(cidadeMapper).toEntity(cidadeDTO);
+            verify(cidadeRepository).flush();
+            verify(cidadeRepository, never()).save(any());
+            verify(cidadeMapper).toDto(cidade);
+            verify(cidadeMapper).updateFromDto(cidadeAlterada, cidade);
         }
 
         @DisplayName("Deve lançar exceção ao tentar alterar Cidade com id inexistente")
@@ -242,22 +280,23 @@ class CidadeServiceTest {
         @Test
         void deveGerarExcecao_QuandoAlterarCidade_PorCidadeExistente() {
             // Arrange
-            when(cidadeMapper.toEntity(cidadeDTO)).thenReturn(cidade);
-            when(cidadeMapper.toDto(cidade)).thenReturn(cidadeDTO);
+            var cidadeAlterada = new CidadeDTO(cidade.getId(), "Lauro de Freitas", cidadeDTO.estadoId());
+            var cidadeExistente = cidade.toBuilder().id(cidade.getId() + 1).nome("Lauro de Freitas").build();
             when(estadoService.buscarPorId(cidadeDTO.estadoId())).thenReturn(estadoDTO);
             when(cidadeRepository.findById(cidade.getId())).thenReturn(Optional.of(cidade));
-            when(cidadeRepository.findByNomeAndEstado_IdAndIdNot(cidade.getNome(),
+            when(cidadeRepository.findByNomeAndEstado_IdAndIdNot("Lauro de Freitas",
                     cidade.getEstado().getId(), cidade.getId()))
-                    .thenReturn(Optional.of(cidade));
+                    .thenReturn(Optional.of(cidadeExistente));
 
             // Act & Assert
-            assertThatThrownBy(() -> cidadeService.atualizar(cidadeDTO.id(), cidadeDTO))
+            assertThatThrownBy(() -> cidadeService.atualizar(cidadeDTO.id(), cidadeAlterada))
                     .isInstanceOf(RecursoJaSalvoException.class)
-                    .hasMessage("Uma cidade com nome '" + cidade.getNome() +
-                            "' do estado '" + estadoDTO.nome() + "' já existe no banco de dados.");
+                    .hasMessage("Uma cidade com nome 'Lauro de Freitas' do estado '" + estadoDTO.nome() +
+                            "' já existe no banco de dados.");
 
-            verify(cidadeRepository).findByNomeAndEstado_IdAndIdNot(cidade.getNome(),
+            verify(cidadeRepository).findByNomeAndEstado_IdAndIdNot("Lauro de Freitas",
                     cidade.getEstado().getId(), cidade.getId());
+            verify(cidadeRepository, never()).flush();
             verify(cidadeRepository).findById(cidadeDTO.id());
             verify(estadoService).buscarPorId(cidadeDTO.estadoId());
         }
@@ -266,8 +305,6 @@ class CidadeServiceTest {
         @Test
         void deveGerarExcecao_QuandoAlterarCidade_ComEstadoInexistente() {
             // Arrange
-            when(cidadeMapper.toEntity(cidadeDTO)).thenReturn(cidade);
-            when(cidadeMapper.toDto(cidade)).thenReturn(cidadeDTO);
             when(cidadeRepository.findById(cidade.getId())).thenReturn(Optional.of(cidade));
 
             when(estadoService.buscarPorId(cidadeDTO.estadoId()))
@@ -293,30 +330,28 @@ class CidadeServiceTest {
         @Test
         void deveDeletarCidadePorId() {
             // Arrange
-            when(cidadeRepository.findById(cidade.getId()))
-                    .thenReturn(Optional.of(cidade));
-            doNothing().when(cidadeRepository).deleteById(cidade.getId());
+            when(cidadeRepository.deletarPorId(cidade.getId())).thenReturn(1);
 
             // Act
             cidadeService.deletarPorId(cidade.getId());
 
             // Assert
-            verify(cidadeRepository).findById(cidade.getId());
-            verify(cidadeRepository).deleteById(cidade.getId());
+            verify(cidadeRepository).deletarPorId(cidade.getId());
+            verifyNoMoreInteractions(cidadeRepository);
         }
 
         @DisplayName("Deve lançar exceção ao tentar deletar Cidade por id inexistente")
         @Test
         void deveGerarExcecao_QuandoDeletarCidade_PorIdInexistente() {
             // Arrange
-            when(cidadeRepository.findById(cidade.getId())).thenReturn(Optional.empty());
+            when(cidadeRepository.deletarPorId(cidade.getId())).thenReturn(0);
 
             // Act & Assert
             assertThatThrownBy(() -> cidadeService.deletarPorId(cidade.getId()))
                     .isInstanceOf(RecursoNaoEncontradoException.class)
                     .hasMessage("Cidade não encontrada com id: " + cidade.getId());
 
-            verify(cidadeRepository).findById(cidade.getId());
+            verify(cidadeRepository).deletarPorId(cidade.getId());
         }
     }
 }
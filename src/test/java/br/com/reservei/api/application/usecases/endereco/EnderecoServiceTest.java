@@ -2,6 +2,7 @@ package br.com.reservei.api.application.usecases.endereco;
 
 import br.com.reservei.api.application.dto.CidadeDTO;
 import br.com.reservei.api.application.dto.EnderecoDTO;
+import br.com.reservei.api.application.usecases.restaurante.IndiceRestauranteService;
 import br.com.reservei.api.domain.exceptions.RecursoNaoEncontradoException;
 import br.com.reservei.api.interfaces.mapper.EnderecoMapper;
 import br.com.reservei.api.domain.model.Endereco;
@@ -15,12 +16,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import static br.com.reservei.api.infrastructure.utils.CidadeHelper.gerarCidade;
 import static br.com.reservei.api.infrastructure.utils.CidadeHelper.gerarCidadeDto;
+import static br.com.reservei.api.infrastructure.utils.EnderecoHelper.gerarDadosDoEndereco;
 import static br.com.reservei.api.infrastructure.utils.EnderecoHelper.gerarEndereco;
 import static br.com.reservei.api.infrastructure.utils.EnderecoHelper.gerarEnderecoDto;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -39,6 +43,9 @@ class EnderecoServiceTest {
     @Mock
     private CidadeService cidadeService;
 
+    @Mock
+    private IndiceRestauranteService indiceRestauranteService;
+
     @InjectMocks
     private EnderecoServiceImpl enderecoService;
 
@@ -61,8 +68,7 @@ class EnderecoServiceTest {
         @Test
         void deveBuscarEnderecoPorId() {
             // Arrange
-            when(enderecoRepository.findById(endereco.getId())).thenReturn(Optional.of(endereco));
-            when(enderecoMapper.toDto(endereco)).thenReturn(gerarEnderecoDto(endereco));
+            when(enderecoRepository.buscarDadosPorId(endereco.getId())).thenReturn(Optional.of(gerarDadosDoEndereco(endereco)));
 
             // Act
             var enderecoRecebido = enderecoService.buscarPorId(endereco.getId());
@@ -75,21 +81,20 @@ class EnderecoServiceTest {
 
             assertThat(enderecoRecebido.cidadeId()).isEqualTo(endereco.getCidade().getId());
 
-            verify(enderecoMapper).toDto(endereco);
-            verify(enderecoRepository).findById(endereco.getId());
+            verify(enderecoRepository).buscarDadosPorId(endereco.getId());
         }
 
         @DisplayName("Deve lançar exceção ao buscar Endereço com ID inexistente")
         @Test
         void deveGerarExcecao_QuandoBuscarEndereco_PorIdInexistente() {
             // Arrange
-            when(enderecoRepository.findById(endereco.getId())).thenReturn(Optional.empty());
+            when(enderecoRepository.buscarDadosPorId(endereco.getId())).thenReturn(Optional.empty());
 
             // Act & Assert
             assertThatThrownBy(() -> enderecoService.buscarPorId(endereco.getId()))
                     .isInstanceOf(RecursoNaoEncontradoException.class)
                     .hasMessage("Endereço não encontrado com id: " + endereco.getId());
-            verify(enderecoRepository).findById(endereco.getId());
+            verify(enderecoRepository).buscarDadosPorId(endereco.getId());
         }
 
         @DisplayName("Deve retornar uma lista de endereços salvos")
@@ -101,12 +106,8 @@ class EnderecoServiceTest {
                     .map(EnderecoHelper::gerarEnderecoDto)
                     .toList();
 
-            when(enderecoRepository.findAll()).thenReturn(enderecos);
-            when(enderecoMapper.toDto(any(Endereco.class)))
-                    .thenAnswer(invocation -> {
-                        endereco = invocation.getArgument(0);
-                        return gerarEnderecoDto(endereco);
-                    });
+            when(enderecoRepository.listarDados())
+                    .thenReturn(enderecos.stream().map(EnderecoHelper::gerarDadosDoEndereco).toList());
 
             // Act
             List<EnderecoDTO> enderecosRecebidos = enderecoService.buscarTodos();
@@ -117,8 +118,45 @@ class EnderecoServiceTest {
                     .isNotEmpty()
                     .hasSize(3)
                     .containsExactlyElementsOf(enderecosDto);
-            verify(enderecoRepository).findAll();
-            verify(enderecoMapper, times(3)).toDto(any(Endereco.class));
+            verify(enderecoRepository).listarDados();
+            verifyNoInteractions(enderecoMapper);
+        }
+
+        @DisplayName("Deve retornar uma página de enderecos a partir do cursor informado")
+        @Test
+        void deveBuscarPaginaDeEnderecos() {
+            // Arrange
+            var enderecos = List.of(gerarEndereco(), gerarEndereco());
+            when(enderecoRepository.listarDadosAposId(10L, Limit.of(2)))
+                    .thenReturn(enderecos.stream().map(EnderecoHelper::gerarDadosDoEndereco).toList());
+
+            // Act
+            List<EnderecoDTO> pagina = enderecoService.buscarPagina(10L, 2);
+
+            // Assert
+            assertThat(pagina)
+                    .hasSize(2)
+                    .containsExactlyElementsOf(enderecos.stream().map(EnderecoHelper::gerarEnderecoDto).toList());
+            verify(enderecoRepository).listarDadosAposId(10L, Limit.of(2));
+            verify(enderecoRepository, never()).findAll();
+        }
+
+        @DisplayName("Deve percorrer todos os enderecos em stream")
+        @Test
+        void devePercorrerTodosOsEnderecos() {
+            // Arrange
+            var enderecos = List.of(gerarEndereco(), gerarEndereco(), gerarEndereco());
+            when(enderecoRepository.streamDados())
+                    .thenReturn(enderecos.stream().map(EnderecoHelper::gerarDadosDoEndereco));
+            List<EnderecoDTO> recebidos = new ArrayList<>();
+
+            // Act
+            enderecoService.percorrerTodos(recebidos::add);
+
+            // Assert
+            assertThat(recebidos)
+                    .containsExactlyElementsOf(enderecos.stream().map(EnderecoHelper::gerarEnderecoDto).toList());
+            verify(enderecoRepository, never()).findAll();
         }
     }
 
@@ -176,11 +214,9 @@ class EnderecoServiceTest {
         @Test
         void deveAlterarEnderecoPorId() {
             // Arrange
-            when(enderecoMapper.toEntity(enderecoDTO)).thenReturn(endereco);
             when(enderecoMapper.toDto(endereco)).thenReturn(enderecoDTO);
             doNothing().when(enderecoMapper).updateFromDto(enderecoDTO, endereco);
             when(cidadeService.buscarPorId(enderecoDTO.cidadeId())).thenReturn(cidadeDTO);
-            when(enderecoRepository.save(endereco)).thenReturn(endereco);
             when(enderecoRepository.findById(endereco.getId())).thenReturn(Optional.of(endereco));
 
             // Act
@@ -192,11 +228,12 @@ class EnderecoServiceTest {
                     .isInstanceOf(EnderecoDTO.class)
                     .isEqualTo(enderecoDTO);
             verify(enderecoRepository).findById(enderecoDTO.id());
-            verify(enderecoRepository).save(endereco);
+            verify(enderecoRepository).flush();
+            verify(enderecoRepository, never()).save(any());
             verify(cidadeService).buscarPorId(enderecoDTO.cidadeId());
             verify(enderecoMapper).updateFromDto(enderecoDTO, endereco);
-            verify(enderecoMapper).toEntity(enderecoDTO);
-            verify(enderecoMapper, times(2)).toDto(endereco);
+            verify(enderecoMapper).toDto(endereco);
+            verify(indiceRestauranteService).moverEndereco(enderecoDTO.id(), enderecoDTO.cidadeId());
         }
 
         @DisplayName("Deve lançar exceção ao tentar alterar Endereço com id inexistente")
@@ -219,8 +256,6 @@ class EnderecoServiceTest {
         void deveGerarExcecao_QuandoAlterarEndereco_ComCidadeInexistente() {
             // Arrange
             when(enderecoRepository.findById(enderecoDTO.id())).thenReturn(Optional.of(endereco));
-            when(enderecoMapper.toDto(endereco)).thenReturn(enderecoDTO);
-            when(enderecoMapper.toEntity(enderecoDTO)).thenReturn(endereco);
             when(cidadeService.buscarPorId(enderecoDTO.cidadeId()))
                     .thenThrow(new RecursoNaoEncontradoException("Cidade não encontrada com id: " +
                             enderecoDTO.cidadeId()));
@@ -244,30 +279,28 @@ class EnderecoServiceTest {
         @Test
         void deveDeletarEnderecoPorId(){
             // Arrange
-            when(enderecoRepository.findById(endereco.getId()))
-                    .thenReturn(Optional.of(endereco));
-            doNothing().when(enderecoRepository).deleteById(endereco.getId());
+            when(enderecoRepository.deletarPorId(endereco.getId())).thenReturn(1);
 
             // Act
             enderecoService.deletarPorId(endereco.getId());
 
             // Assert
-            verify(enderecoRepository).findById(endereco.getId());
-            verify(enderecoRepository).deleteById(endereco.getId());
+            verify(enderecoRepository).deletarPorId(endereco.getId());
+            verifyNoMoreInteractions(enderecoRepository);
         }
 
         @DisplayName("Deve lançar exceção ao tentar deletar Endereço por id inexistente")
         @Test
         void deveGerarExcecao_QuandoTentarDeletarEndereco_PorIdInexistente(){
             // Arrange
-            when(enderecoRepository.findById(endereco.getId())).thenReturn(Optional.empty());
+            when(enderecoRepository.deletarPorId(endereco.getId())).thenReturn(0);
 
             // Act & Assert
             assertThatThrownBy(() -> enderecoService.deletarPorId(endereco.getId()))
                     .isInstanceOf(RecursoNaoEncontradoException.class)
                     .hasMessage("Endereço não encontrado com id: " + endereco.getId());
 
-            verify(enderecoRepository).findById(endereco.getId());
+            verify(enderecoRepository).deletarPorId(endereco.getId());
         }
     }
 }
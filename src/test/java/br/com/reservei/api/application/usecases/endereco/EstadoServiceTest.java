@@ -3,6 +3,7 @@ package br.com.reservei.api.application.usecases.endereco;
 import br.com.reservei.api.application.dto.EstadoDTO;
 import br.com.reservei.api.domain.exceptions.RecursoJaSalvoException;
 import br.com.reservei.api.domain.exceptions.RecursoNaoEncontradoException;
+import br.com.reservei.api.infrastructure.utils.VersaoDasColecoes;
 import br.com.reservei.api.interfaces.mapper.EstadoMapper;
 import br.com.reservei.api.domain.model.Estado;
 import br.com.reservei.api.domain.repository.EstadoRepository;
@@ -15,10 +16,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
+import static br.com.reservei.api.infrastructure.utils.EstadoHelper.gerarDadosDoEstado;
 import static br.com.reservei.api.infrastructure.utils.EstadoHelper.gerarEstado;
 import static br.com.reservei.api.infrastructure.utils.EstadoHelper.gerarEstadoDto;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -34,6 +38,9 @@ class EstadoServiceTest {
     @Mock
     private EstadoMapper estadoMapper;
 
+    @Mock
+    private VersaoDasColecoes versaoDasColecoes;
+
     @InjectMocks
     private EstadoServiceImpl estadoService;
 
@@ -54,8 +61,7 @@ class EstadoServiceTest {
         @Test
         void deveBuscarEstadoPorId() {
             // Arrange
-            when(estadoRepository.findById(estado.getId())).thenReturn(Optional.of(estado));
-            when(estadoMapper.toDto(estado)).thenReturn(gerarEstadoDto(estado));
+            when(estadoRepository.buscarDadosPorId(estado.getId())).thenReturn(Optional.of(gerarDadosDoEstado(estado)));
 
             // Act
             var estadoRecebido = estadoService.buscarPorId(estado.getId());
@@ -66,21 +72,22 @@ class EstadoServiceTest {
                     .ignoringFields("cidades")
                     .isEqualTo(estado);
 
-            verify(estadoMapper).toDto(estado);
-            verify(estadoRepository).findById(estado.getId());
+            verify(estadoRepository).buscarDadosPorId(estado.getId());
+            verify(estadoRepository, never()).findById(any());
+            verifyNoInteractions(estadoMapper);
         }
 
         @DisplayName("Deve lançar exceção ao buscar Estado com ID inexistente")
         @Test
         void deveGerarExcecao_QuandoBuscarEstado_PorIdInexistente() {
             // Arrange
-            when(estadoRepository.findById(estado.getId())).thenReturn(Optional.empty());
+            when(estadoRepository.buscarDadosPorId(estado.getId())).thenReturn(Optional.empty());
 
             // Act & Assert
             assertThatThrownBy(() -> estadoService.buscarPorId(estado.getId()))
                     .isInstanceOf(RecursoNaoEncontradoException.class)
                     .hasMessage("Estado não encontrado com id: " + estado.getId());
-            verify(estadoRepository).findById(estado.getId());
+            verify(estadoRepository).buscarDadosPorId(estado.getId());
         }
 
         @DisplayName("Deve retornar uma lista de estados salvos")
@@ -92,12 +99,8 @@ class EstadoServiceTest {
                     .map(EstadoHelper::gerarEstadoDto)
                     .toList();
 
-            when(estadoRepository.findAll()).thenReturn(estados);
-            when(estadoMapper.toDto(any(Estado.class)))
-                    .thenAnswer(invocation -> {
-                        estado = invocation.getArgument(0);
-                        return gerarEstadoDto(estado);
-                    });
+            when(estadoRepository.listarDados())
+                    .thenReturn(estados.stream().map(EstadoHelper::gerarDadosDoEstado).toList());
 
             // Act
             List<EstadoDTO> estadosRecebidos = estadoService.buscarTodos();
@@ -108,8 +111,46 @@ class EstadoServiceTest {
                     .isNotEmpty()
                     .hasSize(3)
                     .containsExactlyElementsOf(estadosDto);
-            verify(estadoRepository).findAll();
-            verify(estadoMapper, times(3)).toDto(any(Estado.class));
+            verify(estadoRepository).listarDados();
+            verify(estadoRepository, never()).findAll();
+            verifyNoInteractions(estadoMapper);
+        }
+
+        @DisplayName("Deve retornar uma página de estados a partir do cursor informado")
+        @Test
+        void deveBuscarPaginaDeEstados() {
+            // Arrange
+            var estados = List.of(gerarEstado(), gerarEstado());
+            when(estadoRepository.listarDadosAposId(10L, Limit.of(2)))
+                    .thenReturn(estados.stream().map(EstadoHelper::gerarDadosDoEstado).toList());
+
+            // Act
+            List<EstadoDTO> pagina = estadoService.buscarPagina(10L, 2);
+
+            // Assert
+            assertThat(pagina)
+                    .hasSize(2)
+                    .containsExactlyElementsOf(estados.stream().map(EstadoHelper::gerarEstadoDto).toList());
+            verify(estadoRepository).listarDadosAposId(10L, Limit.of(2));
+            verify(estadoRepository, never()).findAll();
+        }
+
+        @DisplayName("Deve percorrer todos os estados em stream")
+        @Test
+        void devePercorrerTodosOsEstados() {
+            // Arrange
+            var estados = List.of(gerarEstado(), gerarEstado(), gerarEstado());
+            when(estadoRepository.streamDados())
+                    .thenReturn(estados.stream().map(EstadoHelper::gerarDadosDoEstado));
+            List<EstadoDTO> recebidos = new ArrayList<>();
+
+            // Act
+            estadoService.percorrerTodos(recebidos::add);
+
+            // Assert
+            assertThat(recebidos)
+                    .containsExactlyElementsOf(estados.stream().map(EstadoHelper::gerarEstadoDto).toList());
+            verify(estadoRepository, never()).findAll();
         }
     }
 
@@ -165,29 +206,43 @@ class EstadoServiceTest {
         @Test
         void deveAlterarEstadoPorId() {
             // Arrange
-            when(estadoMapper.toEntity(estadoDTO)).thenReturn(estado);
-            when(estadoMapper.toDto(estado)).thenReturn(estadoDTO);
-            doNothing().when(estadoMapper).updateFromDto(estadoDTO, estado);
-            when(estadoRepository.findByNomeOrSiglaAndIdNot(estado.getNome(), estado.getSigla(), estado.getId()))
+            var estadoAlterado = new EstadoDTO(estado.getId(), "Sergipe", "SE");
+            when(estadoMapper.toDto(estado)).thenReturn(estadoAlterado);
+            doNothing().when(estadoMapper).updateFromDto(estadoAlterado, estado);
+            when(estadoRepository.findByNomeOrSiglaAndIdNot("Sergipe", "SE", estado.getId()))
                     .thenReturn(Optional.empty());
-            when(estadoRepository.save(estado)).thenReturn(estado);
             when(estadoRepository.findById(estado.getId())).thenReturn(Optional.of(estado));
 
             // Act
-            var estadoSalvo = estadoService.atualizar(estadoDTO.id(), estadoDTO);
+            var estadoSalvo = estadoService.atualizar(estadoDTO.id(), estadoAlterado);
 
             // Assert
             assertThat(estadoSalvo)
                     .isNotNull()
                     .isInstanceOf(EstadoDTO.class)
-                    .isEqualTo(estadoDTO);
-            verify(estadoRepository)
-                    .findByNomeOrSiglaAndIdNot(estadoDTO.nome(), estadoDTO.sigla(), estadoDTO.id());
+                    .isEqualTo(estadoAlterado);
+            verify(estadoRepository).findByNomeOrSiglaAndIdNot("Sergipe", "SE", estadoDTO.id());
             verify(estadoRepository).findById(estadoDTO.id());
-            verify(estadoRepository).save(estado);
-            verify(estadoMapper).updateFromDto(estadoDTO, estado);
-            verify(estadoMapper).toEntity(estadoDTO);
-            verify(estadoMapper, times(2)).toDto(estado);
+            verify(estadoRepository).flush();
+            verify(estadoRepository, never()).save(any());
+            verify(estadoMapper).updateFromDto(estadoAlterado, estado);
+            verify(estadoMapper).toDto(estado);
+        }
+
+        @DisplayName("Não deve checar duplicidade quando nome e sigla do Estado não mudarem")
+        @Test
+        void naoDeveChecarDuplicidade_QuandoNomeESiglaNaoMudarem() {
+            // Arrange
+            when(estadoMapper.toDto(estado)).thenReturn(estadoDTO);
+            when(estadoRepository.findById(estado.getId())).thenReturn(Optional.of(estado));
+
+            // Act
+            var estadoSalvo = estadoService.atualizar(estadoDTO.id(), estadoDTO);
+
+            // Assert
+            assertThat(estadoSalvo).isEqualTo(estadoDTO);
+            verify(estadoRepository, never()).findByNomeOrSiglaAndIdNot(any(), any(), any());
+            verify(estadoRepository).flush();
         }
 
         @DisplayName("Deve lançar exceção ao tentar alterar Estado com id inexistente")
@@ -207,20 +262,18 @@ class EstadoServiceTest {
         @Test
         void deveGerarExcecao_QuandoAlterarEstado_PorEstadoExistente() {
             // Arrange
-            when(estadoMapper.toEntity(estadoDTO)).thenReturn(estado);
-            when(estadoMapper.toDto(estado)).thenReturn(estadoDTO);
+            var estadoExistente = Estado.builder().id(estado.getId() + 1).nome("Sergipe").sigla("SE").build();
+            var estadoAlterado = new EstadoDTO(estado.getId(), "Sergipe", "SE");
             when(estadoRepository.findById(estado.getId())).thenReturn(Optional.of(estado));
-            when(estadoRepository.findByNomeOrSiglaAndIdNot(estado.getNome(), estado.getSigla(), estado.getId()))
-                    .thenReturn(Optional.of(estado));
+            when(estadoRepository.findByNomeOrSiglaAndIdNot("Sergipe", "SE", estado.getId()))
+                    .thenReturn(Optional.of(estadoExistente));
 
             // Act & Assert
-            assertThatThrownBy(() -> estadoService.atualizar(estadoDTO.id(), estadoDTO))
+            assertThatThrownBy(() -> estadoService.atualizar(estadoDTO.id(), estadoAlterado))
                     .isInstanceOf(RecursoJaSalvoException.class)
-                    .hasMessage("Um estado com sigla '" + estadoDTO.sigla() +
-                            "' ou nome '" + estadoDTO.nome() + "' já existe no banco de dados.");
+                    .hasMessage("Um estado com sigla 'SE' ou nome 'Sergipe' já existe no banco de dados.");
 
-            verify(estadoRepository)
-                    .findByNomeOrSiglaAndIdNot(estado.getNome(), estado.getSigla(), estado.getId());
+            verify(estadoRepository).findByNomeOrSiglaAndIdNot("Sergipe", "SE", estado.getId());
             verify(estadoRepository).findById(estadoDTO.id());
             verifyNoMoreInteractions(estadoRepository);
         }
@@ -234,15 +287,15 @@ class EstadoServiceTest {
         @Test
         void deveDeletarEstadoPorId(){
             // Arrange
-            when(estadoRepository.findById(estado.getId()))
-                    .thenReturn(Optional.of(estado));
+            when(estadoRepository.buscarDadosPorId(estado.getId()))
+                    .thenReturn(Optional.of(gerarDadosDoEstado(estado)));
             doNothing().when(estadoRepository).deleteById(estado.getId());
 
             // Act
             estadoService.deletarPorId(estado.getId());
 
             // Assert
-            verify(estadoRepository).findById(estado.getId());
+            verify(estadoRepository).buscarDadosPorId(estado.getId());
             verify(estadoRepository).deleteById(estado.getId());
         }
 
@@ -250,14 +303,14 @@ class EstadoServiceTest {
         @Test
         void deveGerarExcecao_QuandoDeletarEstado_PorIdInexistente(){
             // Arrange
-            when(estadoRepository.findById(estado.getId())).thenReturn(Optional.empty());
+            when(estadoRepository.buscarDadosPorId(estado.getId())).thenReturn(Optional.empty());
 
             // Act & Assert
             assertThatThrownBy(() -> estadoService.deletarPorId(estado.getId()))
                     .isInstanceOf(RecursoNaoEncontradoException.class)
                     .hasMessage("Estado não encontrado com id: " + estado.getId());
 
-            verify(estadoRepository).findById(estado.getId());
+            verify(estadoRepository).buscarDadosPorId(estado.getId());
         }
     }
 }
@@ -0,0 +1,130 @@
+package br.com.reservei.api.application.usecases.reserva;
+
+import br.com.reservei.api.application.dto.ReservaDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AgendaDoDiaTest {
+
+    private static final Long RESTAURANTE_ID = 1L;
+
+    private AgendaDoDia agendaDoDia;
+    private LocalDate hoje;
+    private List<ReservaDTO> reservasNoBanco;
+    private List<LocalDate> cargas;
+    private Function<LocalDate, List<ReservaDTO>> carregarDia;
+
+    @BeforeEach
+    void setUp() {
+        this.agendaDoDia = new AgendaDoDia(Duration.ofHours(1));
+        this.hoje = LocalDate.now();
+        this.reservasNoBanco = new ArrayList<>(List.of(
+                reserva(1L, hoje.atTime(12, 0)),
+                reserva(2L, hoje.atTime(12, 0)),
+                reserva(3L, hoje.atTime(13, 30)),
+                reserva(4L, hoje.atTime(20, 0))));
+        this.cargas = new ArrayList<>();
+        this.carregarDia = dia -> {
+            cargas.add(dia);
+            return List.copyOf(reservasNoBanco);
+        };
+    }
+
+    @DisplayName("Buscar na agenda")
+    @Nested
+    class BuscarNaAgenda {
+
+        @DisplayName("Deve retornar as reservas a partir de de e antes de ate, em ordem de horário")
+        @Test
+        void deveBuscarReservasDoPeriodo() {
+            var reservas = agendaDoDia.buscar(RESTAURANTE_ID, hoje, hoje.atTime(12, 0), hoje.atTime(20, 0), carregarDia);
+
+            assertThat(reservas).extracting(ReservaDTO::id).containsExactly(1L, 2L, 3L);
+        }
+
+        @DisplayName("Deve carregar o dia uma única vez enquanto não houver alteração")
+        @Test
+        void deveCarregarDiaUmaVez() {
+            agendaDoDia.buscar(RESTAURANTE_ID, hoje, hoje.atStartOfDay(), hoje.plusDays(1).atStartOfDay(), carregarDia);
+            var reservas = agendaDoDia.buscar(RESTAURANTE_ID, hoje, hoje.atTime(13, 0), hoje.atTime(21, 0), carregarDia);
+
+            assertThat(reservas).extracting(ReservaDTO::id).containsExactly(3L, 4L);
+            assertThat(cargas).containsExactly(hoje);
+        }
+
+        @DisplayName("Deve recarregar o dia depois de uma alteração no restaurante")
+        @Test
+        void deveRecarregarDia_QuandoHouverAlteracao() {
+            agendaDoDia.buscar(RESTAURANTE_ID, hoje, hoje.atStartOfDay(), hoje.plusDays(1).atStartOfDay(), carregarDia);
+            reservasNoBanco.add(reserva(5L, hoje.atTime(19, 0)));
+            agendaDoDia.registrarAlteracao(RESTAURANTE_ID);
+
+            var reservas = agendaDoDia.buscar(RESTAURANTE_ID, hoje, hoje.atTime(18, 0), hoje.atTime(21, 0), carregarDia);
+
+            assertThat(reservas).extracting(ReservaDTO::id).containsExactly(5L, 4L);
+            assertThat(cargas).hasSize(2);
+        }
+
+        @DisplayName("Deve manter a agenda quando a alteração for em outro restaurante")
+        @Test
+        void deveManterAgenda_QuandoAlteracaoForEmOutroRestaurante() {
+            agendaDoDia.buscar(RESTAURANTE_ID, hoje, hoje.atStartOfDay(), hoje.plusDays(1).atStartOfDay(), carregarDia);
+            agendaDoDia.registrarAlteracao(2L);
+
+            agendaDoDia.buscar(RESTAURANTE_ID, hoje, hoje.atStartOfDay(), hoje.plusDays(1).atStartOfDay(), carregarDia);
+
+            assertThat(cargas).hasSize(1);
+        }
+
+        @DisplayName("Deve recarregar a agenda quando o dia mudar")
+        @Test
+        void deveRecarregarAgenda_QuandoDiaMudar() {
+            var amanha = hoje.plusDays(1);
+            agendaDoDia.buscar(RESTAURANTE_ID, hoje, hoje.atStartOfDay(), amanha.atStartOfDay(), carregarDia);
+
+            agendaDoDia.buscar(RESTAURANTE_ID, amanha, amanha.atStartOfDay(), amanha.plusDays(1).atStartOfDay(), carregarDia);
+
+            assertThat(cargas).containsExactly(hoje, amanha);
+        }
+
+        @DisplayName("Deve recarregar a agenda vencida")
+        @Test
+        void deveRecarregarAgenda_QuandoValidadeExpirar() {
+            var agendaSemValidade = new AgendaDoDia(Duration.ZERO);
+            agendaSemValidade.buscar(RESTAURANTE_ID, hoje, hoje.atStartOfDay(), hoje.plusDays(1).atStartOfDay(), carregarDia);
+
+            agendaSemValidade.buscar(RESTAURANTE_ID, hoje, hoje.atStartOfDay(), hoje.plusDays(1).atStartOfDay(), carregarDia);
+
+            assertThat(cargas).hasSize(2);
+        }
+    }
+
+    @DisplayName("Cobertura do dia")
+    @Nested
+    class CoberturaDoDia {
+
+        @DisplayName("Deve cobrir apenas períodos contidos no dia")
+        @Test
+        void deveCobrirPeriodosDoDia() {
+            assertThat(AgendaDoDia.cobre(hoje, hoje.atStartOfDay(), hoje.plusDays(1).atStartOfDay())).isTrue();
+            assertThat(AgendaDoDia.cobre(hoje, hoje.atTime(18, 0), hoje.atTime(23, 0))).isTrue();
+            assertThat(AgendaDoDia.cobre(hoje, hoje.atStartOfDay().minusSeconds(1), hoje.atTime(1, 0))).isFalse();
+            assertThat(AgendaDoDia.cobre(hoje, hoje.atTime(18, 0), hoje.plusDays(1).atTime(1, 0))).isFalse();
+        }
+    }
+
+    private static ReservaDTO reserva(Long id, LocalDateTime horaDaReserva) {
+        return new ReservaDTO(id, RESTAURANTE_ID, horaDaReserva);
+    }
+}
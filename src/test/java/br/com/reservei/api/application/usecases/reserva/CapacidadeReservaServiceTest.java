@@ -0,0 +1,226 @@
+package br.com.reservei.api.application.usecases.reserva;
+
+import br.com.reservei.api.application.dto.HorarioDisponivelDTO;
+import br.com.reservei.api.application.dto.RestauranteDTO;
+import br.com.reservei.api.domain.exceptions.CapacidadeEsgotadaException;
+import br.com.reservei.api.domain.exceptions.HorarioIndisponivelException;
+import br.com.reservei.api.domain.repository.ReservaRepository;
+import br.com.reservei.api.domain.repository.projection.TotalReservasPorHorario;
+import br.com.reservei.api.infrastructure.utils.Cozinha;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CapacidadeReservaServiceTest {
+
+    @Mock
+    private ReservaRepository reservaRepository;
+
+    private CapacidadeReservaServiceImpl capacidadeReservaService;
+
+    private RestauranteDTO restauranteDTO;
+    private LocalDateTime horaDaReserva;
+
+    @BeforeEach
+    void setUp() {
+        this.capacidadeReservaService = new CapacidadeReservaServiceImpl(
+                new ContadorDeReservasImpl(reservaRepository, 4, null));
+        this.restauranteDTO = new RestauranteDTO(1L, "Germogli", Cozinha.ITALIANA, 1L, 2,
+                LocalTime.NOON, LocalTime.MIDNIGHT);
+        this.horaDaReserva = LocalDate.now().plusDays(1).atTime(20, 15);
+    }
+
+    @DisplayName("Reservar vaga")
+    @Nested
+    class ReservarVaga {
+
+        @DisplayName("Deve ocupar uma vaga no horário da reserva")
+        @Test
+        void deveOcuparVaga() {
+            capacidadeReservaService.reservar(restauranteDTO, horaDaReserva);
+
+            assertThat(capacidadeReservaService.buscarOcupacao(restauranteDTO.id(), horaDaReserva.withMinute(0)))
+                    .isEqualTo(1);
+        }
+
+        @DisplayName("Deve lançar exceção quando a hora já estiver lotada")
+        @Test
+        void deveGerarExcecao_QuandoCapacidadeEsgotada() {
+            capacidadeReservaService.reservar(restauranteDTO, horaDaReserva);
+            capacidadeReservaService.reservar(restauranteDTO, horaDaReserva.withMinute(45));
+
+            assertThatThrownBy(() -> capacidadeReservaService.reservar(restauranteDTO, horaDaReserva))
+                    .isInstanceOf(CapacidadeEsgotadaException.class);
+            assertThat(capacidadeReservaService.buscarOcupacao(restauranteDTO.id(), horaDaReserva))
+                    .isEqualTo(2);
+        }
+
+        @DisplayName("Deve lançar exceção quando o horário estiver fora do expediente")
+        @Test
+        void deveGerarExcecao_QuandoForaDoExpediente() {
+            assertThatThrownBy(() -> capacidadeReservaService.reservar(restauranteDTO, horaDaReserva.withHour(9)))
+                    .isInstanceOf(HorarioIndisponivelException.class);
+        }
+
+        @DisplayName("Deve aceitar reservas antes da meia-noite em expediente que termina à meia-noite")
+        @Test
+        void deveAceitarReserva_QuandoExpedienteTerminaAMeiaNoite() {
+            capacidadeReservaService.reservar(restauranteDTO, horaDaReserva.withHour(23));
+
+            assertThat(capacidadeReservaService.buscarOcupacao(restauranteDTO.id(), horaDaReserva.withHour(23)))
+                    .isEqualTo(1);
+        }
+
+        @DisplayName("Não deve ultrapassar a capacidade com reservas concorrentes")
+        @Test
+        void naoDeveUltrapassarCapacidade_ComReservasConcorrentes() throws InterruptedException {
+            var restaurante = new RestauranteDTO(2L, "Germogli", Cozinha.ITALIANA, 1L, 50,
+                    LocalTime.NOON, LocalTime.MIDNIGHT);
+            var aceitas = new AtomicInteger();
+            var inicio = new CountDownLatch(1);
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            for (int i = 0; i < 200; i++) {
+                executor.submit(() -> {
+                    try {
+                        inicio.await();
+                        capacidadeReservaService.reservar(restaurante, horaDaReserva);
+                        aceitas.incrementAndGet();
+                    } catch (CapacidadeEsgotadaException | InterruptedException ignored) {
+                    }
+                });
+            }
+            inicio.countDown();
+            executor.shutdown();
+            assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(aceitas.get()).isEqualTo(50);
+            assertThat(capacidadeReservaService.buscarOcupacao(restaurante.id(), horaDaReserva)).isEqualTo(50);
+        }
+    }
+
+    @DisplayName("Liberar vaga")
+    @Nested
+    class LiberarVaga {
+
+        @DisplayName("Deve liberar a vaga ocupada")
+        @Test
+        void deveLiberarVaga() {
+            capacidadeReservaService.reservar(restauranteDTO, horaDaReserva);
+            capacidadeReservaService.reservar(restauranteDTO, horaDaReserva);
+
+            capacidadeReservaService.liberar(restauranteDTO.id(), horaDaReserva);
+
+            assertThat(capacidadeReservaService.buscarOcupacao(restauranteDTO.id(), horaDaReserva))
+                    .isEqualTo(1);
+        }
+
+        @DisplayName("Não deve deixar a ocupação negativa")
+        @Test
+        void naoDeveDeixarOcupacaoNegativa() {
+            capacidadeReservaService.reservar(restauranteDTO, horaDaReserva);
+
+            capacidadeReservaService.liberar(restauranteDTO.id(), horaDaReserva);
+            capacidadeReservaService.liberar(restauranteDTO.id(), horaDaReserva);
+
+            assertThat(capacidadeReservaService.buscarOcupacao(restauranteDTO.id(), horaDaReserva))
+                    .isZero();
+        }
+    }
+
+    @DisplayName("Buscar disponibilidade")
+    @Nested
+    class BuscarDisponibilidade {
+
+        @DisplayName("Deve retornar as vagas restantes de cada hora do expediente")
+        @Test
+        void deveBuscarDisponibilidade() {
+            capacidadeReservaService.reservar(restauranteDTO, horaDaReserva);
+
+            var disponibilidade = capacidadeReservaService.buscarDisponibilidade(restauranteDTO,
+                    horaDaReserva.toLocalDate());
+
+            assertThat(disponibilidade.horarios())
+                    .hasSize(12)
+                    .first()
+                    .isEqualTo(new HorarioDisponivelDTO(LocalTime.NOON, 2));
+            assertThat(disponibilidade.horarios())
+                    .contains(new HorarioDisponivelDTO(LocalTime.of(20, 0), 1))
+                    .last()
+                    .isEqualTo(new HorarioDisponivelDTO(LocalTime.of(23, 0), 2));
+        }
+
+        @DisplayName("Deve incluir a hora de abertura quando o expediente começa no meio da hora")
+        @Test
+        void deveIncluirHoraDeAbertura_QuandoExpedienteComecaNoMeioDaHora() {
+            var restaurante = new RestauranteDTO(3L, "Germogli", Cozinha.ITALIANA, 1L, 5,
+                    LocalTime.of(18, 30), LocalTime.of(22, 0));
+
+            var disponibilidade = capacidadeReservaService.buscarDisponibilidade(restaurante,
+                    horaDaReserva.toLocalDate());
+
+            assertThat(disponibilidade.horarios())
+                    .extracting(HorarioDisponivelDTO::hora)
+                    .containsExactly(LocalTime.of(18, 0), LocalTime.of(19, 0),
+                            LocalTime.of(20, 0), LocalTime.of(21, 0));
+        }
+    }
+
+    @DisplayName("Reconstruir ocupação")
+    @Nested
+    class ReconstruirOcupacao {
+
+        @DisplayName("Deve reconstruir a ocupação a partir das reservas salvas")
+        @Test
+        void deveReconstruirOcupacao() {
+            when(reservaRepository.contarPorRestauranteEHorarioAPartirDe(any())).thenReturn(List.of(
+                    total(restauranteDTO.id(), horaDaReserva.withMinute(0), 1L),
+                    total(restauranteDTO.id(), horaDaReserva.withMinute(30), 1L)));
+
+            capacidadeReservaService.reconstruir();
+
+            assertThat(capacidadeReservaService.buscarOcupacao(restauranteDTO.id(), horaDaReserva))
+                    .isEqualTo(2);
+            assertThatThrownBy(() -> capacidadeReservaService.reservar(restauranteDTO, horaDaReserva))
+                    .isInstanceOf(CapacidadeEsgotadaException.class);
+        }
+    }
+
+    private static TotalReservasPorHorario total(Long restauranteId, LocalDateTime hora, Long total) {
+        return new TotalReservasPorHorario() {
+            @Override
+            public Long getRestauranteId() {
+                return restauranteId;
+            }
+
+            @Override
+            public LocalDateTime getHoraDaReserva() {
+                return hora;
+            }
+
+            @Override
+            public Long getTotal() {
+                return total;
+            }
+        };
+    }
+}
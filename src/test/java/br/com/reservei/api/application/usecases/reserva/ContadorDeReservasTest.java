@@ -0,0 +1,383 @@
+package br.com.reservei.api.application.usecases.reserva;
+
+import br.com.reservei.api.domain.repository.ReservaRepository;
+import br.com.reservei.api.domain.repository.projection.TotalReservasPorHorario;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ContadorDeReservasTest {
+
+    private static final int TRECHO_DE_DOIS_REGISTROS = 2 * LogDeReservas.TAMANHO_DO_REGISTRO;
+
+    @Mock
+    private ReservaRepository reservaRepository;
+
+    @TempDir
+    private Path diretorio;
+
+    private ContadorDeReservasImpl contadorDeReservas;
+    private LocalDateTime horaDaReserva;
+
+    @BeforeEach
+    void setUp() {
+        this.horaDaReserva = LocalDate.now().plusDays(1).atTime(20, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (contadorDeReservas != null) {
+            contadorDeReservas.encerrar();
+        }
+    }
+
+    @DisplayName("Contar sem log")
+    @Nested
+    class ContarSemLog {
+
+        @DisplayName("Deve respeitar o limite de cada restaurante em faixas diferentes")
+        @Test
+        void deveRespeitarLimitePorRestaurante() {
+            // Arrange
+            contadorDeReservas = new ContadorDeReservasImpl(reservaRepository, 4, null);
+
+            // Act
+            boolean primeira = contadorDeReservas.ocupar(1L, horaDaReserva, 1);
+            boolean segunda = contadorDeReservas.ocupar(1L, horaDaReserva, 1);
+            boolean outroRestaurante = contadorDeReservas.ocupar(2L, horaDaReserva, 1);
+
+            // Assert
+            assertThat(primeira).isTrue();
+            assertThat(segunda).isFalse();
+            assertThat(outroRestaurante).isTrue();
+            assertThat(contadorDeReservas.buscarOcupacaoDoDia(1L, horaDaReserva.toLocalDate())[20]).isEqualTo(1);
+        }
+
+        @DisplayName("Não deve desocupar abaixo de zero")
+        @Test
+        void naoDeveDesocuparAbaixoDeZero() {
+            // Arrange
+            contadorDeReservas = new ContadorDeReservasImpl(reservaRepository, 4, null);
+            contadorDeReservas.ocupar(1L, horaDaReserva, 2);
+
+            // Act
+            contadorDeReservas.desocupar(1L, horaDaReserva);
+            contadorDeReservas.desocupar(1L, horaDaReserva);
+            contadorDeReservas.desocupar(3L, horaDaReserva);
+
+            // Assert
+            assertThat(contadorDeReservas.buscarOcupacao(1L, horaDaReserva)).isZero();
+            assertThat(contadorDeReservas.buscarOcupacao(3L, horaDaReserva)).isZero();
+        }
+
+        @DisplayName("Deve descartar os dias que já passaram")
+        @Test
+        void deveDescartarDiasPassados() {
+            // Arrange
+            contadorDeReservas = new ContadorDeReservasImpl(reservaRepository, 4, null);
+            LocalDateTime ontem = horaDaReserva.minusDays(2);
+            contadorDeReservas.ocupar(1L, ontem, 2);
+            contadorDeReservas.ocupar(1L, horaDaReserva, 2);
+
+            // Act
+            contadorDeReservas.descartarDiasAnterioresA(horaDaReserva.toLocalDate().minusDays(1));
+
+            // Assert
+            assertThat(contadorDeReservas.buscarOcupacao(1L, ontem)).isZero();
+            assertThat(contadorDeReservas.buscarOcupacao(1L, horaDaReserva)).isEqualTo(1);
+        }
+    }
+
+    @DisplayName("Contar dentro de uma transação")
+    @Nested
+    class ContarEmTransacao {
+
+        @DisplayName("Deve devolver a vaga ocupada quando a transação for desfeita")
+        @Test
+        void deveDevolverVaga_QuandoTransacaoForDesfeita() throws Exception {
+            // Arrange
+            abrir();
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                // Act
+                assertThat(contadorDeReservas.ocupar(1L, horaDaReserva, 1)).isTrue();
+                assertThat(contadorDeReservas.ocupar(1L, horaDaReserva, 1)).isFalse();
+                TransactionSynchronizationManager.getSynchronizations()
+                        .forEach(sincronizacao -> sincronizacao.afterCompletion(
+                                TransactionSynchronization.STATUS_ROLLED_BACK));
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+            contadorDeReservas.encerrar();
+
+            // Assert
+            assertThat(contadorDeReservas.buscarOcupacao(1L, horaDaReserva)).isZero();
+            assertThat(registrosDoLog()).isEmpty();
+        }
+
+        @DisplayName("Deve gravar a vaga ocupada no log só depois do commit")
+        @Test
+        void deveGravarVagaNoLog_SoDepoisDoCommit() throws Exception {
+            // Arrange
+            abrir();
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                // Act
+                contadorDeReservas.ocupar(1L, horaDaReserva, 10);
+                assertThat(contadorDeReservas.buscarOcupacao(1L, horaDaReserva)).isEqualTo(1);
+                TransactionSynchronizationManager.getSynchronizations()
+                        .forEach(sincronizacao -> sincronizacao.afterCompletion(
+                                TransactionSynchronization.STATUS_COMMITTED));
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+            contadorDeReservas.encerrar();
+
+            // Assert
+            assertThat(contadorDeReservas.buscarOcupacao(1L, horaDaReserva)).isEqualTo(1);
+            assertThat(registrosDoLog()).containsExactly(new LogDeReservas.Registro(1L, horaDaReserva, 1));
+        }
+
+        @DisplayName("Deve liberar a vaga só depois do commit")
+        @Test
+        void deveLiberarVaga_DepoisDoCommit() throws Exception {
+            // Arrange
+            abrir();
+            contadorDeReservas.ocupar(1L, horaDaReserva, 10);
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                // Act
+                contadorDeReservas.desocupar(1L, horaDaReserva);
+                assertThat(contadorDeReservas.buscarOcupacao(1L, horaDaReserva)).isEqualTo(1);
+                TransactionSynchronizationManager.getSynchronizations()
+                        .forEach(TransactionSynchronization::afterCommit);
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+            contadorDeReservas.encerrar();
+
+            // Assert
+            assertThat(contadorDeReservas.buscarOcupacao(1L, horaDaReserva)).isZero();
+            assertThat(registrosDoLog()).containsExactly(new LogDeReservas.Registro(1L, horaDaReserva, 1),
+                    new LogDeReservas.Registro(1L, horaDaReserva, -1));
+        }
+    }
+
+    @DisplayName("Contar com log")
+    @Nested
+    class ContarComLog {
+
+        @DisplayName("Deve carregar do banco e criar o log quando ele ainda não existir")
+        @Test
+        void deveCarregarDoBanco_QuandoLogNaoExistir() {
+            // Arrange
+            when(reservaRepository.contarPorRestauranteEHorarioAPartirDe(LocalDate.now().atStartOfDay()))
+                    .thenReturn(List.of(total(1L, horaDaReserva, 3L)));
+
+            // Act
+            abrir();
+
+            // Assert
+            assertThat(contadorDeReservas.buscarOcupacao(1L, horaDaReserva)).isEqualTo(3);
+            assertThat(diretorio.resolve("reservas.log")).exists();
+        }
+
+        @DisplayName("Deve reproduzir o log sem consultar o banco ao reabrir")
+        @Test
+        void deveReproduzirLog_QuandoReabrir() throws Exception {
+            // Arrange
+            abrir();
+            contadorDeReservas.ocupar(1L, horaDaReserva, 10);
+            contadorDeReservas.ocupar(1L, horaDaReserva, 10);
+            contadorDeReservas.ocupar(2L, horaDaReserva.plusHours(1), 10);
+            contadorDeReservas.desocupar(1L, horaDaReserva);
+            contadorDeReservas.encerrar();
+
+            // Act
+            abrir();
+
+            // Assert
+            assertThat(contadorDeReservas.buscarOcupacao(1L, horaDaReserva)).isEqualTo(1);
+            assertThat(contadorDeReservas.buscarOcupacao(2L, horaDaReserva.plusHours(1))).isEqualTo(1);
+            verify(reservaRepository, times(1)).contarPorRestauranteEHorarioAPartirDe(any());
+        }
+
+        @DisplayName("Deve ignorar os dias que já passaram ao reproduzir o log")
+        @Test
+        void deveIgnorarDiasPassados_QuandoReabrir() throws Exception {
+            // Arrange
+            LocalDateTime ontem = LocalDate.now().minusDays(1).atTime(20, 0);
+            abrir();
+            contadorDeReservas.ocupar(1L, ontem, 10);
+            contadorDeReservas.ocupar(1L, horaDaReserva, 10);
+            contadorDeReservas.encerrar();
+
+            // Act
+            abrir();
+            contadorDeReservas.encerrar();
+
+            // Assert
+            assertThat(contadorDeReservas.buscarOcupacao(1L, ontem)).isZero();
+            assertThat(registrosDoLog()).containsExactly(new LogDeReservas.Registro(1L, horaDaReserva, 1));
+        }
+
+        @DisplayName("Deve continuar em um novo trecho quando o trecho mapeado encher")
+        @Test
+        void deveContinuarEmNovoTrecho_QuandoTrechoEncher() throws Exception {
+            // Arrange
+            abrir();
+
+            // Act
+            for (int i = 0; i < 5; i++) {
+                contadorDeReservas.ocupar(1L, horaDaReserva, 10);
+            }
+            contadorDeReservas.encerrar();
+
+            // Assert
+            assertThat(registrosDoLog()).hasSize(5)
+                    .allMatch(registro -> registro.equals(new LogDeReservas.Registro(1L, horaDaReserva, 1)));
+        }
+
+        @DisplayName("Deve ignorar o registro corrompido no fim do log")
+        @Test
+        void deveIgnorarRegistroCorrompido() throws Exception {
+            // Arrange
+            abrir();
+            contadorDeReservas.ocupar(1L, horaDaReserva, 10);
+            contadorDeReservas.ocupar(1L, horaDaReserva, 10);
+            contadorDeReservas.encerrar();
+            try (RandomAccessFile arquivo = new RandomAccessFile(diretorio.resolve("reservas.log").toFile(), "rw")) {
+                arquivo.seek(LogDeReservas.TAMANHO_DO_REGISTRO + 3);
+                arquivo.write(0x7F);
+            }
+
+            // Act
+            List<LogDeReservas.Registro> registros = registrosDoLog();
+
+            // Assert
+            assertThat(registros).containsExactly(new LogDeReservas.Registro(1L, horaDaReserva, 1));
+        }
+
+        @DisplayName("Deve compactar o log em um registro por hora ao reabrir")
+        @Test
+        void deveCompactarLog_QuandoReabrir() throws Exception {
+            // Arrange
+            abrir();
+            for (int i = 0; i < 4; i++) {
+                contadorDeReservas.ocupar(1L, horaDaReserva, 10);
+            }
+            contadorDeReservas.encerrar();
+
+            // Act
+            abrir();
+            contadorDeReservas.encerrar();
+
+            // Assert
+            assertThat(registrosDoLog()).containsExactly(new LogDeReservas.Registro(1L, horaDaReserva, 4));
+            assertThat(Files.size(diretorio.resolve("reservas.log")))
+                    .isEqualTo(LogDeReservas.TAMANHO_DO_REGISTRO + TRECHO_DE_DOIS_REGISTROS);
+        }
+
+        @DisplayName("Deve desfazer a ocupação quando não conseguir gravar o log")
+        @Test
+        void deveDesfazerOcupacao_QuandoLogFalhar() {
+            // Arrange
+            abrir();
+            contadorDeReservas.encerrar();
+
+            // Act & Assert
+            assertThatThrownBy(() -> contadorDeReservas.ocupar(1L, horaDaReserva, 10))
+                    .isInstanceOf(IllegalStateException.class);
+            assertThat(contadorDeReservas.buscarOcupacao(1L, horaDaReserva)).isZero();
+        }
+
+        @DisplayName("Deve respeitar o limite e registrar cada vaga com reservas concorrentes")
+        @Test
+        void deveRespeitarLimite_QuandoReservasConcorrentes() throws Exception {
+            // Arrange
+            abrir();
+            List<Callable<Boolean>> tarefas = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                long restauranteId = i % 4;
+                tarefas.add(() -> contadorDeReservas.ocupar(restauranteId, horaDaReserva, 30));
+            }
+
+            // Act
+            int aceitas = 0;
+            try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+                for (Future<Boolean> tarefa : executor.invokeAll(tarefas)) {
+                    aceitas += tarefa.get() ? 1 : 0;
+                }
+            }
+            contadorDeReservas.encerrar();
+
+            // Assert
+            assertThat(aceitas).isEqualTo(120);
+            List<LogDeReservas.Registro> registros = registrosDoLog();
+            assertThat(registros).hasSize(120);
+            for (long restauranteId = 0; restauranteId < 4; restauranteId++) {
+                assertThat(contadorDeReservas.buscarOcupacao(restauranteId, horaDaReserva)).isEqualTo(30);
+                long id = restauranteId;
+                assertThat(registros).filteredOn(registro -> registro.restauranteId() == id).hasSize(30);
+            }
+        }
+    }
+
+    private void abrir() {
+        contadorDeReservas = new ContadorDeReservasImpl(reservaRepository, 4,
+                new LogDeReservas(diretorio, TRECHO_DE_DOIS_REGISTROS));
+        contadorDeReservas.reconstruir();
+    }
+
+    private List<LogDeReservas.Registro> registrosDoLog() throws IOException {
+        List<LogDeReservas.Registro> registros = new ArrayList<>();
+        new LogDeReservas(diretorio, TRECHO_DE_DOIS_REGISTROS).reproduzir(registros::add);
+        return registros;
+    }
+
+    private static TotalReservasPorHorario total(Long restauranteId, LocalDateTime hora, Long total) {
+        return new TotalReservasPorHorario() {
+            @Override
+            public Long getRestauranteId() {
+                return restauranteId;
+            }
+
+            @Override
+            public LocalDateTime getHoraDaReserva() {
+                return hora;
+            }
+
+            @Override
+            public Long getTotal() {
+                return total;
+            }
+        };
+    }
+}
@@ -0,0 +1,210 @@
+package br.com.reservei.api.application.usecases.reserva;
+
+import br.com.reservei.api.application.dto.RestauranteDTO;
+import br.com.reservei.api.application.dto.TotalDoPeriodoDTO;
+import br.com.reservei.api.application.usecases.restaurante.RestauranteService;
+import br.com.reservei.api.domain.exceptions.PeriodoInvalidoException;
+import br.com.reservei.api.domain.repository.ReservaPorHoraRepository;
+import br.com.reservei.api.domain.repository.projection.HoraPendente;
+import br.com.reservei.api.domain.repository.projection.TotalDoPeriodo;
+import br.com.reservei.api.infrastructure.utils.Granularidade;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static br.com.reservei.api.infrastructure.utils.RestauranteHelper.gerarRestaurante;
+import static br.com.reservei.api.infrastructure.utils.RestauranteHelper.gerarRestauranteDto;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OcupacaoServiceTest {
+
+    @Mock
+    private ReservaPorHoraRepository reservaPorHoraRepository;
+
+    @Mock
+    private RestauranteService restauranteService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OcupacaoServiceImpl ocupacaoService;
+    private Long restauranteId;
+    private LocalDate segunda;
+
+    @BeforeEach
+    void setUp() {
+        this.ocupacaoService = new OcupacaoServiceImpl(reservaPorHoraRepository, restauranteService, transactionManager);
+        this.restauranteId = 1L;
+        this.segunda = LocalDate.of(2025, 1, 6);
+    }
+
+    @DisplayName("Persistir ocupação")
+    @Nested
+    class PersistirOcupacao {
+
+        @DisplayName("Deve marcar a hora de cada reserva criada, movida ou deletada")
+        @Test
+        void deveMarcarHoraDaReserva() {
+            ocupacaoService.registrar(restauranteId, segunda.atTime(20, 15));
+            ocupacaoService.remover(restauranteId, segunda.atTime(21, 45));
+            ocupacaoService.registrar(restauranteId, null);
+
+            verify(reservaPorHoraRepository).marcarPendente(restauranteId, segunda.atTime(20, 0));
+            verify(reservaPorHoraRepository).marcarPendente(restauranteId, segunda.atTime(21, 0));
+            verifyNoMoreInteractions(reservaPorHoraRepository);
+        }
+
+        @DisplayName("Deve recontar as horas marcadas e recalcular os dias e semanas afetados")
+        @Test
+        void deveRecontarHorasMarcadas() {
+            when(reservaPorHoraRepository.buscarPendentes(anyInt())).thenReturn(List.of(
+                    pendente(1L, segunda.plusDays(7).atTime(12, 0)),
+                    pendente(2L, segunda.atTime(20, 0)),
+                    pendente(3L, segunda.atTime(21, 0)),
+                    pendente(4L, segunda.atTime(20, 0)),
+                    pendente(5L, segunda.plusDays(6).atTime(13, 0))));
+
+            ocupacaoService.persistir();
+
+            InOrder ordem = inOrder(reservaPorHoraRepository);
+            ordem.verify(reservaPorHoraRepository).buscarPendentes(anyInt());
+            ordem.verify(reservaPorHoraRepository).recontarHora(restauranteId, segunda.atTime(20, 0),
+                    segunda.atTime(21, 0));
+            ordem.verify(reservaPorHoraRepository).recontarHora(restauranteId, segunda.atTime(21, 0),
+                    segunda.atTime(22, 0));
+            ordem.verify(reservaPorHoraRepository).recontarHora(restauranteId, segunda.plusDays(6).atTime(13, 0),
+                    segunda.plusDays(6).atTime(14, 0));
+            ordem.verify(reservaPorHoraRepository).recontarHora(restauranteId, segunda.plusDays(7).atTime(12, 0),
+                    segunda.plusDays(7).atTime(13, 0));
+            ordem.verify(reservaPorHoraRepository).compactarDia(restauranteId, segunda,
+                    segunda.atStartOfDay(), segunda.plusDays(1).atStartOfDay());
+            ordem.verify(reservaPorHoraRepository).compactarDia(restauranteId, segunda.plusDays(6),
+                    segunda.plusDays(6).atStartOfDay(), segunda.plusDays(7).atStartOfDay());
+            ordem.verify(reservaPorHoraRepository).compactarDia(restauranteId, segunda.plusDays(7),
+                    segunda.plusDays(7).atStartOfDay(), segunda.plusDays(8).atStartOfDay());
+            ordem.verify(reservaPorHoraRepository).compactarSemana(restauranteId, segunda, segunda.plusWeeks(1));
+            ordem.verify(reservaPorHoraRepository).compactarSemana(restauranteId, segunda.plusWeeks(1), segunda.plusWeeks(2));
+            ordem.verify(reservaPorHoraRepository).apagarPendentes(List.of(1L, 2L, 3L, 4L, 5L));
+            verifyNoMoreInteractions(reservaPorHoraRepository);
+        }
+
+        @DisplayName("Não deve gravar nada quando não houver horas marcadas")
+        @Test
+        void naoDeveGravar_QuandoNaoHouverHorasMarcadas() {
+            when(reservaPorHoraRepository.buscarPendentes(anyInt())).thenReturn(List.of());
+
+            ocupacaoService.persistir();
+
+            verify(reservaPorHoraRepository).buscarPendentes(anyInt());
+            verifyNoMoreInteractions(reservaPorHoraRepository);
+        }
+
+        @DisplayName("Deve manter as horas marcadas quando a gravação falhar")
+        @Test
+        void deveManterHorasMarcadas_QuandoGravacaoFalhar() {
+            when(reservaPorHoraRepository.buscarPendentes(anyInt()))
+                    .thenReturn(List.of(pendente(1L, segunda.atTime(20, 0))));
+            when(reservaPorHoraRepository.recontarHora(anyLong(), any(), any()))
+                    .thenThrow(new DataAccessResourceFailureException("Banco indisponível"));
+
+            assertThatThrownBy(() -> ocupacaoService.persistir())
+                    .isInstanceOf(DataAccessResourceFailureException.class);
+
+            verify(reservaPorHoraRepository, never()).apagarPendentes(any());
+            verify(transactionManager).rollback(any());
+        }
+    }
+
+    @DisplayName("Buscar ocupação")
+    @Nested
+    class BuscarOcupacao {
+
+        @DisplayName("Deve buscar as semanas a partir da segunda-feira da data inicial")
+        @Test
+        void deveBuscarOcupacaoPorSemana() {
+            RestauranteDTO restauranteDTO = gerarRestauranteDto(gerarRestaurante());
+            var quarta = segunda.plusDays(2);
+            when(restauranteService.buscarPorId(restauranteId)).thenReturn(restauranteDTO);
+            when(reservaPorHoraRepository.buscarPorSemana(restauranteId, segunda, quarta.plusWeeks(2)))
+                    .thenReturn(List.of(total(segunda.atStartOfDay(), 12), total(segunda.plusWeeks(1).atStartOfDay(), 7)));
+
+            var ocupacao = ocupacaoService.buscar(restauranteId, Granularidade.SEMANA, quarta, quarta.plusWeeks(2));
+
+            assertThat(ocupacao.reservasPorHora()).isEqualTo(restauranteDTO.reservasPorHora());
+            assertThat(ocupacao.periodos()).containsExactly(
+                    new TotalDoPeriodoDTO(segunda.atStartOfDay(), 12),
+                    new TotalDoPeriodoDTO(segunda.plusWeeks(1).atStartOfDay(), 7));
+        }
+
+        @DisplayName("Deve buscar as horas entre o início do primeiro dia e o início do último")
+        @Test
+        void deveBuscarOcupacaoPorHora() {
+            when(restauranteService.buscarPorId(restauranteId)).thenReturn(gerarRestauranteDto(gerarRestaurante()));
+            when(reservaPorHoraRepository.buscarPorHora(restauranteId, segunda.atStartOfDay(),
+                    segunda.plusDays(1).atStartOfDay())).thenReturn(List.of(total(segunda.atTime(20, 0), 3)));
+
+            var ocupacao = ocupacaoService.buscar(restauranteId, Granularidade.HORA, segunda, segunda.plusDays(1));
+
+            assertThat(ocupacao.periodos()).containsExactly(new TotalDoPeriodoDTO(segunda.atTime(20, 0), 3));
+            verify(reservaPorHoraRepository, never()).buscarPorDia(any(), any(), any());
+        }
+
+        @DisplayName("Deve lançar exceção quando o início do período não for anterior ao fim")
+        @Test
+        void deveGerarExcecao_QuandoPeriodoForInvalido() {
+            assertThatThrownBy(() -> ocupacaoService.buscar(restauranteId, Granularidade.DIA, segunda, segunda))
+                    .isInstanceOf(PeriodoInvalidoException.class);
+            verifyNoInteractions(reservaPorHoraRepository, restauranteService);
+        }
+    }
+
+    private static TotalDoPeriodo total(LocalDateTime inicio, long total) {
+        return new TotalDoPeriodo() {
+            @Override
+            public LocalDateTime getInicio() {
+                return inicio;
+            }
+
+            @Override
+            public Long getTotal() {
+                return total;
+            }
+        };
+    }
+
+    private HoraPendente pendente(Long id, LocalDateTime hora) {
+        return new HoraPendente() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getRestauranteId() {
+                return restauranteId;
+            }
+
+            @Override
+            public LocalDateTime getHora() {
+                return hora;
+            }
+        };
+    }
+}
@@ -1,13 +1,26 @@
 package br.com.reservei.api.application.usecases.reserva;
 
+import br.com.reservei.api.application.dto.DisponibilidadeDTO;
+import br.com.reservei.api.application.dto.ItemLoteDTO;
 import br.com.reservei.api.application.dto.ReservaDTO;
 import br.com.reservei.api.application.dto.RestauranteDTO;
 import br.com.reservei.api.application.usecases.restaurante.RestauranteService;
+import br.com.reservei.api.domain.exceptions.CapacidadeEsgotadaException;
+import br.com.reservei.api.domain.exceptions.LoteInvalidoException;
+import br.com.reservei.api.domain.exceptions.PeriodoInvalidoException;
 import br.com.reservei.api.domain.exceptions.RecursoNaoEncontradoException;
+import br.com.reservei.api.domain.exceptions.VersaoDesatualizadaException;
+import br.com.reservei.api.domain.model.Restaurante;
+import br.com.reservei.api.domain.repository.projection.HorarioDaReserva;
+import br.com.reservei.api.domain.repository.projection.ReservaDoPeriodo;
+import br.com.reservei.api.infrastructure.utils.Retentativa;
+import br.com.reservei.api.infrastructure.utils.StatusItemLote;
 import br.com.reservei.api.interfaces.mapper.ReservaMapper;
 import br.com.reservei.api.domain.model.Reserva;
 import br.com.reservei.api.domain.repository.ReservaRepository;
 import br.com.reservei.api.infrastructure.utils.ReservaHelper;
+import br.com.reservei.api.interfaces.mapper.RestauranteMapper;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -16,10 +29,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
+import static br.com.reservei.api.infrastructure.utils.ReservaHelper.gerarDadosDaReserva;
 import static br.com.reservei.api.infrastructure.utils.ReservaHelper.gerarReserva;
 import static br.com.reservei.api.infrastructure.utils.ReservaHelper.gerarReservaDto;
 import static br.com.reservei.api.infrastructure.utils.RestauranteHelper.gerarRestaurante;
@@ -37,9 +58,27 @@ class ReservaServiceTest {
     @Mock
     private ReservaMapper reservaMapper;
 
+    @Mock
+    private RestauranteMapper restauranteMapper;
+
+    @Mock
+    private EntityManager entityManager;
+
     @Mock
     private RestauranteService restauranteService;
 
+    @Mock
+    private CapacidadeReservaService capacidadeReservaService;
+
+    @Mock
+    private Retentativa retentativa;
+
+    @Mock
+    private AgendaDoDia agendaDoDia;
+
+    @Mock
+    private OcupacaoService ocupacaoService;
+
     @InjectMocks
     private ReservaServiceImpl reservaService;
 
@@ -61,8 +100,7 @@ class ReservaServiceTest {
         @Test
         void deveBuscarReservaPorId() {
             // Arrange
-            when(reservaRepository.findById(reserva.getId())).thenReturn(Optional.of(reserva));
-            when(reservaMapper.toDto(reserva)).thenReturn(gerarReservaDto(reserva));
+            when(reservaRepository.buscarDadosPorId(reserva.getId())).thenReturn(Optional.of(gerarDadosDaReserva(reserva)));
 
             // Act
             var reservaRecebido = reservaService.buscarPorId(reserva.getId());
@@ -74,20 +112,20 @@ class ReservaServiceTest {
                     .isEqualTo(reserva);
             assertThat(reservaRecebido.restauranteId()).isEqualTo(reserva.getRestaurante().getId());
 
-            verify(reservaRepository).findById(reserva.getId());
+            verify(reservaRepository).buscarDadosPorId(reserva.getId());
         }
 
         @DisplayName("Deve lançar exceção ao buscar Reserva com ID inexistente")
         @Test
         void deveGerarExcecao_QuandoBuscarReserva_PorIdInexistente() {
             // Arrange
-            when(reservaRepository.findById(reserva.getId())).thenReturn(Optional.empty());
+            when(reservaRepository.buscarDadosPorId(reserva.getId())).thenReturn(Optional.empty());
 
             // Act & Assert
             assertThatThrownBy(() -> reservaService.buscarPorId(reserva.getId()))
                     .isInstanceOf(RecursoNaoEncontradoException.class)
                     .hasMessage("Reserva não encontrada com id: " + reserva.getId());
-            verify(reservaRepository).findById(reserva.getId());
+            verify(reservaRepository).buscarDadosPorId(reserva.getId());
         }
 
         @DisplayName("Deve retornar uma lista de reservas salvos")
@@ -99,12 +137,8 @@ class ReservaServiceTest {
                     .map(ReservaHelper::gerarReservaDto)
                     .toList();
 
-            when(reservaRepository.findAll()).thenReturn(reservas);
-            when(reservaMapper.toDto(any(Reserva.class)))
-                    .thenAnswer(invocation -> {
-                        reserva = invocation.getArgument(0);
-                        return gerarReservaDto(reserva);
-                    });
+            when(reservaRepository.listarDados())
+                    .thenReturn(reservas.stream().map(ReservaHelper::gerarDadosDaReserva).toList());
 
             // Act
             List<ReservaDTO> reservasRecebidos = reservaService.buscarTodos();
@@ -115,8 +149,159 @@ class ReservaServiceTest {
                     .isNotEmpty()
                     .hasSize(3)
                     .containsExactlyElementsOf(reservasDto);
-            verify(reservaRepository).findAll();
-            verify(reservaMapper, times(3)).toDto(any(Reserva.class));
+            verify(reservaRepository).listarDados();
+            verifyNoInteractions(reservaMapper);
+        }
+
+        @DisplayName("Deve retornar uma página de reservas a partir do cursor informado")
+        @Test
+        void deveBuscarPaginaDeReservas() {
+            // Arrange
+            var reservas = List.of(gerarReserva(), gerarReserva());
+            when(reservaRepository.listarDadosAposId(10L, Limit.of(2)))
+                    .thenReturn(reservas.stream().map(ReservaHelper::gerarDadosDaReserva).toList());
+
+            // Act
+            List<ReservaDTO> pagina = reservaService.buscarPagina(10L, 2);
+
+            // Assert
+            assertThat(pagina)
+                    .hasSize(2)
+                    .containsExactlyElementsOf(reservas.stream().map(ReservaHelper::gerarReservaDto).toList());
+            verify(reservaRepository).listarDadosAposId(10L, Limit.of(2));
+            verify(reservaRepository, never()).findAll();
+        }
+
+        @DisplayName("Deve percorrer todas as reservas em stream")
+        @Test
+        void devePercorrerTodasAsReservas() {
+            // Arrange
+            var reservas = List.of(gerarReserva(), gerarReserva(), gerarReserva());
+            when(reservaRepository.streamDados())
+                    .thenReturn(reservas.stream().map(ReservaHelper::gerarDadosDaReserva));
+            List<ReservaDTO> recebidas = new ArrayList<>();
+
+            // Act
+            reservaService.percorrerTodos(recebidas::add);
+
+            // Assert
+            assertThat(recebidas)
+                    .containsExactlyElementsOf(reservas.stream().map(ReservaHelper::gerarReservaDto).toList());
+            verify(reservaRepository, never()).findAll();
+        }
+    }
+
+    @DisplayName("Buscar Reservas do período")
+    @Nested
+    class BuscarReservasDoPeriodo {
+
+        @DisplayName("Deve buscar no banco as reservas de um período fora do dia corrente")
+        @Test
+        void deveBuscarNoBanco_QuandoPeriodoNaoForDeHoje() {
+            // Arrange
+            var de = LocalDate.now().plusDays(1).atStartOfDay();
+            var ate = de.plusDays(2);
+            when(restauranteService.buscarPorId(restauranteDTO.id())).thenReturn(restauranteDTO);
+            when(reservaRepository.buscarPorRestauranteEPeriodo(restauranteDTO.id(), de, ate))
+                    .thenReturn(List.of(projecao(1L, de.plusHours(20)), projecao(2L, de.plusHours(44))));
+
+            // Act
+            List<ReservaDTO> reservas = reservaService.buscarPorPeriodo(restauranteDTO.id(), de, ate);
+
+            // Assert
+            assertThat(reservas).containsExactly(
+                    new ReservaDTO(1L, restauranteDTO.id(), de.plusHours(20)),
+                    new ReservaDTO(2L, restauranteDTO.id(), de.plusHours(44)));
+            verifyNoInteractions(agendaDoDia);
+        }
+
+        @DisplayName("Deve buscar na agenda do dia as reservas de hoje, carregando o dia inteiro do banco")
+        @Test
+        void deveBuscarNaAgenda_QuandoPeriodoForDeHoje() {
+            // Arrange
+            var hoje = LocalDate.now();
+            var de = hoje.atTime(18, 0);
+            var ate = hoje.atTime(22, 0);
+            var reservaDeHoje = new ReservaDTO(1L, restauranteDTO.id(), hoje.atTime(20, 0));
+            when(agendaDoDia.buscar(eq(restauranteDTO.id()), eq(hoje), eq(de), eq(ate), any()))
+                    .thenAnswer(invocation -> {
+                        Function<LocalDate, List<ReservaDTO>> carregarDia = invocation.getArgument(4);
+                        return carregarDia.apply(hoje);
+                    });
+            when(restauranteService.buscarPorId(restauranteDTO.id())).thenReturn(restauranteDTO);
+            when(reservaRepository.buscarPorRestauranteEPeriodo(restauranteDTO.id(), hoje.atStartOfDay(),
+                    hoje.plusDays(1).atStartOfDay())).thenReturn(List.of(projecao(1L, hoje.atTime(20, 0))));
+
+            // Act
+            List<ReservaDTO> reservas = reservaService.buscarPorPeriodo(restauranteDTO.id(), de, ate);
+
+            // Assert
+            assertThat(reservas).containsExactly(reservaDeHoje);
+        }
+
+        @DisplayName("Deve lançar exceção quando o início do período não for anterior ao fim")
+        @Test
+        void deveGerarExcecao_QuandoPeriodoForInvalido() {
+            // Arrange
+            var de = LocalDate.now().atTime(20, 0);
+
+            // Act & Assert
+            assertThatThrownBy(() -> reservaService.buscarPorPeriodo(restauranteDTO.id(), de, de))
+                    .isInstanceOf(PeriodoInvalidoException.class);
+            assertThatThrownBy(() -> reservaService.validarPeriodo(restauranteDTO.id(), de, de.minusHours(1)))
+                    .isInstanceOf(PeriodoInvalidoException.class);
+            verifyNoInteractions(reservaRepository, restauranteService, agendaDoDia);
+        }
+
+        @DisplayName("Deve lançar exceção ao validar período de Restaurante inexistente")
+        @Test
+        void deveGerarExcecao_QuandoValidarPeriodo_DeRestauranteInexistente() {
+            // Arrange
+            var de = LocalDate.now().atStartOfDay();
+            when(restauranteService.buscarPorId(restauranteDTO.id()))
+                    .thenThrow(new RecursoNaoEncontradoException("Restaurante não encontrado com id: " + restauranteDTO.id()));
+
+            // Act & Assert
+            assertThatThrownBy(() -> reservaService.validarPeriodo(restauranteDTO.id(), de, de.plusDays(1)))
+                    .isInstanceOf(RecursoNaoEncontradoException.class);
+        }
+
+        @DisplayName("Deve percorrer em stream as reservas do período")
+        @Test
+        void devePercorrerReservasDoPeriodo() {
+            // Arrange
+            var de = LocalDate.now().atStartOfDay();
+            var ate = de.plusDays(30);
+            when(reservaRepository.streamPorRestauranteEPeriodo(restauranteDTO.id(), de, ate))
+                    .thenReturn(Stream.of(projecao(1L, de.plusHours(20)), projecao(2L, de.plusDays(3))));
+            List<ReservaDTO> recebidas = new ArrayList<>();
+
+            // Act
+            reservaService.percorrerPorPeriodo(restauranteDTO.id(), de, ate, recebidas::add);
+
+            // Assert
+            assertThat(recebidas).extracting(ReservaDTO::id).containsExactly(1L, 2L);
+            verifyNoInteractions(agendaDoDia);
+        }
+
+        private ReservaDoPeriodo projecao(Long id, LocalDateTime horaDaReserva) {
+            Long restauranteId = restauranteDTO.id();
+            return new ReservaDoPeriodo() {
+                @Override
+                public Long getId() {
+                    return id;
+                }
+
+                @Override
+                public Long getRestauranteId() {
+                    return restauranteId;
+                }
+
+                @Override
+                public LocalDateTime getHoraDaReserva() {
+                    return horaDaReserva;
+                }
+            };
         }
     }
 
@@ -131,6 +316,8 @@ class ReservaServiceTest {
             when(reservaMapper.toEntity(reservaDTO)).thenReturn(reserva);
             when(reservaMapper.toDto(reserva)).thenReturn(reservaDTO);
             when(restauranteService.buscarPorId(reservaDTO.restauranteId())).thenReturn(restauranteDTO);
+            when(entityManager.getReference(Restaurante.class, reservaDTO.restauranteId()))
+                    .thenReturn(reserva.getRestaurante());
             when(reservaRepository.save(reserva)).thenReturn(reserva);
 
             // Act
@@ -142,11 +329,30 @@ class ReservaServiceTest {
                     .isInstanceOf(ReservaDTO.class)
                     .isEqualTo(reservaDTO);
             verify(restauranteService).buscarPorId(reservaDTO.restauranteId());
+            verify(capacidadeReservaService).reservar(restauranteDTO, reservaDTO.horaDaReserva());
             verify(reservaRepository).save(reserva);
+            verify(agendaDoDia).registrarAlteracao(reservaDTO.restauranteId());
+            verify(ocupacaoService).registrar(reservaDTO.restauranteId(), reserva.getHoraDaReserva());
             verify(reservaMapper).toDto(reserva);
             verify(reservaMapper).toEntity(reservaDTO);
         }
 
+        @DisplayName("Deve lançar exceção ao tentar salvar Reserva em horário sem vagas")
+        @Test
+        void deveGerarExcecao_QuandoSalvarReserva_ComCapacidadeEsgotada() {
+            // Arrange
+            when(restauranteService.buscarPorId(reservaDTO.restauranteId())).thenReturn(restauranteDTO);
+            doThrow(new CapacidadeEsgotadaException("O restaurante com id: " + reservaDTO.restauranteId() +
+                    " não possui mais vagas"))
+                    .when(capacidadeReservaService).reservar(restauranteDTO, reservaDTO.horaDaReserva());
+
+            // Act & Assert
+            assertThatThrownBy(() -> reservaService.salvar(reservaDTO))
+                    .isInstanceOf(CapacidadeEsgotadaException.class)
+                    .hasMessage("O restaurante com id: " + reservaDTO.restauranteId() + " não possui mais vagas");
+            verifyNoInteractions(reservaRepository);
+        }
+
         @DisplayName("Deve lançar exceção ao tentar salvar Reserva com restaurante inexistente")
         @Test
         void deveGerarExcecao_QuandoSalvarReserva_ComRestauranteInexistente() {
@@ -162,20 +368,93 @@ class ReservaServiceTest {
         }
     }
 
+    @DisplayName("Salvar lote de Reservas")
+    @Nested
+    class SalvarLoteReserva {
+
+        @DisplayName("Deve salvar as reservas válidas e rejeitar as demais, preservando a ordem do lote")
+        @Test
+        void deveSalvarLoteDeReservas() {
+            // Arrange
+            var restauranteDaReserva = gerarRestauranteDto(reserva.getRestaurante());
+            var outroHorario = new ReservaDTO(null, reservaDTO.restauranteId(), reservaDTO.horaDaReserva().plusHours(1));
+            var outraReserva = Reserva.builder().id(reserva.getId() + 1).restaurante(reserva.getRestaurante())
+                    .horaDaReserva(outroHorario.horaDaReserva()).build();
+            var restauranteInexistente = new ReservaDTO(null, 99L, reservaDTO.horaDaReserva());
+            var horarioEsgotado = new ReservaDTO(null, reservaDTO.restauranteId(), reservaDTO.horaDaReserva().plusHours(2));
+            when(restauranteService.buscarPorIds(List.of(reservaDTO.restauranteId(), 99L)))
+                    .thenReturn(List.of(restauranteDaReserva));
+            lenient().doThrow(new CapacidadeEsgotadaException("O restaurante com id: " + reservaDTO.restauranteId() +
+                    " não possui mais vagas"))
+                    .when(capacidadeReservaService).reservar(restauranteDaReserva, horarioEsgotado.horaDaReserva());
+            lenient().when(reservaMapper.toEntity(reservaDTO)).thenReturn(reserva);
+            lenient().when(reservaMapper.toEntity(outroHorario)).thenReturn(outraReserva);
+            when(entityManager.getReference(Restaurante.class, reservaDTO.restauranteId()))
+                    .thenReturn(reserva.getRestaurante());
+            when(reservaRepository.saveAll(List.of(reserva, outraReserva))).thenReturn(List.of(reserva, outraReserva));
+
+            // Act
+            var resultado = reservaService.salvarLote(List.of(reservaDTO, restauranteInexistente, outroHorario,
+                    horarioEsgotado));
+
+            // Assert
+            assertThat(resultado.total()).isEqualTo(4);
+            assertThat(resultado.criados()).isEqualTo(2);
+            assertThat(resultado.rejeitados()).isEqualTo(2);
+            assertThat(resultado.itens()).containsExactly(
+                    ItemLoteDTO.criado(0, reserva.getId()),
+                    ItemLoteDTO.rejeitado(1, "Restaurante não encontrado com id: 99"),
+                    ItemLoteDTO.criado(2, outraReserva.getId()),
+                    ItemLoteDTO.rejeitado(3, "O restaurante com id: " + reservaDTO.restauranteId() +
+                            " não possui mais vagas"));
+            verify(restauranteService, times(1)).buscarPorIds(anyCollection());
+            verify(restauranteService, never()).buscarPorId(any());
+            verify(reservaRepository, times(1)).saveAll(anyList());
+        }
+
+        @DisplayName("Não deve salvar nada quando todos os itens forem rejeitados")
+        @Test
+        void naoDeveSalvar_QuandoTodosOsItensForemRejeitados() {
+            // Arrange
+            when(restauranteService.buscarPorIds(List.of(reservaDTO.restauranteId()))).thenReturn(List.of());
+
+            // Act
+            var resultado = reservaService.salvarLote(List.of(reservaDTO));
+
+            // Assert
+            assertThat(resultado.itens()).singleElement()
+                    .extracting(ItemLoteDTO::status)
+                    .isEqualTo(StatusItemLote.REJEITADO);
+            verifyNoInteractions(reservaRepository, capacidadeReservaService);
+        }
+
+        @DisplayName("Deve lançar exceção ao salvar lote vazio")
+        @Test
+        void deveGerarExcecao_QuandoSalvarLoteVazio() {
+            // Act & Assert
+            assertThatThrownBy(() -> reservaService.salvarLote(List.of()))
+                    .isInstanceOf(LoteInvalidoException.class)
+                    .hasMessage("O lote deve conter ao menos um item");
+            verifyNoInteractions(restauranteService, reservaRepository);
+        }
+    }
+
     @DisplayName("Alterar Reserva")
     @Nested
     class AlterarReserva{
 
+        @BeforeEach
+        void setUp() {
+            when(retentativa.executar(any())).thenAnswer(invocacao -> invocacao.<Supplier<?>>getArgument(0).get());
+        }
+
         @DisplayName("Deve alterar Reserva cadastrada")
         @Test
         void deveAlterarReservaPorId() {
             // Arrange
-            when(reservaMapper.toEntity(reservaDTO)).thenReturn(reserva);
             when(reservaMapper.toDto(reserva)).thenReturn(reservaDTO);
             doNothing().when(reservaMapper).updateFromDto(reservaDTO, reserva);
-            when(restauranteService.buscarPorId(reservaDTO.restauranteId())).thenReturn(restauranteDTO);
-            when(reservaRepository.save(reserva)).thenReturn(reserva);
-            when(reservaRepository.findById(reserva.getId())).thenReturn(Optional.of(reserva));
+            when(reservaRepository.findComRestauranteById(reserva.getId())).thenReturn(Optional.of(reserva));
 
             // Act
             var reservaSalvo = reservaService.atualizar(reservaDTO.id(), reservaDTO);
@@ -185,45 +464,87 @@ class ReservaServiceTest {
                     .isNotNull()
                     .isInstanceOf(ReservaDTO.class)
                     .isEqualTo(reservaDTO);
-            verify(restauranteService).buscarPorId(reservaDTO.restauranteId());
-            verify(reservaRepository).findById(reservaDTO.id());
-            verify(reservaRepository).save(reserva);
+            verify(reservaRepository).findComRestauranteById(reservaDTO.id());
+            verify(reservaRepository).flush();
+            verify(reservaRepository, never()).save(any());
             verify(reservaMapper).updateFromDto(reservaDTO, reserva);
-            verify(reservaMapper).toEntity(reservaDTO);
             verify(reservaMapper, times(2)).toDto(reserva);
+            verifyNoInteractions(restauranteService, restauranteMapper, entityManager, capacidadeReservaService,
+                    ocupacaoService);
+        }
+
+        @DisplayName("Deve mover a vaga quando alterar o horário da Reserva")
+        @Test
+        void deveMoverVaga_QuandoAlterarHorarioDaReserva() {
+            // Arrange
+            var novoHorario = reservaDTO.horaDaReserva().plusHours(2);
+            var reservaDTONovoHorario = new ReservaDTO(reservaDTO.id(), reservaDTO.restauranteId(), novoHorario);
+            when(reservaRepository.findComRestauranteById(reserva.getId())).thenReturn(Optional.of(reserva));
+            when(reservaMapper.toDto(reserva)).thenReturn(reservaDTO);
+            when(restauranteMapper.toDto(reserva.getRestaurante())).thenReturn(restauranteDTO);
+
+            // Act
+            reservaService.atualizar(reservaDTO.id(), reservaDTONovoHorario);
+
+            // Assert
+            verify(capacidadeReservaService).reservar(restauranteDTO, novoHorario);
+            verify(capacidadeReservaService).liberar(reservaDTO.restauranteId(), reservaDTO.horaDaReserva());
+            verify(ocupacaoService).remover(reservaDTO.restauranteId(), reservaDTO.horaDaReserva());
+            verify(ocupacaoService).registrar(reservaDTO.restauranteId(), novoHorario);
+            verify(reservaRepository).flush();
+            verifyNoInteractions(restauranteService);
+        }
+
+        @DisplayName("Deve lançar exceção sem mover a vaga quando o If-Match não corresponder à versão atual")
+        @Test
+        void deveGerarExcecao_QuandoVersaoEsperadaDesatualizada() {
+            // Arrange
+            reserva.setVersao(1L);
+            var reservaDTONovoHorario = new ReservaDTO(reservaDTO.id(), reservaDTO.restauranteId(),
+                    reservaDTO.horaDaReserva().plusHours(2));
+            when(reservaRepository.findComRestauranteById(reserva.getId())).thenReturn(Optional.of(reserva));
+
+            // Act & Assert
+            assertThatThrownBy(() -> reservaService.atualizar(reservaDTO.id(), reservaDTONovoHorario, 0L))
+                    .isInstanceOf(VersaoDesatualizadaException.class)
+                    .hasMessage("A reserva com id: " + reserva.getId() + " está na versão 1");
+
+            verify(reservaRepository, never()).flush();
+            verifyNoInteractions(capacidadeReservaService, restauranteService);
         }
 
         @DisplayName("Deve lançar exceção ao tentar alterar Reserva com id inexistente")
         @Test
         void deveGerarExcecao_QuandoAlterarReserva_PorIdInexistente() {
             // Arrange
-            when(reservaRepository.findById(reserva.getId())).thenReturn(Optional.empty());
+            when(reservaRepository.findComRestauranteById(reserva.getId())).thenReturn(Optional.empty());
             // Act & Assert
             assertThatThrownBy(() -> reservaService.atualizar(reservaDTO.id(), reservaDTO))
                     .isInstanceOf(RecursoNaoEncontradoException.class)
                     .hasMessage("Reserva não encontrada com id: " + reserva.getId());
 
-            verify(reservaRepository).findById(reservaDTO.id());
+            verify(reservaRepository).findComRestauranteById(reservaDTO.id());
         }
 
         @DisplayName("Deve lançar exceção ao tentar alterar Reserva por restaurante inexistente")
         @Test
         void deveGerarExcecao_QuandoAlterarReserva_PorRestauranteInexistente() {
             // Arrange
-            when(reservaMapper.toEntity(reservaDTO)).thenReturn(reserva);
+            var outroRestaurante = new ReservaDTO(null, 99L, reservaDTO.horaDaReserva());
             when(reservaMapper.toDto(reserva)).thenReturn(reservaDTO);
-            when(reservaRepository.findById(reserva.getId())).thenReturn(Optional.of(reserva));
-            when(restauranteService.buscarPorId(reservaDTO.restauranteId())).thenThrow(new
-                    RecursoNaoEncontradoException("Restaurante não encontrado com id: " + reservaDTO.restauranteId()));
+            when(reservaRepository.findComRestauranteById(reserva.getId())).thenReturn(Optional.of(reserva));
+            when(restauranteService.buscarPorId(99L)).thenThrow(new
+                    RecursoNaoEncontradoException("Restaurante não encontrado com id: 99"));
 
             // Act & Assert
-            assertThatThrownBy(() -> reservaService.atualizar(reservaDTO.id(), reservaDTO))
+            assertThatThrownBy(() -> reservaService.atualizar(reservaDTO.id(), outroRestaurante))
                     .isInstanceOf(RecursoNaoEncontradoException.class)
-                    .hasMessage("Restaurante não encontrado com id: " + reservaDTO.restauranteId());
+                    .hasMessage("Restaurante não encontrado com id: 99");
 
-            verify(restauranteService).buscarPorId(reservaDTO.restauranteId());
-            verify(reservaRepository).findById(reservaDTO.id());
+            verify(restauranteService).buscarPorId(99L);
+            verify(reservaRepository).findComRestauranteById(reservaDTO.id());
             verifyNoMoreInteractions(reservaRepository);
+            verifyNoInteractions(capacidadeReservaService);
         }
     }
 
@@ -235,30 +556,102 @@ class ReservaServiceTest {
         @Test
         void deveDeletarReservaPorId(){
             // Arrange
-            when(reservaRepository.findById(reserva.getId()))
-                    .thenReturn(Optional.of(reserva));
-            doNothing().when(reservaRepository).deleteById(reserva.getId());
+            when(reservaRepository.buscarHorarioPorId(reserva.getId())).thenReturn(Optional.of(horarioDa(reserva)));
+            when(reservaRepository.deletarPorId(reserva.getId())).thenReturn(1);
 
             // Act
             reservaService.deletarPorId(reserva.getId());
 
             // Assert
-            verify(reservaRepository).findById(reserva.getId());
-            verify(reservaRepository).deleteById(reserva.getId());
+            verify(reservaRepository).buscarHorarioPorId(reserva.getId());
+            verify(reservaRepository).deletarPorId(reserva.getId());
+            verify(capacidadeReservaService).liberar(reservaDTO.restauranteId(), reservaDTO.horaDaReserva());
+            verify(agendaDoDia).registrarAlteracao(reservaDTO.restauranteId());
+            verify(ocupacaoService).remover(reservaDTO.restauranteId(), reservaDTO.horaDaReserva());
+            verifyNoMoreInteractions(reservaRepository);
+            verifyNoInteractions(reservaMapper);
         }
 
         @DisplayName("Deve lançar exceção ao tentar deletar Reserva por id inexistente")
         @Test
         void deveGerarExcecao_QuandoDeletarReserva_PorIdInexistente(){
             // Arrange
-            when(reservaRepository.findById(reserva.getId())).thenReturn(Optional.empty());
+            when(reservaRepository.buscarHorarioPorId(reserva.getId())).thenReturn(Optional.empty());
+
+            // Act & Assert
+            assertThatThrownBy(() -> reservaService.deletarPorId(reserva.getId()))
+                    .isInstanceOf(RecursoNaoEncontradoException.class)
+                    .hasMessage("Reserva não encontrada com id: " + reserva.getId());
+
+            verify(reservaRepository).buscarHorarioPorId(reserva.getId());
+            verify(reservaRepository, never()).deletarPorId(any());
+            verifyNoInteractions(capacidadeReservaService);
+        }
+
+        @DisplayName("Não deve liberar a vaga quando a Reserva for deletada por outra requisição")
+        @Test
+        void naoDeveLiberarVaga_QuandoReservaJaTiverSidoDeletada(){
+            // Arrange
+            when(reservaRepository.buscarHorarioPorId(reserva.getId())).thenReturn(Optional.of(horarioDa(reserva)));
+            when(reservaRepository.deletarPorId(reserva.getId())).thenReturn(0);
 
             // Act & Assert
             assertThatThrownBy(() -> reservaService.deletarPorId(reserva.getId()))
                     .isInstanceOf(RecursoNaoEncontradoException.class)
                     .hasMessage("Reserva não encontrada com id: " + reserva.getId());
 
-            verify(reservaRepository).findById(reserva.getId());
+            verifyNoInteractions(capacidadeReservaService);
         }
     }
+
+    @DisplayName("Buscar Disponibilidade")
+    @Nested
+    class BuscarDisponibilidade {
+
+        @DisplayName("Deve buscar a disponibilidade do restaurante na data informada")
+        @Test
+        void deveBuscarDisponibilidade() {
+            // Arrange
+            var data = LocalDate.now();
+            var disponibilidade = new DisponibilidadeDTO(restauranteDTO.id(), data, 10, List.of());
+            when(restauranteService.buscarPorId(restauranteDTO.id())).thenReturn(restauranteDTO);
+            when(capacidadeReservaService.buscarDisponibilidade(restauranteDTO, data)).thenReturn(disponibilidade);
+
+            // Act
+            var disponibilidadeRecebida = reservaService.buscarDisponibilidade(restauranteDTO.id(), data);
+
+            // Assert
+            assertThat(disponibilidadeRecebida).isEqualTo(disponibilidade);
+            verifyNoInteractions(reservaRepository);
+        }
+
+        @DisplayName("Deve lançar exceção ao buscar disponibilidade de restaurante inexistente")
+        @Test
+        void deveGerarExcecao_QuandoBuscarDisponibilidade_PorRestauranteInexistente() {
+            // Arrange
+            var data = LocalDate.now();
+            when(restauranteService.buscarPorId(restauranteDTO.id())).thenThrow(new
+                    RecursoNaoEncontradoException("Restaurante não encontrado com id: " + restauranteDTO.id()));
+
+            // Act & Assert
+            assertThatThrownBy(() -> reservaService.buscarDisponibilidade(restauranteDTO.id(), data))
+                    .isInstanceOf(RecursoNaoEncontradoException.class)
+                    .hasMessage("Restaurante não encontrado com id: " + restauranteDTO.id());
+            verifyNoInteractions(capacidadeReservaService);
+        }
+    }
+
+    private static HorarioDaReserva horarioDa(Reserva reserva) {
+        return new HorarioDaReserva() {
+            @Override
+            public Long getRestauranteId() {
+                return reserva.getRestaurante().getId();
+            }
+
+            @Override
+            public LocalDateTime getHoraDaReserva() {
+                return reserva.getHoraDaReserva();
+            }
+        };
+    }
 }
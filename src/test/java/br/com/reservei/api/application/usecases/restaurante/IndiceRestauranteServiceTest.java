@@ -0,0 +1,277 @@
+package br.com.reservei.api.application.usecases.restaurante;
+
+import br.com.reservei.api.application.dto.RestauranteDTO;
+import br.com.reservei.api.domain.model.Restaurante;
+import br.com.reservei.api.domain.repository.RestauranteRepository;
+import br.com.reservei.api.domain.repository.projection.RestauranteComCidade;
+import br.com.reservei.api.infrastructure.utils.Cozinha;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalTime;
+import java.util.Arrays;
+
+import static br.com.reservei.api.infrastructure.utils.RestauranteHelper.gerarRestaurante;
+import static br.com.reservei.api.infrastructure.utils.RestauranteHelper.gerarRestauranteDto;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IndiceRestauranteServiceTest {
+
+    @Mock
+    private RestauranteRepository restauranteRepository;
+
+    @InjectMocks
+    private IndiceRestauranteServiceImpl indiceRestauranteService;
+
+    private Restaurante italiano;
+    private Restaurante japones;
+    private Long cidadeId;
+
+    @BeforeEach
+    void setUp() {
+        this.italiano = gerarRestaurante().toBuilder().id(1L).build();
+        this.japones = gerarRestaurante().toBuilder().id(2L).nome("Kinoshita").cozinha(Cozinha.JAPONESA).build();
+        japones.getEndereco().setCidade(italiano.getEndereco().getCidade());
+        this.cidadeId = italiano.getEndereco().getCidade().getId();
+    }
+
+    @DisplayName("Montar o índice")
+    @Nested
+    class MontarIndice {
+
+        @DisplayName("Deve montar o índice com uma única consulta no primeiro acesso")
+        @Test
+        void deveMontarIndiceNoPrimeiroAcesso() {
+            // Arrange
+            carregar(italiano, japones);
+
+            // Act
+            var italianos = indiceRestauranteService.buscarPorCozinha(Cozinha.ITALIANA);
+            var daCidade = indiceRestauranteService.buscarPorCidade(cidadeId);
+            var japoneses = indiceRestauranteService.buscarPorCozinha(Cozinha.JAPONESA);
+
+            // Assert
+            assertThat(italianos).containsExactly(gerarRestauranteDto(italiano));
+            assertThat(japoneses).containsExactly(gerarRestauranteDto(japones));
+            assertThat(daCidade).containsExactly(gerarRestauranteDto(italiano), gerarRestauranteDto(japones));
+            verify(restauranteRepository, times(1)).listarComCidade();
+        }
+
+        @DisplayName("Deve devolver a mesma lista imutável em leituras seguidas")
+        @Test
+        void deveDevolverMesmaListaImutavel() {
+            // Arrange
+            carregar(italiano);
+
+            // Act
+            var primeira = indiceRestauranteService.buscarPorCozinha(Cozinha.ITALIANA);
+            var segunda = indiceRestauranteService.buscarPorCozinha(Cozinha.ITALIANA);
+
+            // Assert
+            assertThat(segunda).isSameAs(primeira);
+            assertThatThrownBy(() -> primeira.add(gerarRestauranteDto(japones)))
+                    .isInstanceOf(UnsupportedOperationException.class);
+            assertThat(indiceRestauranteService.buscarPorCozinha(Cozinha.MEXICANA)).isEmpty();
+            assertThat(indiceRestauranteService.buscarPorCidade(99L)).isEmpty();
+        }
+
+        @DisplayName("Não deve consultar o banco ao registrar antes do primeiro acesso")
+        @Test
+        void naoDeveConsultarBanco_QuandoRegistrarAntesDoPrimeiroAcesso() {
+            indiceRestauranteService.registrar(gerarRestauranteDto(italiano), cidadeId);
+            indiceRestauranteService.remover(italiano.getId());
+            indiceRestauranteService.moverEndereco(italiano.getEndereco().getId(), 99L);
+
+            verifyNoInteractions(restauranteRepository);
+        }
+    }
+
+    @DisplayName("Manter o índice")
+    @Nested
+    class ManterIndice {
+
+        @DisplayName("Deve incluir o restaurante salvo em ordem de id")
+        @Test
+        void deveIncluirRestauranteSalvo() {
+            // Arrange
+            carregar(japones);
+            indiceRestauranteService.buscarPorCozinha(Cozinha.JAPONESA);
+            var novo = new RestauranteDTO(1L, "Sushi Leblon", Cozinha.JAPONESA, 7L, 5, null, null);
+
+            // Act
+            indiceRestauranteService.registrar(novo, cidadeId);
+
+            // Assert
+            assertThat(indiceRestauranteService.buscarPorCozinha(Cozinha.JAPONESA))
+                    .containsExactly(novo, gerarRestauranteDto(japones));
+            assertThat(indiceRestauranteService.buscarPorCidade(cidadeId))
+                    .containsExactly(novo, gerarRestauranteDto(japones));
+        }
+
+        @DisplayName("Deve mover o restaurante alterado para a nova cozinha")
+        @Test
+        void deveMoverRestauranteAlterado() {
+            // Arrange
+            carregar(italiano, japones);
+            var antes = indiceRestauranteService.buscarPorCozinha(Cozinha.ITALIANA);
+            var alterado = new RestauranteDTO(italiano.getId(), "Germogli", Cozinha.FRANCESA,
+                    italiano.getEndereco().getId(), 10, null, null);
+
+            // Act
+            indiceRestauranteService.registrar(alterado, cidadeId);
+
+            // Assert
+            assertThat(antes).containsExactly(gerarRestauranteDto(italiano));
+            assertThat(indiceRestauranteService.buscarPorCozinha(Cozinha.ITALIANA)).isEmpty();
+            assertThat(indiceRestauranteService.buscarPorCozinha(Cozinha.FRANCESA)).containsExactly(alterado);
+            assertThat(indiceRestauranteService.buscarPorCidade(cidadeId))
+                    .containsExactly(alterado, gerarRestauranteDto(japones));
+        }
+
+        @DisplayName("Deve retirar o restaurante deletado")
+        @Test
+        void deveRetirarRestauranteDeletado() {
+            // Arrange
+            carregar(italiano, japones);
+            indiceRestauranteService.buscarPorCozinha(Cozinha.ITALIANA);
+
+            // Act
+            indiceRestauranteService.remover(italiano.getId());
+
+            // Assert
+            assertThat(indiceRestauranteService.buscarPorCozinha(Cozinha.ITALIANA)).isEmpty();
+            assertThat(indiceRestauranteService.buscarPorCidade(cidadeId))
+                    .containsExactly(gerarRestauranteDto(japones));
+        }
+
+        @DisplayName("Deve aplicar a alteração feita em transação só depois do commit")
+        @Test
+        void deveAplicarAlteracao_SoDepoisDoCommit() {
+            // Arrange
+            carregar(italiano, japones);
+            indiceRestauranteService.buscarPorCozinha(Cozinha.ITALIANA);
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                // Act
+                indiceRestauranteService.remover(italiano.getId());
+                indiceRestauranteService.moverEndereco(japones.getEndereco().getId(), 99L);
+
+                // Assert
+                assertThat(indiceRestauranteService.buscarPorCozinha(Cozinha.ITALIANA))
+                        .containsExactly(gerarRestauranteDto(italiano));
+                assertThat(indiceRestauranteService.buscarPorCidade(99L)).isEmpty();
+                TransactionSynchronizationManager.getSynchronizations()
+                        .forEach(TransactionSynchronization::afterCommit);
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+            assertThat(indiceRestauranteService.buscarPorCozinha(Cozinha.ITALIANA)).isEmpty();
+            assertThat(indiceRestauranteService.buscarPorCidade(99L)).containsExactly(gerarRestauranteDto(japones));
+        }
+
+        @DisplayName("Deve descartar a alteração de uma transação desfeita")
+        @Test
+        void deveDescartarAlteracao_QuandoTransacaoForDesfeita() {
+            // Arrange
+            carregar(italiano);
+            indiceRestauranteService.buscarPorCozinha(Cozinha.ITALIANA);
+            var alterado = new RestauranteDTO(italiano.getId(), "Germogli", Cozinha.FRANCESA,
+                    italiano.getEndereco().getId(), 10, null, null);
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                // Act
+                indiceRestauranteService.registrar(alterado, cidadeId);
+                TransactionSynchronizationManager.getSynchronizations()
+                        .forEach(sincronizacao -> sincronizacao.afterCompletion(
+                                TransactionSynchronization.STATUS_ROLLED_BACK));
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+
+            // Assert
+            assertThat(indiceRestauranteService.buscarPorCozinha(Cozinha.ITALIANA))
+                    .containsExactly(gerarRestauranteDto(italiano));
+            assertThat(indiceRestauranteService.buscarPorCozinha(Cozinha.FRANCESA)).isEmpty();
+        }
+
+        @DisplayName("Deve mover os restaurantes do endereço para a nova cidade")
+        @Test
+        void deveMoverRestaurantesDoEndereco() {
+            // Arrange
+            carregar(italiano, japones);
+            indiceRestauranteService.buscarPorCidade(cidadeId);
+
+            // Act
+            indiceRestauranteService.moverEndereco(italiano.getEndereco().getId(), 99L);
+
+            // Assert
+            assertThat(indiceRestauranteService.buscarPorCidade(cidadeId))
+                    .containsExactly(gerarRestauranteDto(japones));
+            assertThat(indiceRestauranteService.buscarPorCidade(99L))
+                    .containsExactly(gerarRestauranteDto(italiano));
+            assertThat(indiceRestauranteService.buscarPorCozinha(Cozinha.ITALIANA))
+                    .containsExactly(gerarRestauranteDto(italiano));
+        }
+    }
+
+    private void carregar(Restaurante... restaurantes) {
+        when(restauranteRepository.listarComCidade()).thenReturn(Arrays.stream(restaurantes)
+                .map(IndiceRestauranteServiceTest::comCidade)
+                .toList());
+    }
+
+    private static RestauranteComCidade comCidade(Restaurante restaurante) {
+        return new RestauranteComCidade() {
+            @Override
+            public Long getId() {
+                return restaurante.getId();
+            }
+
+            @Override
+            public String getNome() {
+                return restaurante.getNome();
+            }
+
+            @Override
+            public Cozinha getCozinha() {
+                return restaurante.getCozinha();
+            }
+
+            @Override
+            public Long getEnderecoId() {
+                return restaurante.getEndereco().getId();
+            }
+
+            @Override
+            public Long getCidadeId() {
+                return restaurante.getEndereco().getCidade().getId();
+            }
+
+            @Override
+            public int getReservasPorHora() {
+                return restaurante.getReservasPorHora();
+            }
+
+            @Override
+            public LocalTime getInicioExpediente() {
+                return restaurante.getInicioExpediente();
+            }
+
+            @Override
+            public LocalTime getFinalExpediente() {
+                return restaurante.getFinalExpediente();
+            }
+        };
+    }
+}
@@ -1,9 +1,15 @@
 package br.com.reservei.api.application.usecases.restaurante;
 
 import br.com.reservei.api.application.dto.EnderecoDTO;
+import br.com.reservei.api.application.dto.FiltroRestauranteDTO;
 import br.com.reservei.api.application.dto.RestauranteDTO;
+import br.com.reservei.api.application.usecases.avaliacao.ResumoAvaliacaoService;
 import br.com.reservei.api.application.usecases.endereco.EnderecoService;
 import br.com.reservei.api.domain.exceptions.RecursoNaoEncontradoException;
+import br.com.reservei.api.domain.exceptions.VersaoDesatualizadaException;
+import br.com.reservei.api.infrastructure.utils.Cozinha;
+import br.com.reservei.api.infrastructure.utils.Retentativa;
+import br.com.reservei.api.infrastructure.utils.VersaoDasColecoes;
 import br.com.reservei.api.interfaces.mapper.RestauranteMapper;
 import br.com.reservei.api.domain.model.Restaurante;
 import br.com.reservei.api.domain.repository.RestauranteRepository;
@@ -16,16 +22,24 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static br.com.reservei.api.infrastructure.utils.EnderecoHelper.gerarEndereco;
 import static br.com.reservei.api.infrastructure.utils.EnderecoHelper.gerarEnderecoDto;
+import static br.com.reservei.api.infrastructure.utils.RestauranteHelper.gerarDadosDoRestaurante;
 import static br.com.reservei.api.infrastructure.utils.RestauranteHelper.gerarRestaurante;
 import static br.com.reservei.api.infrastructure.utils.RestauranteHelper.gerarRestauranteDto;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,6 +54,18 @@ class RestauranteServiceTest {
     @Mock
     private EnderecoService enderecoService;
 
+    @Mock
+    private IndiceRestauranteService indiceRestauranteService;
+
+    @Mock
+    private ResumoAvaliacaoService resumoAvaliacaoService;
+
+    @Mock
+    private Retentativa retentativa;
+
+    @Mock
+    private VersaoDasColecoes versaoDasColecoes;
+
     @InjectMocks
     private RestauranteServiceImpl restauranteService;
 
@@ -61,8 +87,7 @@ class RestauranteServiceTest {
         @Test
         void deveBuscarRestaurantePorId() {
             // Arrange
-            when(restauranteRepository.findById(restaurante.getId())).thenReturn(Optional.of(restaurante));
-            when(restauranteMapper.toDto(restaurante)).thenReturn(gerarRestauranteDto(restaurante));
+            when(restauranteRepository.buscarDadosPorId(restaurante.getId())).thenReturn(Optional.of(gerarDadosDoRestaurante(restaurante)));
 
             // Act
             var restauranteRecebido = restauranteService.buscarPorId(restaurante.getId());
@@ -74,20 +99,65 @@ class RestauranteServiceTest {
                     .isEqualTo(restaurante);
             assertThat(restauranteRecebido.enderecoId()).isEqualTo(restaurante.getEndereco().getId());
 
-            verify(restauranteRepository).findById(restaurante.getId());
+            verify(restauranteRepository).buscarDadosPorId(restaurante.getId());
+        }
+
+        @DisplayName("Deve verificar a existência do Restaurante sem carregá-lo")
+        @Test
+        void deveVerificarExistenciaSemCarregarRestaurante() {
+            // Arrange
+            when(restauranteRepository.existsById(restaurante.getId())).thenReturn(true);
+
+            // Act
+            restauranteService.verificarExistencia(restaurante.getId());
+
+            // Assert
+            verify(restauranteRepository).existsById(restaurante.getId());
+            verifyNoMoreInteractions(restauranteRepository);
+            verifyNoInteractions(restauranteMapper);
+        }
+
+        @DisplayName("Deve lançar exceção ao verificar a existência de Restaurante inexistente")
+        @Test
+        void deveGerarExcecao_QuandoVerificarExistencia_PorIdInexistente() {
+            // Arrange
+            when(restauranteRepository.existsById(restaurante.getId())).thenReturn(false);
+
+            // Act & Assert
+            assertThatThrownBy(() -> restauranteService.verificarExistencia(restaurante.getId()))
+                    .isInstanceOf(RecursoNaoEncontradoException.class)
+                    .hasMessage("Restaurante não encontrado com id: " + restaurante.getId());
         }
 
         @DisplayName("Deve lançar exceção ao buscar restaurante com ID inexistente")
         @Test
         void deveGerarExcecao_QuandoBuscarRestaurante_PorIdInexistente() {
             // Arrange
-            when(restauranteRepository.findById(restaurante.getId())).thenReturn(Optional.empty());
+            when(restauranteRepository.buscarDadosPorId(restaurante.getId())).thenReturn(Optional.empty());
 
             // Act & Assert
             assertThatThrownBy(() -> restauranteService.buscarPorId(restaurante.getId()))
                     .isInstanceOf(RecursoNaoEncontradoException.class)
                     .hasMessage("Restaurante não encontrado com id: " + restaurante.getId());
-            verify(restauranteRepository).findById(restaurante.getId());
+            verify(restauranteRepository).buscarDadosPorId(restaurante.getId());
+        }
+
+        @DisplayName("Deve buscar os Restaurantes dos IDs fornecidos em uma única consulta")
+        @Test
+        void deveBuscarRestaurantesPorIds() {
+            // Arrange
+            var ids = List.of(restaurante.getId(), 99L);
+            when(restauranteRepository.findAllById(ids)).thenReturn(List.of(restaurante));
+            when(restauranteMapper.toDto(restaurante)).thenReturn(gerarRestauranteDto(restaurante));
+
+            // Act
+            var restaurantes = restauranteService.buscarPorIds(ids);
+
+            // Assert
+            assertThat(restaurantes).singleElement()
+                    .extracting(RestauranteDTO::id)
+                    .isEqualTo(restaurante.getId());
+            verify(restauranteRepository).findAllById(ids);
         }
 
         @DisplayName("Deve buscar um Restaurante pelo Nome fornecido")
@@ -132,12 +202,8 @@ class RestauranteServiceTest {
                     .map(RestauranteHelper::gerarRestauranteDto)
                     .toList();
 
-            when(restauranteRepository.findAll()).thenReturn(restaurantes);
-            when(restauranteMapper.toDto(any(Restaurante.class)))
-                    .thenAnswer(invocation -> {
-                        restaurante = invocation.getArgument(0);
-                        return gerarRestauranteDto(restaurante);
-                    });
+            when(restauranteRepository.listarDados())
+                    .thenReturn(restaurantes.stream().map(RestauranteHelper::gerarDadosDoRestaurante).toList());
 
             // Act
             List<RestauranteDTO> restaurantesRecebidos = restauranteService.buscarTodos();
@@ -148,37 +214,117 @@ class RestauranteServiceTest {
                     .isNotEmpty()
                     .hasSize(3)
                     .containsExactlyElementsOf(restaurantesDto);
-            verify(restauranteRepository).findAll();
-            verify(restauranteMapper, times(3)).toDto(any(Restaurante.class));
+            verify(restauranteRepository).listarDados();
+            verifyNoInteractions(restauranteMapper);
         }
 
-        @DisplayName("Deve retornar uma lista de restaurantes salvos com a cozinha dada")
+        @DisplayName("Deve retornar uma página de restaurantes a partir do cursor informado")
         @Test
-        void deveBuscarTodosOsRestaurantePorCozinha() {
+        void deveBuscarPaginaDeRestaurantes() {
+            // Arrange
+            var restaurantes = List.of(gerarRestaurante(), gerarRestaurante());
+            when(restauranteRepository.listarDadosAposId(10L, Limit.of(2)))
+                    .thenReturn(restaurantes.stream().map(RestauranteHelper::gerarDadosDoRestaurante).toList());
+
+            // Act
+            List<RestauranteDTO> pagina = restauranteService.buscarPagina(10L, 2);
+
+            // Assert
+            assertThat(pagina)
+                    .hasSize(2)
+                    .containsExactlyElementsOf(restaurantes.stream().map(RestauranteHelper::gerarRestauranteDto).toList());
+            verify(restauranteRepository).listarDadosAposId(10L, Limit.of(2));
+            verify(restauranteRepository, never()).findAll();
+        }
+
+        @DisplayName("Deve percorrer todos os restaurantes em stream")
+        @Test
+        void devePercorrerTodosOsRestaurantes() {
             // Arrange
             var restaurantes = List.of(gerarRestaurante(), gerarRestaurante(), gerarRestaurante());
-            var restaurantesDto = restaurantes.stream()
+            when(restauranteRepository.streamDados())
+                    .thenReturn(restaurantes.stream().map(RestauranteHelper::gerarDadosDoRestaurante));
+            List<RestauranteDTO> recebidos = new ArrayList<>();
+
+            // Act
+            restauranteService.percorrerTodos(recebidos::add);
+
+            // Assert
+            assertThat(recebidos)
+                    .containsExactlyElementsOf(restaurantes.stream().map(RestauranteHelper::gerarRestauranteDto).toList());
+            verify(restauranteRepository, never()).findAll();
+        }
+
+        @DisplayName("Deve retornar a lista do índice com a cozinha dada sem consultar o banco")
+        @Test
+        void deveBuscarTodosOsRestaurantePorCozinha() {
+            // Arrange
+            var restaurantesDto = Stream.generate(RestauranteHelper::gerarRestaurante)
+                    .limit(3)
                     .map(RestauranteHelper::gerarRestauranteDto)
                     .toList();
-
-            when(restauranteRepository.findByCozinha(restauranteDTO.cozinha())).thenReturn(restaurantes);
-            when(restauranteMapper.toDto(any(Restaurante.class)))
-                    .thenAnswer(invocation -> {
-                        restaurante = invocation.getArgument(0);
-                        return gerarRestauranteDto(restaurante);
-                    });
+            when(indiceRestauranteService.buscarPorCozinha(restauranteDTO.cozinha())).thenReturn(restaurantesDto);
 
             // Act
             List<RestauranteDTO> restaurantesRecebidos = restauranteService.buscarPorCozinha(restauranteDTO.cozinha());
 
             // Assert
-            assertThat(restaurantesRecebidos)
-                    .isNotNull()
-                    .isNotEmpty()
-                    .hasSize(3)
-                    .containsExactlyElementsOf(restaurantesDto);
-            verify(restauranteRepository).findByCozinha(restauranteDTO.cozinha());
-            verify(restauranteMapper, times(3)).toDto(any(Restaurante.class));
+            assertThat(restaurantesRecebidos).isSameAs(restaurantesDto);
+            verifyNoInteractions(restauranteRepository, restauranteMapper);
+        }
+
+        @DisplayName("Deve retornar a lista do índice com a cidade dada sem consultar o banco")
+        @Test
+        void deveBuscarTodosOsRestaurantePorCidade() {
+            // Arrange
+            var restaurantesDto = List.of(restauranteDTO);
+            when(indiceRestauranteService.buscarPorCidade(enderecoDTO.cidadeId())).thenReturn(restaurantesDto);
+
+            // Act
+            List<RestauranteDTO> restaurantesRecebidos = restauranteService.buscarPorCidade(enderecoDTO.cidadeId());
+
+            // Assert
+            assertThat(restaurantesRecebidos).isSameAs(restaurantesDto);
+            verifyNoInteractions(restauranteRepository, restauranteMapper);
+        }
+    }
+
+    @DisplayName("Busca combinada de Restaurantes")
+    @Nested
+    class BuscaCombinada {
+
+        private Restaurante japones;
+
+        @BeforeEach
+        void setUp() {
+            this.japones = gerarRestaurante().toBuilder().nome("Kinoshita").cozinha(Cozinha.JAPONESA).build();
+            lenient().when(restauranteMapper.toDto(restaurante)).thenReturn(restauranteDTO);
+            lenient().when(restauranteMapper.toDto(japones)).thenReturn(gerarRestauranteDto(japones));
+        }
+
+        @DisplayName("Deve devolver a página filtrada e preencher com zero as cozinhas sem restaurantes")
+        @Test
+        @SuppressWarnings("unchecked")
+        void deveFiltrarPorCozinhaEContarFacetas() {
+            // Arrange
+            when(restauranteRepository.findBy(any(Specification.class), any())).thenReturn(List.of(japones));
+            when(restauranteRepository.contarPorCozinha(any(Specification.class)))
+                    .thenReturn(Map.of(Cozinha.JAPONESA, 1L, Cozinha.ITALIANA, 1L));
+
+            // Act
+            var busca = restauranteService.buscar(new FiltroRestauranteDTO(Cozinha.JAPONESA, null, null, null,
+                    null, null, null, null));
+
+            // Assert
+            assertThat(busca.restaurantes()).extracting(RestauranteDTO::id).containsExactly(japones.getId());
+            assertThat(busca.cozinhas())
+                    .hasSize(Cozinha.values().length)
+                    .containsEntry(Cozinha.JAPONESA, 1L)
+                    .containsEntry(Cozinha.ITALIANA, 1L)
+                    .containsEntry(Cozinha.MINEIRA, 0L);
+            verify(restauranteRepository).findBy(any(Specification.class), any());
+            verify(restauranteRepository).contarPorCozinha(any(Specification.class));
+            verifyNoMoreInteractions(restauranteRepository);
         }
     }
 
@@ -207,6 +353,7 @@ class RestauranteServiceTest {
             verify(restauranteRepository).save(restaurante);
             verify(restauranteMapper).toDto(restaurante);
             verify(restauranteMapper).toEntity(restauranteDTO);
+            verify(indiceRestauranteService).registrar(restauranteDTO, enderecoDTO.cidadeId());
         }
 
         @DisplayName("Deve lançar exceção ao tentar salvar Restaurante com endereço inexistente")
@@ -221,6 +368,29 @@ class RestauranteServiceTest {
                     .isInstanceOf(RecursoNaoEncontradoException.class)
                     .hasMessage("Endereco não encontrado com id: " + restauranteDTO.enderecoId());
             verify(enderecoService).buscarPorId(restauranteDTO.enderecoId());
+            verifyNoInteractions(indiceRestauranteService);
+        }
+    }
+
+    @DisplayName("Buscar Restaurante versionado")
+    @Nested
+    class BuscarRestauranteVersionado {
+
+        @DisplayName("Deve devolver o Restaurante com a sua versão")
+        @Test
+        void deveBuscarRestauranteComVersao() {
+            // Arrange
+            restaurante.setVersao(2L);
+            when(restauranteRepository.buscarDadosPorId(restaurante.getId()))
+                    .thenReturn(Optional.of(gerarDadosDoRestaurante(restaurante)));
+
+            // Act
+            var versionado = restauranteService.buscarVersionadoPorId(restaurante.getId());
+
+            // Assert
+            assertThat(versionado.conteudo()).isEqualTo(restauranteDTO);
+            assertThat(versionado.versao()).isEqualTo(2L);
+            verifyNoInteractions(restauranteMapper);
         }
     }
 
@@ -228,15 +398,18 @@ class RestauranteServiceTest {
     @Nested
     class AlterarRestaurante{
 
+        @BeforeEach
+        void setUp() {
+            when(retentativa.executar(any())).thenAnswer(invocacao -> invocacao.<Supplier<?>>getArgument(0).get());
+        }
+
         @DisplayName("Deve alterar Restaurante cadastrada")
         @Test
         void deveAlterarRestaurantePorId() {
             // Arrange
-            when(restauranteMapper.toEntity(restauranteDTO)).thenReturn(restaurante);
             when(restauranteMapper.toDto(restaurante)).thenReturn(restauranteDTO);
             doNothing().when(restauranteMapper).updateFromDto(restauranteDTO, restaurante);
             when(enderecoService.buscarPorId(restauranteDTO.enderecoId())).thenReturn(enderecoDTO);
-            when(restauranteRepository.save(restaurante)).thenReturn(restaurante);
             when(restauranteRepository.findById(restaurante.getId())).thenReturn(Optional.of(restaurante));
 
             // Act
@@ -249,10 +422,46 @@ class RestauranteServiceTest {
                     .isEqualTo(restauranteDTO);
             verify(enderecoService).buscarPorId(restauranteDTO.enderecoId());
             verify(restauranteRepository).findById(restauranteDTO.id());
-            verify(restauranteRepository).save(restaurante);
+            verify(restauranteRepository).flush();
+            verify(restauranteRepository, never()).save(any());
             verify(restauranteMapper).updateFromDto(restauranteDTO, restaurante);
-            verify(restauranteMapper).toEntity(restauranteDTO);
-            verify(restauranteMapper, times(2)).toDto(restaurante);
+            verify(restauranteMapper).toDto(restaurante);
+            verify(indiceRestauranteService).registrar(restauranteDTO, enderecoDTO.cidadeId());
+        }
+
+        @DisplayName("Deve devolver a nova versão quando o If-Match corresponder à versão atual")
+        @Test
+        void deveDevolverNovaVersao_QuandoVersaoEsperadaCorresponder() {
+            // Arrange
+            restaurante.setVersao(3L);
+            when(restauranteMapper.toDto(restaurante)).thenReturn(restauranteDTO);
+            when(enderecoService.buscarPorId(restauranteDTO.enderecoId())).thenReturn(enderecoDTO);
+            when(restauranteRepository.findById(restaurante.getId())).thenReturn(Optional.of(restaurante));
+
+            // Act
+            var restauranteSalvo = restauranteService.atualizar(restauranteDTO.id(), restauranteDTO, 3L);
+
+            // Assert
+            assertThat(restauranteSalvo.conteudo()).isEqualTo(restauranteDTO);
+            assertThat(restauranteSalvo.versao()).isEqualTo(3L);
+            verify(retentativa).executar(any());
+            verify(restauranteRepository).flush();
+        }
+
+        @DisplayName("Deve lançar exceção quando o If-Match não corresponder à versão atual")
+        @Test
+        void deveGerarExcecao_QuandoVersaoEsperadaDesatualizada() {
+            // Arrange
+            restaurante.setVersao(4L);
+            when(restauranteRepository.findById(restaurante.getId())).thenReturn(Optional.of(restaurante));
+
+            // Act & Assert
+            assertThatThrownBy(() -> restauranteService.atualizar(restauranteDTO.id(), restauranteDTO, 3L))
+                    .isInstanceOf(VersaoDesatualizadaException.class)
+                    .hasMessage("O restaurante com id: " + restaurante.getId() + " está na versão 4");
+
+            verify(restauranteRepository, never()).flush();
+            verifyNoInteractions(enderecoService, indiceRestauranteService);
         }
 
         @DisplayName("Deve lançar exceção ao tentar alterar Restaurante com id inexistente")
@@ -272,8 +481,6 @@ class RestauranteServiceTest {
         @Test
         void deveGerarExcecao_QuandoAlterarRestaurante_PorEnderecoInexistente() {
             // Arrange
-            when(restauranteMapper.toEntity(restauranteDTO)).thenReturn(restaurante);
-            when(restauranteMapper.toDto(restaurante)).thenReturn(restauranteDTO);
             when(restauranteRepository.findById(restaurante.getId())).thenReturn(Optional.of(restaurante));
             when(enderecoService.buscarPorId(restauranteDTO.enderecoId())).thenThrow(new
                     RecursoNaoEncontradoException("Endereco não encontrado com id: " + restauranteDTO.enderecoId()));
@@ -297,30 +504,30 @@ class RestauranteServiceTest {
         @Test
         void deveDeletarRestaurantePorId(){
             // Arrange
-            when(restauranteRepository.findById(restaurante.getId()))
-                    .thenReturn(Optional.of(restaurante));
-            doNothing().when(restauranteRepository).deleteById(restaurante.getId());
+            when(restauranteRepository.deletarPorId(restaurante.getId())).thenReturn(1);
 
             // Act
             restauranteService.deletarPorId(restaurante.getId());
 
             // Assert
-            verify(restauranteRepository).findById(restaurante.getId());
-            verify(restauranteRepository).deleteById(restaurante.getId());
+            verify(restauranteRepository).deletarPorId(restaurante.getId());
+            verifyNoMoreInteractions(restauranteRepository);
+            verify(indiceRestauranteService).remover(restaurante.getId());
+            verify(resumoAvaliacaoService).descartar(restaurante.getId());
         }
 
         @DisplayName("Deve lançar exceção ao tentar deletar Restaurante por id inexistente")
         @Test
         void deveGerarExcecao_QuandoDeletarRestaurante_PorIdInexistente(){
             // Arrange
-            when(restauranteRepository.findById(restaurante.getId())).thenReturn(Optional.empty());
+            when(restauranteRepository.deletarPorId(restaurante.getId())).thenReturn(0);
 
             // Act & Assert
             assertThatThrownBy(() -> restauranteService.deletarPorId(restaurante.getId()))
                     .isInstanceOf(RecursoNaoEncontradoException.class)
                     .hasMessage("Restaurante não encontrado com id: " + restaurante.getId());
 
-            verify(restauranteRepository).findById(restaurante.getId());
+            verify(restauranteRepository).deletarPorId(restaurante.getId());
         }
     }
 }
@@ -0,0 +1,158 @@
+package br.com.reservei.api.domain.repository;
+
+import br.com.reservei.api.domain.model.Cidade;
+import br.com.reservei.api.infrastructure.config.ContadorDeInstrucoesSql;
+import br.com.reservei.api.infrastructure.config.ContadorDeInstrucoesSql.Contagem;
+import br.com.reservei.api.infrastructure.utils.Cozinha;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@Sql(scripts = {"/clean.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+class PlanoDeConsultaIT {
+
+    private static final int RESTAURANTES = 2000;
+    private static final int CIDADES = 50;
+    private static final int COZINHAS = 9;
+    private static final int REGISTROS_POR_RESTAURANTE = 5;
+    private static final LocalDateTime INICIO = LocalDateTime.of(2025, 1, 6, 12, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+    @Autowired
+    private ReservaRepository reservaRepository;
+    @Autowired
+    private AvaliacaoRepository avaliacaoRepository;
+    @Autowired
+    private ContadorDeInstrucoesSql contadorDeInstrucoesSql;
+
+    private Contagem instrucoes;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO estado (id, nome, sigla) VALUES (1, 'São Paulo', 'SP')");
+        List<Object[]> cidades = new ArrayList<>();
+        for (long id = 1; id <= CIDADES; id++) {
+            cidades.add(new Object[]{id, "Cidade " + id});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO cidade (id, nome, estado_id) VALUES (?, ?, 1)", cidades);
+
+        List<Object[]> enderecos = new ArrayList<>();
+        List<Object[]> restaurantes = new ArrayList<>();
+        List<Object[]> reservas = new ArrayList<>();
+        List<Object[]> avaliacoes = new ArrayList<>();
+        for (long id = 1; id <= RESTAURANTES; id++) {
+            enderecos.add(new Object[]{id, "Rua " + id, id % CIDADES + 1});
+            restaurantes.add(new Object[]{id, "Restaurante " + id, id % COZINHAS, id,
+                    Time.valueOf("12:00:00"), Time.valueOf("23:00:00")});
+            for (int i = 0; i < REGISTROS_POR_RESTAURANTE; i++) {
+                long registro = id * REGISTROS_POR_RESTAURANTE + i;
+                Timestamp momento = Timestamp.valueOf(INICIO.plusDays(i).plusHours(id % 10));
+                reservas.add(new Object[]{registro, id, momento});
+                avaliacoes.add(new Object[]{registro, i % 5 + 1, momento, id});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO endereco (id, rua, numero, bairro, cep, cidade_id) " +
+                "VALUES (?, ?, '10', 'Centro', '01000-000', ?)", enderecos);
+        jdbcTemplate.batchUpdate("INSERT INTO restaurante (id, nome, cozinha, endereco_id, reservas_por_hora, " +
+                "inicio_expediente, final_expediente) VALUES (?, ?, ?, ?, 10, ?, ?)", restaurantes);
+        jdbcTemplate.batchUpdate("INSERT INTO reserva (id, restaurante_id, hora_da_reserva) VALUES (?, ?, ?)", reservas);
+        jdbcTemplate.batchUpdate("INSERT INTO avaliacao (id, nota, comentario, data_criacao, restaurante_id) " +
+                "VALUES (?, ?, 'Bom', ?, ?)", avaliacoes);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @DisplayName("Busca de Restaurante")
+    @Nested
+    class BuscaDeRestaurante {
+
+        @DisplayName("Deve usar o índice de cozinha em findByCozinha")
+        @Test
+        void deveUsarIndice_QuandoBuscarPorCozinha() {
+            var plano = planoGerado(() -> restauranteRepository.findByCozinha(Cozinha.values()[3]), 3);
+
+            assertThat(plano).contains("IDX_RESTAURANTE_COZINHA").doesNotContain("tableScan");
+        }
+
+        @DisplayName("Deve usar o índice de nome em findByNome")
+        @Test
+        void deveUsarIndice_QuandoBuscarPorNome() {
+            var plano = planoGerado(() -> restauranteRepository.findByNome("Restaurante 42"), "Restaurante 42");
+
+            assertThat(plano).contains("IDX_RESTAURANTE_NOME").doesNotContain("tableScan");
+        }
+
+        @DisplayName("Deve percorrer apenas os endereços da cidade em findByEndereco_Cidade")
+        @Test
+        void deveUsarIndices_QuandoBuscarPorCidade() {
+            var cidade = Cidade.builder().id(7L).build();
+
+            var plano = planoGerado(() -> restauranteRepository.findByEndereco_Cidade(cidade), 7L);
+
+            assertThat(plano).contains("FK_ENDERECO_CIDADE").doesNotContain("tableScan");
+        }
+    }
+
+    @DisplayName("Busca de Reserva e Avaliação")
+    @Nested
+    class BuscaDeReservaEAvaliacao {
+
+        @DisplayName("Deve percorrer o índice composto já na ordem de horário ao buscar as reservas do período")
+        @Test
+        void deveUsarIndiceComposto_QuandoBuscarReservasPorPeriodo() {
+            var de = INICIO;
+            var ate = INICIO.plusDays(1);
+
+            var plano = planoGerado(() -> reservaRepository.buscarPorRestauranteEPeriodo(42L, de, ate),
+                    42L, Timestamp.valueOf(de), Timestamp.valueOf(ate));
+
+            assertThat(plano).contains("IDX_RESERVA_RESTAURANTE_HORA").doesNotContain("tableScan");
+        }
+
+        @DisplayName("Deve usar o índice composto ao buscar a última avaliação do restaurante")
+        @Test
+        void deveUsarIndiceComposto_QuandoBuscarUltimaAvaliacao() {
+            var plano = planoGerado(() -> avaliacaoRepository.buscarUltimaAvaliacao(42L), 42L);
+
+            assertThat(plano).contains("IDX_AVALIACAO_RESTAURANTE_DATA").doesNotContain("tableScan");
+        }
+    }
+
+    /**
+     * Executa a consulta do repositório, captura pelo ContadorDeInstrucoesSql o SQL que o Hibernate gerou para ela
+     * e devolve o EXPLAIN desse SQL com os parâmetros informados, na ordem em que aparecem na instrução.
+     */
+    private String planoGerado(Runnable consulta, Object... parametros) {
+        contadorDeInstrucoesSql.iniciar();
+        try {
+            consulta.run();
+        } finally {
+            instrucoes = contadorDeInstrucoesSql.encerrar();
+        }
+        assertThat(instrucoes.distintas()).hasSize(1);
+        String sql = instrucoes.distintas().iterator().next();
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parametros);
+    }
+}
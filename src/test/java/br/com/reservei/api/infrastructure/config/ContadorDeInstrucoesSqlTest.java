@@ -0,0 +1,93 @@
+package br.com.reservei.api.infrastructure.config;
+
+import br.com.reservei.api.domain.exceptions.OrcamentoDeInstrucoesExcedidoException;
+import br.com.reservei.api.infrastructure.config.ContadorDeInstrucoesSql.Acao;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ContadorDeInstrucoesSqlTest {
+
+    private static final String SELECT_ENDERECO = "select e1_0.id from endereco e1_0 where e1_0.id=?";
+
+    @DisplayName("Modo FALHAR")
+    @Nested
+    class ModoFalhar {
+
+        @DisplayName("Deve falhar a instrução que passa do orçamento da requisição")
+        @Test
+        void deveFalhar_QuandoPassarDoLimite() {
+            var contador = new ContadorDeInstrucoesSql(2, 0, Acao.FALHAR);
+            contador.iniciar();
+            contador.inspect("select 1");
+            contador.inspect("select 2");
+
+            assertThatThrownBy(() -> contador.inspect("select 3"))
+                    .isInstanceOf(OrcamentoDeInstrucoesExcedidoException.class)
+                    .hasMessage("A requisição passou do orçamento de 2 instruções SQL");
+            assertThat(contador.encerrar().instrucoes()).isEqualTo(3);
+        }
+
+        @DisplayName("Deve falhar quando a mesma instrução se repetir acima do limite")
+        @Test
+        void deveFalhar_QuandoDetectarNMaisUm() {
+            var contador = new ContadorDeInstrucoesSql(0, 2, Acao.FALHAR);
+            contador.iniciar();
+            contador.inspect(SELECT_ENDERECO);
+            contador.inspect(SELECT_ENDERECO);
+
+            assertThatThrownBy(() -> contador.inspect(SELECT_ENDERECO))
+                    .isInstanceOf(OrcamentoDeInstrucoesExcedidoException.class)
+                    .hasMessageContaining("possível N+1")
+                    .hasMessageEndingWith(SELECT_ENDERECO);
+        }
+
+        @DisplayName("Deve falhar apenas uma vez por requisição")
+        @Test
+        void deveFalharUmaVez() {
+            var contador = new ContadorDeInstrucoesSql(1, 0, Acao.FALHAR);
+            contador.iniciar();
+            contador.inspect("select 1");
+            assertThatThrownBy(() -> contador.inspect("select 2"))
+                    .isInstanceOf(OrcamentoDeInstrucoesExcedidoException.class);
+
+            assertThat(contador.inspect("rollback")).isEqualTo("rollback");
+        }
+    }
+
+    @DisplayName("Modo REGISTRAR")
+    @Nested
+    class ModoRegistrar {
+
+        @DisplayName("Deve deixar a instrução seguir e apontar o estouro ao encerrar")
+        @Test
+        void deveRegistrarEstouro() {
+            var contador = new ContadorDeInstrucoesSql(10, 2, Acao.REGISTRAR);
+            contador.iniciar();
+            for (int i = 0; i < 3; i++) {
+                assertThat(contador.inspect(SELECT_ENDERECO)).isEqualTo(SELECT_ENDERECO);
+            }
+
+            var contagem = contador.encerrar();
+
+            assertThat(contador.excedeLimite(contagem)).isFalse();
+            assertThat(contador.excedeRepeticoes(contagem)).isTrue();
+            assertThat(contagem.maiorRepeticao()).isEqualTo(3);
+            assertThat(contagem.maisRepetida()).isEqualTo(SELECT_ENDERECO);
+        }
+
+        @DisplayName("Não deve contar instruções fora de uma requisição")
+        @Test
+        void naoDeveContar_SemIniciar() {
+            var contador = new ContadorDeInstrucoesSql(1, 1, Acao.FALHAR);
+
+            contador.inspect("select 1");
+            contador.inspect("select 1");
+
+            assertThat(contador.encerrar()).isNull();
+        }
+    }
+}
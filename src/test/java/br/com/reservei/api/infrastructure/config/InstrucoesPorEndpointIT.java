@@ -0,0 +1,344 @@
+package br.com.reservei.api.infrastructure.config;
+
+import br.com.reservei.api.application.dto.CidadeDTO;
+import br.com.reservei.api.application.dto.EstadoDTO;
+import br.com.reservei.api.application.dto.ReservaDTO;
+import br.com.reservei.api.application.dto.RestauranteDTO;
+import br.com.reservei.api.application.usecases.avaliacao.AvaliacaoServiceImpl;
+import br.com.reservei.api.application.usecases.endereco.CidadeServiceImpl;
+import br.com.reservei.api.application.usecases.endereco.EnderecoServiceImpl;
+import br.com.reservei.api.application.usecases.endereco.EstadoServiceImpl;
+import br.com.reservei.api.application.usecases.reserva.ReservaServiceImpl;
+import br.com.reservei.api.application.usecases.restaurante.RestauranteServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.http.Method;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static br.com.reservei.api.infrastructure.utils.AvaliacaoHelper.gerarAvaliacaoDtoSemId;
+import static br.com.reservei.api.infrastructure.utils.CidadeHelper.gerarCidadeDtoSemId;
+import static br.com.reservei.api.infrastructure.utils.EnderecoHelper.gerarEnderecoDtoSemId;
+import static br.com.reservei.api.infrastructure.utils.EstadoHelper.gerarEstadoDto;
+import static br.com.reservei.api.infrastructure.utils.EstadoHelper.gerarEstadoSemId;
+import static br.com.reservei.api.infrastructure.utils.GeneralHelper.asJsonString;
+import static br.com.reservei.api.infrastructure.utils.ReservaHelper.gerarReservaDtoSemId;
+import static br.com.reservei.api.infrastructure.utils.RestauranteHelper.gerarRestauranteDtoSemId;
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fixa quantas instruções SQL cada endpoint prepara. Uma mudança no plano de busca que aumente a contagem quebra o
+ * teste correspondente; o perfil de teste usa reservei.sql.orcamento.acao=FALHAR, então um N+1 acima do limite de
+ * repetições já falha a própria requisição.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@Sql(scripts = {"/clean.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+class InstrucoesPorEndpointIT {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private EstadoServiceImpl estadoService;
+    @Autowired
+    private CidadeServiceImpl cidadeService;
+    @Autowired
+    private EnderecoServiceImpl enderecoService;
+    @Autowired
+    private RestauranteServiceImpl restauranteService;
+    @Autowired
+    private ReservaServiceImpl reservaService;
+    @Autowired
+    private AvaliacaoServiceImpl avaliacaoService;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private EstadoDTO estadoDTO;
+    private CidadeDTO cidadeDTO;
+
+    @BeforeEach
+    void setUp() {
+        this.estadoDTO = estadoService.salvar(gerarEstadoDto(gerarEstadoSemId()));
+        this.cidadeDTO = cidadeService.salvar(gerarCidadeDtoSemId(estadoDTO.id()));
+
+        RestAssured.port = port;
+        RestAssured.baseURI = "http://localhost";
+        RestAssured.enableLoggingOfRequestAndResponseIfValidationFails();
+    }
+
+    @DisplayName("Instruções por endpoint de leitura")
+    @Nested
+    class InstrucoesPorLeitura {
+
+        @DisplayName("Deve listar os Estados com uma única consulta")
+        @Test
+        void deveListarEstados() {
+            buscar("/estado", HttpStatus.OK);
+
+            assertThat(instrucoes("EstadoController.buscarTodos")).isEqualTo(1);
+        }
+
+        @DisplayName("Deve buscar o Estado no cache sem ir ao banco")
+        @Test
+        void deveBuscarEstadoNoCache() {
+            buscar("/estado/" + estadoDTO.id(), HttpStatus.OK);
+
+            assertThat(instrucoes("EstadoController.buscarPorId")).isZero();
+        }
+
+        @DisplayName("Deve buscar o Restaurante sem carregar o endereço")
+        @Test
+        void deveBuscarRestaurante() {
+            var restaurante = salvarRestaurante();
+
+            buscar("/restaurante/" + restaurante.id(), HttpStatus.OK);
+
+            assertThat(instrucoes("RestauranteController.buscarPorId")).isEqualTo(1);
+        }
+
+        @DisplayName("Deve listar as Cidades sem carregar os Estados")
+        @Test
+        void deveListarCidades() {
+            cidadeService.salvar(new CidadeDTO(null, "Camaçari", estadoDTO.id()));
+
+            buscar("/cidade", HttpStatus.OK);
+
+            assertThat(instrucoes("CidadeController.buscarTodos")).isEqualTo(1);
+        }
+
+        @DisplayName("Deve listar os Endereços sem carregar as Cidades")
+        @Test
+        void deveListarEnderecos() {
+            for (int i = 0; i < 3; i++) {
+                enderecoService.salvar(gerarEnderecoDtoSemId(cidadeDTO.id()));
+            }
+
+            buscar("/endereco", HttpStatus.OK);
+
+            assertThat(instrucoes("EnderecoController.buscarTodos")).isEqualTo(1);
+        }
+
+        @DisplayName("Deve listar os Restaurantes sem carregar os endereços")
+        @Test
+        void deveListarRestaurantes() {
+            for (int i = 0; i < 3; i++) {
+                salvarRestaurante();
+            }
+
+            buscar("/restaurante", HttpStatus.OK);
+
+            assertThat(instrucoes("RestauranteController.buscarTodos")).isEqualTo(1);
+        }
+
+        @DisplayName("Deve listar as Reservas sem carregar os restaurantes")
+        @Test
+        void deveListarReservas() {
+            var restaurante = salvarRestaurante();
+            for (int i = 0; i < 3; i++) {
+                reservaService.salvar(gerarReservaDtoSemId(restaurante.id()));
+            }
+
+            buscar("/reserva", HttpStatus.OK);
+
+            assertThat(instrucoes("ReservaController.buscarTodos")).isEqualTo(1);
+        }
+
+        @DisplayName("Deve listar as Avaliações sem carregar os restaurantes")
+        @Test
+        void deveListarAvaliacoes() {
+            for (int i = 0; i < 3; i++) {
+                avaliacaoService.salvar(gerarAvaliacaoDtoSemId(salvarRestaurante().id()));
+            }
+
+            buscar("/avaliacao", HttpStatus.OK);
+
+            assertThat(instrucoes("AvaliacaoController.buscarTodos")).isEqualTo(1);
+        }
+    }
+
+    @DisplayName("Instruções por endpoint de escrita")
+    @Nested
+    class InstrucoesPorEscrita {
+
+        @DisplayName("Deve salvar a Reserva com quatro instruções")
+        @Test
+        void deveSalvarReserva() {
+            var restaurante = salvarRestaurante();
+
+            enviar(Method.POST, "/reserva", gerarReservaDtoSemId(restaurante.id()), HttpStatus.CREATED);
+
+            assertThat(instrucoes("ReservaController.salvar")).isEqualTo(4);
+        }
+
+        @DisplayName("Deve salvar o lote de três Reservas com seis instruções")
+        @Test
+        void deveSalvarLoteDeReservas() {
+            var restaurante = salvarRestaurante();
+            var reserva = gerarReservaDtoSemId(restaurante.id());
+            var lote = List.of(reserva,
+                    new ReservaDTO(null, restaurante.id(), reserva.horaDaReserva().plusHours(1)),
+                    new ReservaDTO(null, restaurante.id(), reserva.horaDaReserva().plusHours(2)));
+
+            enviar(Method.POST, "/reserva/lote", lote, HttpStatus.OK);
+
+            assertThat(instrucoes("ReservaController.salvarLote")).isEqualTo(6);
+        }
+
+        @DisplayName("Deve atualizar a Reserva com uma leitura, um UPDATE e a marcação das duas horas de ocupação")
+        @Test
+        void deveAtualizarReserva() {
+            var restaurante = salvarRestaurante();
+            var reserva = reservaService.salvar(gerarReservaDtoSemId(restaurante.id()));
+            var alterada = new ReservaDTO(reserva.id(), restaurante.id(), reserva.horaDaReserva().plusHours(1));
+
+            enviar(Method.PUT, "/reserva/" + reserva.id(), alterada, HttpStatus.OK);
+
+            assertThat(instrucoes("ReservaController.atualizar")).isEqualTo(4);
+        }
+
+        @DisplayName("Deve deletar a Reserva com a leitura do horário, um DELETE e a marcação da hora de ocupação")
+        @Test
+        void deveDeletarReserva() {
+            var restaurante = salvarRestaurante();
+            var reserva = reservaService.salvar(gerarReservaDtoSemId(restaurante.id()));
+
+            enviar(Method.DELETE, "/reserva/" + reserva.id(), null, HttpStatus.NO_CONTENT);
+
+            assertThat(instrucoes("ReservaController.deletarPorId")).isEqualTo(3);
+        }
+    }
+
+    @DisplayName("Instruções por endpoint do Restaurante")
+    @Nested
+    class InstrucoesPorRecursoDoRestaurante {
+
+        @DisplayName("Deve buscar Restaurantes por filtros com a página e a contagem por cozinha")
+        @Test
+        void deveBuscarRestaurantesPorFiltros() {
+            for (int i = 0; i < 3; i++) {
+                salvarRestaurante();
+            }
+
+            buscar("/restaurante/busca?limit=2", HttpStatus.OK);
+
+            assertThat(instrucoes("RestauranteController.buscar")).isEqualTo(2);
+        }
+
+        @DisplayName("Deve buscar a disponibilidade do Restaurante lendo apenas o Restaurante")
+        @Test
+        void deveBuscarDisponibilidade() {
+            var restaurante = salvarRestaurante();
+            var reserva = reservaService.salvar(gerarReservaDtoSemId(restaurante.id()));
+
+            buscar("/restaurante/" + restaurante.id() + "/disponibilidade?data="
+                    + reserva.horaDaReserva().toLocalDate(), HttpStatus.OK);
+
+            assertThat(instrucoes("RestauranteController.buscarDisponibilidade")).isEqualTo(1);
+        }
+
+        @DisplayName("Deve buscar as Reservas do Restaurante no período com a leitura do Restaurante e uma consulta")
+        @Test
+        void deveBuscarReservasDoRestaurante() {
+            var restaurante = salvarRestaurante();
+            var reserva = reservaService.salvar(gerarReservaDtoSemId(restaurante.id()));
+            var dia = reserva.horaDaReserva().toLocalDate();
+
+            buscar("/restaurante/" + restaurante.id() + "/reservas?de=" + dia.atStartOfDay()
+                    + "&ate=" + dia.plusDays(1).atStartOfDay(), HttpStatus.OK);
+
+            assertThat(instrucoes("RestauranteController.buscarReservas")).isEqualTo(2);
+        }
+
+        @DisplayName("Deve buscar a ocupação do Restaurante com a leitura do Restaurante e uma consulta")
+        @Test
+        void deveBuscarOcupacao() {
+            var restaurante = salvarRestaurante();
+            var hoje = LocalDate.now();
+
+            buscar("/restaurante/" + restaurante.id() + "/ocupacao?granularidade=DIA&de=" + hoje
+                    + "&ate=" + hoje.plusDays(7), HttpStatus.OK);
+
+            assertThat(instrucoes("RestauranteController.buscarOcupacao")).isEqualTo(2);
+        }
+
+        @DisplayName("Deve buscar o resumo de avaliações do Restaurante apenas checando a existência do Restaurante")
+        @Test
+        void deveBuscarResumoDeAvaliacoes() {
+            var restaurante = salvarRestaurante();
+            avaliacaoService.salvar(gerarAvaliacaoDtoSemId(restaurante.id()));
+
+            buscar("/restaurante/" + restaurante.id() + "/avaliacao/resumo", HttpStatus.OK);
+
+            assertThat(instrucoes("RestauranteController.buscarResumoDeAvaliacoes")).isEqualTo(1);
+        }
+    }
+
+    @DisplayName("Orçamento de instruções")
+    @Nested
+    class OrcamentoDeInstrucoes {
+
+        @DisplayName("Deve listar mais Restaurantes que o limite de repetições sem estourar o orçamento")
+        @Test
+        void deveListarRestaurantes_SemNMaisUm() {
+            for (int i = 0; i < 11; i++) {
+                salvarRestaurante();
+            }
+
+            buscar("/restaurante", HttpStatus.OK);
+
+            assertThat(instrucoes("RestauranteController.buscarTodos")).isEqualTo(1);
+            assertThat(meterRegistry.find(MetricasConfig.ORCAMENTO_EXCEDIDO).counter()).isNull();
+        }
+    }
+
+    private RestauranteDTO salvarRestaurante() {
+        var endereco = enderecoService.salvar(gerarEnderecoDtoSemId(cidadeDTO.id()));
+        return restauranteService.salvar(gerarRestauranteDtoSemId(endereco.id()));
+    }
+
+    private void buscar(String caminho, HttpStatus status) {
+        given()
+        .when()
+                .get(caminho)
+        .then()
+                .statusCode(status.value());
+    }
+
+    private void enviar(Method metodo, String caminho, Object corpo, HttpStatus status) {
+        var requisicao = given().contentType(ContentType.JSON);
+        if (corpo != null) {
+            requisicao.body(asJsonString(corpo));
+        }
+        requisicao
+        .when()
+                .request(metodo, caminho)
+        .then()
+                .statusCode(status.value());
+    }
+
+    private double instrucoes(String metodo) {
+        var resumo = meterRegistry.get(MetricasConfig.INSTRUCOES_POR_REQUISICAO)
+                .tag("metodo", metodo)
+                .summary();
+        assertThat(resumo.count()).isEqualTo(1);
+        return resumo.totalAmount();
+    }
+}
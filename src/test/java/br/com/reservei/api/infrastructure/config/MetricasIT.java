@@ -0,0 +1,170 @@
+package br.com.reservei.api.infrastructure.config;
+
+import br.com.reservei.api.application.dto.RestauranteDTO;
+import br.com.reservei.api.application.usecases.endereco.CidadeServiceImpl;
+import br.com.reservei.api.application.usecases.endereco.EnderecoServiceImpl;
+import br.com.reservei.api.application.usecases.endereco.EstadoServiceImpl;
+import br.com.reservei.api.application.usecases.restaurante.RestauranteServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.restassured.RestAssured;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.util.List;
+
+import static br.com.reservei.api.infrastructure.utils.CidadeHelper.gerarCidadeDtoSemId;
+import static br.com.reservei.api.infrastructure.utils.EnderecoHelper.gerarEnderecoDtoSemId;
+import static br.com.reservei.api.infrastructure.utils.EstadoHelper.gerarEstadoDto;
+import static br.com.reservei.api.infrastructure.utils.EstadoHelper.gerarEstadoSemId;
+import static br.com.reservei.api.infrastructure.utils.RestauranteHelper.gerarRestauranteDtoSemId;
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@Sql(scripts = {"/clean.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+class MetricasIT {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private EstadoServiceImpl estadoService;
+    @Autowired
+    private CidadeServiceImpl cidadeService;
+    @Autowired
+    private EnderecoServiceImpl enderecoService;
+    @Autowired
+    private RestauranteServiceImpl restauranteService;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private RestauranteDTO restauranteDTO;
+
+    @BeforeEach
+    void setUp() {
+        var estadoDTO = estadoService.salvar(gerarEstadoDto(gerarEstadoSemId()));
+        var cidadeDTO = cidadeService.salvar(gerarCidadeDtoSemId(estadoDTO.id()));
+        var enderecoDTO = enderecoService.salvar(gerarEnderecoDtoSemId(cidadeDTO.id()));
+        this.restauranteDTO = restauranteService.salvar(gerarRestauranteDtoSemId(enderecoDTO.id()));
+
+        RestAssured.port = port;
+        RestAssured.baseURI = "http://localhost";
+        RestAssured.enableLoggingOfRequestAndResponseIfValidationFails();
+    }
+
+    @DisplayName("Métricas por endpoint")
+    @Nested
+    class MetricasPorEndpoint {
+
+        @DisplayName("Deve expor o histograma de latência de cada método de controller")
+        @Test
+        void deveExporHistogramaPorMetodoDeController() {
+            buscarRestaurante(restauranteDTO.id(), HttpStatus.OK);
+
+            var amostras = coletar();
+
+            var baldes = amostras.stream()
+                    .filter(linha -> linha.startsWith("http_server_requests_seconds_bucket{")
+                            && linha.contains("metodo=\"RestauranteController.buscarPorId\""))
+                    .toList();
+            assertThat(baldes).isNotEmpty();
+            assertThat(baldes.getLast()).contains("le=\"+Inf\"");
+            assertThat(valor(baldes.getLast())).isEqualTo(1.0);
+            assertThat(baldes.stream().map(MetricasIT::valor).toList()).isSorted();
+            assertThat(amostras).contains("# TYPE http_server_requests_seconds histogram");
+        }
+
+        @DisplayName("Deve registrar as instruções SQL de cada requisição")
+        @Test
+        void deveRegistrarInstrucoesSqlPorRequisicao() {
+            buscarRestaurante(restauranteDTO.id(), HttpStatus.OK);
+
+            var instrucoes = meterRegistry.get(MetricasConfig.INSTRUCOES_POR_REQUISICAO)
+                    .tag("metodo", "RestauranteController.buscarPorId")
+                    .summary();
+            assertThat(instrucoes.count()).isEqualTo(1);
+            assertThat(instrucoes.totalAmount()).isPositive();
+            assertThat(coletar()).anyMatch(linha ->
+                    linha.startsWith("reservei_hibernate_instrucoes_count{metodo=\"RestauranteController.buscarPorId\"}"));
+        }
+    }
+
+    @DisplayName("Métricas de serviços e do pool")
+    @Nested
+    class MetricasDeServicosEPool {
+
+        @DisplayName("Deve medir os métodos de serviço e contar as exceções lançadas")
+        @Test
+        void deveMedirServicosEContarErros() {
+            buscarRestaurante(restauranteDTO.id(), HttpStatus.OK);
+            buscarRestaurante(restauranteDTO.id() + 1, HttpStatus.NOT_FOUND);
+
+            var amostras = coletar();
+
+            assertThat(valor(amostras, "reservei_servico_erros_total{classe=\"RestauranteServiceImpl\","
+                    + "excecao=\"RecursoNaoEncontradoException\",metodo=\"buscarVersionadoPorId\"}")).isEqualTo(1.0);
+            assertThat(valor(amostras, "reservei_servico_seconds_count{classe=\"RestauranteServiceImpl\","
+                    + "excecao=\"none\",metodo=\"buscarVersionadoPorId\"}")).isEqualTo(1.0);
+            assertThat(valor(amostras, "reservei_servico_seconds_count{classe=\"RestauranteServiceImpl\","
+                    + "excecao=\"RecursoNaoEncontradoException\",metodo=\"buscarVersionadoPorId\"}")).isEqualTo(1.0);
+        }
+
+        @DisplayName("Deve expor a ocupação do pool de conexões")
+        @Test
+        void deveExporOcupacaoDoPool() {
+            var amostras = coletar();
+
+            assertThat(amostras)
+                    .anyMatch(linha -> linha.startsWith("hikaricp_connections_active{"))
+                    .anyMatch(linha -> linha.startsWith("hikaricp_connections_pending{"))
+                    .anyMatch(linha -> linha.startsWith("hikaricp_connections_max{"))
+                    .anyMatch(linha -> linha.startsWith("hikaricp_connections_acquire_seconds_bucket{"));
+        }
+    }
+
+    private void buscarRestaurante(Long id, HttpStatus status) {
+        given()
+        .when()
+                .get("/restaurante/{idRestaurante}", id)
+        .then()
+                .statusCode(status.value());
+    }
+
+    private List<String> coletar() {
+        return given()
+        .when()
+                .get("/actuator/prometheus")
+        .then()
+                .statusCode(HttpStatus.OK.value())
+                .contentType(startsWith("text/plain"))
+                .extract().asString()
+                .lines()
+                .toList();
+    }
+
+    private static double valor(List<String> amostras, String serie) {
+        return amostras.stream()
+                .filter(linha -> linha.startsWith(serie + " "))
+                .mapToDouble(MetricasIT::valor)
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("Série ausente: " + serie));
+    }
+
+    private static double valor(String amostra) {
+        return Double.parseDouble(amostra.substring(amostra.lastIndexOf(' ') + 1));
+    }
+}
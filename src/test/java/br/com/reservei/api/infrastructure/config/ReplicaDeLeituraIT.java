@@ -0,0 +1,175 @@
+package br.com.reservei.api.infrastructure.config;
+
+import br.com.reservei.api.application.dto.EstadoDTO;
+import br.com.reservei.api.application.usecases.endereco.EstadoServiceImpl;
+import br.com.reservei.api.domain.exceptions.RecursoNaoEncontradoException;
+import br.com.reservei.api.infrastructure.utils.VersaoDasColecoes;
+import br.com.reservei.api.infrastructure.utils.VersaoDasColecoes.Colecao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static br.com.reservei.api.infrastructure.utils.EstadoHelper.gerarEstadoDto;
+import static br.com.reservei.api.infrastructure.utils.EstadoHelper.gerarEstadoSemId;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Dois H2 em memória fazem o papel de primário e réplica, sem replicação entre eles: um registro gravado só em um
+ * dos bancos mostra de onde a leitura veio, e o pulso gravado direto na réplica simula o atraso da replicação.
+ */
+@SpringBootTest(properties = {
+        "reservei.datasource.replica.url=jdbc:h2:mem:reservei_replica_test;DB_CLOSE_DELAY=-1",
+        "reservei.datasource.replica.migrar=true",
+        "reservei.datasource.replica.atraso-maximo=5s",
+        "reservei.datasource.replica.intervalo-verificacao=3600000"})
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@Sql(scripts = {"/clean.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+class ReplicaDeLeituraIT {
+
+    private static final String CONTAR_ESTADOS = "SELECT COUNT(*) FROM estado";
+    private static final String GRAVAR_PULSO = "MERGE INTO pulso_replicacao (id, instante) KEY (id) VALUES (1, ?)";
+
+    @Autowired
+    private EstadoServiceImpl estadoService;
+    @Autowired
+    private MonitorDeReplica monitorDeReplica;
+    @Autowired
+    private VersaoDasColecoes versaoDasColecoes;
+    @Autowired
+    @Qualifier("primario")
+    private DataSource primario;
+    @Autowired
+    @Qualifier("replica")
+    private DataSource replica;
+
+    private JdbcTemplate noPrimario;
+    private JdbcTemplate naReplica;
+
+    @BeforeEach
+    void setUp() {
+        this.noPrimario = new JdbcTemplate(primario);
+        this.naReplica = new JdbcTemplate(replica);
+        new ResourceDatabasePopulator(new ClassPathResource("clean.sql")).execute(replica);
+        naReplica.update(GRAVAR_PULSO, System.currentTimeMillis());
+        monitorDeReplica.verificar();
+    }
+
+    @DisplayName("Réplica em dia")
+    @Nested
+    class ReplicaEmDia {
+
+        @DisplayName("Deve ler da réplica em transação somente leitura")
+        @Test
+        void deveLerDaReplica_EmTransacaoSomenteLeitura() {
+            estadoService.salvar(gerarEstadoDto(gerarEstadoSemId()));
+            naReplica.update("INSERT INTO estado (nome, sigla) VALUES ('Replicado', 'RP')");
+
+            var estados = estadoService.buscarTodos();
+
+            assertThat(monitorDeReplica.isDisponivel()).isTrue();
+            assertThat(estados).extracting(EstadoDTO::sigla).containsExactly("RP");
+        }
+
+        @DisplayName("Deve gravar no primário")
+        @Test
+        void deveGravarNoPrimario() {
+            estadoService.salvar(gerarEstadoDto(gerarEstadoSemId()));
+
+            assertThat(noPrimario.queryForObject(CONTAR_ESTADOS, Integer.class)).isEqualTo(1);
+            assertThat(naReplica.queryForObject(CONTAR_ESTADOS, Integer.class)).isZero();
+        }
+
+        @DisplayName("Deve usar o primário nas leituras de uma transação de escrita")
+        @Test
+        void deveLerDoPrimario_EmTransacaoDeEscrita() {
+            var estado = estadoService.salvar(gerarEstadoDto(gerarEstadoSemId()));
+
+            var alterado = estadoService.atualizar(estado.id(), new EstadoDTO(estado.id(), "Sergipe", "SE"));
+
+            assertThat(alterado.sigla()).isEqualTo("SE");
+            assertThat(noPrimario.queryForObject("SELECT sigla FROM estado WHERE id = ?", String.class, estado.id()))
+                    .isEqualTo("SE");
+        }
+
+        @DisplayName("Deve montar a listagem condicional pelo primário depois de uma escrita")
+        @Test
+        void deveLerDoPrimario_QuandoListagemCondicionalSeguirUmaEscrita() {
+            var estado = estadoService.salvar(gerarEstadoDto(gerarEstadoSemId()));
+            var versao = versaoDasColecoes.buscar(Colecao.ESTADOS);
+            var requisicao = new ServletWebRequest(new MockHttpServletRequest("GET", "/estado"));
+
+            var resposta = versaoDasColecoes.responder(Colecao.ESTADOS, requisicao,
+                    () -> estadoService.buscarPagina(null, null));
+
+            assertThat(resposta.getHeaders().getETag()).isEqualTo(versao.etag());
+            assertThat(resposta.getBody()).containsExactly(estado);
+            assertThat(naReplica.queryForObject(CONTAR_ESTADOS, Integer.class)).isZero();
+        }
+
+        @DisplayName("Não deve guardar no cache o Estado que a réplica ainda tem depois de deletado")
+        @Test
+        void naoDeveLerDaReplica_QuandoBuscarPorIdDepoisDeDeletar() {
+            var estado = estadoService.salvar(gerarEstadoDto(gerarEstadoSemId()));
+            naReplica.update("INSERT INTO estado (id, nome, sigla) VALUES (?, ?, ?)",
+                    estado.id(), estado.nome(), estado.sigla());
+
+            estadoService.deletarPorId(estado.id());
+
+            assertThatThrownBy(() -> estadoService.buscarPorId(estado.id()))
+                    .isInstanceOf(RecursoNaoEncontradoException.class);
+            assertThat(naReplica.queryForObject(CONTAR_ESTADOS, Integer.class)).isEqualTo(1);
+        }
+    }
+
+    @DisplayName("Réplica indisponível")
+    @Nested
+    class ReplicaIndisponivel {
+
+        @DisplayName("Deve ler do primário quando a réplica passar do atraso máximo")
+        @Test
+        void deveLerDoPrimario_QuandoReplicaAtrasar() {
+            var estado = estadoService.salvar(gerarEstadoDto(gerarEstadoSemId()));
+            naReplica.update(GRAVAR_PULSO, System.currentTimeMillis() - 60_000);
+
+            monitorDeReplica.verificar();
+            var estados = estadoService.buscarTodos();
+
+            assertThat(monitorDeReplica.isDisponivel()).isFalse();
+            assertThat(monitorDeReplica.getAtraso()).isGreaterThanOrEqualTo(Duration.ofMinutes(1));
+            assertThat(estados).containsExactly(estado);
+        }
+
+        @DisplayName("Deve ler do primário quando a réplica não responder")
+        @Test
+        void deveLerDoPrimario_QuandoReplicaNaoResponder() {
+            var estado = estadoService.salvar(gerarEstadoDto(gerarEstadoSemId()));
+            naReplica.update("DELETE FROM pulso_replicacao");
+
+            monitorDeReplica.verificar();
+            var estados = estadoService.buscarTodos();
+
+            assertThat(monitorDeReplica.isDisponivel()).isFalse();
+            assertThat(monitorDeReplica.getAtraso()).isNull();
+            assertThat(estados).containsExactly(estado);
+        }
+    }
+}
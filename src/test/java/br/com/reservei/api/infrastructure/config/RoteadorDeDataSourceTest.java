@@ -0,0 +1,63 @@
+package br.com.reservei.api.infrastructure.config;
+
+import br.com.reservei.api.infrastructure.config.RoteadorDeDataSource.Destino;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class RoteadorDeDataSourceTest {
+
+    private final MonitorDeReplica monitorDeReplica = mock(MonitorDeReplica.class);
+    private final RoteadorDeDataSource roteador =
+            new RoteadorDeDataSource(mock(DataSource.class), mock(DataSource.class), monitorDeReplica);
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @DisplayName("Deve usar a réplica em transação somente leitura")
+    @Test
+    void deveUsarReplica_EmTransacaoSomenteLeitura() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(monitorDeReplica.isDisponivel()).thenReturn(true);
+
+        assertThat(roteador.destino()).isEqualTo(Destino.REPLICA);
+    }
+
+    @DisplayName("Deve voltar ao primário quando a réplica estiver atrasada ou fora do ar")
+    @Test
+    void deveUsarPrimario_QuandoReplicaIndisponivel() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(monitorDeReplica.isDisponivel()).thenReturn(false);
+
+        assertThat(roteador.destino()).isEqualTo(Destino.PRIMARIO);
+    }
+
+    @DisplayName("Deve usar o primário dentro de noPrimario mesmo em transação somente leitura")
+    @Test
+    void deveUsarPrimario_DentroDeNoPrimario() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(monitorDeReplica.isDisponivel()).thenReturn(true);
+
+        Destino dentro = RoteadorDeDataSource.noPrimario(roteador::destino);
+
+        assertThat(dentro).isEqualTo(Destino.PRIMARIO);
+        assertThat(roteador.destino()).isEqualTo(Destino.REPLICA);
+    }
+
+    @DisplayName("Deve usar o primário fora de transação somente leitura")
+    @Test
+    void deveUsarPrimario_ForaDeTransacaoSomenteLeitura() {
+        assertThat(roteador.destino()).isEqualTo(Destino.PRIMARIO);
+        verifyNoInteractions(monitorDeReplica);
+    }
+}
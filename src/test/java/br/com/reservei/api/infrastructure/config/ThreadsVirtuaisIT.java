@@ -0,0 +1,125 @@
+package br.com.reservei.api.infrastructure.config;
+
+import br.com.reservei.api.application.dto.ReservaDTO;
+import br.com.reservei.api.application.dto.RestauranteDTO;
+import br.com.reservei.api.application.usecases.avaliacao.AvaliacaoServiceImpl;
+import br.com.reservei.api.application.usecases.endereco.CidadeServiceImpl;
+import br.com.reservei.api.application.usecases.endereco.EnderecoServiceImpl;
+import br.com.reservei.api.application.usecases.endereco.EstadoServiceImpl;
+import br.com.reservei.api.application.usecases.reserva.ReservaServiceImpl;
+import br.com.reservei.api.application.usecases.restaurante.RestauranteServiceImpl;
+import jdk.jfr.consumer.RecordingStream;
+import org.apache.catalina.connector.Connector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static br.com.reservei.api.infrastructure.utils.AvaliacaoHelper.gerarAvaliacaoDtoSemId;
+import static br.com.reservei.api.infrastructure.utils.CidadeHelper.gerarCidadeDtoSemId;
+import static br.com.reservei.api.infrastructure.utils.EnderecoHelper.gerarEnderecoDtoSemId;
+import static br.com.reservei.api.infrastructure.utils.EstadoHelper.gerarEstadoDto;
+import static br.com.reservei.api.infrastructure.utils.EstadoHelper.gerarEstadoSemId;
+import static br.com.reservei.api.infrastructure.utils.RestauranteHelper.gerarRestauranteDtoSemId;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.threads.virtual.enabled=true")
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@Sql(scripts = {"/clean.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+class ThreadsVirtuaisIT {
+
+    private static final int TAREFAS = 240;
+    private static final int HORAS_DE_EXPEDIENTE = 12;
+
+    @Autowired
+    private ServletWebServerApplicationContext contexto;
+    @Autowired
+    private EstadoServiceImpl estadoService;
+    @Autowired
+    private CidadeServiceImpl cidadeService;
+    @Autowired
+    private EnderecoServiceImpl enderecoService;
+    @Autowired
+    private RestauranteServiceImpl restauranteService;
+    @Autowired
+    private ReservaServiceImpl reservaService;
+    @Autowired
+    private AvaliacaoServiceImpl avaliacaoService;
+
+    private RestauranteDTO restauranteDTO;
+
+    @BeforeEach
+    void setUp() {
+        var estadoDTO = estadoService.salvar(gerarEstadoDto(gerarEstadoSemId()));
+        var cidadeDTO = cidadeService.salvar(gerarCidadeDtoSemId(estadoDTO.id()));
+        var enderecoDTO = enderecoService.salvar(gerarEnderecoDtoSemId(cidadeDTO.id()));
+        this.restauranteDTO = restauranteService.salvar(gerarRestauranteDtoSemId(enderecoDTO.id()));
+    }
+
+    @DisplayName("Deve atender as requisições do Tomcat em threads virtuais")
+    @Test
+    void deveAtenderRequisicoesEmThreadsVirtuais() {
+        Connector connector = ((TomcatWebServer) contexto.getWebServer()).getTomcat().getConnector();
+
+        assertThat(connector.getProtocolHandler().getExecutor().getClass().getSimpleName())
+                .isEqualTo("VirtualThreadExecutor");
+    }
+
+    @DisplayName("Não deve fixar a thread portadora ao acessar o banco a partir de threads virtuais")
+    @Test
+    void naoDeveFixarThreadPortadora_QuandoAcessarBancoEmThreadsVirtuais() throws Exception {
+        executarEmThreadsVirtuais(0);
+        AtomicInteger fixacoes = new AtomicInteger();
+
+        try (RecordingStream gravacao = new RecordingStream()) {
+            gravacao.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            gravacao.onEvent("jdk.VirtualThreadPinned", evento -> fixacoes.incrementAndGet());
+            gravacao.startAsync();
+
+            executarEmThreadsVirtuais(1);
+
+            gravacao.stop();
+        }
+
+        assertThat(fixacoes.get()).isZero();
+    }
+
+    private void executarEmThreadsVirtuais(int semana) throws Exception {
+        LocalDate primeiroDia = LocalDate.now().plusWeeks(semana + 1L);
+        List<Future<?>> tarefas = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < TAREFAS; i++) {
+                var horaDaReserva = primeiroDia.plusDays(i / HORAS_DE_EXPEDIENTE)
+                        .atTime(12 + i % HORAS_DE_EXPEDIENTE, 0);
+                tarefas.add(executor.submit(() -> {
+                    reservaService.salvar(new ReservaDTO(null, restauranteDTO.id(), horaDaReserva));
+                    avaliacaoService.salvar(gerarAvaliacaoDtoSemId(restauranteDTO.id()));
+                    reservaService.buscarDisponibilidade(restauranteDTO.id(), horaDaReserva.toLocalDate());
+                    return avaliacaoService.buscarResumo(restauranteDTO.id());
+                }));
+            }
+        }
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get();
+        }
+    }
+}
@@ -2,7 +2,9 @@ package br.com.reservei.api.infrastructure.utils;
 
 import br.com.reservei.api.application.dto.AvaliacaoDTO;
 import br.com.reservei.api.domain.model.Avaliacao;
+import br.com.reservei.api.domain.repository.projection.DadosDaAvaliacao;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 import static br.com.reservei.api.infrastructure.utils.RestauranteHelper.gerarRestaurante;
@@ -27,6 +29,35 @@ public class AvaliacaoHelper {
 
     }
 
+    public static DadosDaAvaliacao gerarDadosDaAvaliacao(Avaliacao avaliacao){
+        return new DadosDaAvaliacao() {
+            @Override
+            public Long getId() {
+                return avaliacao.getId();
+            }
+
+            @Override
+            public int getNota() {
+                return avaliacao.getNota();
+            }
+
+            @Override
+            public String getComentario() {
+                return avaliacao.getComentario();
+            }
+
+            @Override
+            public LocalDateTime getDataCriacao() {
+                return avaliacao.getDataCriacao();
+            }
+
+            @Override
+            public Long getRestauranteId() {
+                return avaliacao.getRestaurante().getId();
+            }
+        };
+    }
+
     public static AvaliacaoDTO gerarAvaliacaoDtoSemId(Long restauranteId){
         return new AvaliacaoDTO(null,
                 5,
@@ -4,6 +4,7 @@ import br.com.reservei.api.application.dto.CidadeDTO;
 import br.com.reservei.api.domain.model.Cidade;
 import br.com.reservei.api.domain.repository.CidadeRepository;
 import br.com.reservei.api.domain.repository.EstadoRepository;
+import br.com.reservei.api.domain.repository.projection.DadosDaCidade;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -31,6 +32,25 @@ public class CidadeHelper {
         return new CidadeDTO(cidade.getId(), cidade.getNome(), cidade.getEstado().getId());
     }
 
+    public static DadosDaCidade gerarDadosDaCidade(Cidade cidade){
+        return new DadosDaCidade() {
+            @Override
+            public Long getId() {
+                return cidade.getId();
+            }
+
+            @Override
+            public String getNome() {
+                return cidade.getNome();
+            }
+
+            @Override
+            public Long getEstadoId() {
+                return cidade.getEstado().getId();
+            }
+        };
+    }
+
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public static Cidade salvarCidade(CidadeRepository cidadeRepository,
                                       EstadoRepository estadoRepository){
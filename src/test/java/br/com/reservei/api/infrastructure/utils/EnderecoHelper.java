@@ -5,6 +5,7 @@ import br.com.reservei.api.domain.model.Endereco;
 import br.com.reservei.api.domain.repository.CidadeRepository;
 import br.com.reservei.api.domain.repository.EnderecoRepository;
 import br.com.reservei.api.domain.repository.EstadoRepository;
+import br.com.reservei.api.domain.repository.projection.DadosDoEndereco;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -32,6 +33,40 @@ public class EnderecoHelper {
                 endereco.getCep());
     }
 
+    public static DadosDoEndereco gerarDadosDoEndereco(Endereco endereco){
+        return new DadosDoEndereco() {
+            @Override
+            public Long getId() {
+                return endereco.getId();
+            }
+
+            @Override
+            public Long getCidadeId() {
+                return endereco.getCidade().getId();
+            }
+
+            @Override
+            public String getBairro() {
+                return endereco.getBairro();
+            }
+
+            @Override
+            public String getRua() {
+                return endereco.getRua();
+            }
+
+            @Override
+            public String getNumero() {
+                return endereco.getNumero();
+            }
+
+            @Override
+            public String getCep() {
+                return endereco.getCep();
+            }
+        };
+    }
+
     public static EnderecoDTO gerarEnderecoDtoSemId(Long cidadeId){
         return new EnderecoDTO(null,
                 cidadeId,
@@ -4,6 +4,7 @@ import br.com.reservei.api.application.dto.EstadoDTO;
 import br.com.reservei.api.domain.model.Cidade;
 import br.com.reservei.api.domain.model.Estado;
 import br.com.reservei.api.domain.repository.EstadoRepository;
+import br.com.reservei.api.domain.repository.projection.DadosDoEstado;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -33,6 +34,25 @@ public class EstadoHelper {
         return new EstadoDTO(estado.getId(), estado.getNome(), estado.getSigla());
     }
 
+    public static DadosDoEstado gerarDadosDoEstado(Estado estado){
+        return new DadosDoEstado() {
+            @Override
+            public Long getId() {
+                return estado.getId();
+            }
+
+            @Override
+            public String getNome() {
+                return estado.getNome();
+            }
+
+            @Override
+            public String getSigla() {
+                return estado.getSigla();
+            }
+        };
+    }
+
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public static Estado salvarEstado(EstadoRepository estadoRepository){
         var estado = gerarEstado();
@@ -1,6 +1,11 @@
 package br.com.reservei.api.infrastructure.utils;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
 public class GeneralHelper {
@@ -8,6 +13,19 @@ public class GeneralHelper {
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
             .registerModule(new JavaTimeModule());
 
+    // Lê também as propriedades READ_ONLY, como o id, para comparar as respostas com os DTOs
+    private static final ObjectMapper LEITOR_DE_RESPOSTAS = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .setAnnotationIntrospector(new JacksonAnnotationIntrospector() {
+                @Override
+                public JsonProperty.Access findPropertyAccess(Annotated anotado) {
+                    return null;
+                }
+            });
+
+    private static final ObjectMapper ESCRITOR_CBOR = OBJECT_MAPPER.copyWith(new CBORFactory());
+    private static final ObjectMapper LEITOR_DE_RESPOSTAS_CBOR = LEITOR_DE_RESPOSTAS.copyWith(new CBORFactory());
+
     public static String asJsonString(final Object obj) {
         try {
             return OBJECT_MAPPER.writeValueAsString(obj);
@@ -15,4 +33,28 @@ public class GeneralHelper {
             throw new RuntimeException(e);
         }
     }
+
+    public static byte[] asCbor(final Object obj) {
+        try {
+            return ESCRITOR_CBOR.writeValueAsBytes(obj);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static <T> T fromCbor(final byte[] cbor, final TypeReference<T> tipo) {
+        try {
+            return LEITOR_DE_RESPOSTAS_CBOR.readValue(cbor, tipo);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static EscritorNdjson gerarEscritorNdjson() {
+        return new EscritorNdjson(OBJECT_MAPPER);
+    }
+
+    public static LeitorNdjson gerarLeitorNdjson() {
+        return new LeitorNdjson(OBJECT_MAPPER);
+    }
 }
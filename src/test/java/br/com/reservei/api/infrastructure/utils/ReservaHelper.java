@@ -2,6 +2,7 @@ package br.com.reservei.api.infrastructure.utils;
 
 import br.com.reservei.api.application.dto.ReservaDTO;
 import br.com.reservei.api.domain.model.Reserva;
+import br.com.reservei.api.domain.repository.projection.DadosDaReserva;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
@@ -24,6 +25,30 @@ public class ReservaHelper {
                 reserva.getHoraDaReserva());
     }
 
+    public static DadosDaReserva gerarDadosDaReserva(Reserva reserva){
+        return new DadosDaReserva() {
+            @Override
+            public Long getId() {
+                return reserva.getId();
+            }
+
+            @Override
+            public Long getRestauranteId() {
+                return reserva.getRestaurante().getId();
+            }
+
+            @Override
+            public LocalDateTime getHoraDaReserva() {
+                return reserva.getHoraDaReserva();
+            }
+
+            @Override
+            public Long getVersao() {
+                return reserva.getVersao();
+            }
+        };
+    }
+
     public static ReservaDTO gerarReservaDtoSemId(Long restauranteId){
         return new ReservaDTO(null,
                 restauranteId,
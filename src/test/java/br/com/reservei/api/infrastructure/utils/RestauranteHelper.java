@@ -6,6 +6,7 @@ import br.com.reservei.api.domain.repository.CidadeRepository;
 import br.com.reservei.api.domain.repository.EnderecoRepository;
 import br.com.reservei.api.domain.repository.EstadoRepository;
 import br.com.reservei.api.domain.repository.RestauranteRepository;
+import br.com.reservei.api.domain.repository.projection.DadosDoRestaurante;
 
 import java.time.LocalTime;
 import java.util.UUID;
@@ -37,6 +38,50 @@ public class RestauranteHelper {
                 restaurante.getFinalExpediente());
     }
 
+    public static DadosDoRestaurante gerarDadosDoRestaurante(Restaurante restaurante){
+        return new DadosDoRestaurante() {
+            @Override
+            public Long getId() {
+                return restaurante.getId();
+            }
+
+            @Override
+            public String getNome() {
+                return restaurante.getNome();
+            }
+
+            @Override
+            public Cozinha getCozinha() {
+                return restaurante.getCozinha();
+            }
+
+            @Override
+            public Long getEnderecoId() {
+                return restaurante.getEndereco().getId();
+            }
+
+            @Override
+            public int getReservasPorHora() {
+                return restaurante.getReservasPorHora();
+            }
+
+            @Override
+            public LocalTime getInicioExpediente() {
+                return restaurante.getInicioExpediente();
+            }
+
+            @Override
+            public LocalTime getFinalExpediente() {
+                return restaurante.getFinalExpediente();
+            }
+
+            @Override
+            public Long getVersao() {
+                return restaurante.getVersao();
+            }
+        };
+    }
+
     public static RestauranteDTO gerarRestauranteDtoSemId(Long enderecoId){
         return new RestauranteDTO(null,
                 "Germogli",
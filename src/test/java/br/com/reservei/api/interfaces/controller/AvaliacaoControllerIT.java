@@ -7,6 +7,7 @@ import br.com.reservei.api.application.usecases.endereco.EnderecoServiceImpl;
 import br.com.reservei.api.application.usecases.endereco.EstadoServiceImpl;
 import br.com.reservei.api.application.usecases.avaliacao.AvaliacaoServiceImpl;
 import br.com.reservei.api.application.usecases.restaurante.RestauranteServiceImpl;
+import br.com.reservei.api.infrastructure.utils.EscritorNdjson;
 import io.restassured.RestAssured;
 import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.http.ContentType;
@@ -24,6 +25,7 @@ import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import static br.com.reservei.api.infrastructure.utils.CidadeHelper.gerarCidadeDtoSemId;
@@ -138,6 +140,35 @@ class AvaliacaoControllerIT {
                     .body("[1].comentario", equalTo(avaliacaos.get(1).comentario()))
                     .body("[1].restauranteId", is(avaliacaos.get(1).restauranteId().intValue()));
         }
+
+        @DisplayName("Deve compactar com gzip a lista de avaliações acima do tamanho mínimo")
+        @Test
+        void deveCompactarListaDeAvaliacoes() {
+            var comentario = "Comida excelente e atendimento rápido. ".repeat(6);
+            for (int i = 0; i < 20; i++) {
+                avaliacaoService.salvar(new AvaliacaoDTO(null, 5, comentario, null, avaliacaoDTO.restauranteId()));
+            }
+            var avaliacao = avaliacaoService.salvar(avaliacaoDTO);
+
+            given()
+                    .spec(requestSpec)
+                    .header("Accept-Encoding", "gzip")
+            .when()
+                    .get("/avaliacao")
+            .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .header("Content-Encoding", equalTo("gzip"))
+                    .body("$.size()", is(21));
+
+            given()
+                    .spec(requestSpec)
+                    .header("Accept-Encoding", "gzip")
+            .when()
+                    .get("/avaliacao/{idAvaliacao}", avaliacao.id())
+            .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .header("Content-Encoding", nullValue());
+        }
     }
 
     @DisplayName("Salvar Avaliacao")
@@ -179,6 +210,64 @@ class AvaliacaoControllerIT {
         }
     }
 
+    @DisplayName("Salvar lote de Avaliações")
+    @Nested
+    class SalvarLoteAvaliacao {
+
+        @DisplayName("Deve salvar lote de avaliações e atualizar o resumo do restaurante")
+        @Test
+        void deveSalvarLoteDeAvaliacoes() {
+            var outraNota = new AvaliacaoDTO(null, 3, "Razoável", null, restauranteDTO.id());
+            var restauranteInexistente = new AvaliacaoDTO(null, 4, "Boa", null, restauranteDTO.id() + 1);
+
+            given()
+                    .spec(requestSpec)
+                    .body(asJsonString(List.of(avaliacaoDTO, restauranteInexistente, outraNota)))
+            .when()
+                    .post("/avaliacao/lote")
+            .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .body("criados", is(2))
+                    .body("rejeitados", is(1))
+                    .body("itens.status", contains("CRIADO", "REJEITADO", "CRIADO"));
+
+            given()
+            .when()
+                    .get("/restaurante/{idRestaurante}/avaliacao/resumo", restauranteDTO.id())
+            .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .body("totalAvaliacoes", is(2))
+                    .body("media", is(4.0f));
+        }
+
+        @DisplayName("Deve salvar lote de avaliações enviado em NDJSON")
+        @Test
+        void deveSalvarLoteDeAvaliacoes_EmNdjson() {
+            given()
+                    .contentType(EscritorNdjson.APPLICATION_NDJSON_VALUE)
+                    .body((asJsonString(avaliacaoDTO) + "\n" + asJsonString(avaliacaoDTO) + "\n").getBytes(StandardCharsets.UTF_8))
+            .when()
+                    .post("/avaliacao/lote")
+            .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .body("total", is(2))
+                    .body("criados", is(2));
+        }
+
+        @DisplayName("Deve lançar exceção ao salvar lote em NDJSON ilegível")
+        @Test
+        void deveGerarExcecao_QuandoSalvarLote_ComNdjsonInvalido() {
+            given()
+                    .contentType(EscritorNdjson.APPLICATION_NDJSON_VALUE)
+                    .body((asJsonString(avaliacaoDTO) + "\n{\"nota\":\n").getBytes(StandardCharsets.UTF_8))
+            .when()
+                    .post("/avaliacao/lote")
+            .then()
+                    .statusCode(HttpStatus.BAD_REQUEST.value())
+                    .body("message", startsWith("Não foi possível ler o lote em NDJSON"));
+        }
+    }
+
     @DisplayName("Alterar Avaliação")
     @Nested
     class AlterarAvaliacao {
@@ -198,7 +287,11 @@ class AvaliacaoControllerIT {
                     .put("/avaliacao/{idAvaliacao}", avaliacaoSalvo.id())
             .then()
                     .statusCode(HttpStatus.OK.value())
-                    .body(equalTo(asJsonString(avaliacaoNovo)));
+                    .body("id", is(avaliacaoSalvo.id().intValue()))
+                    .body("nota", equalTo(avaliacaoNovo.nota()))
+                    .body("comentario", equalTo(avaliacaoNovo.comentario()))
+                    .body("dataCriacao", notNullValue())
+                    .body("restauranteId", is(avaliacaoSalvo.restauranteId().intValue()));
         }
 
         @DisplayName("Deve lançar exceção ao tentar alterar Avaliação com id inexistente")
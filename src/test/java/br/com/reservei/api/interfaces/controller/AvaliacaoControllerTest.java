@@ -1,10 +1,14 @@
 package br.com.reservei.api.interfaces.controller;
 
 import br.com.reservei.api.application.dto.AvaliacaoDTO;
+import br.com.reservei.api.application.dto.ItemLoteDTO;
 import br.com.reservei.api.application.dto.RestauranteDTO;
+import br.com.reservei.api.application.dto.ResultadoLoteDTO;
 import br.com.reservei.api.application.usecases.avaliacao.AvaliacaoService;
 import br.com.reservei.api.domain.exceptions.GlobalExceptionHandler;
+import br.com.reservei.api.domain.exceptions.LoteInvalidoException;
 import br.com.reservei.api.domain.exceptions.RecursoNaoEncontradoException;
+import br.com.reservei.api.infrastructure.utils.EscritorNdjson;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -13,16 +17,22 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import static br.com.reservei.api.infrastructure.utils.GeneralHelper.asJsonString;
 import static br.com.reservei.api.infrastructure.utils.AvaliacaoHelper.*;
+import static br.com.reservei.api.infrastructure.utils.GeneralHelper.gerarEscritorNdjson;
+import static br.com.reservei.api.infrastructure.utils.GeneralHelper.gerarLeitorNdjson;
 import static br.com.reservei.api.infrastructure.utils.RestauranteHelper.gerarRestaurante;
 import static br.com.reservei.api.infrastructure.utils.RestauranteHelper.gerarRestauranteDto;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -45,7 +55,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
             this.restauranteDTO = gerarRestauranteDto(gerarRestaurante());
             avaliacaoDTO = gerarAvaliacaoDto(gerarAvaliacao());
             avaliacaoDTOSemId = gerarAvaliacaoDtoSemId(restauranteDTO.id());
-            AvaliacaoController avaliacaoController = new AvaliacaoController(avaliacaoService);
+            AvaliacaoController avaliacaoController = new AvaliacaoController(avaliacaoService, gerarEscritorNdjson(), gerarLeitorNdjson());
 
             mockMvc = MockMvcBuilders.standaloneSetup(avaliacaoController)
                     .setControllerAdvice(new GlobalExceptionHandler())
@@ -90,12 +100,51 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
                 var avaliacaos = List.of(avaliacaoDTO,
                         new AvaliacaoDTO(2L, 5, "Muito bom", null, avaliacaoDTO.restauranteId()));
 
-                when(avaliacaoService.buscarTodos()).thenReturn(avaliacaos);
+                when(avaliacaoService.buscarPagina(null, null)).thenReturn(avaliacaos);
 
                 mockMvc.perform(get("/avaliacao"))
                         .andExpect(status().isOk())
+                        .andExpect(header().doesNotExist(HttpHeaders.LINK))
                         .andExpect(content().json(asJsonString(avaliacaos)));
             }
+
+            @DisplayName("Deve retornar uma página de avaliações a partir do cursor informado")
+            @Test
+            void deveBuscarPaginaDeAvaliacoes() throws Exception {
+                var pagina = List.of(avaliacaoDTO);
+                when(avaliacaoService.buscarPagina(10L, 1)).thenReturn(pagina);
+
+                mockMvc.perform(get("/avaliacao")
+                                .param("after", "10")
+                                .param("limit", "1"))
+                        .andExpect(status().isOk())
+                        .andExpect(content().json(asJsonString(pagina)))
+                        .andExpect(header().string(HttpHeaders.LINK,
+                                "<http://localhost/avaliacao?after=" + avaliacaoDTO.id() + "&limit=1>; rel=\"next\""));
+                verify(avaliacaoService, never()).buscarTodos();
+            }
+
+            @DisplayName("Deve enviar todas as avaliações em NDJSON")
+            @Test
+            void deveBuscarTodasAsAvaliacoesEmStream() throws Exception {
+                doAnswer(invocation -> {
+                    Consumer<AvaliacaoDTO> consumidor = invocation.getArgument(0);
+                    consumidor.accept(avaliacaoDTO);
+                    consumidor.accept(avaliacaoDTO);
+                    return null;
+                }).when(avaliacaoService).percorrerTodos(any());
+
+                MvcResult resultado = mockMvc.perform(get("/avaliacao")
+                                .accept(EscritorNdjson.APPLICATION_NDJSON_VALUE))
+                        .andExpect(request().asyncStarted())
+                        .andReturn();
+
+                mockMvc.perform(asyncDispatch(resultado))
+                        .andExpect(status().isOk())
+                        .andExpect(content().contentTypeCompatibleWith(EscritorNdjson.APPLICATION_NDJSON_VALUE))
+                        .andExpect(content().string(asJsonString(avaliacaoDTO) + "\n" + asJsonString(avaliacaoDTO) + "\n"));
+                verify(avaliacaoService, never()).buscarTodos();
+            }
         }
 
     @DisplayName("Salvar Avaliação")
@@ -135,6 +184,69 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
         }
     }
 
+    @DisplayName("Salvar lote de Avaliação")
+    @Nested
+    class SalvarLoteAvaliacao {
+
+        @DisplayName("Deve salvar lote de avaliações enviado em JSON")
+        @Test
+        void deveSalvarLote_EmJson() throws Exception {
+            var resultado = ResultadoLoteDTO.de(List.of(
+                    ItemLoteDTO.criado(0, avaliacaoDTO.id()),
+                    ItemLoteDTO.rejeitado(1, "Restaurante não encontrado com id: 99")));
+            var lote = List.of(avaliacaoDTOSemId, avaliacaoDTOSemId);
+            when(avaliacaoService.salvarLote(lote)).thenReturn(resultado);
+
+            mockMvc.perform(post("/avaliacao/lote")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(asJsonString(lote)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.criados").value(1))
+                    .andExpect(jsonPath("$.rejeitados").value(1))
+                    .andExpect(jsonPath("$.itens[0].id").value(avaliacaoDTO.id()))
+                    .andExpect(jsonPath("$.itens[1].status").value("REJEITADO"));
+        }
+
+        @DisplayName("Deve salvar lote de avaliações enviado em NDJSON")
+        @Test
+        void deveSalvarLote_EmNdjson() throws Exception {
+            var resultado = ResultadoLoteDTO.de(List.of(
+                    ItemLoteDTO.criado(0, 1L),
+                    ItemLoteDTO.criado(1, 2L)));
+            when(avaliacaoService.salvarLote(List.of(avaliacaoDTOSemId, avaliacaoDTOSemId))).thenReturn(resultado);
+
+            mockMvc.perform(post("/avaliacao/lote")
+                            .contentType(EscritorNdjson.APPLICATION_NDJSON_VALUE)
+                            .content(asJsonString(avaliacaoDTOSemId) + "\n" + asJsonString(avaliacaoDTOSemId) + "\n"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().json(asJsonString(resultado)));
+        }
+
+        @DisplayName("Deve retornar 400 ao enviar lote em NDJSON ilegível")
+        @Test
+        void deveGerarExcecao_QuandoSalvarLote_ComNdjsonInvalido() throws Exception {
+            mockMvc.perform(post("/avaliacao/lote")
+                            .contentType(EscritorNdjson.APPLICATION_NDJSON_VALUE)
+                            .content("{\"restauranteId\": \n"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").exists());
+            verify(avaliacaoService, never()).salvarLote(any());
+        }
+
+        @DisplayName("Deve retornar 400 ao enviar lote vazio")
+        @Test
+        void deveGerarExcecao_QuandoSalvarLote_Vazio() throws Exception {
+            doThrow(new LoteInvalidoException("O lote deve conter ao menos um item"))
+                    .when(avaliacaoService).salvarLote(List.of());
+
+            mockMvc.perform(post("/avaliacao/lote")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("[]"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("O lote deve conter ao menos um item"));
+        }
+    }
+
     @DisplayName("Alterar Avaliação")
     @Nested
     class AlterarAvaliacao {
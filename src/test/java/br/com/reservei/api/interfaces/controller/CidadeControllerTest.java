@@ -6,6 +6,8 @@ import br.com.reservei.api.application.usecases.endereco.CidadeService;
 import br.com.reservei.api.domain.exceptions.GlobalExceptionHandler;
 import br.com.reservei.api.domain.exceptions.RecursoJaSalvoException;
 import br.com.reservei.api.domain.exceptions.RecursoNaoEncontradoException;
+import br.com.reservei.api.infrastructure.utils.EscritorNdjson;
+import br.com.reservei.api.infrastructure.utils.VersaoDasColecoes;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -14,17 +16,22 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import static br.com.reservei.api.infrastructure.utils.CidadeHelper.*;
 import static br.com.reservei.api.infrastructure.utils.EstadoHelper.gerarEstado;
 import static br.com.reservei.api.infrastructure.utils.EstadoHelper.gerarEstadoDto;
 import static br.com.reservei.api.infrastructure.utils.GeneralHelper.asJsonString;
+import static br.com.reservei.api.infrastructure.utils.GeneralHelper.gerarEscritorNdjson;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -38,6 +45,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
     @Mock
     private CidadeService cidadeService;
 
+    private VersaoDasColecoes versaoDasColecoes;
+
     private EstadoDTO estadoDTO;
     private CidadeDTO cidadeDTO;
     private CidadeDTO cidadeDTOSemId;
@@ -47,7 +56,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
             estadoDTO = gerarEstadoDto(gerarEstado());
             cidadeDTO = gerarCidadeDto(gerarCidade());
             cidadeDTOSemId = gerarCidadeDtoSemId(estadoDTO.id());
-            CidadeController cidadeController = new CidadeController(cidadeService);
+            versaoDasColecoes = new VersaoDasColecoes();
+            CidadeController cidadeController = new CidadeController(cidadeService, gerarEscritorNdjson(), versaoDasColecoes);
             mockMvc = MockMvcBuilders.standaloneSetup(cidadeController)
                     .setControllerAdvice(new GlobalExceptionHandler())
                     .addFilter((request, response, chain) -> {
@@ -91,12 +101,51 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
                 var cidades = List.of(cidadeDTO,
                         new CidadeDTO(2L, "Camaçari", cidadeDTO.estadoId()));
 
-                when(cidadeService.buscarTodos()).thenReturn(cidades);
+                when(cidadeService.buscarPagina(null, null)).thenReturn(cidades);
 
                 mockMvc.perform(get("/cidade"))
                         .andExpect(status().isOk())
+                        .andExpect(header().doesNotExist(HttpHeaders.LINK))
                         .andExpect(content().json(asJsonString(cidades)));
             }
+
+            @DisplayName("Deve retornar uma página de cidades a partir do cursor informado")
+            @Test
+            void deveBuscarPaginaDeCidades() throws Exception {
+                var pagina = List.of(cidadeDTO);
+                when(cidadeService.buscarPagina(10L, 1)).thenReturn(pagina);
+
+                mockMvc.perform(get("/cidade")
+                                .param("after", "10")
+                                .param("limit", "1"))
+                        .andExpect(status().isOk())
+                        .andExpect(content().json(asJsonString(pagina)))
+                        .andExpect(header().string(HttpHeaders.LINK,
+                                "<http://localhost/cidade?after=" + cidadeDTO.id() + "&limit=1>; rel=\"next\""));
+                verify(cidadeService, never()).buscarTodos();
+            }
+
+            @DisplayName("Deve enviar todas as cidades em NDJSON")
+            @Test
+            void deveBuscarTodasAsCidadesEmStream() throws Exception {
+                doAnswer(invocation -> {
+                    Consumer<CidadeDTO> consumidor = invocation.getArgument(0);
+                    consumidor.accept(cidadeDTO);
+                    consumidor.accept(cidadeDTO);
+                    return null;
+                }).when(cidadeService).percorrerTodos(any());
+
+                MvcResult resultado = mockMvc.perform(get("/cidade")
+                                .accept(EscritorNdjson.APPLICATION_NDJSON_VALUE))
+                        .andExpect(request().asyncStarted())
+                        .andReturn();
+
+                mockMvc.perform(asyncDispatch(resultado))
+                        .andExpect(status().isOk())
+                        .andExpect(content().contentTypeCompatibleWith(EscritorNdjson.APPLICATION_NDJSON_VALUE))
+                        .andExpect(content().string(asJsonString(cidadeDTO) + "\n" + asJsonString(cidadeDTO) + "\n"));
+                verify(cidadeService, never()).buscarTodos();
+            }
         }
 
     @DisplayName("Salvar Cidade")
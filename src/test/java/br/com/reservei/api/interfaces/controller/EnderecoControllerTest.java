@@ -5,6 +5,7 @@ import br.com.reservei.api.application.dto.EnderecoDTO;
 import br.com.reservei.api.application.usecases.endereco.EnderecoService;
 import br.com.reservei.api.domain.exceptions.GlobalExceptionHandler;
 import br.com.reservei.api.domain.exceptions.RecursoNaoEncontradoException;
+import br.com.reservei.api.infrastructure.utils.EscritorNdjson;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -13,16 +14,21 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import static br.com.reservei.api.infrastructure.utils.CidadeHelper.gerarCidade;
 import static br.com.reservei.api.infrastructure.utils.CidadeHelper.gerarCidadeDto;
 import static br.com.reservei.api.infrastructure.utils.EnderecoHelper.*;
 import static br.com.reservei.api.infrastructure.utils.GeneralHelper.asJsonString;
+import static br.com.reservei.api.infrastructure.utils.GeneralHelper.gerarEscritorNdjson;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -45,7 +51,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
             this.cidadeDTO = gerarCidadeDto(gerarCidade());
             enderecoDTO = gerarEnderecoDto(gerarEndereco());
             enderecoDTOSemId = gerarEnderecoDtoSemId(cidadeDTO.id());
-            EnderecoController enderecoController = new EnderecoController(enderecoService);
+            EnderecoController enderecoController = new EnderecoController(enderecoService, gerarEscritorNdjson());
 
             mockMvc = MockMvcBuilders.standaloneSetup(enderecoController)
                     .setControllerAdvice(new GlobalExceptionHandler())
@@ -90,12 +96,51 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
                 var enderecos = List.of(enderecoDTO,
                         new EnderecoDTO(2L, cidadeDTO.id(), "bairro2", "rua2", "2", "42600-000"));
 
-                when(enderecoService.buscarTodos()).thenReturn(enderecos);
+                when(enderecoService.buscarPagina(null, null)).thenReturn(enderecos);
 
                 mockMvc.perform(get("/endereco"))
                         .andExpect(status().isOk())
+                        .andExpect(header().doesNotExist(HttpHeaders.LINK))
                         .andExpect(content().json(asJsonString(enderecos)));
             }
+
+            @DisplayName("Deve retornar uma página de enderecos a partir do cursor informado")
+            @Test
+            void deveBuscarPaginaDeEnderecos() throws Exception {
+                var pagina = List.of(enderecoDTO);
+                when(enderecoService.buscarPagina(10L, 1)).thenReturn(pagina);
+
+                mockMvc.perform(get("/endereco")
+                                .param("after", "10")
+                                .param("limit", "1"))
+                        .andExpect(status().isOk())
+                        .andExpect(content().json(asJsonString(pagina)))
+                        .andExpect(header().string(HttpHeaders.LINK,
+                                "<http://localhost/endereco?after=" + enderecoDTO.id() + "&limit=1>; rel=\"next\""));
+                verify(enderecoService, never()).buscarTodos();
+            }
+
+            @DisplayName("Deve enviar todos os enderecos em NDJSON")
+            @Test
+            void deveBuscarTodosOsEnderecosEmStream() throws Exception {
+                doAnswer(invocation -> {
+                    Consumer<EnderecoDTO> consumidor = invocation.getArgument(0);
+                    consumidor.accept(enderecoDTO);
+                    consumidor.accept(enderecoDTO);
+                    return null;
+                }).when(enderecoService).percorrerTodos(any());
+
+                MvcResult resultado = mockMvc.perform(get("/endereco")
+                                .accept(EscritorNdjson.APPLICATION_NDJSON_VALUE))
+                        .andExpect(request().asyncStarted())
+                        .andReturn();
+
+                mockMvc.perform(asyncDispatch(resultado))
+                        .andExpect(status().isOk())
+                        .andExpect(content().contentTypeCompatibleWith(EscritorNdjson.APPLICATION_NDJSON_VALUE))
+                        .andExpect(content().string(asJsonString(enderecoDTO) + "\n" + asJsonString(enderecoDTO) + "\n"));
+                verify(enderecoService, never()).buscarTodos();
+            }
         }
 
     @DisplayName("Salvar Endereço")
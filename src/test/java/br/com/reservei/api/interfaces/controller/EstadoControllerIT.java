@@ -2,6 +2,7 @@ package br.com.reservei.api.interfaces.controller;
 
 import br.com.reservei.api.application.dto.EstadoDTO;
 import br.com.reservei.api.application.usecases.endereco.EstadoServiceImpl;
+import br.com.reservei.api.infrastructure.utils.EscritorNdjson;
 import io.restassured.RestAssured;
 import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.http.ContentType;
@@ -101,6 +102,90 @@ class EstadoControllerIT {
                         .statusCode(HttpStatus.OK.value())
                         .body(equalTo(asJsonString(estados)));
             }
+
+            @DisplayName("Deve responder 304 ao ETag da lista até que um estado seja salvo")
+            @Test
+            void deveResponderNaoModificado_AteQueUmEstadoSejaSalvo() {
+                estadoService.salvar(estadoDTO);
+                String etag = given()
+                        .spec(requestSpec)
+                .when()
+                        .get("/estado")
+                .then()
+                        .statusCode(HttpStatus.OK.value())
+                        .header("Last-Modified", notNullValue())
+                        .extract().header("ETag");
+
+                given()
+                        .spec(requestSpec)
+                        .header("If-None-Match", etag)
+                .when()
+                        .get("/estado")
+                .then()
+                        .statusCode(HttpStatus.NOT_MODIFIED.value())
+                        .header("ETag", equalTo(etag));
+
+                given()
+                        .spec(requestSpec)
+                        .body(asJsonString(new EstadoDTO(null, "São Paulo", "SP")))
+                .when()
+                        .post("/estado")
+                .then()
+                        .statusCode(HttpStatus.CREATED.value());
+
+                given()
+                        .spec(requestSpec)
+                        .header("If-None-Match", etag)
+                .when()
+                        .get("/estado")
+                .then()
+                        .statusCode(HttpStatus.OK.value())
+                        .header("ETag", not(equalTo(etag)))
+                        .body("sigla", hasItems(estadoDTO.sigla(), "SP"));
+            }
+
+            @DisplayName("Deve retornar a página de estados posterior ao cursor informado")
+            @Test
+            void deveBuscarPaginaDeEstados() {
+                var primeiro = estadoService.salvar(estadoDTO);
+                var segundo = estadoService.salvar(new EstadoDTO(null, "São Paulo", "SP"));
+                var terceiro = estadoService.salvar(new EstadoDTO(null, "Minas Gerais", "MG"));
+
+                given()
+                        .spec(requestSpec)
+                        .queryParam("after", primeiro.id())
+                        .queryParam("limit", 1)
+                .when()
+                        .get("/estado")
+                .then()
+                        .statusCode(HttpStatus.OK.value())
+                        .body(equalTo(asJsonString(List.of(segundo))));
+
+                given()
+                        .spec(requestSpec)
+                        .queryParam("after", segundo.id())
+                .when()
+                        .get("/estado")
+                .then()
+                        .statusCode(HttpStatus.OK.value())
+                        .body(equalTo(asJsonString(List.of(terceiro))));
+            }
+
+            @DisplayName("Deve enviar todos os estados em NDJSON")
+            @Test
+            void deveBuscarTodosOsEstadosEmStream() {
+                var estados = List.of(estadoService.salvar(estadoDTO),
+                        estadoService.salvar(new EstadoDTO(null, "São Paulo", "SP")));
+
+                given()
+                        .accept(EscritorNdjson.APPLICATION_NDJSON_VALUE)
+                .when()
+                        .get("/estado")
+                .then()
+                        .statusCode(HttpStatus.OK.value())
+                        .contentType(startsWith(EscritorNdjson.APPLICATION_NDJSON_VALUE))
+                        .body(equalTo(asJsonString(estados.get(0)) + "\n" + asJsonString(estados.get(1)) + "\n"));
+            }
         }
 
     @DisplayName("Salvar Estado")
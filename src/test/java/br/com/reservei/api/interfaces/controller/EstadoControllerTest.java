@@ -5,6 +5,9 @@ import br.com.reservei.api.application.usecases.endereco.EstadoService;
 import br.com.reservei.api.domain.exceptions.GlobalExceptionHandler;
 import br.com.reservei.api.domain.exceptions.RecursoJaSalvoException;
 import br.com.reservei.api.domain.exceptions.RecursoNaoEncontradoException;
+import br.com.reservei.api.infrastructure.utils.EscritorNdjson;
+import br.com.reservei.api.infrastructure.utils.VersaoDasColecoes;
+import br.com.reservei.api.infrastructure.utils.VersaoDasColecoes.Colecao;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -13,15 +16,21 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import static br.com.reservei.api.infrastructure.utils.EstadoHelper.*;
 import static br.com.reservei.api.infrastructure.utils.GeneralHelper.asJsonString;
+import static br.com.reservei.api.infrastructure.utils.GeneralHelper.gerarEscritorNdjson;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -37,6 +46,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
     @Mock
     private EstadoService estadoService;
 
+    private VersaoDasColecoes versaoDasColecoes;
+
     private EstadoDTO estadoDTO;
     private EstadoDTO estadoDTOSemId;
 
@@ -44,7 +55,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
         void setUp() {
             estadoDTO = gerarEstadoDto(gerarEstado());
             estadoDTOSemId = gerarEstadoDto(gerarEstadoSemId());
-            EstadoController estadoController = new EstadoController(estadoService);
+            versaoDasColecoes = new VersaoDasColecoes();
+            EstadoController estadoController = new EstadoController(estadoService, gerarEscritorNdjson(), versaoDasColecoes);
             mockMvc = MockMvcBuilders.standaloneSetup(estadoController)
                     .setControllerAdvice(new GlobalExceptionHandler())
                     .addFilter((request, response, chain) -> {
@@ -88,12 +100,79 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
                 var estados = List.of(estadoDTO,
                         new EstadoDTO(2L, "São Paulo", "SP"));
 
-                when(estadoService.buscarTodos()).thenReturn(estados);
+                when(estadoService.buscarPagina(null, null)).thenReturn(estados);
 
                 mockMvc.perform(get("/estado"))
                         .andExpect(status().isOk())
+                        .andExpect(header().doesNotExist(HttpHeaders.LINK))
+                        .andExpect(content().json(asJsonString(estados)));
+            }
+
+            @DisplayName("Deve responder 304 quando o ETag informado ainda é o da lista de estados")
+            @Test
+            void deveResponderNaoModificado_QuandoEtagForOAtual() throws Exception {
+                String etag = versaoDasColecoes.buscar(Colecao.ESTADOS).etag();
+
+                mockMvc.perform(get("/estado").header(HttpHeaders.IF_NONE_MATCH, etag))
+                        .andExpect(status().isNotModified())
+                        .andExpect(header().string(HttpHeaders.ETAG, etag))
+                        .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                        .andExpect(content().string(""));
+                verifyNoInteractions(estadoService);
+            }
+
+            @DisplayName("Deve devolver a lista com um novo ETag depois de uma alteração nos estados")
+            @Test
+            void deveResponderALista_QuandoEstadosForemAlterados() throws Exception {
+                var estados = List.of(estadoDTO);
+                String etagAnterior = versaoDasColecoes.buscar(Colecao.ESTADOS).etag();
+                versaoDasColecoes.registrarAlteracao(Colecao.ESTADOS);
+                when(estadoService.buscarPagina(null, null)).thenReturn(estados);
+
+                mockMvc.perform(get("/estado").header(HttpHeaders.IF_NONE_MATCH, etagAnterior))
+                        .andExpect(status().isOk())
+                        .andExpect(header().string(HttpHeaders.ETAG,
+                                versaoDasColecoes.buscar(Colecao.ESTADOS).etag()))
                         .andExpect(content().json(asJsonString(estados)));
             }
+
+            @DisplayName("Deve retornar uma página de estados a partir do cursor informado")
+            @Test
+            void deveBuscarPaginaDeEstados() throws Exception {
+                var pagina = List.of(estadoDTO);
+                when(estadoService.buscarPagina(10L, 1)).thenReturn(pagina);
+
+                mockMvc.perform(get("/estado")
+                                .param("after", "10")
+                                .param("limit", "1"))
+                        .andExpect(status().isOk())
+                        .andExpect(content().json(asJsonString(pagina)))
+                        .andExpect(header().string(HttpHeaders.LINK,
+                                "<http://localhost/estado?after=" + estadoDTO.id() + "&limit=1>; rel=\"next\""));
+                verify(estadoService, never()).buscarTodos();
+            }
+
+            @DisplayName("Deve enviar todos os estados em NDJSON")
+            @Test
+            void deveBuscarTodosOsEstadosEmStream() throws Exception {
+                doAnswer(invocation -> {
+                    Consumer<EstadoDTO> consumidor = invocation.getArgument(0);
+                    consumidor.accept(estadoDTO);
+                    consumidor.accept(estadoDTO);
+                    return null;
+                }).when(estadoService).percorrerTodos(any());
+
+                MvcResult resultado = mockMvc.perform(get("/estado")
+                                .accept(EscritorNdjson.APPLICATION_NDJSON_VALUE))
+                        .andExpect(request().asyncStarted())
+                        .andReturn();
+
+                mockMvc.perform(asyncDispatch(resultado))
+                        .andExpect(status().isOk())
+                        .andExpect(content().contentTypeCompatibleWith(EscritorNdjson.APPLICATION_NDJSON_VALUE))
+                        .andExpect(content().string(asJsonString(estadoDTO) + "\n" + asJsonString(estadoDTO) + "\n"));
+                verify(estadoService, never()).buscarTodos();
+            }
         }
 
     @DisplayName("Salvar Estado")
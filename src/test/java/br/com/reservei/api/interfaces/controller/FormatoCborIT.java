@@ -0,0 +1,161 @@
+package br.com.reservei.api.interfaces.controller;
+
+import br.com.reservei.api.application.dto.AvaliacaoDTO;
+import br.com.reservei.api.application.dto.ReservaDTO;
+import br.com.reservei.api.application.dto.RestauranteDTO;
+import br.com.reservei.api.application.usecases.endereco.CidadeServiceImpl;
+import br.com.reservei.api.application.usecases.endereco.EnderecoServiceImpl;
+import br.com.reservei.api.application.usecases.endereco.EstadoServiceImpl;
+import br.com.reservei.api.application.usecases.restaurante.RestauranteServiceImpl;
+import com.fasterxml.jackson.core.type.TypeReference;
+import io.restassured.RestAssured;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.util.List;
+
+import static br.com.reservei.api.infrastructure.utils.AvaliacaoHelper.gerarAvaliacaoDtoSemId;
+import static br.com.reservei.api.infrastructure.utils.CidadeHelper.gerarCidadeDtoSemId;
+import static br.com.reservei.api.infrastructure.utils.EnderecoHelper.gerarEnderecoDtoSemId;
+import static br.com.reservei.api.infrastructure.utils.EstadoHelper.gerarEstadoDto;
+import static br.com.reservei.api.infrastructure.utils.EstadoHelper.gerarEstadoSemId;
+import static br.com.reservei.api.infrastructure.utils.GeneralHelper.asCbor;
+import static br.com.reservei.api.infrastructure.utils.GeneralHelper.fromCbor;
+import static br.com.reservei.api.infrastructure.utils.ReservaHelper.gerarReservaDtoSemId;
+import static br.com.reservei.api.infrastructure.utils.RestauranteHelper.gerarRestauranteDtoSemId;
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.startsWith;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@Sql(scripts = {"/clean.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+class FormatoCborIT {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private EstadoServiceImpl estadoService;
+    @Autowired
+    private CidadeServiceImpl cidadeService;
+    @Autowired
+    private EnderecoServiceImpl enderecoService;
+    @Autowired
+    private RestauranteServiceImpl restauranteService;
+
+    private Long enderecoId;
+
+    @BeforeEach
+    void setUp() {
+        var estadoDTO = estadoService.salvar(gerarEstadoDto(gerarEstadoSemId()));
+        var cidadeDTO = cidadeService.salvar(gerarCidadeDtoSemId(estadoDTO.id()));
+        this.enderecoId = enderecoService.salvar(gerarEnderecoDtoSemId(cidadeDTO.id())).id();
+
+        RestAssured.port = port;
+        RestAssured.baseURI = "http://localhost";
+        RestAssured.enableLoggingOfRequestAndResponseIfValidationFails();
+    }
+
+    @DisplayName("Deve salvar e buscar Restaurante em CBOR")
+    @Test
+    void deveSalvarEBuscarRestauranteEmCbor() {
+        var restauranteDTO = gerarRestauranteDtoSemId(enderecoId);
+
+        var salvo = fromCbor(enviarCbor("/restaurante", restauranteDTO), new TypeReference<RestauranteDTO>() {});
+        var lista = fromCbor(buscarCbor("/restaurante"), new TypeReference<List<RestauranteDTO>>() {});
+
+        assertThat(salvo.id()).isNotNull();
+        assertThat(salvo).usingRecursiveComparison().ignoringFields("id").isEqualTo(restauranteDTO);
+        assertThat(lista).containsExactly(salvo);
+    }
+
+    @DisplayName("Deve salvar e buscar Reserva em CBOR")
+    @Test
+    void deveSalvarEBuscarReservaEmCbor() {
+        var restauranteId = restauranteService.salvar(gerarRestauranteDtoSemId(enderecoId)).id();
+        var reservaDTO = gerarReservaDtoSemId(restauranteId);
+
+        var salva = fromCbor(enviarCbor("/reserva", reservaDTO), new TypeReference<ReservaDTO>() {});
+        var buscada = fromCbor(buscarCbor("/reserva/" + salva.id()), new TypeReference<ReservaDTO>() {});
+
+        assertThat(salva.horaDaReserva()).isEqualTo(reservaDTO.horaDaReserva());
+        assertThat(buscada).isEqualTo(salva);
+    }
+
+    @DisplayName("Deve salvar e buscar Avaliação em CBOR")
+    @Test
+    void deveSalvarEBuscarAvaliacaoEmCbor() {
+        var restauranteId = restauranteService.salvar(gerarRestauranteDtoSemId(enderecoId)).id();
+        var avaliacaoDTO = gerarAvaliacaoDtoSemId(restauranteId);
+
+        var salva = fromCbor(enviarCbor("/avaliacao", avaliacaoDTO), new TypeReference<AvaliacaoDTO>() {});
+        var lista = fromCbor(buscarCbor("/avaliacao"), new TypeReference<List<AvaliacaoDTO>>() {});
+
+        assertThat(salva.comentario()).isEqualTo(avaliacaoDTO.comentario());
+        assertThat(salva.dataCriacao()).isNotNull();
+        assertThat(lista).usingRecursiveFieldByFieldElementComparatorIgnoringFields("dataCriacao")
+                .containsExactly(salva);
+    }
+
+    @DisplayName("Deve responder JSON quando o cliente não pede CBOR")
+    @Test
+    void deveResponderJson_QuandoAcceptNaoForCbor() {
+        given()
+                .accept("*/*")
+        .when()
+                .get("/restaurante")
+        .then()
+                .statusCode(HttpStatus.OK.value())
+                .header("Content-Type", startsWith(MediaType.APPLICATION_JSON_VALUE));
+    }
+
+    @DisplayName("Deve responder 400 a um corpo CBOR inválido")
+    @Test
+    void deveGerarExcecao_QuandoCborForInvalido() {
+        given()
+                .contentType(MediaType.APPLICATION_CBOR_VALUE)
+                .body(new byte[]{(byte) 0xBF, 0x61})
+        .when()
+                .post("/restaurante")
+        .then()
+                .statusCode(HttpStatus.BAD_REQUEST.value());
+    }
+
+    private byte[] enviarCbor(String caminho, Object corpo) {
+        return given()
+                .contentType(MediaType.APPLICATION_CBOR_VALUE)
+                .accept(MediaType.APPLICATION_CBOR_VALUE)
+                .body(asCbor(corpo))
+        .when()
+                .post(caminho)
+        .then()
+                .statusCode(HttpStatus.CREATED.value())
+                .header("Content-Type", equalTo(MediaType.APPLICATION_CBOR_VALUE))
+                .extract().asByteArray();
+    }
+
+    private byte[] buscarCbor(String caminho) {
+        return given()
+                .accept(MediaType.APPLICATION_CBOR_VALUE)
+        .when()
+                .get(caminho)
+        .then()
+                .statusCode(HttpStatus.OK.value())
+                .header("Content-Type", equalTo(MediaType.APPLICATION_CBOR_VALUE))
+                .extract().asByteArray();
+    }
+}
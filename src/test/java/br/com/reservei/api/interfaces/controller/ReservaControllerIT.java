@@ -7,6 +7,7 @@ import br.com.reservei.api.application.usecases.endereco.EnderecoServiceImpl;
 import br.com.reservei.api.application.usecases.endereco.EstadoServiceImpl;
 import br.com.reservei.api.application.usecases.reserva.ReservaServiceImpl;
 import br.com.reservei.api.application.usecases.restaurante.RestauranteServiceImpl;
+import br.com.reservei.api.infrastructure.utils.EscritorNdjson;
 import io.restassured.RestAssured;
 import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.http.ContentType;
@@ -25,8 +26,10 @@ import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Collections;
 import java.util.List;
 
 import static br.com.reservei.api.infrastructure.utils.CidadeHelper.gerarCidadeDtoSemId;
@@ -37,6 +40,7 @@ import static br.com.reservei.api.infrastructure.utils.GeneralHelper.asJsonStrin
 import static br.com.reservei.api.infrastructure.utils.ReservaHelper.gerarReservaDtoSemId;
 import static br.com.reservei.api.infrastructure.utils.RestauranteHelper.gerarRestauranteDtoSemId;
 import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -126,7 +130,7 @@ class ReservaControllerIT {
         void deveBuscarTodosOsReservas() {
             var reservas = List.of(reservaService.salvar(gerarReservaDtoSemId(reservaDTO.restauranteId())),
                     reservaService.salvar(new ReservaDTO(null, reservaDTO.restauranteId(),
-                            LocalDateTime.now())));
+                            LocalDateTime.now().withHour(18))));
 
             given()
                     .spec(requestSpec)
@@ -136,6 +140,38 @@ class ReservaControllerIT {
                     .statusCode(HttpStatus.OK.value())
                     .body(equalTo(asJsonString(reservas)));
         }
+
+        @DisplayName("Deve retornar a página de reservas posterior ao cursor informado")
+        @Test
+        void deveBuscarPaginaDeReservas() {
+            var primeira = reservaService.salvar(reservaDTO);
+            var segunda = reservaService.salvar(reservaDTO);
+
+            given()
+                    .spec(requestSpec)
+                    .queryParam("after", primeira.id())
+                    .queryParam("limit", 10)
+            .when()
+                    .get("/reserva")
+            .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .body(equalTo(asJsonString(List.of(segunda))));
+        }
+
+        @DisplayName("Deve enviar todas as reservas em NDJSON")
+        @Test
+        void deveBuscarTodasAsReservasEmStream() {
+            var primeira = reservaService.salvar(reservaDTO);
+            var segunda = reservaService.salvar(reservaDTO);
+
+            given()
+                    .accept(EscritorNdjson.APPLICATION_NDJSON_VALUE)
+            .when()
+                    .get("/reserva")
+            .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .body(equalTo(asJsonString(primeira) + "\n" + asJsonString(segunda) + "\n"));
+        }
     }
 
     @DisplayName("Salvar Reserva")
@@ -176,6 +212,65 @@ class ReservaControllerIT {
         }
     }
 
+    @DisplayName("Salvar lote de Reservas")
+    @Nested
+    class SalvarLoteReserva {
+
+        @DisplayName("Deve salvar lote de reservas enviado em JSON e informar o resultado de cada item")
+        @Test
+        void deveSalvarLoteDeReservas() {
+            var outroHorario = new ReservaDTO(null, restauranteDTO.id(), reservaDTO.horaDaReserva().plusHours(1));
+            var restauranteInexistente = new ReservaDTO(null, restauranteDTO.id() + 1, reservaDTO.horaDaReserva());
+
+            given()
+                    .spec(requestSpec)
+                    .body(asJsonString(List.of(reservaDTO, restauranteInexistente, outroHorario)))
+            .when()
+                    .post("/reserva/lote")
+            .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .body("total", is(3))
+                    .body("criados", is(2))
+                    .body("rejeitados", is(1))
+                    .body("itens.indice", contains(0, 1, 2))
+                    .body("itens.status", contains("CRIADO", "REJEITADO", "CRIADO"))
+                    .body("itens[0].id", is(notNullValue()))
+                    .body("itens[1].mensagem", equalTo("Restaurante não encontrado com id: " +
+                            restauranteInexistente.restauranteId()));
+
+            assertThat(reservaService.buscarTodos()).hasSize(2);
+        }
+
+        @DisplayName("Deve salvar lote de reservas enviado em NDJSON")
+        @Test
+        void deveSalvarLoteDeReservas_EmNdjson() {
+            var outroHorario = new ReservaDTO(null, restauranteDTO.id(), reservaDTO.horaDaReserva().plusHours(1));
+
+            given()
+                    .contentType(EscritorNdjson.APPLICATION_NDJSON_VALUE)
+                    .body((asJsonString(reservaDTO) + "\n" + asJsonString(outroHorario) + "\n").getBytes(StandardCharsets.UTF_8))
+            .when()
+                    .post("/reserva/lote")
+            .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .body("criados", is(2))
+                    .body("itens.id", everyItem(notNullValue()));
+        }
+
+        @DisplayName("Deve lançar exceção ao salvar lote com mais de 1000 reservas")
+        @Test
+        void deveGerarExcecao_QuandoSalvarLoteAcimaDoLimite() {
+            given()
+                    .spec(requestSpec)
+                    .body(asJsonString(Collections.nCopies(1001, reservaDTO)))
+            .when()
+                    .post("/reserva/lote")
+            .then()
+                    .statusCode(HttpStatus.BAD_REQUEST.value())
+                    .body("message", equalTo("O lote deve conter no máximo 1000 itens"));
+        }
+    }
+
     @DisplayName("Alterar Reserva")
     @Nested
     class AlterarReserva {
@@ -186,7 +281,7 @@ class ReservaControllerIT {
             var reservaSalvo = reservaService.salvar(reservaDTO);
 
             var reservaNovo = new ReservaDTO(reservaSalvo.id(), reservaSalvo.restauranteId(),
-                    LocalDateTime.now().plusHours(2));
+                    LocalDateTime.now().withHour(17));
 
             given()
                     .spec(requestSpec)
@@ -1,10 +1,16 @@
 package br.com.reservei.api.interfaces.controller;
 
+import br.com.reservei.api.application.dto.ItemLoteDTO;
 import br.com.reservei.api.application.dto.RestauranteDTO;
 import br.com.reservei.api.application.dto.ReservaDTO;
+import br.com.reservei.api.application.dto.ResultadoLoteDTO;
+import br.com.reservei.api.application.dto.VersionadoDTO;
 import br.com.reservei.api.application.usecases.reserva.ReservaService;
 import br.com.reservei.api.domain.exceptions.GlobalExceptionHandler;
+import br.com.reservei.api.domain.exceptions.LoteInvalidoException;
 import br.com.reservei.api.domain.exceptions.RecursoNaoEncontradoException;
+import br.com.reservei.api.domain.exceptions.VersaoDesatualizadaException;
+import br.com.reservei.api.infrastructure.utils.EscritorNdjson;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -13,17 +19,24 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static br.com.reservei.api.infrastructure.utils.GeneralHelper.gerarEscritorNdjson;
+import static br.com.reservei.api.infrastructure.utils.GeneralHelper.gerarLeitorNdjson;
 import static br.com.reservei.api.infrastructure.utils.RestauranteHelper.gerarRestaurante;
 import static br.com.reservei.api.infrastructure.utils.RestauranteHelper.gerarRestauranteDto;
 import static br.com.reservei.api.infrastructure.utils.GeneralHelper.asJsonString;
 import static br.com.reservei.api.infrastructure.utils.ReservaHelper.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -46,7 +59,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
             this.restauranteDTO = gerarRestauranteDto(gerarRestaurante());
             reservaDTO = gerarReservaDto(gerarReserva());
             reservaDTOSemId = gerarReservaDtoSemId(restauranteDTO.id());
-            ReservaController reservaController = new ReservaController(reservaService);
+            ReservaController reservaController = new ReservaController(reservaService, gerarEscritorNdjson(), gerarLeitorNdjson());
 
             mockMvc = MockMvcBuilders.standaloneSetup(reservaController)
                     .setControllerAdvice(new GlobalExceptionHandler())
@@ -64,10 +77,11 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
             @DisplayName("Deve buscar um Reserva pelo ID fornecido")
             @Test
             void deveBuscarReservaPorId() throws Exception {
-                when(reservaService.buscarPorId(reservaDTO.id())).thenReturn(reservaDTO);
+                when(reservaService.buscarVersionadoPorId(reservaDTO.id())).thenReturn(new VersionadoDTO<>(reservaDTO, 2L));
 
                 mockMvc.perform(get("/reserva/{idReserva}", reservaDTO.id()))
                         .andExpect(status().isOk())
+                        .andExpect(header().string(HttpHeaders.ETAG, "\"2\""))
                         .andExpect(content().json(asJsonString(reservaDTO)));
             }
 
@@ -75,7 +89,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
             @Test
             void deveGerarExcecao_QuandoBuscarReserva_PorIdInexistente() throws Exception {
                 doThrow(new RecursoNaoEncontradoException("Reserva não encontrado com id: " + reservaDTO.id()))
-                        .when(reservaService).buscarPorId(reservaDTO.id());
+                        .when(reservaService).buscarVersionadoPorId(reservaDTO.id());
 
                 mockMvc.perform(get("/reserva/{idReserva}", reservaDTO.id()))
                         .andExpect(status().isNotFound())
@@ -91,12 +105,51 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
                 var reservas = List.of(reservaDTO,
                         new ReservaDTO(2L, restauranteDTO.id(), LocalDateTime.now()));
 
-                when(reservaService.buscarTodos()).thenReturn(reservas);
+                when(reservaService.buscarPagina(null, null)).thenReturn(reservas);
 
                 mockMvc.perform(get("/reserva"))
                         .andExpect(status().isOk())
+                        .andExpect(header().doesNotExist(HttpHeaders.LINK))
                         .andExpect(content().json(asJsonString(reservas)));
             }
+
+            @DisplayName("Deve retornar uma página de reservas a partir do cursor informado")
+            @Test
+            void deveBuscarPaginaDeReservas() throws Exception {
+                var pagina = List.of(reservaDTO);
+                when(reservaService.buscarPagina(10L, 1)).thenReturn(pagina);
+
+                mockMvc.perform(get("/reserva")
+                                .param("after", "10")
+                                .param("limit", "1"))
+                        .andExpect(status().isOk())
+                        .andExpect(content().json(asJsonString(pagina)))
+                        .andExpect(header().string(HttpHeaders.LINK,
+                                "<http://localhost/reserva?after=" + reservaDTO.id() + "&limit=1>; rel=\"next\""));
+                verify(reservaService, never()).buscarTodos();
+            }
+
+            @DisplayName("Deve enviar todas as reservas em NDJSON")
+            @Test
+            void deveBuscarTodasAsReservasEmStream() throws Exception {
+                doAnswer(invocation -> {
+                    Consumer<ReservaDTO> consumidor = invocation.getArgument(0);
+                    consumidor.accept(reservaDTO);
+                    consumidor.accept(reservaDTO);
+                    return null;
+                }).when(reservaService).percorrerTodos(any());
+
+                MvcResult resultado = mockMvc.perform(get("/reserva")
+                                .accept(EscritorNdjson.APPLICATION_NDJSON_VALUE))
+                        .andExpect(request().asyncStarted())
+                        .andReturn();
+
+                mockMvc.perform(asyncDispatch(resultado))
+                        .andExpect(status().isOk())
+                        .andExpect(content().contentTypeCompatibleWith(EscritorNdjson.APPLICATION_NDJSON_VALUE))
+                        .andExpect(content().string(asJsonString(reservaDTO) + "\n" + asJsonString(reservaDTO) + "\n"));
+                verify(reservaService, never()).buscarTodos();
+            }
         }
 
     @DisplayName("Salvar Reserva")
@@ -136,6 +189,69 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
         }
     }
 
+    @DisplayName("Salvar lote de Reserva")
+    @Nested
+    class SalvarLoteReserva {
+
+        @DisplayName("Deve salvar lote de reservas enviado em JSON")
+        @Test
+        void deveSalvarLote_EmJson() throws Exception {
+            var resultado = ResultadoLoteDTO.de(List.of(
+                    ItemLoteDTO.criado(0, reservaDTO.id()),
+                    ItemLoteDTO.rejeitado(1, "Restaurante não encontrado com id: 99")));
+            var lote = List.of(reservaDTOSemId, reservaDTOSemId);
+            when(reservaService.salvarLote(lote)).thenReturn(resultado);
+
+            mockMvc.perform(post("/reserva/lote")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(asJsonString(lote)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.criados").value(1))
+                    .andExpect(jsonPath("$.rejeitados").value(1))
+                    .andExpect(jsonPath("$.itens[0].id").value(reservaDTO.id()))
+                    .andExpect(jsonPath("$.itens[1].status").value("REJEITADO"));
+        }
+
+        @DisplayName("Deve salvar lote de reservas enviado em NDJSON")
+        @Test
+        void deveSalvarLote_EmNdjson() throws Exception {
+            var resultado = ResultadoLoteDTO.de(List.of(
+                    ItemLoteDTO.criado(0, 1L),
+                    ItemLoteDTO.criado(1, 2L)));
+            when(reservaService.salvarLote(List.of(reservaDTOSemId, reservaDTOSemId))).thenReturn(resultado);
+
+            mockMvc.perform(post("/reserva/lote")
+                            .contentType(EscritorNdjson.APPLICATION_NDJSON_VALUE)
+                            .content(asJsonString(reservaDTOSemId) + "\n" + asJsonString(reservaDTOSemId) + "\n"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().json(asJsonString(resultado)));
+        }
+
+        @DisplayName("Deve retornar 400 ao enviar lote em NDJSON ilegível")
+        @Test
+        void deveGerarExcecao_QuandoSalvarLote_ComNdjsonInvalido() throws Exception {
+            mockMvc.perform(post("/reserva/lote")
+                            .contentType(EscritorNdjson.APPLICATION_NDJSON_VALUE)
+                            .content("{\"restauranteId\": \n"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").exists());
+            verify(reservaService, never()).salvarLote(any());
+        }
+
+        @DisplayName("Deve retornar 400 ao enviar lote vazio")
+        @Test
+        void deveGerarExcecao_QuandoSalvarLote_Vazio() throws Exception {
+            doThrow(new LoteInvalidoException("O lote deve conter ao menos um item"))
+                    .when(reservaService).salvarLote(List.of());
+
+            mockMvc.perform(post("/reserva/lote")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("[]"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("O lote deve conter ao menos um item"));
+        }
+    }
+
     @DisplayName("Alterar Reserva")
     @Nested
     class AlterarReserva {
@@ -143,20 +259,74 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
         @DisplayName("Deve alterar Reserva cadastrada")
         @Test
         void deveAtualizarReserva() throws Exception {
-            when(reservaService.atualizar(reservaDTO.id(), reservaDTOSemId)).thenReturn(reservaDTO);
+            when(reservaService.atualizar(reservaDTO.id(), reservaDTOSemId, null)).thenReturn(new VersionadoDTO<>(reservaDTO, 1L));
 
             mockMvc.perform(put("/reserva/{idReserva}", reservaDTO.id())
                             .contentType(MediaType.APPLICATION_JSON)
                             .content(asJsonString(reservaDTOSemId)))
                     .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
                     .andExpect(content().json(asJsonString(reservaDTO)));
         }
 
+        @DisplayName("Deve repassar a versão do If-Match ao alterar Reserva")
+        @Test
+        void deveAtualizarReserva_ComIfMatch() throws Exception {
+            when(reservaService.atualizar(reservaDTO.id(), reservaDTOSemId, 4L)).thenReturn(new VersionadoDTO<>(reservaDTO, 5L));
+
+            mockMvc.perform(put("/reserva/{idReserva}", reservaDTO.id())
+                            .header(HttpHeaders.IF_MATCH, "\"4\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(asJsonString(reservaDTOSemId)))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"5\""));
+        }
+
+        @DisplayName("Deve responder 412 quando o If-Match estiver desatualizado")
+        @Test
+        void deveGerarExcecao_QuandoIfMatchDesatualizado() throws Exception {
+            doThrow(new VersaoDesatualizadaException("versão desatualizada"))
+                    .when(reservaService).atualizar(reservaDTO.id(), reservaDTOSemId, 4L);
+
+            mockMvc.perform(put("/reserva/{idReserva}", reservaDTO.id())
+                            .header(HttpHeaders.IF_MATCH, "\"4\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(asJsonString(reservaDTOSemId)))
+                    .andExpect(status().isPreconditionFailed())
+                    .andExpect(jsonPath("$.message").value("versão desatualizada"));
+        }
+
+        @DisplayName("Deve responder 412 sem alterar quando o If-Match não for uma versão")
+        @Test
+        void deveGerarExcecao_QuandoIfMatchInvalido() throws Exception {
+            mockMvc.perform(put("/reserva/{idReserva}", reservaDTO.id())
+                            .header(HttpHeaders.IF_MATCH, "W/\"abc\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(asJsonString(reservaDTOSemId)))
+                    .andExpect(status().isPreconditionFailed());
+
+            verifyNoInteractions(reservaService);
+        }
+
+        @DisplayName("Deve responder 409 quando as novas tentativas se esgotarem")
+        @Test
+        void deveGerarExcecao_QuandoConflitoPersistir() throws Exception {
+            doThrow(new OptimisticLockingFailureException("conflito"))
+                    .when(reservaService).atualizar(reservaDTO.id(), reservaDTOSemId, null);
+
+            mockMvc.perform(put("/reserva/{idReserva}", reservaDTO.id())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(asJsonString(reservaDTOSemId)))
+                    .andExpect(status().isConflict())
+                    .andExpect(jsonPath("$.message")
+                            .value("O recurso foi alterado por outra requisição, tente novamente"));
+        }
+
         @DisplayName("Deve lançar exceção ao tentar alterar Reserva com id inexistente")
         @Test
         void deveGerarExcecao_QuandoAlterarReserva_PorIdInexistente() throws Exception {
             doThrow(new RecursoNaoEncontradoException("Reserva não encontrada com id: " + reservaDTO.id()))
-                    .when(reservaService).atualizar(reservaDTO.id(), reservaDTOSemId);
+                    .when(reservaService).atualizar(reservaDTO.id(), reservaDTOSemId, null);
 
             mockMvc.perform(put("/reserva/{idReserva}", reservaDTO.id())
                             .contentType(MediaType.APPLICATION_JSON)
@@ -172,7 +342,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
         void deveGerarExcecao_QuandoAlterarReserva_ComEstadoInexistente() throws Exception {
             doThrow(new RecursoNaoEncontradoException("Restaurante não encontrado com id: " +
                     reservaDTO.restauranteId()))
-                    .when(reservaService).atualizar(reservaDTO.id(), reservaDTOSemId);
+                    .when(reservaService).atualizar(reservaDTO.id(), reservaDTOSemId, null);
 
             mockMvc.perform(put("/reserva/{idReserva}", reservaDTO.id())
                             .contentType(MediaType.APPLICATION_JSON)
@@ -1,15 +1,23 @@
 package br.com.reservei.api.interfaces.controller;
 
+import br.com.reservei.api.application.dto.AvaliacaoDTO;
+import br.com.reservei.api.application.dto.CidadeDTO;
 import br.com.reservei.api.application.dto.EnderecoDTO;
+import br.com.reservei.api.application.dto.ReservaDTO;
 import br.com.reservei.api.application.dto.RestauranteDTO;
+import br.com.reservei.api.application.usecases.avaliacao.AvaliacaoServiceImpl;
 import br.com.reservei.api.application.usecases.endereco.CidadeServiceImpl;
 import br.com.reservei.api.application.usecases.endereco.EnderecoServiceImpl;
+import br.com.reservei.api.application.usecases.reserva.OcupacaoServiceImpl;
+import br.com.reservei.api.application.usecases.reserva.ReservaServiceImpl;
 import br.com.reservei.api.application.usecases.restaurante.RestauranteServiceImpl;
 import br.com.reservei.api.application.usecases.endereco.EstadoServiceImpl;
 import br.com.reservei.api.infrastructure.utils.Cozinha;
+import br.com.reservei.api.infrastructure.utils.EscritorNdjson;
 import io.restassured.RestAssured;
 import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.http.ContentType;
+import io.restassured.response.ValidatableResponse;
 import io.restassured.specification.RequestSpecification;
 import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
@@ -20,21 +28,28 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
 import java.util.List;
 
+import static br.com.reservei.api.infrastructure.utils.AvaliacaoHelper.gerarAvaliacaoDtoSemId;
 import static br.com.reservei.api.infrastructure.utils.CidadeHelper.gerarCidadeDtoSemId;
 import static br.com.reservei.api.infrastructure.utils.EnderecoHelper.gerarEnderecoDtoSemId;
 import static br.com.reservei.api.infrastructure.utils.RestauranteHelper.gerarRestauranteDtoSemId;
 import static br.com.reservei.api.infrastructure.utils.EstadoHelper.gerarEstadoDto;
 import static br.com.reservei.api.infrastructure.utils.EstadoHelper.gerarEstadoSemId;
 import static br.com.reservei.api.infrastructure.utils.GeneralHelper.asJsonString;
+import static br.com.reservei.api.infrastructure.utils.ReservaHelper.gerarReservaDtoSemId;
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.*;
 
@@ -56,6 +71,12 @@ class RestauranteControllerIT {
     private EstadoServiceImpl estadoService;
     @Autowired
     private EnderecoServiceImpl enderecoService;
+    @Autowired
+    private ReservaServiceImpl reservaService;
+    @Autowired
+    private AvaliacaoServiceImpl avaliacaoService;
+    @Autowired
+    private OcupacaoServiceImpl ocupacaoService;
 
     @Autowired
     private EntityManager entityManager;
@@ -195,6 +216,419 @@ class RestauranteControllerIT {
                     .statusCode(HttpStatus.OK.value())
                     .body(equalTo(asJsonString(restaurantes)));
         }
+
+        @DisplayName("Deve retornar os restaurantes da cidade dada acompanhando a mudança de endereço")
+        @Test
+        void deveBuscarTodosOsRestaurantesPorCidade() {
+            var germogli = restauranteService.salvar(restauranteDTO);
+            var outroEndereco = enderecoService.salvar(new EnderecoDTO(null, enderecoDTO.cidadeId(),
+                    "Bairro2", "rua2", "2", "42600-000"));
+            var kinoshita = restauranteService.salvar(new RestauranteDTO(null, "Kinoshita", Cozinha.JAPONESA,
+                    outroEndereco.id(), 10, LocalTime.NOON, LocalTime.MIDNIGHT));
+            var estadoId = cidadeService.buscarPorId(enderecoDTO.cidadeId()).estadoId();
+            var outraCidadeId = cidadeService.salvar(new CidadeDTO(null, "Feira de Santana", estadoId)).id();
+
+            given()
+                    .spec(requestSpec)
+            .when()
+                    .get("/restaurante/cidade/{idCidade}", enderecoDTO.cidadeId())
+            .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .body(equalTo(asJsonString(List.of(germogli, kinoshita))));
+
+            enderecoService.atualizar(outroEndereco.id(), new EnderecoDTO(null, outraCidadeId,
+                    "Centro", "rua2", "2", "44000-000"));
+
+            given()
+                    .spec(requestSpec)
+            .when()
+                    .get("/restaurante/cidade/{idCidade}", outraCidadeId)
+            .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .body(equalTo(asJsonString(List.of(kinoshita))));
+        }
+    }
+
+    @DisplayName("Buscar Disponibilidade")
+    @Nested
+    class BuscarDisponibilidade {
+
+        @DisplayName("Deve retornar as vagas restantes de cada hora do expediente")
+        @Test
+        void deveBuscarDisponibilidade() {
+            var restauranteSalvo = restauranteService.salvar(restauranteDTO);
+            var reserva = reservaService.salvar(gerarReservaDtoSemId(restauranteSalvo.id()));
+            LocalDate data = reserva.horaDaReserva().toLocalDate();
+
+            given()
+                    .spec(requestSpec)
+                    .queryParam("data", data.toString())
+            .when()
+                    .get("/restaurante/{idRestaurante}/disponibilidade", restauranteSalvo.id())
+            .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .body("restauranteId", is(restauranteSalvo.id().intValue()))
+                    .body("horarios", hasSize(12))
+                    .body("horarios[0].hora", equalTo("12:00:00"))
+                    .body("horarios[0].vagas", equalTo(restauranteDTO.reservasPorHora()))
+                    .body("horarios[3].hora", equalTo("15:00:00"))
+                    .body("horarios[3].vagas", equalTo(restauranteDTO.reservasPorHora() - 1));
+        }
+
+        @DisplayName("Deve lançar exceção ao buscar disponibilidade de Restaurante inexistente")
+        @Test
+        void deveGerarExcecao_QuandoBuscarDisponibilidade_PorRestauranteInexistente() {
+            var id = 1L;
+
+            given()
+                    .spec(requestSpec)
+                    .queryParam("data", LocalDate.now().toString())
+            .when()
+                    .get("/restaurante/{idRestaurante}/disponibilidade", id)
+            .then()
+                    .statusCode(HttpStatus.NOT_FOUND.value())
+                    .body("message", equalTo("Restaurante não encontrado com id: " + id));
+        }
+    }
+
+    @DisplayName("Buscar Reservas do período")
+    @Nested
+    class BuscarReservasDoPeriodo {
+
+        @DisplayName("Deve retornar as reservas de hoje do restaurante acompanhando as novas reservas")
+        @Test
+        void deveBuscarReservasDeHoje() {
+            var restauranteSalvo = restauranteService.salvar(restauranteDTO);
+            var outroEndereco = enderecoService.salvar(gerarEnderecoDtoSemId(enderecoDTO.cidadeId()));
+            var outroRestaurante = restauranteService.salvar(gerarRestauranteDtoSemId(outroEndereco.id()));
+            var hoje = LocalDate.now();
+            var jantar = reservaService.salvar(new ReservaDTO(null, restauranteSalvo.id(), hoje.atTime(20, 0)));
+            var almoco = reservaService.salvar(new ReservaDTO(null, restauranteSalvo.id(), hoje.atTime(13, 0)));
+            reservaService.salvar(new ReservaDTO(null, outroRestaurante.id(), hoje.atTime(13, 0)));
+            reservaService.salvar(new ReservaDTO(null, restauranteSalvo.id(), hoje.plusDays(1).atTime(13, 0)));
+
+            buscarReservas(restauranteSalvo.id(), hoje.atStartOfDay(), hoje.atTime(20, 0))
+                    .body(equalTo(asJsonString(List.of(almoco))));
+
+            var lanche = reservaService.salvar(new ReservaDTO(null, restauranteSalvo.id(), hoje.atTime(16, 0)));
+            reservaService.deletarPorId(almoco.id());
+
+            buscarReservas(restauranteSalvo.id(), hoje.atStartOfDay(), hoje.plusDays(1).atStartOfDay())
+                    .body(equalTo(asJsonString(List.of(lanche, jantar))));
+        }
+
+        @DisplayName("Deve retornar as reservas de um período de vários dias em ordem de horário")
+        @Test
+        void deveBuscarReservasDeVariosDias() {
+            var restauranteSalvo = restauranteService.salvar(restauranteDTO);
+            var dia = LocalDate.now().plusDays(1);
+            var segunda = reservaService.salvar(new ReservaDTO(null, restauranteSalvo.id(), dia.plusDays(2).atTime(13, 0)));
+            var primeira = reservaService.salvar(new ReservaDTO(null, restauranteSalvo.id(), dia.atTime(21, 0)));
+            reservaService.salvar(new ReservaDTO(null, restauranteSalvo.id(), dia.plusDays(3).atTime(13, 0)));
+
+            buscarReservas(restauranteSalvo.id(), dia.atStartOfDay(), dia.plusDays(3).atTime(13, 0))
+                    .body(equalTo(asJsonString(List.of(primeira, segunda))));
+        }
+
+        @DisplayName("Deve enviar as reservas do período em NDJSON")
+        @Test
+        void deveBuscarReservasDoPeriodoEmStream() {
+            var restauranteSalvo = restauranteService.salvar(restauranteDTO);
+            var dia = LocalDate.now().plusDays(1);
+            var primeira = reservaService.salvar(new ReservaDTO(null, restauranteSalvo.id(), dia.atTime(13, 0)));
+            var segunda = reservaService.salvar(new ReservaDTO(null, restauranteSalvo.id(), dia.atTime(14, 0)));
+
+            given()
+                    .accept(EscritorNdjson.APPLICATION_NDJSON_VALUE)
+                    .queryParam("de", dia.atStartOfDay().toString())
+                    .queryParam("ate", dia.plusDays(1).atStartOfDay().toString())
+            .when()
+                    .get("/restaurante/{idRestaurante}/reservas", restauranteSalvo.id())
+            .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .body(equalTo(asJsonString(primeira) + "\n" + asJsonString(segunda) + "\n"));
+        }
+
+        @DisplayName("Deve lançar exceção quando o início do período não for anterior ao fim")
+        @Test
+        void deveGerarExcecao_QuandoPeriodoForInvalido() {
+            var restauranteSalvo = restauranteService.salvar(restauranteDTO);
+            var de = LocalDate.now().atTime(20, 0);
+
+            given()
+                    .accept(EscritorNdjson.APPLICATION_NDJSON_VALUE)
+                    .queryParam("de", de.toString())
+                    .queryParam("ate", de.minusHours(1).toString())
+            .when()
+                    .get("/restaurante/{idRestaurante}/reservas", restauranteSalvo.id())
+            .then()
+                    .statusCode(HttpStatus.BAD_REQUEST.value())
+                    .body(containsString("\"status\":400"), endsWith("}\n"));
+        }
+
+        @DisplayName("Deve lançar exceção ao buscar reservas de Restaurante inexistente")
+        @Test
+        void deveGerarExcecao_QuandoBuscarReservas_DeRestauranteInexistente() {
+            var id = 1L;
+            var hoje = LocalDate.now();
+
+            buscarReservas(id, hoje.atStartOfDay(), hoje.plusDays(1).atStartOfDay(), HttpStatus.NOT_FOUND)
+                    .body("message", equalTo("Restaurante não encontrado com id: " + id));
+        }
+
+        private ValidatableResponse buscarReservas(Long idRestaurante, LocalDateTime de, LocalDateTime ate) {
+            return buscarReservas(idRestaurante, de, ate, HttpStatus.OK);
+        }
+
+        private ValidatableResponse buscarReservas(Long idRestaurante, LocalDateTime de, LocalDateTime ate,
+                                                   HttpStatus status) {
+            return given()
+                    .spec(requestSpec)
+                    .queryParam("de", de.toString())
+                    .queryParam("ate", ate.toString())
+            .when()
+                    .get("/restaurante/{idRestaurante}/reservas", idRestaurante)
+            .then()
+                    .statusCode(status.value());
+        }
+    }
+
+    @DisplayName("Buscar Ocupação")
+    @Nested
+    class BuscarOcupacao {
+
+        private static final DateTimeFormatter FORMATO = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+        @DisplayName("Deve retornar a ocupação por hora, dia e semana acompanhando reservas criadas, movidas e deletadas")
+        @Test
+        void deveBuscarOcupacaoPorHoraDiaESemana() {
+            var restauranteSalvo = restauranteService.salvar(restauranteDTO);
+            var segunda = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+            var id = restauranteSalvo.id();
+            reservaService.salvar(new ReservaDTO(null, id, segunda.atTime(20, 0)));
+            var movida = reservaService.salvar(new ReservaDTO(null, id, segunda.atTime(20, 30)));
+            var deletada = reservaService.salvar(new ReservaDTO(null, id, segunda.atTime(21, 0)));
+            reservaService.salvar(new ReservaDTO(null, id, segunda.plusWeeks(1).atTime(13, 0)));
+            reservaService.atualizar(movida.id(), new ReservaDTO(null, id, segunda.plusDays(1).atTime(14, 0)));
+            reservaService.deletarPorId(deletada.id());
+            ocupacaoService.persistir();
+
+            buscarOcupacao(id, "HORA", segunda, segunda.plusDays(2))
+                    .body("reservasPorHora", is(restauranteDTO.reservasPorHora()))
+                    .body("periodos.inicio", contains(segunda.atTime(20, 0).format(FORMATO),
+                            segunda.plusDays(1).atTime(14, 0).format(FORMATO)))
+                    .body("periodos.total", contains(1, 1));
+            buscarOcupacao(id, "DIA", segunda, segunda.plusWeeks(2))
+                    .body("periodos.inicio", contains(segunda.atStartOfDay().format(FORMATO),
+                            segunda.plusDays(1).atStartOfDay().format(FORMATO),
+                            segunda.plusWeeks(1).atStartOfDay().format(FORMATO)))
+                    .body("periodos.total", contains(1, 1, 1));
+            buscarOcupacao(id, "SEMANA", segunda.plusDays(3), segunda.plusWeeks(2))
+                    .body("periodos.inicio", contains(segunda.atStartOfDay().format(FORMATO),
+                            segunda.plusWeeks(1).atStartOfDay().format(FORMATO)))
+                    .body("periodos.total", contains(2, 1));
+        }
+
+        @DisplayName("Deve lançar exceção ao buscar ocupação de Restaurante inexistente")
+        @Test
+        void deveGerarExcecao_QuandoBuscarOcupacao_DeRestauranteInexistente() {
+            var hoje = LocalDate.now();
+
+            given()
+                    .spec(requestSpec)
+                    .queryParam("de", hoje.toString())
+                    .queryParam("ate", hoje.plusDays(1).toString())
+            .when()
+                    .get("/restaurante/{idRestaurante}/ocupacao", 1L)
+            .then()
+                    .statusCode(HttpStatus.NOT_FOUND.value());
+        }
+
+        private ValidatableResponse buscarOcupacao(Long idRestaurante, String granularidade, LocalDate de, LocalDate ate) {
+            return given()
+                    .spec(requestSpec)
+                    .queryParam("granularidade", granularidade)
+                    .queryParam("de", de.toString())
+                    .queryParam("ate", ate.toString())
+            .when()
+                    .get("/restaurante/{idRestaurante}/ocupacao", idRestaurante)
+            .then()
+                    .statusCode(HttpStatus.OK.value());
+        }
+    }
+
+    @DisplayName("Busca combinada de Restaurantes")
+    @Nested
+    class BuscaCombinada {
+
+        private RestauranteDTO germogli;
+        private RestauranteDTO kinoshita;
+        private RestauranteDTO gero;
+        private Long cidadeId;
+        private Long outraCidadeId;
+        private Long estadoId;
+
+        @BeforeEach
+        void setUp() {
+            this.cidadeId = enderecoService.buscarPorId(enderecoDTO.id()).cidadeId();
+            this.estadoId = cidadeService.buscarPorId(cidadeId).estadoId();
+            this.outraCidadeId = cidadeService.salvar(new CidadeDTO(null, "Feira de Santana", estadoId)).id();
+
+            this.germogli = restauranteService.salvar(restauranteDTO);
+            this.kinoshita = restauranteService.salvar(new RestauranteDTO(null, "Kinoshita", Cozinha.JAPONESA,
+                    enderecoService.salvar(gerarEnderecoDtoSemId(cidadeId)).id(), 10,
+                    LocalTime.of(18, 0), LocalTime.of(23, 0)));
+            this.gero = restauranteService.salvar(new RestauranteDTO(null, "Gero", Cozinha.ITALIANA,
+                    enderecoService.salvar(gerarEnderecoDtoSemId(outraCidadeId)).id(), 10,
+                    LocalTime.of(11, 0), LocalTime.of(15, 0)));
+
+            avaliacaoService.salvar(gerarAvaliacaoDtoSemId(germogli.id()));
+            avaliacaoService.salvar(new AvaliacaoDTO(null, 3, "Razoável", null, kinoshita.id()));
+        }
+
+        @DisplayName("Deve buscar os restaurantes da cidade abertos no horário informado")
+        @Test
+        void deveBuscarPorCidadeEHorario() {
+            given()
+                    .spec(requestSpec)
+                    .queryParam("cidadeId", cidadeId)
+                    .queryParam("abertoAs", "20:00")
+            .when()
+                    .get("/restaurante/busca")
+            .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .body("restaurantes.id", contains(germogli.id().intValue(), kinoshita.id().intValue()))
+                    .body("cozinhas.ITALIANA", is(1))
+                    .body("cozinhas.JAPONESA", is(1))
+                    .body("cozinhas.MINEIRA", is(0));
+        }
+
+        @DisplayName("Deve filtrar pela cozinha e contar as demais cozinhas do estado")
+        @Test
+        void deveBuscarPorCozinhaEEstado() {
+            given()
+                    .spec(requestSpec)
+                    .queryParam("cozinha", Cozinha.ITALIANA)
+                    .queryParam("estadoId", estadoId)
+            .when()
+                    .get("/restaurante/busca")
+            .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .body("restaurantes.id", contains(germogli.id().intValue(), gero.id().intValue()))
+                    .body("cozinhas.ITALIANA", is(2))
+                    .body("cozinhas.JAPONESA", is(1));
+        }
+
+        @DisplayName("Deve buscar pelo prefixo do nome e pela nota mínima")
+        @Test
+        void deveBuscarPorPrefixoENotaMinima() {
+            given()
+                    .spec(requestSpec)
+                    .queryParam("nome", "ge")
+                    .queryParam("notaMinima", 4)
+            .when()
+                    .get("/restaurante/busca")
+            .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .body("restaurantes.id", contains(germogli.id().intValue()))
+                    .body("cozinhas.ITALIANA", is(1));
+        }
+
+        @DisplayName("Deve paginar a busca e contar as cozinhas sobre todos os restaurantes filtrados")
+        @Test
+        void deveBuscarPorPaginas() {
+            given()
+                    .spec(requestSpec)
+                    .queryParam("cidadeId", cidadeId)
+                    .queryParam("limit", 1)
+            .when()
+                    .get("/restaurante/busca")
+            .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .header(HttpHeaders.LINK, containsString("after=" + germogli.id() + "&limit=1>"))
+                    .body("restaurantes.id", contains(germogli.id().intValue()))
+                    .body("cozinhas.ITALIANA", is(1))
+                    .body("cozinhas.JAPONESA", is(1));
+
+            given()
+                    .spec(requestSpec)
+                    .queryParam("cidadeId", cidadeId)
+                    .queryParam("after", germogli.id())
+                    .queryParam("limit", 1)
+            .when()
+                    .get("/restaurante/busca")
+            .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .body("restaurantes.id", contains(kinoshita.id().intValue()))
+                    .body("cozinhas.ITALIANA", is(1))
+                    .body("cozinhas.JAPONESA", is(1));
+        }
+
+        @DisplayName("Deve considerar o expediente que atravessa a meia-noite")
+        @Test
+        void deveBuscarPorHorario_ComExpedienteAteMeiaNoite() {
+            given()
+                    .spec(requestSpec)
+                    .queryParam("abertoAs", "23:30")
+            .when()
+                    .get("/restaurante/busca")
+            .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .body("restaurantes.id", contains(germogli.id().intValue()));
+
+            given()
+                    .spec(requestSpec)
+                    .queryParam("abertoAs", "01:00")
+            .when()
+                    .get("/restaurante/busca")
+            .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .body("restaurantes", empty());
+        }
+    }
+
+    @DisplayName("Buscar resumo das Avaliações")
+    @Nested
+    class BuscarResumoDeAvaliacoes {
+
+        @DisplayName("Deve retornar o resumo atualizado a cada avaliação salva, alterada e deletada")
+        @Test
+        void deveBuscarResumoDeAvaliacoes() {
+            var restauranteSalvo = restauranteService.salvar(restauranteDTO);
+            avaliacaoService.salvar(gerarAvaliacaoDtoSemId(restauranteSalvo.id()));
+            var avaliacaoRuim = avaliacaoService.salvar(gerarAvaliacaoDtoSemId(restauranteSalvo.id()));
+            avaliacaoService.atualizar(avaliacaoRuim.id(), new AvaliacaoDTO(null, 2, "Demorou muito",
+                    null, restauranteSalvo.id()));
+            var avaliacaoRemovida = avaliacaoService.salvar(gerarAvaliacaoDtoSemId(restauranteSalvo.id()));
+            avaliacaoService.deletarPorId(avaliacaoRemovida.id());
+
+            given()
+                    .spec(requestSpec)
+            .when()
+                    .get("/restaurante/{idRestaurante}/avaliacao/resumo", restauranteSalvo.id())
+            .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .body("restauranteId", is(restauranteSalvo.id().intValue()))
+                    .body("totalAvaliacoes", is(2))
+                    .body("media", is(3.5f))
+                    .body("notas.2", is(1))
+                    .body("notas.5", is(1))
+                    .body("ultimaAvaliacao", is(notNullValue()));
+        }
+
+        @DisplayName("Deve lançar exceção ao buscar resumo de Restaurante inexistente")
+        @Test
+        void deveGerarExcecao_QuandoBuscarResumo_PorRestauranteInexistente() {
+            var id = 1L;
+
+            given()
+                    .spec(requestSpec)
+            .when()
+                    .get("/restaurante/{idRestaurante}/avaliacao/resumo", id)
+            .then()
+                    .statusCode(HttpStatus.NOT_FOUND.value())
+                    .body("message", equalTo("Restaurante não encontrado com id: " + id));
+        }
     }
 
     @DisplayName("Salvar Restaurante")
@@ -262,6 +696,43 @@ class RestauranteControllerIT {
                     .body(equalTo(asJsonString(restauranteNovo)));
         }
 
+        @DisplayName("Deve alterar com o ETag lido e recusar o mesmo ETag depois da alteração")
+        @Test
+        void deveRecusarIfMatch_QuandoVersaoMudou() {
+            var restauranteSalvo = restauranteService.salvar(restauranteDTO);
+            var restauranteNovo = new RestauranteDTO(restauranteSalvo.id(), "Paris 6", Cozinha.FRANCESA,
+                    enderecoDTO.id(), 10, LocalTime.NOON, LocalTime.MIDNIGHT);
+
+            String etag = given()
+                    .spec(requestSpec)
+            .when()
+                    .get("/restaurante/{idRestaurante}", restauranteSalvo.id())
+            .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .header("ETag", equalTo("\"0\""))
+                    .extract().header("ETag");
+
+            given()
+                    .spec(requestSpec)
+                    .header("If-Match", etag)
+                    .body(restauranteNovo)
+            .when()
+                    .put("/restaurante/{idRestaurante}", restauranteSalvo.id())
+            .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .header("ETag", equalTo("\"1\""));
+
+            given()
+                    .spec(requestSpec)
+                    .header("If-Match", etag)
+                    .body(restauranteDTO)
+            .when()
+                    .put("/restaurante/{idRestaurante}", restauranteSalvo.id())
+            .then()
+                    .statusCode(HttpStatus.PRECONDITION_FAILED.value())
+                    .body("message", equalTo("O restaurante com id: " + restauranteSalvo.id() + " está na versão 1"));
+        }
+
         @DisplayName("Deve lançar exceção ao tentar alterar Restaurante com id inexistente")
         @Test
         void deveGerarExcecao_QuandoAlterarRestaurante_PorIdInexistente() {
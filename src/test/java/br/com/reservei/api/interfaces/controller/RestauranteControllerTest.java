@@ -1,11 +1,29 @@
 package br.com.reservei.api.interfaces.controller;
 
+import br.com.reservei.api.application.dto.BuscaRestauranteDTO;
+import br.com.reservei.api.application.dto.DisponibilidadeDTO;
 import br.com.reservei.api.application.dto.EnderecoDTO;
+import br.com.reservei.api.application.dto.FiltroRestauranteDTO;
+import br.com.reservei.api.application.dto.HorarioDisponivelDTO;
+import br.com.reservei.api.application.dto.OcupacaoDTO;
+import br.com.reservei.api.application.dto.ReservaDTO;
 import br.com.reservei.api.application.dto.RestauranteDTO;
+import br.com.reservei.api.application.dto.ResumoAvaliacaoDTO;
+import br.com.reservei.api.application.dto.TotalDoPeriodoDTO;
+import br.com.reservei.api.application.dto.VersionadoDTO;
+import br.com.reservei.api.application.usecases.avaliacao.AvaliacaoService;
+import br.com.reservei.api.application.usecases.reserva.OcupacaoService;
+import br.com.reservei.api.application.usecases.reserva.ReservaService;
 import br.com.reservei.api.application.usecases.restaurante.RestauranteService;
 import br.com.reservei.api.domain.exceptions.GlobalExceptionHandler;
+import br.com.reservei.api.domain.exceptions.PeriodoInvalidoException;
 import br.com.reservei.api.domain.exceptions.RecursoNaoEncontradoException;
+import br.com.reservei.api.domain.exceptions.VersaoDesatualizadaException;
 import br.com.reservei.api.infrastructure.utils.Cozinha;
+import br.com.reservei.api.infrastructure.utils.EscritorNdjson;
+import br.com.reservei.api.infrastructure.utils.Granularidade;
+import br.com.reservei.api.infrastructure.utils.VersaoDasColecoes;
+import br.com.reservei.api.infrastructure.utils.VersaoDasColecoes.Colecao;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -14,17 +32,28 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import static br.com.reservei.api.infrastructure.utils.EnderecoHelper.gerarEndereco;
 import static br.com.reservei.api.infrastructure.utils.EnderecoHelper.gerarEnderecoDto;
+import static br.com.reservei.api.infrastructure.utils.GeneralHelper.gerarEscritorNdjson;
 import static br.com.reservei.api.infrastructure.utils.RestauranteHelper.*;
 import static br.com.reservei.api.infrastructure.utils.GeneralHelper.asJsonString;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -38,6 +67,17 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
     @Mock
     private RestauranteService restauranteService;
 
+    private VersaoDasColecoes versaoDasColecoes;
+
+    @Mock
+    private ReservaService reservaService;
+
+    @Mock
+    private AvaliacaoService avaliacaoService;
+
+    @Mock
+    private OcupacaoService ocupacaoService;
+
     private EnderecoDTO enderecoDTO;
     private RestauranteDTO restauranteDTO;
     private RestauranteDTO restauranteDTOSemId;
@@ -47,7 +87,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
             this.enderecoDTO = gerarEnderecoDto(gerarEndereco());
             restauranteDTO = gerarRestauranteDto(gerarRestaurante());
             restauranteDTOSemId = gerarRestauranteDtoSemId(enderecoDTO.id());
-            RestauranteController restauranteController = new RestauranteController(restauranteService);
+            versaoDasColecoes = new VersaoDasColecoes();
+            RestauranteController restauranteController = new RestauranteController(restauranteService, reservaService, avaliacaoService, ocupacaoService, gerarEscritorNdjson(), versaoDasColecoes);
 
             mockMvc = MockMvcBuilders.standaloneSetup(restauranteController)
                     .setControllerAdvice(new GlobalExceptionHandler())
@@ -65,10 +106,11 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
             @DisplayName("Deve buscar um Restaurante pelo ID fornecido")
             @Test
             void deveBuscarRestaurantePorId() throws Exception {
-                when(restauranteService.buscarPorId(restauranteDTO.id())).thenReturn(restauranteDTO);
+                when(restauranteService.buscarVersionadoPorId(restauranteDTO.id())).thenReturn(new VersionadoDTO<>(restauranteDTO, 2L));
 
                 mockMvc.perform(get("/restaurante/{idRestaurante}", restauranteDTO.id()))
                         .andExpect(status().isOk())
+                        .andExpect(header().string(HttpHeaders.ETAG, "\"2\""))
                         .andExpect(content().json(asJsonString(restauranteDTO)));
             }
 
@@ -76,7 +118,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
             @Test
             void deveGerarExcecao_QuandoBuscarRestaurante_PorIdInexistente() throws Exception {
                 doThrow(new RecursoNaoEncontradoException("Restaurante não encontrado com id: " + restauranteDTO.id()))
-                        .when(restauranteService).buscarPorId(restauranteDTO.id());
+                        .when(restauranteService).buscarVersionadoPorId(restauranteDTO.id());
 
                 mockMvc.perform(get("/restaurante/{idRestaurante}", restauranteDTO.id()))
                         .andExpect(status().isNotFound())
@@ -124,6 +166,56 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
                         .andExpect(content().json(asJsonString(restaurantes)));
             }
 
+            @DisplayName("Deve retornar uma lista de restaurantes da cidade dada")
+            @Test
+            void deveBuscarTodosOsRestaurantesPorCidade() throws Exception {
+                var restaurantes = List.of(restauranteDTO);
+
+                when(restauranteService.buscarPorCidade(enderecoDTO.cidadeId())).thenReturn(restaurantes);
+
+                mockMvc.perform(get("/restaurante/cidade/{idCidade}", enderecoDTO.cidadeId()))
+                        .andExpect(status().isOk())
+                        .andExpect(content().json(asJsonString(restaurantes)));
+            }
+
+            @DisplayName("Deve retornar uma página de restaurantes a partir do cursor informado")
+            @Test
+            void deveBuscarPaginaDeRestaurantes() throws Exception {
+                var pagina = List.of(restauranteDTO);
+                when(restauranteService.buscarPagina(10L, 1)).thenReturn(pagina);
+
+                mockMvc.perform(get("/restaurante")
+                                .param("after", "10")
+                                .param("limit", "1"))
+                        .andExpect(status().isOk())
+                        .andExpect(content().json(asJsonString(pagina)))
+                        .andExpect(header().string(HttpHeaders.LINK,
+                                "<http://localhost/restaurante?after=" + restauranteDTO.id() + "&limit=1>; rel=\"next\""));
+                verify(restauranteService, never()).buscarTodos();
+            }
+
+            @DisplayName("Deve enviar todos os restaurantes em NDJSON")
+            @Test
+            void deveBuscarTodosOsRestaurantesEmStream() throws Exception {
+                doAnswer(invocation -> {
+                    Consumer<RestauranteDTO> consumidor = invocation.getArgument(0);
+                    consumidor.accept(restauranteDTO);
+                    consumidor.accept(restauranteDTO);
+                    return null;
+                }).when(restauranteService).percorrerTodos(any());
+
+                MvcResult resultado = mockMvc.perform(get("/restaurante")
+                                .accept(EscritorNdjson.APPLICATION_NDJSON_VALUE))
+                        .andExpect(request().asyncStarted())
+                        .andReturn();
+
+                mockMvc.perform(asyncDispatch(resultado))
+                        .andExpect(status().isOk())
+                        .andExpect(content().contentTypeCompatibleWith(EscritorNdjson.APPLICATION_NDJSON_VALUE))
+                        .andExpect(content().string(asJsonString(restauranteDTO) + "\n" + asJsonString(restauranteDTO) + "\n"));
+                verify(restauranteService, never()).buscarTodos();
+            }
+
             @DisplayName("Deve retornar uma lista de restaurantes salvos com a cozinha dada")
             @Test
             void deveBuscarTodosOsRestaurantesPorCozinha() throws Exception {
@@ -131,14 +223,250 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
                         new RestauranteDTO(2L, "Di Basilico", Cozinha.ITALIANA, enderecoDTO.id(),
                                 2, LocalTime.NOON, LocalTime.MIDNIGHT));
 
-                when(restauranteService.buscarTodos()).thenReturn(restaurantes);
+                when(restauranteService.buscarPagina(null, null)).thenReturn(restaurantes);
 
                 mockMvc.perform(get("/restaurante"))
                         .andExpect(status().isOk())
+                        .andExpect(header().doesNotExist(HttpHeaders.LINK))
                         .andExpect(content().json(asJsonString(restaurantes)));
             }
+
+            @DisplayName("Deve responder 304 quando a lista de restaurantes não mudou desde a data informada")
+            @Test
+            void deveResponderNaoModificado_QuandoNaoHouverAlteracaoDesdeAData() throws Exception {
+                var versao = versaoDasColecoes.buscar(Colecao.RESTAURANTES);
+
+                mockMvc.perform(get("/restaurante")
+                                .header(HttpHeaders.IF_MODIFIED_SINCE, versao.ultimaAlteracao().toEpochMilli()))
+                        .andExpect(status().isNotModified())
+                        .andExpect(header().string(HttpHeaders.ETAG, versao.etag()));
+                verifyNoInteractions(restauranteService);
+            }
+        }
+
+    @DisplayName("Buscar Disponibilidade")
+    @Nested
+    class BuscarDisponibilidade {
+
+        @DisplayName("Deve buscar a disponibilidade do Restaurante na data informada")
+        @Test
+        void deveBuscarDisponibilidade() throws Exception {
+            var data = LocalDate.now().plusDays(1);
+            var disponibilidade = new DisponibilidadeDTO(restauranteDTO.id(), data, 10,
+                    List.of(new HorarioDisponivelDTO(LocalTime.NOON, 10),
+                            new HorarioDisponivelDTO(LocalTime.of(13, 0), 7)));
+            when(reservaService.buscarDisponibilidade(restauranteDTO.id(), data)).thenReturn(disponibilidade);
+
+            mockMvc.perform(get("/restaurante/{idRestaurante}/disponibilidade", restauranteDTO.id())
+                            .param("data", data.toString()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data").value(data.toString()))
+                    .andExpect(jsonPath("$.horarios[0].hora").value("12:00:00"))
+                    .andExpect(jsonPath("$.horarios[1].vagas").value(7));
         }
 
+        @DisplayName("Deve lançar exceção ao buscar disponibilidade de Restaurante inexistente")
+        @Test
+        void deveGerarExcecao_QuandoBuscarDisponibilidade_PorRestauranteInexistente() throws Exception {
+            var data = LocalDate.now().plusDays(1);
+            doThrow(new RecursoNaoEncontradoException("Restaurante não encontrado com id: " + restauranteDTO.id()))
+                    .when(reservaService).buscarDisponibilidade(restauranteDTO.id(), data);
+
+            mockMvc.perform(get("/restaurante/{idRestaurante}/disponibilidade", restauranteDTO.id())
+                            .param("data", data.toString()))
+                    .andExpect(status().isNotFound())
+                    .andExpect(jsonPath("$.message")
+                            .value("Restaurante não encontrado com id: " + restauranteDTO.id()));
+        }
+    }
+
+    @DisplayName("Buscar Reservas do período")
+    @Nested
+    class BuscarReservasDoPeriodo {
+
+        @DisplayName("Deve buscar as reservas do Restaurante no período informado")
+        @Test
+        void deveBuscarReservasDoPeriodo() throws Exception {
+            var de = LocalDate.now().atStartOfDay();
+            var ate = de.plusDays(1);
+            var reservas = List.of(new ReservaDTO(1L, restauranteDTO.id(), de.plusHours(20)),
+                    new ReservaDTO(2L, restauranteDTO.id(), de.plusHours(21)));
+            when(reservaService.buscarPorPeriodo(restauranteDTO.id(), de, ate)).thenReturn(reservas);
+
+            mockMvc.perform(get("/restaurante/{idRestaurante}/reservas", restauranteDTO.id())
+                            .param("de", de.toString())
+                            .param("ate", ate.toString()))
+                    .andExpect(status().isOk())
+                    .andExpect(content().json(asJsonString(reservas)));
+        }
+
+        @DisplayName("Deve enviar as reservas do período em NDJSON")
+        @Test
+        void deveBuscarReservasDoPeriodoEmStream() throws Exception {
+            var de = LocalDate.now().atStartOfDay();
+            var ate = de.plusDays(7);
+            var reserva = new ReservaDTO(1L, restauranteDTO.id(), de.plusHours(20));
+            doAnswer(invocation -> {
+                Consumer<ReservaDTO> consumidor = invocation.getArgument(3);
+                consumidor.accept(reserva);
+                return null;
+            }).when(reservaService).percorrerPorPeriodo(eq(restauranteDTO.id()), eq(de), eq(ate), any());
+
+            MvcResult resultado = mockMvc.perform(get("/restaurante/{idRestaurante}/reservas", restauranteDTO.id())
+                            .param("de", de.toString())
+                            .param("ate", ate.toString())
+                            .accept(EscritorNdjson.APPLICATION_NDJSON_VALUE))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(resultado))
+                    .andExpect(status().isOk())
+                    .andExpect(content().string(asJsonString(reserva) + "\n"));
+            verify(reservaService).validarPeriodo(restauranteDTO.id(), de, ate);
+            verify(reservaService, never()).buscarPorPeriodo(any(), any(), any());
+        }
+
+        @DisplayName("Deve lançar exceção antes do stream quando o período for inválido")
+        @Test
+        void deveGerarExcecao_QuandoPeriodoForInvalido() throws Exception {
+            var de = LocalDate.now().atStartOfDay();
+            doThrow(new PeriodoInvalidoException("O início do período deve ser anterior ao fim: " + de + " a " + de))
+                    .when(reservaService).validarPeriodo(restauranteDTO.id(), de, de);
+
+            mockMvc.perform(get("/restaurante/{idRestaurante}/reservas", restauranteDTO.id())
+                            .param("de", de.toString())
+                            .param("ate", de.toString())
+                            .accept(EscritorNdjson.APPLICATION_NDJSON_VALUE + ", application/json;q=0.5"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.status").value(HttpStatus.BAD_REQUEST.value()));
+            verify(reservaService, never()).percorrerPorPeriodo(any(), any(), any(), any());
+        }
+    }
+
+    @DisplayName("Buscar Ocupação")
+    @Nested
+    class BuscarOcupacao {
+
+        @DisplayName("Deve buscar a ocupação do Restaurante por dia")
+        @Test
+        void deveBuscarOcupacaoPorDia() throws Exception {
+            var de = LocalDate.of(2025, 1, 6);
+            var ocupacao = new OcupacaoDTO(restauranteDTO.id(), Granularidade.DIA, de, de.plusDays(7),
+                    restauranteDTO.reservasPorHora(), List.of(new TotalDoPeriodoDTO(de.atStartOfDay(), 9)));
+            when(ocupacaoService.buscar(restauranteDTO.id(), Granularidade.DIA, de, de.plusDays(7))).thenReturn(ocupacao);
+
+            mockMvc.perform(get("/restaurante/{idRestaurante}/ocupacao", restauranteDTO.id())
+                            .param("granularidade", "DIA")
+                            .param("de", de.toString())
+                            .param("ate", de.plusDays(7).toString()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.granularidade").value("DIA"))
+                    .andExpect(jsonPath("$.periodos[0].inicio").value("2025-01-06 00:00:00"))
+                    .andExpect(jsonPath("$.periodos[0].total").value(9));
+        }
+
+        @DisplayName("Deve buscar a ocupação por hora quando a granularidade não for informada")
+        @Test
+        void deveBuscarOcupacaoPorHora_QuandoGranularidadeNaoForInformada() throws Exception {
+            var de = LocalDate.of(2025, 1, 6);
+            when(ocupacaoService.buscar(restauranteDTO.id(), Granularidade.HORA, de, de.plusDays(1)))
+                    .thenReturn(new OcupacaoDTO(restauranteDTO.id(), Granularidade.HORA, de, de.plusDays(1),
+                            restauranteDTO.reservasPorHora(), List.of()));
+
+            mockMvc.perform(get("/restaurante/{idRestaurante}/ocupacao", restauranteDTO.id())
+                            .param("de", de.toString())
+                            .param("ate", de.plusDays(1).toString()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.periodos").isEmpty());
+        }
+    }
+
+    @DisplayName("Busca combinada de Restaurantes")
+    @Nested
+    class BuscaCombinada {
+
+        @DisplayName("Deve repassar os filtros informados e retornar os restaurantes com as facetas de cozinha")
+        @Test
+        void deveBuscarComFiltrosCombinados() throws Exception {
+            var filtro = new FiltroRestauranteDTO(Cozinha.ITALIANA, 1L, 2L, "Ger", 4.0, LocalTime.of(20, 30),
+                    null, null);
+            var cozinhas = new EnumMap<Cozinha, Long>(Map.of(Cozinha.ITALIANA, 1L, Cozinha.JAPONESA, 3L));
+            when(restauranteService.buscar(filtro)).thenReturn(new BuscaRestauranteDTO(List.of(restauranteDTO), cozinhas));
+
+            mockMvc.perform(get("/restaurante/busca")
+                            .param("cozinha", "ITALIANA")
+                            .param("cidadeId", "1")
+                            .param("estadoId", "2")
+                            .param("nome", "Ger")
+                            .param("notaMinima", "4")
+                            .param("abertoAs", "20:30"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.restaurantes[0].id").value(restauranteDTO.id()))
+                    .andExpect(jsonPath("$.cozinhas.ITALIANA").value(1))
+                    .andExpect(jsonPath("$.cozinhas.JAPONESA").value(3));
+        }
+
+        @DisplayName("Deve buscar sem filtros")
+        @Test
+        void deveBuscarSemFiltros() throws Exception {
+            var filtro = new FiltroRestauranteDTO(null, null, null, null, null, null, null, null);
+            when(restauranteService.buscar(filtro)).thenReturn(new BuscaRestauranteDTO(List.of(), Map.of()));
+
+            mockMvc.perform(get("/restaurante/busca"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.restaurantes").isEmpty())
+                    .andExpect(header().doesNotExist(HttpHeaders.LINK));
+            verify(restauranteService).buscar(filtro);
+        }
+
+        @DisplayName("Deve apontar a próxima página da busca quando a página vier cheia")
+        @Test
+        void deveApontarProximaPagina_QuandoPaginaDaBuscaVierCheia() throws Exception {
+            var filtro = new FiltroRestauranteDTO(Cozinha.ITALIANA, null, null, null, null, null, 10L, 1);
+            when(restauranteService.buscar(filtro))
+                    .thenReturn(new BuscaRestauranteDTO(List.of(restauranteDTO), Map.of(Cozinha.ITALIANA, 3L)));
+
+            mockMvc.perform(get("/restaurante/busca?cozinha=ITALIANA&after=10&limit=1"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.restaurantes[0].id").value(restauranteDTO.id()))
+                    .andExpect(header().string(HttpHeaders.LINK, "<http://localhost/restaurante/busca?cozinha=ITALIANA" +
+                            "&after=" + restauranteDTO.id() + "&limit=1>; rel=\"next\""));
+        }
+    }
+
+    @DisplayName("Buscar resumo das Avaliações")
+    @Nested
+    class BuscarResumoDeAvaliacoes {
+
+        @DisplayName("Deve buscar o resumo das avaliações do Restaurante")
+        @Test
+        void deveBuscarResumoDeAvaliacoes() throws Exception {
+            var ultimaAvaliacao = LocalDateTime.of(2024, 5, 10, 20, 0);
+            var resumo = new ResumoAvaliacaoDTO(restauranteDTO.id(), 3, 4.33,
+                    Map.of(1, 0L, 2, 0L, 3, 0L, 4, 2L, 5, 1L), ultimaAvaliacao);
+            when(avaliacaoService.buscarResumo(restauranteDTO.id())).thenReturn(resumo);
+
+            mockMvc.perform(get("/restaurante/{idRestaurante}/avaliacao/resumo", restauranteDTO.id()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalAvaliacoes").value(3))
+                    .andExpect(jsonPath("$.media").value(4.33))
+                    .andExpect(jsonPath("$.notas.4").value(2))
+                    .andExpect(jsonPath("$.ultimaAvaliacao").value("2024-05-10 20:00:00"));
+        }
+
+        @DisplayName("Deve lançar exceção ao buscar resumo de Restaurante inexistente")
+        @Test
+        void deveGerarExcecao_QuandoBuscarResumo_PorRestauranteInexistente() throws Exception {
+            doThrow(new RecursoNaoEncontradoException("Restaurante não encontrado com id: " + restauranteDTO.id()))
+                    .when(avaliacaoService).buscarResumo(restauranteDTO.id());
+
+            mockMvc.perform(get("/restaurante/{idRestaurante}/avaliacao/resumo", restauranteDTO.id()))
+                    .andExpect(status().isNotFound())
+                    .andExpect(jsonPath("$.message")
+                            .value("Restaurante não encontrado com id: " + restauranteDTO.id()));
+        }
+    }
+
     @DisplayName("Salvar Restaurante")
     @Nested
     class SalvarRestaurante {
@@ -183,20 +511,74 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
         @DisplayName("Deve alterar Restaurante cadastrado")
         @Test
         void deveAtualizarRestaurante() throws Exception {
-            when(restauranteService.atualizar(restauranteDTO.id(), restauranteDTOSemId)).thenReturn(restauranteDTO);
+            when(restauranteService.atualizar(restauranteDTO.id(), restauranteDTOSemId, null)).thenReturn(new VersionadoDTO<>(restauranteDTO, 1L));
 
             mockMvc.perform(put("/restaurante/{idRestaurante}", restauranteDTO.id())
                             .contentType(MediaType.APPLICATION_JSON)
                             .content(asJsonString(restauranteDTOSemId)))
                     .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
                     .andExpect(content().json(asJsonString(restauranteDTO)));
         }
 
+        @DisplayName("Deve repassar a versão do If-Match ao alterar Restaurante")
+        @Test
+        void deveAtualizarRestaurante_ComIfMatch() throws Exception {
+            when(restauranteService.atualizar(restauranteDTO.id(), restauranteDTOSemId, 4L)).thenReturn(new VersionadoDTO<>(restauranteDTO, 5L));
+
+            mockMvc.perform(put("/restaurante/{idRestaurante}", restauranteDTO.id())
+                            .header(HttpHeaders.IF_MATCH, "\"4\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(asJsonString(restauranteDTOSemId)))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"5\""));
+        }
+
+        @DisplayName("Deve responder 412 quando o If-Match estiver desatualizado")
+        @Test
+        void deveGerarExcecao_QuandoIfMatchDesatualizado() throws Exception {
+            doThrow(new VersaoDesatualizadaException("versão desatualizada"))
+                    .when(restauranteService).atualizar(restauranteDTO.id(), restauranteDTOSemId, 4L);
+
+            mockMvc.perform(put("/restaurante/{idRestaurante}", restauranteDTO.id())
+                            .header(HttpHeaders.IF_MATCH, "\"4\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(asJsonString(restauranteDTOSemId)))
+                    .andExpect(status().isPreconditionFailed())
+                    .andExpect(jsonPath("$.message").value("versão desatualizada"));
+        }
+
+        @DisplayName("Deve responder 412 sem alterar quando o If-Match não for uma versão")
+        @Test
+        void deveGerarExcecao_QuandoIfMatchInvalido() throws Exception {
+            mockMvc.perform(put("/restaurante/{idRestaurante}", restauranteDTO.id())
+                            .header(HttpHeaders.IF_MATCH, "W/\"abc\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(asJsonString(restauranteDTOSemId)))
+                    .andExpect(status().isPreconditionFailed());
+
+            verifyNoInteractions(restauranteService);
+        }
+
+        @DisplayName("Deve responder 409 quando as novas tentativas se esgotarem")
+        @Test
+        void deveGerarExcecao_QuandoConflitoPersistir() throws Exception {
+            doThrow(new OptimisticLockingFailureException("conflito"))
+                    .when(restauranteService).atualizar(restauranteDTO.id(), restauranteDTOSemId, null);
+
+            mockMvc.perform(put("/restaurante/{idRestaurante}", restauranteDTO.id())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(asJsonString(restauranteDTOSemId)))
+                    .andExpect(status().isConflict())
+                    .andExpect(jsonPath("$.message")
+                            .value("O recurso foi alterado por outra requisição, tente novamente"));
+        }
+
         @DisplayName("Deve lançar exceção ao tentar alterar Restaurante com id inexistente")
         @Test
         void deveGerarExcecao_QuandoAlterarRestaurante_PorIdInexistente() throws Exception {
             doThrow(new RecursoNaoEncontradoException("Restaurante não encontrado com id: " + restauranteDTO.id()))
-                    .when(restauranteService).atualizar(restauranteDTO.id(), restauranteDTOSemId);
+                    .when(restauranteService).atualizar(restauranteDTO.id(), restauranteDTOSemId, null);
 
             mockMvc.perform(put("/restaurante/{idRestaurante}", restauranteDTO.id())
                             .contentType(MediaType.APPLICATION_JSON)
@@ -212,7 +594,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
         void deveGerarExcecao_QuandoAlterarRestaurante_ComEstadoInexistente() throws Exception {
             doThrow(new RecursoNaoEncontradoException("Endereço não encontrado com id: " +
                     restauranteDTO.enderecoId()))
-                    .when(restauranteService).atualizar(restauranteDTO.id(), restauranteDTOSemId);
+                    .when(restauranteService).atualizar(restauranteDTO.id(), restauranteDTOSemId, null);
 
             mockMvc.perform(put("/restaurante/{idRestaurante}", restauranteDTO.id())
                             .contentType(MediaType.APPLICATION_JSON)
@@ -104,8 +104,50 @@ public class PerformanceSimulation extends Simulation {
                 return session;
             });;
 
+    /* PICO DO JANTAR: THREADS DE PLATAFORMA x THREADS VIRTUAIS */
+    // Ativado com -DcompararThreads=true. Exige duas instâncias da aplicação com a mesma massa de dados:
+    // uma com THREADS_VIRTUAIS=false e outra com THREADS_VIRTUAIS=true.
+    private static final boolean COMPARAR_THREADS = Boolean.getBoolean("compararThreads");
+    private static final String URL_THREADS_PLATAFORMA = System.getProperty("urlThreadsPlataforma", "http://localhost:8080");
+    private static final String URL_THREADS_VIRTUAIS = System.getProperty("urlThreadsVirtuais", "http://localhost:8081");
+
+    ChainBuilder picoDoJantar = exec(
+            http("pico: listar estados").get("/estado?limit=100").check(status().is(200)),
+            http("pico: listar restaurantes").get("/restaurante?limit=100").check(status().is(200)),
+            http("pico: listar reservas").get("/reserva?limit=100").check(status().is(200))
+    );
+
+    ScenarioBuilder cenarioPicoThreadsPlataforma = scenario("pico do jantar - threads de plataforma")
+            .exec(picoDoJantar);
+
+    ScenarioBuilder cenarioPicoThreadsVirtuais = scenario("pico do jantar - threads virtuais")
+            .exec(picoDoJantar);
+
+    private OpenInjectionStep[] rajadaDoJantar() {
+        return new OpenInjectionStep[]{
+                rampUsersPerSec(10)
+                        .to(400)
+                        .during(Duration.ofSeconds(15)),
+                constantUsersPerSec(400)
+                        .during(Duration.ofSeconds(30)),
+                rampUsersPerSec(400)
+                        .to(10)
+                        .during(Duration.ofSeconds(15))
+        };
+    }
+
+    private List<PopulationBuilder> comparacaoDeThreads() {
+        if (!COMPARAR_THREADS) {
+            return List.of();
+        }
+        return List.of(cenarioPicoThreadsPlataforma.injectOpen(rajadaDoJantar())
+                .protocols(http.baseUrl(URL_THREADS_PLATAFORMA).header("Content-Type", "application/json"))
+                .andThen(cenarioPicoThreadsVirtuais.injectOpen(rajadaDoJantar())
+                        .protocols(http.baseUrl(URL_THREADS_VIRTUAIS).header("Content-Type", "application/json"))));
+    }
+
     {
-        setUp(
+        List<PopulationBuilder> populacoes = new ArrayList<>(List.of(
                 cenarioAdicionarEstado.injectOpen(
                         rampUsersPerSec(1)
                                 .to(2)
@@ -115,7 +157,7 @@ public class PerformanceSimulation extends Simulation {
                         rampUsersPerSec(2)
                                 .to(1)
                                 .during(Duration.ofSeconds(10))
-                ),
+                ).protocols(httpProtocol),
                 cenarioBuscarEstado.injectOpen(
                         nothingFor(Duration.ofSeconds(60)),
                         rampUsersPerSec(1)
@@ -126,9 +168,11 @@ public class PerformanceSimulation extends Simulation {
                         rampUsersPerSec(10)
                                 .to(1)
                                 .during(Duration.ofSeconds(10))
-                )
-        )
-                .protocols(httpProtocol)
+                ).protocols(httpProtocol)
+        ));
+        populacoes.addAll(comparacaoDeThreads());
+
+        setUp(populacoes)
                 .assertions(
                         global().responseTime().max().lt(500)
                 );
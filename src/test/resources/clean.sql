@@ -7,6 +7,11 @@ SELECT 'Cleaning the database' AS Status;
 --TRUNCATE TABLE estado RESTART IDENTITY CASCADE;
 
 DELETE FROM avaliacao RESTART;
+DELETE FROM resumo_avaliacao RESTART;
+DELETE FROM ocupacao_pendente RESTART;
+DELETE FROM reserva_por_semana RESTART;
+DELETE FROM reserva_por_dia RESTART;
+DELETE FROM reserva_por_hora RESTART;
 DELETE FROM reserva RESTART;
 DELETE FROM restaurante RESTART;
 DELETE FROM endereco RESTART;